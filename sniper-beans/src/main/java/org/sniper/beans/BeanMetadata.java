@@ -0,0 +1,247 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.beans;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.sniper.commons.util.ClassUtils;
+import org.sniper.commons.util.CollectionUtils;
+import org.sniper.commons.util.MapUtils;
+import org.sniper.commons.util.ReflectionUtils;
+import org.sniper.commons.util.StringUtils;
+
+/**
+ * Bean元数据，缓存类型及其所有非Object父类中声明的getter、setter方法和域，避免每次检索时都遍历类层次结构。</P>
+ * 元数据通过ClassValue与类型自身关联，随类型所在的ClassLoader一起被回收，应用重新部署时不会造成泄漏
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public final class BeanMetadata {
+	
+	private static final ClassValue<BeanMetadata> CACHE = new ClassValue<BeanMetadata>() {
+		
+		@Override
+		protected BeanMetadata computeValue(Class<?> type) {
+			return new BeanMetadata(type);
+		}
+	};
+	
+	private final Class<?> type;
+	
+	/** 按类层次结构由下至上的声明顺序排列的getter方法 */
+	private final List<Method> getters;
+	
+	/** 与getters一一对应的属性名称 */
+	private final List<String> getterPropertyNames;
+	
+	/** 
+	 * 去掉"get"或"is"前缀后的方法名称与getter方法的映射。按类层次结构由下至上逐层匹配，
+	 * 保留最先在某一层中声明的getter方法，因此子类的"is"方法会覆盖父类中对应的"get"方法
+	 */
+	private final Map<String, Method> gettersBySuffix;
+	
+	/** 按类层次结构由下至上的声明顺序排列的setter方法 */
+	private final List<Method> setters;
+	
+	/** 方法名称与同名setter方法列表的映射 */
+	private final Map<String, List<Method>> settersByName;
+	
+	/** 域名称与域的映射，同名时保留子类中声明的域 */
+	private final Map<String, Field> fieldsByName;
+	
+	private BeanMetadata(Class<?> type) {
+		this.type = type;
+		
+		List<Method> getters = CollectionUtils.newArrayList();
+		List<String> getterPropertyNames = CollectionUtils.newArrayList();
+		Map<String, Method> gettersBySuffix = MapUtils.newHashMap();
+		List<Method> setters = CollectionUtils.newArrayList();
+		Map<String, List<Method>> settersByName = MapUtils.newHashMap();
+		Map<String, Field> fieldsByName = MapUtils.newHashMap();
+		
+		Class<?> currentType = type;
+		do {
+			for (Method method : currentType.getDeclaredMethods()) {
+				String name = method.getName();
+				if (ReflectionUtils.isGetter(method)) {
+					getters.add(method);
+					String suffix = toGetterSuffix(name);
+					getterPropertyNames.add(StringUtils.uncapitalize(suffix));
+					if (!gettersBySuffix.containsKey(suffix))
+						gettersBySuffix.put(suffix, method);
+				} else if (ReflectionUtils.isSetter(method)) {
+					setters.add(method);
+					List<Method> sameNameSetters = settersByName.get(name);
+					if (sameNameSetters == null) {
+						sameNameSetters = CollectionUtils.newArrayList();
+						settersByName.put(name, sameNameSetters);
+					}
+					sameNameSetters.add(method);
+				}
+			}
+			
+			for (Field field : currentType.getDeclaredFields()) {
+				if (!fieldsByName.containsKey(field.getName()))
+					fieldsByName.put(field.getName(), field);
+			}
+			
+			currentType = currentType.getSuperclass();
+		} while (ClassUtils.isNotTopType(currentType));
+		
+		this.getters = Collections.unmodifiableList(getters);
+		this.getterPropertyNames = Collections.unmodifiableList(getterPropertyNames);
+		this.gettersBySuffix = gettersBySuffix;
+		this.setters = Collections.unmodifiableList(setters);
+		this.settersByName = settersByName;
+		this.fieldsByName = fieldsByName;
+	}
+	
+	/**
+	 * 获取指定类型的元数据
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param type
+	 * @return
+	 */
+	public static BeanMetadata forClass(Class<?> type) {
+		return type != null ? CACHE.get(type) : null;
+	}
+	
+	public Class<?> getType() {
+		return type;
+	}
+
+	/**
+	 * 获取所有的getter方法，返回的列表不可修改
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public List<Method> getGetters() {
+		return getters;
+	}
+	
+	/**
+	 * 获取与所有getter方法一一对应的属性名称，返回的列表不可修改
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public List<String> getGetterPropertyNames() {
+		return getterPropertyNames;
+	}
+	
+	/**
+	 * 获取属性对应的getter方法，按类层次结构由下至上逐层匹配"get"前缀或返回boolean类型的"is"前缀方法，
+	 * 返回最先匹配的层中按声明顺序的第一个方法
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param propertyName
+	 * @return
+	 */
+	public Method getGetter(String propertyName) {
+		return StringUtils.isNotBlank(propertyName) ? gettersBySuffix.get(StringUtils.capitalize(propertyName)) : null;
+	}
+	
+	/**
+	 * 获取所有的setter方法，返回的列表不可修改
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public List<Method> getSetters() {
+		return setters;
+	}
+	
+	/**
+	 * 获取属性对应的setter方法，参数类型为空时返回第一个同名的setter方法
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param propertyName
+	 * @param parameterType
+	 * @return
+	 */
+	public Method getSetter(String propertyName, Class<?> parameterType) {
+		if (StringUtils.isBlank(propertyName))
+			return null;
+		
+		List<Method> sameNameSetters = settersByName.get(ReflectionUtils.SETTER_PREFIX + StringUtils.capitalize(propertyName));
+		if (sameNameSetters == null)
+			return null;
+		
+		if (parameterType == null)
+			return sameNameSetters.get(0);
+		
+		for (Method setter : sameNameSetters) {
+			if (setter.getParameterTypes()[0] == parameterType)
+				return setter;
+		}
+		return null;
+	}
+	
+	/**
+	 * 获取指定名称的已声明域
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param fieldName
+	 * @return
+	 */
+	public Field getField(String fieldName) {
+		return fieldName != null ? fieldsByName.get(fieldName) : null;
+	}
+	
+	/**
+	 * 获取属性类型，优先取已声明域的类型，其次取getter方法的返回类型
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param propertyName
+	 * @return
+	 */
+	public Class<?> getPropertyTypeByNameOrGetter(String propertyName) {
+		Field field = getField(propertyName);
+		if (field != null)
+			return field.getType();
+		
+		Method getter = getGetter(propertyName);
+		return getter != null ? getter.getReturnType() : null;
+	}
+	
+	/**
+	 * 获取属性类型，优先取已声明域的类型，其次取setter方法的参数类型
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param propertyName
+	 * @return
+	 */
+	public Class<?> getPropertyTypeByNameOrSetter(String propertyName) {
+		Field field = getField(propertyName);
+		if (field != null)
+			return field.getType();
+		
+		Method setter = getSetter(propertyName, null);
+		return setter != null ? setter.getParameterTypes()[0] : null;
+	}
+	
+	/**
+	 * 获取getter方法名称去掉"get"或"is"前缀后的部分
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param getterName
+	 * @return
+	 */
+	private static String toGetterSuffix(String getterName) {
+		String suffix = StringUtils.afterPrefix(getterName, ReflectionUtils.GETTER_PREFIX);
+		return StringUtils.isNotEmpty(suffix) ? suffix : StringUtils.afterPrefix(getterName, ReflectionUtils.BOOLEAN_GETTER_PREFIX);
+	}
+
+}
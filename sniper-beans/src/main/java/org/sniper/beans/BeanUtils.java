@@ -30,7 +30,6 @@ import org.sniper.commons.util.ClassUtils;
 import org.sniper.commons.util.CollectionUtils;
 import org.sniper.commons.util.MapUtils;
 import org.sniper.commons.util.ReflectionUtils;
-import org.sniper.commons.util.StringUtils;
 
 /**
  * JAVA Bean工具类
@@ -48,25 +47,8 @@ public class BeanUtils {
 	 * @return
 	 */
 	public static List<Method> findGetters(Object obj) {
-		Class<?> currentType = ClassUtils.getCurrentType(obj);
-		if (currentType == null)
-			return null;
-		
-		List<Method> getters = CollectionUtils.newArrayList();
-		Method[] declaredMethods;
-		do {
-			declaredMethods = currentType.getDeclaredMethods();
-			if (ArrayUtils.isNotEmpty(declaredMethods)) {
-				for (Method declaredMethod : declaredMethods) {
-					if (ReflectionUtils.isGetter(declaredMethod))
-						getters.add(declaredMethod);
-				}
-			}
-			
-			currentType = currentType.getSuperclass();
-		} while (ClassUtils.isNotTopType(currentType));
-				
-		return getters;
+		BeanMetadata metadata = BeanMetadata.forClass(ClassUtils.getCurrentType(obj));
+		return metadata != null ? CollectionUtils.newArrayList(metadata.getGetters()) : null;
 	}
 	
 	/**
@@ -76,25 +58,8 @@ public class BeanUtils {
 	 * @return
 	 */
 	public static List<String> findGetterNames(Object obj) {
-		Class<?> currentType = ClassUtils.getCurrentType(obj);
-		if (currentType == null)
-			return null;
-		
-		List<String> names = CollectionUtils.newArrayList();
-		Method[] declaredMethods;
-		do {
-			declaredMethods = currentType.getDeclaredMethods();
-			if (ArrayUtils.isNotEmpty(declaredMethods)) {
-				for (Method declaredMethod : declaredMethods) {
-					if (ReflectionUtils.isGetter(declaredMethod))
-						names.add(declaredMethod.getName());
-				}
-			}
-			
-			currentType = currentType.getSuperclass();
-		} while (ClassUtils.isNotTopType(currentType));
-				
-		return names;
+		BeanMetadata metadata = BeanMetadata.forClass(ClassUtils.getCurrentType(obj));
+		return metadata != null ? toMethodNames(metadata.getGetters()) : null;
 	}
 	
 	/**
@@ -105,26 +70,8 @@ public class BeanUtils {
 	 * @return
 	 */
 	public static Method findGetter(Object obj, String propertyName) {
-		Class<?> currentType;
-		if (StringUtils.isBlank(propertyName) || (currentType = ClassUtils.getCurrentType(obj)) == null)
-			return null;
-		
-		String getterName = buildGetterName(propertyName);
-		String booleanGetterName = buildBooleanGetterName(propertyName);
-		Method[] declaredMethods;
-		do {
-			declaredMethods = currentType.getDeclaredMethods();
-			if (ArrayUtils.isNotEmpty(declaredMethods)) {
-				for (Method declaredMethod : declaredMethods) {
-					if (matchesGetter(declaredMethod, getterName, booleanGetterName))
-						return declaredMethod;
-				}
-			}
-			
-			currentType = currentType.getSuperclass();
-		} while (ClassUtils.isNotTopType(currentType));
-		
-		return null;
+		BeanMetadata metadata = BeanMetadata.forClass(ClassUtils.getCurrentType(obj));
+		return metadata != null ? metadata.getGetter(propertyName) : null;
 	}
 	
 	/**
@@ -146,25 +93,8 @@ public class BeanUtils {
 	 * @return
 	 */
 	public static List<Method> findSetters(Object obj) {
-		Class<?> currentType = ClassUtils.getCurrentType(obj);
-		if (currentType == null)
-			return null;
-		
-		List<Method> setters = CollectionUtils.newArrayList();
-		Method[] declaredMethods;
-		do {
-			declaredMethods = currentType.getDeclaredMethods();
-			if (ArrayUtils.isNotEmpty(declaredMethods)) {
-				for (Method declaredMethod : declaredMethods) {
-					if (ReflectionUtils.isSetter(declaredMethod))
-						setters.add(declaredMethod);
-				}
-			}
-			
-			currentType = currentType.getSuperclass();
-		} while (ClassUtils.isNotTopType(currentType));
-				
-		return setters;
+		BeanMetadata metadata = BeanMetadata.forClass(ClassUtils.getCurrentType(obj));
+		return metadata != null ? CollectionUtils.newArrayList(metadata.getSetters()) : null;
 	}
 	
 	/**
@@ -174,25 +104,8 @@ public class BeanUtils {
 	 * @return
 	 */
 	public static List<String> findSetterNames(Object obj) {
-		Class<?> currentType = ClassUtils.getCurrentType(obj);
-		if (currentType == null)
-			return null;
-		
-		List<String> names = CollectionUtils.newArrayList();
-		Method[] declaredMethods;
-		do {
-			declaredMethods = currentType.getDeclaredMethods();
-			if (ArrayUtils.isNotEmpty(declaredMethods)) {
-				for (Method declaredMethod : declaredMethods) {
-					if (ReflectionUtils.isSetter(declaredMethod))
-						names.add(declaredMethod.getName());
-				}
-			}
-			
-			currentType = currentType.getSuperclass();
-		} while (ClassUtils.isNotTopType(currentType));
-				
-		return names;
+		BeanMetadata metadata = BeanMetadata.forClass(ClassUtils.getCurrentType(obj));
+		return metadata != null ? toMethodNames(metadata.getSetters()) : null;
 	}
 	
 	/**
@@ -215,36 +128,8 @@ public class BeanUtils {
 	 * @return
 	 */
 	public static Method findSetter(Object obj, String propertyName, Class<?> parameterType) {
-		Class<?> currentType;
-		if (StringUtils.isBlank(propertyName) || (currentType = ClassUtils.getCurrentType(obj)) == null)
-			return null;
-		
-		String setterName = buildSetterName(propertyName);
-		Method[] declaredMethods;
-		if (parameterType != null) {
-			do {
-				declaredMethods = currentType.getDeclaredMethods();
-				if (ArrayUtils.isNotEmpty(declaredMethods)) {
-					for (Method declaredMethod : declaredMethods) {
-						if (matchesSetter(declaredMethod, setterName, parameterType))
-							return declaredMethod;
-					}
-				}
-				currentType = currentType.getSuperclass();
-			} while (ClassUtils.isNotTopType(currentType));
-		} else {
-			do {
-				declaredMethods = currentType.getDeclaredMethods();
-				if (ArrayUtils.isNotEmpty(declaredMethods)) {
-					for (Method declaredMethod : declaredMethods) {
-						if (matchesSetter(declaredMethod, setterName))
-							return declaredMethod;
-					}
-				}
-				currentType = currentType.getSuperclass();
-			} while (ClassUtils.isNotTopType(currentType));
-		}
-		return null;
+		BeanMetadata metadata = BeanMetadata.forClass(ClassUtils.getCurrentType(obj));
+		return metadata != null ? metadata.getSetter(propertyName, parameterType) : null;
 	}
 	
 	/**
@@ -279,13 +164,8 @@ public class BeanUtils {
 	 * @return
 	 */
 	public static Class<?> findPropertyTypeByNameOrGetter(Object obj, String propertyName) {
-		Class<?> propertyType = ReflectionUtils.getFieldType(obj, propertyName);
-		if (propertyType == null) {
-			Method getter = BeanUtils.findGetter(obj, propertyName);
-			return getter != null ? getter.getReturnType() : null;
-		}
-		
-		return propertyType;
+		BeanMetadata metadata = BeanMetadata.forClass(ClassUtils.getCurrentType(obj));
+		return metadata != null ? metadata.getPropertyTypeByNameOrGetter(propertyName) : null;
 	}
 	
 	/**
@@ -296,13 +176,8 @@ public class BeanUtils {
 	 * @return
 	 */
 	public static Class<?> findPropertyTypeByNameOrSetter(Object obj, String propertyName) {
-		Class<?> memberType = ReflectionUtils.getFieldType(obj, propertyName);
-		if (memberType == null) {
-			Method setter = BeanUtils.findSetter(obj, propertyName);
-			return setter != null ? setter.getParameterTypes()[0] : null;
-		}
-		
-		return memberType;
+		BeanMetadata metadata = BeanMetadata.forClass(ClassUtils.getCurrentType(obj));
+		return metadata != null ? metadata.getPropertyTypeByNameOrSetter(propertyName) : null;
 	}
 	
 	/**
@@ -323,14 +198,13 @@ public class BeanUtils {
 	 * @return
 	 */
 	public static <T> List<String> findPropertyNamesByGetter(T bean, String[] excludeNames) {
-		List<Method> getters = findGetters(bean);
-		if (CollectionUtils.isEmpty(getters))
+		BeanMetadata metadata = BeanMetadata.forClass(ClassUtils.getCurrentType(bean));
+		if (metadata == null || metadata.getGetters().isEmpty())
 			return null;
 		
 		List<String> list = CollectionUtils.newArrayList();
-		for (Method getter : getters) {
-			String propertyName = getterToPropertyName(getter, excludeNames);
-			if (propertyName != null)
+		for (String propertyName : metadata.getGetterPropertyNames()) {
+			if (!ArrayUtils.contains(excludeNames, propertyName))
 				list.add(propertyName);
 		}
 		return list;
@@ -477,133 +351,34 @@ public class BeanUtils {
 	 */
 	@SuppressWarnings("unchecked")
 	public static <T, V> Map<String, V> create(T bean, String[] excludeNames) throws Exception {
-		List<Method> getters = findGetters(bean);
-		if (CollectionUtils.isEmpty(getters))
+		BeanMetadata metadata = BeanMetadata.forClass(ClassUtils.getCurrentType(bean));
+		if (metadata == null || metadata.getGetters().isEmpty())
 			return null;
 		
+		List<Method> getters = metadata.getGetters();
+		List<String> propertyNames = metadata.getGetterPropertyNames();
 		Map<String, V> map = MapUtils.newHashMap();
-		for (Method getter : getters) {
-			String propertyName = getterToPropertyName(getter, excludeNames);
-			/* 将getter方法转换为对应的属性名称不为空时，说明getter方法没有被排除在外，将getter方法的返回结果赋予Map即可*/
-			if (propertyName != null)
-				map.put(propertyName, (V) ReflectionUtils.invokeMethod(bean, getter));
+		for (int i = 0; i < getters.size(); i++) {
+			String propertyName = propertyNames.get(i);
+			/* 属性名称没有被排除在外时，将getter方法的返回结果赋予Map即可*/
+			if (!ArrayUtils.contains(excludeNames, propertyName))
+				map.put(propertyName, (V) ReflectionUtils.invokeMethod(bean, getters.get(i)));
 		}
 		return map;
 	}
 	
 	/**
-	 * 将Getter方法转换为对应的属性名称，其中excludeNames数组内罗列的属性名称将排除在转换范围外
-	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
-	 * @param getter
-	 * @param excludeNames
-	 * @return
-	 */
-	private static String getterToPropertyName(Method getter, String[] excludeNames) {
-		String name = getter.getName();
-		String propertyName = StringUtils.afterPrefix(name, ReflectionUtils.GETTER_PREFIX);
-		if (StringUtils.isEmpty(propertyName))
-			propertyName = StringUtils.afterPrefix(name, ReflectionUtils.BOOLEAN_GETTER_PREFIX);
-
-		propertyName = StringUtils.uncapitalize(propertyName);
-		return !ArrayUtils.contains(excludeNames, propertyName) ? propertyName : null;
-	}
-	
-	/**
-	 * 根据属性名称和指定的类型构建对应的Getter方法名称
-	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
-	 * @param propertyName
-	 * @param type
-	 * @return
-	 */
-	static String buildGetterName(String propertyName, Class<?> type) {
-		return type == boolean.class ? buildBooleanGetterName(propertyName) : buildGetterName(propertyName);
-	}
-		
-	/**
-	 * 根据属性名称构建对应的Getter方法名称
-	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
-	 * @param propertyName
-	 * @return
-	 */
-	static String buildGetterName(String propertyName) {
-		return ReflectionUtils.GETTER_PREFIX + StringUtils.capitalize(propertyName);
-	}
-	
-	/**
-	 * 根据属性名称构建对应的布尔Getter方法名称
-	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
-	 * @param propertyName
-	 * @return
-	 */
-	static String buildBooleanGetterName(String propertyName) {
-		return ReflectionUtils.BOOLEAN_GETTER_PREFIX + StringUtils.capitalize(propertyName);
-	}
-	
-	/**
-	 * 根据属性名称构建对应的Setter方法名称
-	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
-	 * @param propertyName
-	 * @return
-	 */
-	static String buildSetterName(String propertyName) {
-		return ReflectionUtils.SETTER_PREFIX + StringUtils.capitalize(propertyName);
-	}
-		
-	/**
-	 * 判断方法对象是否与指定的Getter方法相匹配，匹配要求如下：</P>
-	 * 1.方法自身不能有参数</P>
-	 * 2.方法必须有返回</P>
-	 * 3.方法名称必须与指定的Getter方法名称或布尔Getter方法名称匹配</P>
+	 * 获取方法列表对应的方法名称列表
 	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
-	 * @param method
-	 * @param getterName Getter方法名称
-	 * @param booleanGetterName 布尔Getter方法名称
+	 * @param methods
 	 * @return
 	 */
-	private static boolean matchesGetter(Method method, String getterName, String booleanGetterName) {
-		if (method == null || ArrayUtils.isNotEmpty(method.getParameterTypes()))
-			return false;
-		
-		String name = method.getName();
-		Class<?> returnType = method.getReturnType();
-		return (returnType != void.class && name.equals(getterName))
-				|| (returnType == boolean.class && name.equals(booleanGetterName));
-	}
-	
-	/**
-	 * 判断方法对象是否与指定的Setter方法相匹配，匹配要求如下：</P>
-	 * 1.方法自身有且只有一个参数</P>
-	 * 2.方法名称必须与指定的Setter方法名称匹配</P>
-	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
-	 * @param method
-	 * @param getterName Getter方法名称
-	 * @param booleanGetterName 布尔Getter方法名称
-	 * @return
-	 */
-	private static boolean matchesSetter(Method method, String setterName) {
-		if (method == null || ArrayUtils.length(method.getParameterTypes()) != 1)
-			return false;
-		
-		return method.getName().equals(setterName);
-	}
-	
-	/**
-	 * 判断方法对象是否与指定的Setter方法相匹配，匹配要求如下：</P>
-	 * 1.方法自身有且只有一个参数</P>
-	 * 2.方法名称必须与指定的Setter方法名称匹配</P>
-	 * 3.方法中唯一的参数类型必须与指定的类型匹配</P>
-	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
-	 * @param method
-	 * @param setterName
-	 * @param parameterType
-	 * @return
-	 */
-	private static boolean matchesSetter(Method method, String setterName, Class<?> parameterType) {
-		Class<?>[] parameterTypes;
-		if (method == null || ArrayUtils.length(parameterTypes = method.getParameterTypes()) != 1)
-			return false;
-		
-		return method.getName().equals(setterName) && parameterTypes[0] == parameterType;
+	private static List<String> toMethodNames(List<Method> methods) {
+		List<String> names = CollectionUtils.newArrayList(methods.size());
+		for (Method method : methods) {
+			names.add(method.getName());
+		}
+		return names;
 	}
 	
 }
@@ -11,6 +11,7 @@ import java.util.Map;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.sniper.beans.BeanMetadata;
 import org.sniper.beans.BeanUtils;
 import org.sniper.commons.exception.NestedNullPointerException;
 import org.sniper.commons.util.CollectionUtils;
@@ -365,6 +366,33 @@ public class BeanUtilsTest extends BaseTestCase {
 		assertEquals(true, user.getBoss().isMarried());
 	}
 	
+	@Test
+	public void testBeanMetadata() throws Exception {
+		BeanMetadata metadata = BeanMetadata.forClass(User.class);
+		assertSame(metadata, BeanMetadata.forClass(User.class));
+		
+		// 多次检索返回同一个缓存的方法对象，而父类中声明的方法同样可以被检索到
+		assertSame(BeanUtils.findGetter(User.class, "name"), BeanUtils.findGetter(this.user, "name"));
+		assertEquals("isMarried", BeanUtils.findGetterName(User.class, "married"));
+		assertEquals("setBoss", BeanUtils.findSetterName(User.class, "boss", User.class));
+		assertNull(BeanUtils.findSetter(User.class, "boss", String.class));
+		assertNull(BeanUtils.findGetter(User.class, "abc"));
+		assertEquals(User.class, BeanUtils.findPropertyTypeByNameOrGetter(User.class, "boss"));
+		assertEquals(metadata.getGetters().size(), BeanUtils.findPropertyNamesByGetter(User.class).size());
+		
+		BeanUtils.setPropertyValue(this.user, "boss.name", "herris");
+		assertEquals("herris", BeanUtils.getPropertyValue(this.user, "boss.name"));
+		assertEquals("getName", BeanUtils.findNestedGetterName(User.class, "boss.name"));
+	}
+	
+	@Test
+	public void testGetterResolvedByClassLevel() throws Exception {
+		// 子类的"is"方法覆盖父类中对应的"get"方法
+		assertEquals(Switch.class, BeanUtils.findGetter(Switch.class, "active").getDeclaringClass());
+		assertEquals("isActive", BeanUtils.findGetterName(Switch.class, "active"));
+		assertEquals("getActive", BeanUtils.findGetterName(Device.class, "active"));
+	}
+	
 	@Test
 	public void testCreateMapByBean() throws Exception {
 		Map<String, Object> map = BeanUtils.create(this.user);
@@ -379,5 +407,19 @@ public class BeanUtilsTest extends BaseTestCase {
 		assertTrue(MapUtils.isNotEmpty(map));
 		System.out.println(map);
 	}
+	
+	public static class Device {
+		
+		public boolean getActive() {
+			return false;
+		}
+	}
+	
+	public static class Switch extends Device {
 		
+		public boolean isActive() {
+			return true;
+		}
+	}
+	
 }
@@ -240,6 +240,26 @@ public class CodecUtils {
 		} 
 	}
 	
+	/**
+	 * 按指定编码集将字节数组中指定区间的数据还原成源字符串
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param bytes
+	 * @param offset
+	 * @param length
+	 * @param encoding
+	 * @return
+	 */
+	public static String bytesToString(byte[] bytes, int offset, int length, String encoding) {
+		if (bytes == null)
+			return null;
+		
+		try {
+			return StringUtils.isNotBlank(encoding) ? new String(bytes, offset, length, encoding) : new String(bytes, offset, length);
+		} catch (UnsupportedEncodingException e) {
+			return bytesToString(bytes, offset, length, DEFAULT_ENCODING);
+		} 
+	}
+	
 	/**
 	 * 将字符串转换为16进制表现形式
 	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
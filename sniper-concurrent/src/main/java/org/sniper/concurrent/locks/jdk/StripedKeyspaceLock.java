@@ -0,0 +1,352 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.concurrent.locks.jdk;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+
+import org.sniper.commons.util.AssertUtils;
+import org.sniper.commons.util.ObjectUtils;
+import org.sniper.concurrent.locks.KeyspaceLock;
+
+/**
+ * 分段键空间锁实现类，与DefaultKeyspaceLock相比：</P>
+ * 1.分段数固定为2的幂，默认根据可用的处理器个数计算，通过位与运算定位分段；</P>
+ * 2.定位分段前对键的哈希值进行扰动，使连续的数值型键也能均匀分布到各个分段上；</P>
+ * 3.可选基于StampedLock的读写分段，此时lock/unlock为写锁，另外提供读锁和乐观读，
+ *   注意StampedLock是不可重入的，同一线程不能对同一分段重复加锁；</P>
+ * 4.每个分段分别统计加锁次数和发生竞争(未能立即加锁而需要等待)的次数，用于发现热点分段。</P>
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public final class StripedKeyspaceLock<K> implements KeyspaceLock<K> {
+	
+	/** 默认每个处理器对应的分段数 */
+	private static final int DEFAULT_STRIPES_PER_PROCESSOR = 4;
+	
+	/** 默认的最小分段数 */
+	private static final int MIN_DEFAULT_STRIPES = 16;
+	
+	/** 最大分段数 */
+	private static final int MAX_STRIPES = 1 << 16;
+	
+	private final Stripe[] stripes;
+	
+	private final int mask;
+	
+	private final boolean readWrite;
+	
+	public StripedKeyspaceLock() {
+		this(defaultStripes());
+	}
+	
+	public StripedKeyspaceLock(int stripes) {
+		this(stripes, false);
+	}
+	
+	public StripedKeyspaceLock(boolean readWrite) {
+		this(defaultStripes(), readWrite);
+	}
+	
+	public StripedKeyspaceLock(int stripes, boolean readWrite) {
+		AssertUtils.assertTrue(stripes > 0 && stripes <= MAX_STRIPES, String.format(
+				"Parameter 'stripes' value '%d' must within interval [1,%d]", stripes, MAX_STRIPES));
+		
+		int size = ceilingPowerOfTwo(stripes);
+		this.stripes = new Stripe[size];
+		for (int i = 0; i < size; i++) {
+			this.stripes[i] = (readWrite ? new StampedStripe() : new ReentrantStripe());
+		}
+		this.mask = size - 1;
+		this.readWrite = readWrite;
+	}
+	
+	/**
+	 * 根据可用的处理器个数计算出默认的分段数
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public static int defaultStripes() {
+		int processors = Runtime.getRuntime().availableProcessors();
+		return ceilingPowerOfTwo(Math.max(processors * DEFAULT_STRIPES_PER_PROCESSOR, MIN_DEFAULT_STRIPES));
+	}
+
+	@Override
+	public void lock(K key) {
+		Stripe stripe = getStripe(key);
+		Lock lock = stripe.writeLock();
+		if (!lock.tryLock()) {
+			stripe.contentions.increment();
+			lock.lock();
+		}
+		stripe.acquisitions.increment();
+	}
+
+	@Override
+	public boolean tryLock(K key) {
+		Stripe stripe = getStripe(key);
+		if (stripe.writeLock().tryLock()) {
+			stripe.acquisitions.increment();
+			return true;
+		}
+		
+		stripe.contentions.increment();
+		return false;
+	}
+
+	@Override
+	public boolean tryLock(K key, long acquireTime, TimeUnit unit) {
+		Stripe stripe = getStripe(key);
+		Lock lock = stripe.writeLock();
+		try {
+			if (!lock.tryLock()) {
+				stripe.contentions.increment();
+				if (!lock.tryLock(acquireTime, unit)) {
+					return false;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+		
+		stripe.acquisitions.increment();
+		return true;
+	}
+
+	@Override
+	public void unlock(K key) {
+		getStripe(key).writeLock().unlock();
+	}
+
+	@Override
+	public boolean isLocked(K key) {
+		return getStripe(key).isLocked();
+	}
+	
+	/**
+	 * 对键加读锁，非读写分段时等同于lock(key)
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 */
+	public void readLock(K key) {
+		Stripe stripe = getStripe(key);
+		Lock lock = stripe.readLock();
+		if (!lock.tryLock()) {
+			stripe.contentions.increment();
+			lock.lock();
+		}
+		stripe.acquisitions.increment();
+	}
+	
+	/**
+	 * 对键解读锁，非读写分段时等同于unlock(key)
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 */
+	public void unlockRead(K key) {
+		getStripe(key).readLock().unlock();
+	}
+	
+	/**
+	 * 获取键所在分段的乐观读戳记，分段被写锁定或者非读写分段时返回0
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @return
+	 */
+	public long tryOptimisticRead(K key) {
+		Stripe stripe = getStripe(key);
+		return readWrite ? ((StampedStripe) stripe).lock.tryOptimisticRead() : 0L;
+	}
+	
+	/**
+	 * 校验乐观读戳记在获取之后，键所在的分段是否没有被写锁定过
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @param stamp
+	 * @return
+	 */
+	public boolean validate(K key, long stamp) {
+		Stripe stripe = getStripe(key);
+		return readWrite && ((StampedStripe) stripe).lock.validate(stamp);
+	}
+	
+	public boolean isReadWrite() {
+		return readWrite;
+	}
+	
+	/**
+	 * 获取分段数
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public int getStripes() {
+		return stripes.length;
+	}
+	
+	/**
+	 * 获取键所在分段的索引
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @return
+	 */
+	public int stripeOf(K key) {
+		return spread(ObjectUtils.hashCode(key)) & mask;
+	}
+	
+	/**
+	 * 获取各分段的加锁次数
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public long[] getAcquisitionCounts() {
+		long[] counts = new long[stripes.length];
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = stripes[i].acquisitions.sum();
+		}
+		return counts;
+	}
+	
+	/**
+	 * 获取各分段发生竞争的次数
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public long[] getContentionCounts() {
+		long[] counts = new long[stripes.length];
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = stripes[i].contentions.sum();
+		}
+		return counts;
+	}
+	
+	/**
+	 * 重置所有分段的统计数据
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a>
+	 */
+	public void resetCounts() {
+		for (Stripe stripe : stripes) {
+			stripe.acquisitions.reset();
+			stripe.contentions.reset();
+		}
+	}
+	
+	private Stripe getStripe(K key) {
+		return stripes[stripeOf(key)];
+	}
+	
+	/**
+	 * 对哈希值进行扰动(MurmurHash3的fmix32)，使哈希值的每一位都能影响到低位
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param hashCode
+	 * @return
+	 */
+	static int spread(int hashCode) {
+		int h = hashCode;
+		h ^= h >>> 16;
+		h *= 0x85ebca6b;
+		h ^= h >>> 13;
+		h *= 0xc2b2ae35;
+		h ^= h >>> 16;
+		return h;
+	}
+	
+	private static int ceilingPowerOfTwo(int value) {
+		int highest = Integer.highestOneBit(value);
+		return highest == value ? value : highest << 1;
+	}
+	
+	/**
+	 * 锁分段
+	 * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @version 1.0
+	 */
+	private static abstract class Stripe {
+		
+		/** 加锁次数 */
+		protected final LongAdder acquisitions = new LongAdder();
+		
+		/** 竞争次数 */
+		protected final LongAdder contentions = new LongAdder();
+		
+		protected abstract Lock writeLock();
+		
+		protected abstract Lock readLock();
+		
+		protected abstract boolean isLocked();
+	}
+	
+	/**
+	 * 基于重入锁的分段，读锁和写锁为同一个锁
+	 * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @version 1.0
+	 */
+	private static final class ReentrantStripe extends Stripe {
+		
+		private final ReentrantLock lock = new ReentrantLock();
+
+		@Override
+		protected Lock writeLock() {
+			return lock;
+		}
+
+		@Override
+		protected Lock readLock() {
+			return lock;
+		}
+
+		@Override
+		protected boolean isLocked() {
+			return lock.isLocked();
+		}
+	}
+	
+	/**
+	 * 基于StampedLock的读写分段
+	 * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @version 1.0
+	 */
+	private static final class StampedStripe extends Stripe {
+		
+		private final StampedLock lock = new StampedLock();
+		
+		private final Lock writeLock = lock.asWriteLock();
+		
+		private final Lock readLock = lock.asReadLock();
+
+		@Override
+		protected Lock writeLock() {
+			return writeLock;
+		}
+
+		@Override
+		protected Lock readLock() {
+			return readLock;
+		}
+
+		@Override
+		protected boolean isLocked() {
+			return lock.isWriteLocked() || lock.isReadLocked();
+		}
+	}
+
+}
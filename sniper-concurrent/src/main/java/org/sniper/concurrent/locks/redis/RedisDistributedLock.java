@@ -18,71 +18,462 @@
 
 package org.sniper.concurrent.locks.redis;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.sniper.commons.util.AssertUtils;
+import org.sniper.commons.util.MapUtils;
 import org.sniper.concurrent.locks.KeyspaceLock;
 import org.sniper.nosql.redis.command.RedisCommands;
 
 /**
- * Redis分布式锁实现类
+ * Redis分布式锁实现类，其实现方式如下：</P>
+ * 1.加锁时通过"SET key token NX PX leaseMillis"命令写入当前持有者的令牌，同时对键对应的防护计数进行累加，
+ *   累加后的值作为单调递增的防护令牌(fencing token)，下游资源可以通过比较防护令牌来拒绝已过期持有者的写入；</P>
+ * 2.解锁时通过Lua脚本比较令牌后再删除，避免误删其它持有者在租约过期后重新获取的锁；</P>
+ * 3.持有锁期间，由后台线程每隔leaseMillis/3的时间对租约进行续期，续期同样需要比较令牌，续期失败表示锁已丢失；</P>
+ * 4.同一个JVM内，每个键都对应一个本地的重入锁，线程首先在本地排队，只有获取到本地锁的线程才会去轮询Redis，
+ *   从而在大量线程竞争同一个键时降低Redis的负载，同时也支持同一线程的重入；</P>
+ * 5.锁键与防护计数键的格式分别为"前缀{key}"和"前缀{key}:fencing"，通过哈希标签保证两者在Redis集群中位于同一槽位，
+ *   否则脚本在集群环境下会因为跨槽位而执行失败；</P>
+ * 6.防护计数键在每次加锁成功时都会将过期时间重置为fencingTtlMillis(默认7天)，因此不会随着锁键的数量无限累积。
+ *   该时长应远大于租约时长，使得计数过期重置时不可能还存在持有旧令牌的持有者；如果下游资源会长期保存已见过的最大防护令牌，
+ *   则该时长还应不小于下游资源的保存时长，或者锁键只取自一个有限的集合。</P>
  * @author  <a href="mailto:code727@gmail.com">杜斌</a>
  * @version 1.0
  */
 public class RedisDistributedLock<K> implements KeyspaceLock<K> {
 	
+	private static final Logger logger = LoggerFactory.getLogger(RedisDistributedLock.class);
+	
+	/** 加锁脚本，加锁成功时返回累加后的防护令牌并重置防护计数键的过期时间，否则返回0 */
+	private static final String LOCK_SCRIPT = 
+			"if redis.call('set', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then " +
+			"local fencing = redis.call('incr', KEYS[2]) " +
+			"redis.call('pexpire', KEYS[2], ARGV[3]) " +
+			"return fencing " +
+			"end " +
+			"return 0";
+	
+	/** 解锁脚本，令牌一致时删除锁并返回1，否则返回0 */
+	private static final String UNLOCK_SCRIPT = 
+			"if redis.call('get', KEYS[1]) == ARGV[1] then " +
+			"return redis.call('del', KEYS[1]) " +
+			"end " +
+			"return 0";
+	
+	/** 续期脚本，令牌一致时重新设置过期时间并返回1，否则返回0 */
+	private static final String RENEW_SCRIPT = 
+			"if redis.call('get', KEYS[1]) == ARGV[1] then " +
+			"return redis.call('pexpire', KEYS[1], ARGV[2]) " +
+			"end " +
+			"return 0";
+	
+	private static final String DEFAULT_KEY_PREFIX = "lock:";
+	
+	private static final String FENCING_KEY_SUFFIX = ":fencing";
+	
+	private static final long DEFAULT_LEASE_MILLIS = 30000;
+	
+	private static final long DEFAULT_RETRY_INTERVAL_MILLIS = 10;
+	
+	private static final long DEFAULT_FENCING_TTL_MILLIS = TimeUnit.DAYS.toMillis(7);
+	
 	private final RedisCommands redisCommands;
 	
+	/** 锁所在的库名称 */
+	private final String dbName;
+	
+	/** 当前实例的标识，与序号一起组成持有者的令牌 */
+	private final String instanceId;
+	
+	private final AtomicLong tokenSequence;
+	
+	/** 各键对应的本地锁 */
+	private final ConcurrentMap<K, LocalLock> localLocks;
+	
+	/** 租约续期执行器 */
+	private final ScheduledExecutorService renewalExecutor;
+	
+	/** 锁在Redis中的键前缀 */
+	private String keyPrefix = DEFAULT_KEY_PREFIX;
+	
+	/** 租约时长(毫秒) */
+	private long leaseMillis = DEFAULT_LEASE_MILLIS;
+	
+	/** 轮询Redis的间隔时长(毫秒) */
+	private long retryIntervalMillis = DEFAULT_RETRY_INTERVAL_MILLIS;
+	
+	/** 防护计数键的过期时长(毫秒)，每次加锁成功时重置 */
+	private long fencingTtlMillis = DEFAULT_FENCING_TTL_MILLIS;
+	
 	public RedisDistributedLock(RedisCommands redisCommands) {
+		this(redisCommands, null);
+	}
+	
+	public RedisDistributedLock(RedisCommands redisCommands, String dbName) {
 		AssertUtils.assertNotNull(redisCommands, "Property 'redisCommands' must not be null");
 		this.redisCommands = redisCommands;
+		this.dbName = dbName;
+		this.instanceId = UUID.randomUUID().toString();
+		this.tokenSequence = new AtomicLong();
+		this.localLocks = MapUtils.newConcurrentHashMap();
+		this.renewalExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "redis-lock-renewal");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
 	}
 	
+	public String getKeyPrefix() {
+		return keyPrefix;
+	}
+
+	public void setKeyPrefix(String keyPrefix) {
+		this.keyPrefix = (keyPrefix != null ? keyPrefix : DEFAULT_KEY_PREFIX);
+	}
+
+	public long getLeaseMillis() {
+		return leaseMillis;
+	}
+
+	public void setLeaseMillis(long leaseMillis) {
+		AssertUtils.assertTrue(leaseMillis > 0, String.format(
+				"Property 'leaseMillis' value '%d' must greater than 0", leaseMillis));
+		this.leaseMillis = leaseMillis;
+	}
+
+	public long getRetryIntervalMillis() {
+		return retryIntervalMillis;
+	}
+
+	public void setRetryIntervalMillis(long retryIntervalMillis) {
+		AssertUtils.assertTrue(retryIntervalMillis > 0, String.format(
+				"Property 'retryIntervalMillis' value '%d' must greater than 0", retryIntervalMillis));
+		this.retryIntervalMillis = retryIntervalMillis;
+	}
+
+	public long getFencingTtlMillis() {
+		return fencingTtlMillis;
+	}
+
+	public void setFencingTtlMillis(long fencingTtlMillis) {
+		AssertUtils.assertTrue(fencingTtlMillis > 0, String.format(
+				"Property 'fencingTtlMillis' value '%d' must greater than 0", fencingTtlMillis));
+		this.fencingTtlMillis = fencingTtlMillis;
+	}
+
 	@Override
 	public void lock(K key) {
-		ReentrantLock lock = redisCommands.get(key);
-		if (lock == null) {
-			lock = new ReentrantLock();
-			lock.lock();
-			redisCommands.setNX(key, lock, 10);
-		} else {
-			lock.lock();
-			redisCommands.set(key, lock, 10);
+		LocalLock localLock = acquireLocalLock(key);
+		localLock.lock.lock();
+		if (localLock.lock.getHoldCount() > 1) {
+			return;
+		}
+		
+		try {
+			while (!tryRemoteLock(key, localLock)) {
+				LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(retryIntervalMillis));
+			}
+		} catch (RuntimeException e) {
+			releaseLocalLock(key, localLock);
+			throw e;
 		}
 	}
 		
 	@Override
 	public boolean tryLock(K key) {
+		LocalLock localLock = acquireLocalLock(key);
+		if (!localLock.lock.tryLock()) {
+			release(key, localLock);
+			return false;
+		}
 		
-//		ReentrantLock lock = new ReentrantLock();
-		// TODO Auto-generated method stub
-		return false;
+		if (localLock.lock.getHoldCount() > 1) {
+			return true;
+		}
+		
+		boolean locked = false;
+		try {
+			locked = tryRemoteLock(key, localLock);
+		} finally {
+			if (!locked) {
+				releaseLocalLock(key, localLock);
+			}
+		}
+		return locked;
 	}
 	
 	@Override
 	public boolean tryLock(K key, long acquireTime, TimeUnit unit) {
-		// TODO Auto-generated method stub
-		return false;
+		long deadline = System.nanoTime() + unit.toNanos(acquireTime);
+		LocalLock localLock = acquireLocalLock(key);
+		try {
+			if (!localLock.lock.tryLock(acquireTime, unit)) {
+				release(key, localLock);
+				return false;
+			}
+		} catch (InterruptedException e) {
+			release(key, localLock);
+			Thread.currentThread().interrupt();
+			return false;
+		}
+		
+		if (localLock.lock.getHoldCount() > 1) {
+			return true;
+		}
+		
+		boolean locked = false;
+		try {
+			long retryIntervalNanos = TimeUnit.MILLISECONDS.toNanos(retryIntervalMillis);
+			while (!(locked = tryRemoteLock(key, localLock))) {
+				long remainingNanos = deadline - System.nanoTime();
+				if (remainingNanos <= 0 || Thread.currentThread().isInterrupted()) {
+					break;
+				}
+				LockSupport.parkNanos(Math.min(retryIntervalNanos, remainingNanos));
+			}
+		} finally {
+			if (!locked) {
+				releaseLocalLock(key, localLock);
+			}
+		}
+		return locked;
 	}
 
 	@Override
 	public void unlock(K key) {
-		ReentrantLock lock = redisCommands.get(key);
-		if (lock != null) {
-			lock.unlock();
-			
-			if (!lock.isLocked())
-				redisCommands.del(key);
+		LocalLock localLock = localLocks.get(key);
+		if (localLock == null || !localLock.lock.isHeldByCurrentThread()) {
+			throw new IllegalMonitorStateException("Current thread does not hold the lock of key '" + key + "'");
+		}
+		
+		if (localLock.lock.getHoldCount() > 1) {
+			releaseLocalLock(key, localLock);
+			return;
+		}
+		
+		try {
+			localLock.renewal.cancel(false);
+			Long released = redisCommands.eval(dbName, UNLOCK_SCRIPT, toLockKeys(key), localLock.token);
+			if (released == null || released == 0) {
+				logger.warn("Lock of key '{}' has expired before unlock, lease may be too short", key);
+			}
+		} finally {
+			releaseLocalLock(key, localLock);
 		}
 	}
 
 	@Override
 	public boolean isLocked(K key) {
-		return redisCommands.exists(key);
+		return redisCommands.exists(dbName, toLockKey(key));
+	}
+	
+	/**
+	 * 获取当前线程持有的指定键锁的防护令牌，令牌随着每一次成功加锁单调递增
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @return
+	 */
+	public long getFencingToken(K key) {
+		LocalLock localLock = localLocks.get(key);
+		if (localLock == null || !localLock.lock.isHeldByCurrentThread()) {
+			throw new IllegalMonitorStateException("Current thread does not hold the lock of key '" + key + "'");
+		}
+		return localLock.fencingToken;
+	}
+	
+	/**
+	 * 判断当前线程持有的指定键锁的租约是否已丢失，例如：续期时发现锁已过期并被其它持有者获取
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @return
+	 */
+	public boolean isLeaseLost(K key) {
+		LocalLock localLock = localLocks.get(key);
+		return localLock == null || !localLock.lock.isHeldByCurrentThread() || localLock.leaseLost;
+	}
+	
+	/**
+	 * 关闭租约续期执行器，关闭之后已持有的锁将不再续期
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a>
+	 */
+	public void destroy() {
+		renewalExecutor.shutdownNow();
+	}
+	
+	/**
+	 * 尝试在Redis上加锁，成功后开始对租约进行续期
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @param localLock
+	 * @return
+	 */
+	private boolean tryRemoteLock(final K key, final LocalLock localLock) {
+		final String token = instanceId + ":" + tokenSequence.incrementAndGet();
+		// 防护计数键的存活时长至少要覆盖一个租约，否则租约期间计数可能被重置
+		Long fencingToken = redisCommands.eval(dbName, LOCK_SCRIPT, toLockKeys(key), 
+				token, leaseMillis, Math.max(fencingTtlMillis, leaseMillis));
+		if (fencingToken == null || fencingToken == 0) {
+			return false;
+		}
+		
+		localLock.token = token;
+		localLock.fencingToken = fencingToken;
+		localLock.leaseLost = false;
+		
+		long period = Math.max(leaseMillis / 3, 1);
+		localLock.renewal = renewalExecutor.scheduleAtFixedRate(new Runnable() {
+			
+			@Override
+			public void run() {
+				renew(key, localLock, token);
+			}
+		}, period, period, TimeUnit.MILLISECONDS);
+		
+		return true;
+	}
+	
+	/**
+	 * 对锁的租约进行续期
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @param localLock
+	 * @param token
+	 */
+	private void renew(K key, LocalLock localLock, String token) {
+		try {
+			Long renewed = redisCommands.eval(dbName, RENEW_SCRIPT, toLockKeys(key), token, leaseMillis);
+			if (renewed == null || renewed == 0) {
+				localLock.leaseLost = true;
+				localLock.renewal.cancel(false);
+				logger.warn("Lease of lock key '{}' lost, fencing token {} is no longer valid", key, localLock.fencingToken);
+			}
+		} catch (RuntimeException e) {
+			// 续期失败时等待下一次续期，只要在租约过期之前续期成功则锁不会丢失
+			logger.warn("Lease renewal of lock key '" + key + "' failed", e);
+		}
+	}
+	
+	/**
+	 * 获取键对应的本地锁并增加其引用计数
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @return
+	 */
+	private LocalLock acquireLocalLock(K key) {
+		for (;;) {
+			LocalLock localLock = localLocks.get(key);
+			if (localLock == null) {
+				localLock = new LocalLock();
+				LocalLock existing = localLocks.putIfAbsent(key, localLock);
+				if (existing == null) {
+					return localLock;
+				}
+				localLock = existing;
+			}
+			
+			if (localLock.retain()) {
+				return localLock;
+			}
+			
+			// 引用计数已归零的本地锁正在被移除，重新获取
+			localLocks.remove(key, localLock);
+		}
 	}
 	
-	public static void main(String[] args) {
+	/**
+	 * 释放本地锁，并减少其引用计数
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @param localLock
+	 */
+	private void releaseLocalLock(K key, LocalLock localLock) {
+		localLock.lock.unlock();
+		release(key, localLock);
+	}
+	
+	/**
+	 * 减少本地锁的引用计数，归零时将其移除
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @param localLock
+	 */
+	private void release(K key, LocalLock localLock) {
+		if (localLock.references.decrementAndGet() == 0) {
+			localLocks.remove(key, localLock);
+		}
+	}
+	
+	/**
+	 * 获取键在Redis中对应的锁键，将键作为哈希标签，使锁键与防护计数键位于同一槽位
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @return
+	 */
+	private String toLockKey(K key) {
+		return keyPrefix + "{" + key + "}";
+	}
+	
+	private List<String> toLockKeys(K key) {
+		String lockKey = toLockKey(key);
+		return Arrays.asList(lockKey, lockKey + FENCING_KEY_SUFFIX);
+	}
+	
+	/**
+	 * 本地锁，同一个JVM内竞争相同键的线程在此排队
+	 * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @version 1.0
+	 */
+	private static class LocalLock {
+		
+		private final ReentrantLock lock = new ReentrantLock();
+		
+		/** 引用计数，包括持有和等待本地锁的所有线程 */
+		private final AtomicInteger references = new AtomicInteger(1);
+		
+		/** 以下属性只由持有本地锁的线程修改 */
+		private volatile String token;
+		
+		private volatile long fencingToken;
+		
+		private volatile boolean leaseLost;
+		
+		private volatile ScheduledFuture<?> renewal;
+		
+		/**
+		 * 增加引用计数，已归零时返回false
+		 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+		 * @return
+		 */
+		private boolean retain() {
+			for (;;) {
+				int current = references.get();
+				if (current == 0) {
+					return false;
+				}
+				if (references.compareAndSet(current, current + 1)) {
+					return true;
+				}
+			}
+		}
 	}
 
 }
@@ -18,46 +18,468 @@
 
 package org.sniper.concurrent.locks.zookeeper;
 
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.zookeeper.CreateMode;
+import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.WatchedEvent;
+import org.apache.zookeeper.Watcher;
+import org.apache.zookeeper.ZooDefs;
+import org.apache.zookeeper.ZooKeeper;
+import org.apache.zookeeper.data.Stat;
+import org.sniper.commons.util.AssertUtils;
+import org.sniper.commons.util.MapUtils;
+import org.sniper.concurrent.exception.LockException;
 import org.sniper.concurrent.locks.KeyspaceLock;
 
 /**
- * Zookeeper分布式锁实现类
+ * Zookeeper分布式锁实现类，其实现方式如下：</P>
+ * 1.每个键对应根路径下的一个容器节点，加锁时在此节点下创建临时顺序节点，序号最小的节点持有锁；</P>
+ * 2.未持有锁的节点只监听其前一个节点的删除事件，前一个节点删除后再重新检查，从而避免锁释放时所有等待者同时被唤醒(羊群效应)；</P>
+ * 3.加锁时直接创建临时顺序节点，只有键节点不存在时才逐级创建父节点。键节点及其父节点以容器节点(CONTAINER)创建，
+ *   最后一个子节点删除后由服务端自动清理，因此大量不同的键不会在服务端留下空节点，服务端不支持容器节点(3.5以前的版本)时以持久节点创建；</P>
+ * 4.每次加锁时生成一个GUID作为临时顺序节点名称的前缀，创建请求因连接丢失或线程中断而未能得到结果时，
+ *   根据GUID查找服务端可能已经创建的节点，从而避免遗留一个无人持有的节点使其它客户端永远无法加锁；</P>
+ * 5.临时节点随会话结束而删除，因此持有者宕机后锁会自动释放。同一线程可重入加锁；</P>
+ * 6.lock()与Lock.lock()一致，不响应中断，被中断的Zookeeper请求会被重试，加锁成功后再恢复中断状态；
+ *   tryLock()被中断时返回false并保持中断状态。</P>
  * @author  <a href="mailto:code727@gmail.com">杜斌</a>
  * @version 1.0
  */
-public class ZookeeperDistributedLock<P> implements KeyspaceLock<P> {
+public class ZookeeperDistributedLock<K> implements KeyspaceLock<K> {
+	
+	private static final String DEFAULT_ROOT_PATH = "/sniper/locks";
+	
+	private static final String NODE_PREFIX = "lock-";
+	
+	/** 带GUID的临时顺序节点名称前缀，完整的名称为"_c_" + GUID + "-lock-" + 序号 */
+	private static final String PROTECTED_PREFIX = "_c_";
+	
+	/** 顺序节点的序号长度 */
+	private static final int SEQUENCE_LENGTH = 10;
+	
+	/** 创建节点时连接丢失的最大重试次数 */
+	private static final int MAX_CONNECTION_LOSS_RETRIES = 3;
+	
+	/** 连接丢失后重试的间隔毫秒数，每次重试递增 */
+	private static final long CONNECTION_LOSS_RETRY_MILLIS = 100;
+	
+	/** 按顺序节点的序号排序的比较器 */
+	private static final Comparator<String> SEQUENCE_COMPARATOR = new Comparator<String>() {
 
-	@Override
-	public void lock(P key) {
-		// TODO Auto-generated method stub
+		@Override
+		public int compare(String name1, String name2) {
+			return toSequence(name1).compareTo(toSequence(name2));
+		}
+	};
+	
+	private static final byte[] EMPTY_DATA = new byte[0];
+	
+	private final ZooKeeper zooKeeper;
+	
+	/** 锁的根路径 */
+	private final String rootPath;
+	
+	/** 当前JVM内已持有的锁节点 */
+	private final ConcurrentMap<K, LockNode> ownedNodes;
+	
+	/** 服务端是否支持容器节点 */
+	private volatile boolean containerSupported = true;
+	
+	public ZookeeperDistributedLock(ZooKeeper zooKeeper) {
+		this(zooKeeper, DEFAULT_ROOT_PATH);
+	}
+	
+	public ZookeeperDistributedLock(ZooKeeper zooKeeper, String rootPath) {
+		AssertUtils.assertNotNull(zooKeeper, "Property 'zooKeeper' must not be null");
+		AssertUtils.assertTrue(rootPath != null && rootPath.startsWith("/") && (rootPath.length() == 1 || !rootPath.endsWith("/")), 
+				String.format("Property 'rootPath' value '%s' must start with '/' and not end with '/'", rootPath));
 		
+		this.zooKeeper = zooKeeper;
+		this.rootPath = (rootPath.length() == 1 ? "" : rootPath);
+		this.ownedNodes = MapUtils.newConcurrentHashMap();
 	}
 
 	@Override
-	public boolean tryLock(P key) {
-		// TODO Auto-generated method stub
-		return false;
+	public void lock(K key) {
+		acquire(key, -1);
 	}
 
 	@Override
-	public boolean tryLock(P key, long acquireTime, TimeUnit unit) {
-		// TODO Auto-generated method stub
-		return false;
+	public boolean tryLock(K key) {
+		return acquire(key, 0);
 	}
 
 	@Override
-	public void unlock(P key) {
-		// TODO Auto-generated method stub
-		
+	public boolean tryLock(K key, long acquireTime, TimeUnit unit) {
+		return acquire(key, Math.max(unit.toNanos(acquireTime), 0));
 	}
 
 	@Override
-	public boolean isLocked(P key) {
-		// TODO Auto-generated method stub
-		return false;
+	public void unlock(K key) {
+		LockNode lockNode = ownedNodes.get(key);
+		if (lockNode == null || lockNode.owner != Thread.currentThread()) {
+			throw new IllegalMonitorStateException("Current thread does not hold the lock of key '" + key + "'");
+		}
+		
+		if (--lockNode.holdCount > 0) {
+			return;
+		}
+		
+		ownedNodes.remove(key);
+		try {
+			zooKeeper.delete(lockNode.path, -1);
+		} catch (KeeperException.NoNodeException e) {
+			// 会话过期后临时节点已被删除
+		} catch (KeeperException e) {
+			throw new LockException("Failed to delete lock node '" + lockNode.path + "'", e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new LockException("Interrupted while deleting lock node '" + lockNode.path + "'", e);
+		}
 	}
 
+	@Override
+	public boolean isLocked(K key) {
+		try {
+			return !zooKeeper.getChildren(toKeyPath(key), false).isEmpty();
+		} catch (KeeperException.NoNodeException e) {
+			return false;
+		} catch (KeeperException e) {
+			throw new LockException("Failed to check lock of key '" + key + "'", e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new LockException("Interrupted while checking lock of key '" + key + "'", e);
+		}
+	}
+	
+	/**
+	 * 加锁，timeoutNanos小于0时一直等待到加锁成功为止，等于0时只尝试一次
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @param timeoutNanos
+	 * @return
+	 */
+	private boolean acquire(K key, long timeoutNanos) {
+		LockNode lockNode = ownedNodes.get(key);
+		if (lockNode != null && lockNode.owner == Thread.currentThread()) {
+			lockNode.holdCount++;
+			return true;
+		}
+		
+		long deadline = System.nanoTime() + timeoutNanos;
+		String keyPath = toKeyPath(key);
+		String guid = UUID.randomUUID().toString();
+		String nodePath = null;
+		boolean acquired = false;
+		boolean interrupted = false;
+		try {
+			for (;;) {
+				try {
+					if (nodePath == null && interrupted) {
+						// 被中断的创建请求可能已在服务端生效
+						nodePath = findNode(keyPath, guid);
+					}
+					if (nodePath == null) {
+						nodePath = createNode(keyPath, guid);
+					}
+					acquired = waitForLock(keyPath, nodePath, timeoutNanos, deadline);
+					break;
+				} catch (InterruptedException e) {
+					interrupted = true;
+					// lock()不响应中断，重试被中断的请求
+					if (timeoutNanos >= 0) {
+						break;
+					}
+				}
+			}
+		} catch (KeeperException e) {
+			throw new LockException("Failed to acquire lock of key '" + key + "'", e);
+		} finally {
+			if (!acquired) {
+				if (nodePath != null) {
+					deleteQuietly(nodePath);
+				} else {
+					deleteQuietly(keyPath, guid);
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		
+		if (acquired) {
+			ownedNodes.put(key, new LockNode(nodePath));
+		}
+		return acquired;
+	}
+	
+	/**
+	 * 等待当前节点成为序号最小的节点
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param keyPath
+	 * @param nodePath
+	 * @param timeoutNanos
+	 * @param deadline
+	 * @return
+	 * @throws KeeperException
+	 * @throws InterruptedException
+	 */
+	private boolean waitForLock(String keyPath, String nodePath, long timeoutNanos, long deadline) 
+			throws KeeperException, InterruptedException {
+		
+		String nodeName = nodePath.substring(keyPath.length() + 1);
+		boolean interrupted = false;
+		try {
+			for (;;) {
+				// 节点名称的GUID前缀各不相同，因此按名称末尾的序号排序
+				List<String> children = zooKeeper.getChildren(keyPath, false);
+				Collections.sort(children, SEQUENCE_COMPARATOR);
+				
+				int index = children.indexOf(nodeName);
+				if (index < 0) {
+					throw new LockException("Lock node '" + nodePath + "' does not exist, session may have expired");
+				}
+				if (index == 0) {
+					return true;
+				}
+				if (timeoutNanos == 0) {
+					return false;
+				}
+				
+				// 只监听前一个节点，前一个节点删除后再重新检查
+				final CountDownLatch latch = new CountDownLatch(1);
+				Stat stat = zooKeeper.exists(keyPath + "/" + children.get(index - 1), new Watcher() {
+					
+					@Override
+					public void process(WatchedEvent event) {
+						latch.countDown();
+					}
+				});
+				
+				if (stat == null) {
+					continue;
+				}
+				
+				if (timeoutNanos < 0) {
+					try {
+						latch.await();
+					} catch (InterruptedException e) {
+						// 与Lock.lock()一致，不响应中断，等加锁成功后再恢复中断状态
+						interrupted = true;
+					}
+				} else {
+					long remainingNanos = deadline - System.nanoTime();
+					if (remainingNanos <= 0 || !latch.await(remainingNanos, TimeUnit.NANOSECONDS)) {
+						return false;
+					}
+				}
+			}
+		} finally {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+	
+	/**
+	 * 在键节点下创建名称带GUID前缀的临时顺序节点，键节点不存在时逐级创建。
+	 * 连接丢失时创建请求可能已在服务端生效，因此重试前先根据GUID查找已创建的节点
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param keyPath
+	 * @param guid
+	 * @return
+	 * @throws KeeperException
+	 * @throws InterruptedException
+	 */
+	private String createNode(String keyPath, String guid) throws KeeperException, InterruptedException {
+		for (int retries = 0;; retries++) {
+			try {
+				try {
+					return zooKeeper.create(keyPath + "/" + PROTECTED_PREFIX + guid + "-" + NODE_PREFIX, 
+							EMPTY_DATA, ZooDefs.Ids.OPEN_ACL_UNSAFE, CreateMode.EPHEMERAL_SEQUENTIAL);
+				} catch (KeeperException.NoNodeException e) {
+					// 键节点不存在或已作为空的容器节点被服务端清理
+					createParents(keyPath);
+					return zooKeeper.create(keyPath + "/" + PROTECTED_PREFIX + guid + "-" + NODE_PREFIX, 
+							EMPTY_DATA, ZooDefs.Ids.OPEN_ACL_UNSAFE, CreateMode.EPHEMERAL_SEQUENTIAL);
+				}
+			} catch (KeeperException.ConnectionLossException e) {
+				if (retries >= MAX_CONNECTION_LOSS_RETRIES) {
+					throw e;
+				}
+				
+				Thread.sleep(CONNECTION_LOSS_RETRY_MILLIS * (retries + 1));
+				String nodePath;
+				try {
+					nodePath = findNode(keyPath, guid);
+				} catch (KeeperException.ConnectionLossException ex) {
+					// 连接仍未恢复，等待下一次重试
+					continue;
+				}
+				if (nodePath != null) {
+					return nodePath;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * 在键节点下查找名称带指定GUID的节点，不存在时返回null
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param keyPath
+	 * @param guid
+	 * @return
+	 * @throws KeeperException
+	 * @throws InterruptedException
+	 */
+	private String findNode(String keyPath, String guid) throws KeeperException, InterruptedException {
+		List<String> children;
+		try {
+			children = zooKeeper.getChildren(keyPath, false);
+		} catch (KeeperException.NoNodeException e) {
+			return null;
+		}
+		
+		for (String child : children) {
+			if (child.startsWith(PROTECTED_PREFIX) && child.contains(guid)) {
+				return keyPath + "/" + child;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * 逐级创建路径上的所有容器节点
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param path
+	 * @throws KeeperException
+	 * @throws InterruptedException
+	 */
+	private void createParents(String path) throws KeeperException, InterruptedException {
+		int index = 0;
+		do {
+			index = path.indexOf('/', index + 1);
+			String subPath = (index == -1 ? path : path.substring(0, index));
+			try {
+				createContainer(subPath);
+			} catch (KeeperException.NodeExistsException e) {
+				// 节点已由其它客户端创建
+			}
+		} while (index != -1);
+	}
+	
+	/**
+	 * 创建容器节点，服务端不支持容器节点时改为创建持久节点
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param path
+	 * @throws KeeperException
+	 * @throws InterruptedException
+	 */
+	private void createContainer(String path) throws KeeperException, InterruptedException {
+		if (containerSupported) {
+			try {
+				zooKeeper.create(path, EMPTY_DATA, ZooDefs.Ids.OPEN_ACL_UNSAFE, CreateMode.CONTAINER);
+				return;
+			} catch (KeeperException.UnimplementedException e) {
+				containerSupported = false;
+			}
+		}
+		
+		zooKeeper.create(path, EMPTY_DATA, ZooDefs.Ids.OPEN_ACL_UNSAFE, CreateMode.PERSISTENT);
+	}
+	
+	/**
+	 * 删除节点，忽略所有异常
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param nodePath
+	 */
+	private void deleteQuietly(String nodePath) {
+		try {
+			zooKeeper.delete(nodePath, -1);
+		} catch (KeeperException e) {
+			// 节点不存在或会话已过期，临时节点最终都会被删除
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * 删除键节点下名称带指定GUID的节点，忽略所有异常
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param keyPath
+	 * @param guid
+	 */
+	private void deleteQuietly(String keyPath, String guid) {
+		try {
+			String nodePath = findNode(keyPath, guid);
+			if (nodePath != null) {
+				deleteQuietly(nodePath);
+			}
+		} catch (KeeperException e) {
+			// 会话过期后临时节点最终都会被删除
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * 获取顺序节点名称末尾的序号
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param name
+	 * @return
+	 */
+	private static String toSequence(String name) {
+		return name.length() > SEQUENCE_LENGTH ? name.substring(name.length() - SEQUENCE_LENGTH) : name;
+	}
+	
+	/**
+	 * 将键转换为节点路径，键会按UTF-8进行URL编码，从而避免出现非法的节点名称
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @return
+	 */
+	private String toKeyPath(K key) {
+		String name;
+		try {
+			name = URLEncoder.encode(String.valueOf(key), "UTF-8");
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+		
+		if (".".equals(name) || "..".equals(name)) {
+			name = name.replace(".", "%2E");
+		}
+		return rootPath + "/" + name;
+	}
+	
+	/**
+	 * 已持有的锁节点
+	 * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @version 1.0
+	 */
+	private static class LockNode {
+		
+		private final String path;
+		
+		private final Thread owner;
+		
+		/** 重入次数，只由持有者线程修改 */
+		private int holdCount;
+		
+		private LockNode(String path) {
+			this.path = path;
+			this.owner = Thread.currentThread();
+			this.holdCount = 1;
+		}
+	}
 
 }
@@ -0,0 +1,289 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.concurrent;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sniper.commons.util.MapUtils;
+import org.sniper.concurrent.locks.redis.RedisDistributedLock;
+import org.sniper.nosql.redis.cluster.ClusterSlotUtils;
+import org.sniper.nosql.redis.command.RedisCommands;
+import org.sniper.test.junit.BaseTestCase;
+
+/**
+ * Redis分布式锁单元测试类，使用内存中模拟的Redis命令执行加锁、解锁和续期脚本
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class RedisDistributedLockTest extends BaseTestCase {
+	
+	private FakeRedis redis;
+	
+	private RedisDistributedLock<String> lock;
+	
+	@Before
+	public void before() {
+		redis = new FakeRedis();
+		lock = new RedisDistributedLock<String>(redis.commands());
+	}
+	
+	@After
+	public void after() {
+		lock.destroy();
+	}
+	
+	@Test
+	public void testLock() {
+		assertTrue(lock.tryLock("order"));
+		assertTrue(lock.isLocked("order"));
+		assertNotNull(redis.get("lock:{order}"));
+		assertEquals("1", redis.get("lock:{order}:fencing"));
+		// 防护计数键在加锁时设置了过期时间，不会一直保留在Redis中
+		assertEquals(lock.getFencingTtlMillis(), redis.getTtl("lock:{order}:fencing").longValue());
+		
+		// 锁键与防护计数键必须位于同一槽位，否则集群环境下脚本会执行失败
+		assertEquals(ClusterSlotUtils.slot("lock:{order}".getBytes()), 
+				ClusterSlotUtils.slot("lock:{order}:fencing".getBytes()));
+		
+		lock.unlock("order");
+		assertFalse(lock.isLocked("order"));
+		assertNull(redis.get("lock:{order}"));
+	}
+	
+	@Test
+	public void testReentrant() {
+		lock.lock("order");
+		long fencingToken = lock.getFencingToken("order");
+		assertTrue(lock.tryLock("order"));
+		assertEquals(fencingToken, lock.getFencingToken("order"));
+		assertEquals(1, redis.lockCount.get());
+		
+		lock.unlock("order");
+		assertTrue(lock.isLocked("order"));
+		assertFalse(lock.isLeaseLost("order"));
+		
+		lock.unlock("order");
+		assertFalse(lock.isLocked("order"));
+	}
+	
+	@Test
+	public void testRenew() throws Exception {
+		lock.setLeaseMillis(30);
+		lock.lock("order");
+		try {
+			assertTrue(await(new Callable<Boolean>() {
+
+				@Override
+				public Boolean call() throws Exception {
+					return redis.renewCount.get() >= 3;
+				}
+			}));
+			assertFalse(lock.isLeaseLost("order"));
+			assertTrue(lock.isLocked("order"));
+		} finally {
+			lock.unlock("order");
+		}
+	}
+	
+	@Test
+	public void testLeaseLost() throws Exception {
+		lock.setLeaseMillis(30);
+		lock.lock("order");
+		
+		// 模拟租约过期后被其它持有者获取
+		redis.set("lock:{order}", "other");
+		assertTrue(await(new Callable<Boolean>() {
+
+			@Override
+			public Boolean call() throws Exception {
+				return lock.isLeaseLost("order");
+			}
+		}));
+		
+		// 解锁时不能删除其它持有者的锁
+		lock.unlock("order");
+		assertEquals("other", redis.get("lock:{order}"));
+	}
+	
+	@Test
+	public void testUnlockByNonOwner() throws Exception {
+		lock.lock("order");
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			assertTrue(executor.submit(new Callable<Boolean>() {
+
+				@Override
+				public Boolean call() throws Exception {
+					try {
+						lock.unlock("order");
+						return false;
+					} catch (IllegalMonitorStateException e) {
+						return !lock.tryLock("order");
+					}
+				}
+			}).get());
+		} finally {
+			executor.shutdown();
+		}
+		
+		// 其它实例(模拟其它JVM)既不能获取也不能释放该锁
+		RedisDistributedLock<String> other = new RedisDistributedLock<String>(redis.commands());
+		try {
+			assertFalse(other.tryLock("order"));
+			try {
+				other.unlock("order");
+				fail();
+			} catch (IllegalMonitorStateException e) {
+				assertTrue(lock.isLocked("order"));
+			}
+		} finally {
+			other.destroy();
+		}
+		
+		lock.unlock("order");
+	}
+	
+	@Test
+	public void testFencingToken() {
+		RedisDistributedLock<String> other = new RedisDistributedLock<String>(redis.commands());
+		try {
+			long previous = 0;
+			for (int i = 0; i < 10; i++) {
+				RedisDistributedLock<String> current = (i % 2 == 0 ? lock : other);
+				assertTrue(current.tryLock("order"));
+				long fencingToken = current.getFencingToken("order");
+				assertTrue(fencingToken > previous);
+				previous = fencingToken;
+				current.unlock("order");
+			}
+		} finally {
+			other.destroy();
+		}
+	}
+	
+	/**
+	 * 在1秒内轮询等待条件成立
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param condition
+	 * @return
+	 * @throws Exception
+	 */
+	private static boolean await(Callable<Boolean> condition) throws Exception {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+		while (!condition.call()) {
+			if (System.nanoTime() > deadline)
+				return false;
+			
+			Thread.sleep(5);
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * 内存中模拟的Redis，只支持分布式锁用到的eval和exists命令，eval按脚本内容模拟加锁、解锁和续期
+	 * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @version 1.0
+	 */
+	private static class FakeRedis {
+		
+		private final Map<String, String> values = MapUtils.newHashMap();
+		
+		private final Map<String, Long> ttls = MapUtils.newHashMap();
+		
+		private final AtomicInteger lockCount = new AtomicInteger();
+		
+		private final AtomicInteger renewCount = new AtomicInteger();
+		
+		public synchronized String get(String key) {
+			return values.get(key);
+		}
+		
+		public synchronized void set(String key, String value) {
+			values.put(key, value);
+		}
+		
+		public synchronized Long getTtl(String key) {
+			return ttls.get(key);
+		}
+		
+		public RedisCommands commands() {
+			return (RedisCommands) Proxy.newProxyInstance(RedisCommands.class.getClassLoader(), 
+					new Class<?>[] { RedisCommands.class }, new InvocationHandler() {
+
+				@Override
+				public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+					if ("exists".equals(method.getName()) && args.length == 2) {
+						return get(String.valueOf(args[1])) != null;
+					}
+					
+					if ("eval".equals(method.getName()) && args.length == 4) {
+						return eval((String) args[1], (List<?>) args[2], (Object[]) args[3]);
+					}
+					
+					throw new UnsupportedOperationException(method.getName());
+				}
+			});
+		}
+		
+		private synchronized Long eval(String script, List<?> keys, Object[] args) {
+			String lockKey = (String) keys.get(0);
+			String token = (String) args[0];
+			if (script.contains("'NX'")) {
+				if (values.containsKey(lockKey))
+					return 0L;
+				
+				lockCount.incrementAndGet();
+				values.put(lockKey, token);
+				String fencingKey = (String) keys.get(1);
+				String fencingToken = values.get(fencingKey);
+				long next = (fencingToken != null ? Long.parseLong(fencingToken) : 0) + 1;
+				values.put(fencingKey, String.valueOf(next));
+				if (script.contains("'pexpire', KEYS[2]"))
+					ttls.put(fencingKey, Long.parseLong(String.valueOf(args[2])));
+				
+				return next;
+			}
+			
+			if (!token.equals(values.get(lockKey)))
+				return 0L;
+			
+			if (script.contains("'del'")) {
+				values.remove(lockKey);
+			} else {
+				renewCount.incrementAndGet();
+			}
+			
+			return 1L;
+		}
+	}
+
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.concurrent;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.sniper.commons.util.CollectionUtils;
+import org.sniper.concurrent.locks.jdk.StripedKeyspaceLock;
+import org.sniper.test.junit.BaseTestCase;
+
+/**
+ * 分段键空间锁单元测试类
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class StripedKeyspaceLockTest extends BaseTestCase {
+	
+	protected int threadTaskExecuteSize = 10000;
+	
+	protected int thradPoolSize = 8;
+	
+	@Test
+	public void testStripes() {
+		assertEquals(16, new StripedKeyspaceLock<Long>(10).getStripes());
+		assertEquals(64, new StripedKeyspaceLock<Long>(64).getStripes());
+		
+		int stripes = StripedKeyspaceLock.defaultStripes();
+		assertEquals(0, stripes & (stripes - 1));
+		assertTrue(stripes >= Runtime.getRuntime().availableProcessors());
+	}
+	
+	@Test
+	public void testSequentialKeyDistribution() {
+		StripedKeyspaceLock<Long> lock = new StripedKeyspaceLock<Long>(64);
+		int[] counts = new int[lock.getStripes()];
+		
+		// 步长为分段数倍数的连续键，取模方式会全部落在同一个分段上
+		int size = 64000;
+		for (long key = 0; key < size * 64L; key += 64) {
+			counts[lock.stripeOf(key)]++;
+		}
+		
+		int expected = size / counts.length;
+		for (int count : counts) {
+			assertTrue(count > expected / 2 && count < expected * 2);
+		}
+	}
+	
+	@Test
+	public void testMutualExclusion() throws Exception {
+		final StripedKeyspaceLock<Integer> lock = new StripedKeyspaceLock<Integer>();
+		final int[] counter = new int[1];
+		
+		ExecutorService executor = Executors.newFixedThreadPool(thradPoolSize);
+		List<Future<?>> futures = CollectionUtils.newArrayList(thradPoolSize);
+		for (int i = 0; i < thradPoolSize; i++) {
+			futures.add(executor.submit(new Callable<Void>() {
+
+				@Override
+				public Void call() throws Exception {
+					for (int j = 0; j < threadTaskExecuteSize; j++) {
+						lock.lock(1);
+						try {
+							counter[0]++;
+						} finally {
+							lock.unlock(1);
+						}
+					}
+					return null;
+				}
+			}));
+		}
+		
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		executor.shutdown();
+		
+		assertEquals(thradPoolSize * threadTaskExecuteSize, counter[0]);
+		assertEquals(thradPoolSize * threadTaskExecuteSize, lock.getAcquisitionCounts()[lock.stripeOf(1)]);
+	}
+	
+	@Test
+	public void testContentionCounts() throws Exception {
+		final StripedKeyspaceLock<String> lock = new StripedKeyspaceLock<String>();
+		final int stripe = lock.stripeOf("hot");
+		
+		lock.lock("hot");
+		assertTrue(lock.isLocked("hot"));
+		
+		final CountDownLatch started = new CountDownLatch(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		Future<Boolean> future = executor.submit(new Callable<Boolean>() {
+
+			@Override
+			public Boolean call() throws Exception {
+				started.countDown();
+				return lock.tryLock("hot", 5, TimeUnit.SECONDS);
+			}
+		});
+		
+		started.await();
+		sleep(100);
+		assertEquals(1, lock.getContentionCounts()[stripe]);
+		
+		lock.unlock("hot");
+		assertTrue(future.get());
+		executor.shutdown();
+		
+		assertEquals(2, lock.getAcquisitionCounts()[stripe]);
+		lock.resetCounts();
+		assertEquals(0, lock.getContentionCounts()[stripe]);
+	}
+	
+	@Test
+	public void testTryLockInterrupted() throws Exception {
+		final StripedKeyspaceLock<String> lock = new StripedKeyspaceLock<String>();
+		lock.lock("hot");
+		
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		Future<Boolean> future = executor.submit(new Callable<Boolean>() {
+
+			@Override
+			public Boolean call() throws Exception {
+				Thread.currentThread().interrupt();
+				boolean locked = lock.tryLock("hot", 5, TimeUnit.SECONDS);
+				
+				// 被中断而未获取到锁时，需要恢复线程的中断状态
+				return !locked && Thread.interrupted();
+			}
+		});
+		
+		assertTrue(future.get(1, TimeUnit.SECONDS));
+		executor.shutdown();
+		lock.unlock("hot");
+	}
+	
+	@Test
+	public void testReadWrite() throws Exception {
+		final StripedKeyspaceLock<String> lock = new StripedKeyspaceLock<String>(true);
+		assertTrue(lock.isReadWrite());
+		
+		long stamp = lock.tryOptimisticRead("key");
+		assertTrue(stamp != 0);
+		assertTrue(lock.validate("key", stamp));
+		
+		// 读锁之间共享，读锁与写锁互斥
+		lock.readLock("key");
+		Future<Boolean> reader = Executors.newSingleThreadExecutor().submit(new Callable<Boolean>() {
+
+			@Override
+			public Boolean call() throws Exception {
+				lock.readLock("key");
+				lock.unlockRead("key");
+				return !lock.tryLock("key");
+			}
+		});
+		assertTrue(reader.get(5, TimeUnit.SECONDS));
+		lock.unlockRead("key");
+		
+		lock.lock("key");
+		assertFalse(lock.validate("key", stamp));
+		assertEquals(0, lock.tryOptimisticRead("key"));
+		lock.unlock("key");
+		assertFalse(lock.isLocked("key"));
+	}
+
+}
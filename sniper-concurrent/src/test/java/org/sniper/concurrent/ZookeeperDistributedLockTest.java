@@ -0,0 +1,334 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.concurrent;
+
+import java.io.File;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.zookeeper.WatchedEvent;
+import org.apache.zookeeper.Watcher;
+import org.apache.zookeeper.ZooKeeper;
+import org.apache.zookeeper.server.NIOServerCnxnFactory;
+import org.apache.zookeeper.server.ZooKeeperServer;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.sniper.commons.util.CollectionUtils;
+import org.sniper.concurrent.locks.KeyspaceLock;
+import org.sniper.concurrent.locks.zookeeper.ZookeeperDistributedLock;
+import org.sniper.test.junit.BaseTestCase;
+
+/**
+ * Zookeeper分布式锁单元测试类，基于进程内启动的Zookeeper服务端运行
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class ZookeeperDistributedLockTest extends BaseTestCase {
+	
+	private static File dataDir;
+	
+	private static ZooKeeperServer server;
+	
+	private static NIOServerCnxnFactory serverFactory;
+	
+	private static String connectString;
+	
+	/** 模拟的节点个数，每个节点使用独立的会话 */
+	protected int nodeSize = 3;
+	
+	protected int thradPoolSize = 8;
+	
+	protected int threadTaskExecuteSize = 50;
+	
+	@BeforeClass
+	public static void startServer() throws Exception {
+		dataDir = File.createTempFile("zookeeper", "");
+		dataDir.delete();
+		dataDir.mkdirs();
+		
+		server = new ZooKeeperServer(dataDir, dataDir, 2000);
+		serverFactory = new NIOServerCnxnFactory();
+		serverFactory.configure(new InetSocketAddress("127.0.0.1", 0), 1000);
+		serverFactory.startup(server);
+		connectString = "127.0.0.1:" + serverFactory.getLocalPort();
+	}
+	
+	@AfterClass
+	public static void stopServer() {
+		serverFactory.shutdown();
+		delete(dataDir);
+	}
+	
+	@Test
+	public void testMutualExclusion() throws Exception {
+		final String key = "test";
+		final AtomicInteger holders = new AtomicInteger();
+		final int[] counter = new int[1];
+		
+		List<ZooKeeper> clients = connect(nodeSize);
+		try {
+			ExecutorService executor = Executors.newFixedThreadPool(nodeSize * thradPoolSize);
+			List<Future<Boolean>> futures = CollectionUtils.newArrayList();
+			for (ZooKeeper client : clients) {
+				final KeyspaceLock<String> lock = new ZookeeperDistributedLock<String>(client);
+				for (int i = 0; i < thradPoolSize; i++) {
+					futures.add(executor.submit(new Callable<Boolean>() {
+
+						@Override
+						public Boolean call() throws Exception {
+							boolean exclusive = true;
+							for (int j = 0; j < threadTaskExecuteSize; j++) {
+								lock.lock(key);
+								try {
+									exclusive &= (holders.incrementAndGet() == 1);
+									counter[0]++;
+									holders.decrementAndGet();
+								} finally {
+									lock.unlock(key);
+								}
+							}
+							return exclusive;
+						}
+					}));
+				}
+			}
+			
+			for (Future<Boolean> future : futures) {
+				assertTrue(future.get());
+			}
+			executor.shutdown();
+			
+			assertEquals(nodeSize * thradPoolSize * threadTaskExecuteSize, counter[0]);
+			assertFalse(new ZookeeperDistributedLock<String>(clients.get(0)).isLocked(key));
+		} finally {
+			close(clients);
+		}
+	}
+	
+	@Test
+	public void testManyKeyspaces() throws Exception {
+		final int keySize = 300;
+		final AtomicInteger[] holders = new AtomicInteger[keySize];
+		for (int i = 0; i < keySize; i++) {
+			holders[i] = new AtomicInteger();
+		}
+		
+		List<ZooKeeper> clients = connect(nodeSize);
+		try {
+			ExecutorService executor = Executors.newFixedThreadPool(nodeSize * thradPoolSize);
+			List<Future<Boolean>> futures = CollectionUtils.newArrayList();
+			for (ZooKeeper client : clients) {
+				final KeyspaceLock<Integer> lock = new ZookeeperDistributedLock<Integer>(client, "/sniper/test/keyspaces");
+				for (int i = 0; i < thradPoolSize; i++) {
+					futures.add(executor.submit(new Callable<Boolean>() {
+
+						@Override
+						public Boolean call() throws Exception {
+							boolean exclusive = true;
+							for (int j = 0; j < threadTaskExecuteSize * 2; j++) {
+								int key = ThreadLocalRandom.current().nextInt(keySize);
+								lock.lock(key);
+								try {
+									exclusive &= (holders[key].incrementAndGet() == 1);
+									holders[key].decrementAndGet();
+								} finally {
+									lock.unlock(key);
+								}
+							}
+							return exclusive;
+						}
+					}));
+				}
+			}
+			
+			for (Future<Boolean> future : futures) {
+				assertTrue(future.get());
+			}
+			executor.shutdown();
+		} finally {
+			close(clients);
+		}
+	}
+	
+	@Test
+	public void testTryLock() throws Exception {
+		List<ZooKeeper> clients = connect(2);
+		try {
+			final ZookeeperDistributedLock<String> first = new ZookeeperDistributedLock<String>(clients.get(0));
+			final ZookeeperDistributedLock<String> second = new ZookeeperDistributedLock<String>(clients.get(1));
+			
+			assertTrue(first.tryLock("try"));
+			assertTrue(first.isLocked("try"));
+			assertFalse(second.tryLock("try"));
+			assertFalse(second.tryLock("try", 100, TimeUnit.MILLISECONDS));
+			
+			// 重入后需要解锁相同的次数
+			assertTrue(first.tryLock("try"));
+			first.unlock("try");
+			assertFalse(second.tryLock("try"));
+			
+			ExecutorService executor = Executors.newSingleThreadExecutor();
+			Future<Boolean> future = executor.submit(new Callable<Boolean>() {
+
+				@Override
+				public Boolean call() throws Exception {
+					return second.tryLock("try", 10, TimeUnit.SECONDS);
+				}
+			});
+			
+			sleep(200);
+			first.unlock("try");
+			assertTrue(future.get());
+			executor.shutdown();
+			assertFalse(first.tryLock("try"));
+		} finally {
+			close(clients);
+		}
+	}
+	
+	@Test
+	public void testSessionClosed() throws Exception {
+		List<ZooKeeper> clients = connect(2);
+		try {
+			ZookeeperDistributedLock<String> first = new ZookeeperDistributedLock<String>(clients.get(0));
+			ZookeeperDistributedLock<String> second = new ZookeeperDistributedLock<String>(clients.get(1));
+			
+			first.lock("session");
+			assertFalse(second.tryLock("session"));
+			
+			// 持有者会话结束后，临时节点被删除，锁自动释放
+			clients.get(0).close();
+			assertTrue(second.tryLock("session", 10, TimeUnit.SECONDS));
+			second.unlock("session");
+		} finally {
+			close(clients);
+		}
+	}
+	
+	@Test
+	public void testContainerNodes() throws Exception {
+		List<ZooKeeper> clients = connect(1);
+		try {
+			ZooKeeper client = clients.get(0);
+			ZookeeperDistributedLock<String> lock = new ZookeeperDistributedLock<String>(client, "/sniper/test/containers");
+			
+			lock.lock("container");
+			try {
+				// 锁节点名称带有GUID前缀
+				List<String> children = client.getChildren("/sniper/test/containers/container", false);
+				assertEquals(1, children.size());
+				assertTrue(children.get(0).startsWith("_c_"));
+			} finally {
+				lock.unlock("container");
+			}
+			
+			// 键节点及其父节点都是容器节点，空的容器节点由服务端清理
+			Set<String> containers = server.getZKDatabase().getDataTree().getContainers();
+			assertTrue(containers.contains("/sniper/test/containers/container"));
+			assertTrue(containers.contains("/sniper/test/containers"));
+			
+			// 键节点被清理后重新加锁时逐级创建
+			client.delete("/sniper/test/containers/container", -1);
+			assertTrue(lock.tryLock("container"));
+			lock.unlock("container");
+		} finally {
+			close(clients);
+		}
+	}
+	
+	@Test
+	public void testInterrupted() throws Exception {
+		List<ZooKeeper> clients = connect(2);
+		try {
+			ZookeeperDistributedLock<String> first = new ZookeeperDistributedLock<String>(clients.get(0));
+			ZookeeperDistributedLock<String> second = new ZookeeperDistributedLock<String>(clients.get(1));
+			
+			// lock()不响应中断，加锁成功后恢复中断状态
+			Thread.currentThread().interrupt();
+			first.lock("interrupted");
+			assertTrue(Thread.interrupted());
+			
+			// tryLock()被中断时返回false，并且不会遗留可能已被服务端创建的节点
+			Thread.currentThread().interrupt();
+			assertFalse(second.tryLock("interrupted", 10, TimeUnit.SECONDS));
+			assertTrue(Thread.interrupted());
+			
+			first.unlock("interrupted");
+			assertFalse(first.isLocked("interrupted"));
+		} finally {
+			Thread.interrupted();
+			close(clients);
+		}
+	}
+	
+	@Test(expected = IllegalMonitorStateException.class)
+	public void testUnlockWithoutLock() throws Exception {
+		List<ZooKeeper> clients = connect(1);
+		try {
+			new ZookeeperDistributedLock<String>(clients.get(0)).unlock("none");
+		} finally {
+			close(clients);
+		}
+	}
+	
+	private List<ZooKeeper> connect(int size) throws Exception {
+		List<ZooKeeper> clients = CollectionUtils.newArrayList(size);
+		for (int i = 0; i < size; i++) {
+			final CountDownLatch connected = new CountDownLatch(1);
+			clients.add(new ZooKeeper(connectString, 10000, new Watcher() {
+				
+				@Override
+				public void process(WatchedEvent event) {
+					if (event.getState() == Event.KeeperState.SyncConnected) {
+						connected.countDown();
+					}
+				}
+			}));
+			assertTrue(connected.await(10, TimeUnit.SECONDS));
+		}
+		return clients;
+	}
+	
+	private void close(List<ZooKeeper> clients) throws InterruptedException {
+		for (ZooKeeper client : clients) {
+			client.close();
+		}
+	}
+	
+	private static void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.generator;
+
+/**
+ * 基本长整型结果的生成器，生成过程中不会产生任何装箱的Long对象。
+ * 继承的Generator<Long>接口方法仅作为在此基础上的装箱适配
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public interface LongGenerator extends Generator<Long> {
+	
+	/**
+	 * 生成一个基本长整型结果
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public long nextLong();
+	
+	/**
+	 * 批量生成len个结果，并依次填充到目标数组从off开始的位置上
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param dest
+	 * @param off
+	 * @param len
+	 */
+	public void fill(long[] dest, int off, int len);
+
+}
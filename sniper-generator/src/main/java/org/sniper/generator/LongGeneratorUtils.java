@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.generator;
+
+import java.util.List;
+
+import org.sniper.commons.util.AssertUtils;
+import org.sniper.commons.util.CollectionUtils;
+
+/**
+ * 基本长整型生成器工具类
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class LongGeneratorUtils {
+	
+	private LongGeneratorUtils() {}
+	
+	/**
+	 * 检查生成器待填充的目标数组区间是否合法
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param generator
+	 * @param dest
+	 * @param off
+	 * @param len
+	 */
+	public static void checkFillRange(LongGenerator generator, long[] dest, int off, int len) {
+		AssertUtils.assertNotNull(dest, "Fill destination array must not be null");
+		AssertUtils.assertTrue(off >= 0 && len >= 0 && off <= dest.length - len, String.format(
+				"%s fill range [off:%d,len:%d] out of array bounds [0,%d]", generator.getClass().getName(), off, len, dest.length));
+	}
+	
+	/**
+	 * 将填充后的基本长整型数组转换成装箱的结果列表
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param values
+	 * @return
+	 */
+	public static List<Long> toList(long[] values) {
+		List<Long> list = CollectionUtils.newArrayList(values.length);
+		for (long value : values) {
+			list.add(value);
+		}
+		return list;
+	}
+	
+}
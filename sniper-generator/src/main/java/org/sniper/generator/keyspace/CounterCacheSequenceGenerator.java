@@ -19,27 +19,53 @@
 package org.sniper.generator.keyspace;
 
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.sniper.commons.util.CollectionUtils;
+import org.sniper.commons.util.AssertUtils;
+import org.sniper.commons.util.MapUtils;
 import org.sniper.concurrent.locks.KeyspaceLock;
+import org.sniper.generator.LongGeneratorUtils;
 import org.sniper.generator.sequence.KeyspaceTrendSequence;
 import org.sniper.support.counter.AtomicLongIntervalCounter;
-import org.sniper.support.counter.IntervalCounter;
 
 /**
- * 基于计数器的缓存序列生成器实现类
+ * 基于计数器的缓存序列生成器实现类，所有的生成过程都基于基本长整型完成，
+ * generateByKey和batchGenerateByKey等装箱方法只是在nextLongByKey和fillByKey基础上的适配。</P>
+ * 缓存的计数器在发布之后区间不再变化，计数器内仍有剩余时通过CAS操作直接累加，只有在计数器不存在或已用完时才会对键加锁，
+ * 由加锁的线程创建新的计数器并替换掉缓存中的计数器。</P>
+ * 除了FixedCacheCounter和UnfixedCacheCounter两种方式以外，还支持双缓冲(DoubleBufferCacheCounter)方式，
+ * 通过指定预取执行器(prefetchExecutor)的构造方法开启，具体参考DoubleBufferCacheCounter的说明。
  * @author  <a href="mailto:code727@gmail.com">杜斌</a>
  * @version 1.0
  */
-public class CounterCacheSequenceGenerator extends AbstractCacheableGenerator<Object, IntervalCounter<Long>, Long> {
+public class CounterCacheSequenceGenerator extends AbstractCacheableGenerator<Object, AtomicLongIntervalCounter, Long>
+		implements LongKeyspaceGenerator<Object> {
 	
 	/** 代理的键空间趋势序列接口 */
 	protected final KeyspaceTrendSequence<Object, Long> keyspaceTrendSequence;
 	
 	private final AbstractCacheableCounter cacheableCounter;
 	
+	/** 双缓冲方式下，当前计数器剩余的比例低于此阈值时开始预取下一个计数器 */
+	private double prefetchThreshold = 0.2;
+	
+	/** 双缓冲方式下，期望每个计数器被消费完的时长(毫秒)，用于动态调整步长 */
+	private long segmentDurationMillis = 15 * 60 * 1000L;
+	
+	/** 双缓冲方式下，动态调整后允许的最大步长 */
+	private int maxCacheStepSize = 1000000;
+	
 	public CounterCacheSequenceGenerator(KeyspaceTrendSequence<Object, Long> keyspaceTrendSequence) {
 		this(keyspaceTrendSequence, true);
 	}
@@ -57,59 +83,157 @@ public class CounterCacheSequenceGenerator extends AbstractCacheableGenerator<Ob
 		this.keyspaceTrendSequence = keyspaceTrendSequence;
 		this.cacheableCounter = (fixCounterCache ? new FixedCacheCounter() : new UnfixedCacheCounter());
 	}
+	
+	public CounterCacheSequenceGenerator(KeyspaceTrendSequence<Object, Long> keyspaceTrendSequence, Executor prefetchExecutor) {
+		this(null, keyspaceTrendSequence, prefetchExecutor);
+	}
+	
+	public CounterCacheSequenceGenerator(KeyspaceLock<Object> keyLock, KeyspaceTrendSequence<Object, Long> keyspaceTrendSequence, Executor prefetchExecutor) {
+		super(keyLock, keyspaceTrendSequence.getDefaultSpaceId());
+		this.keyspaceTrendSequence = keyspaceTrendSequence;
+		this.cacheableCounter = new DoubleBufferCacheCounter(prefetchExecutor != null ? prefetchExecutor : newPrefetchExecutor());
+	}
+	
+	public double getPrefetchThreshold() {
+		return prefetchThreshold;
+	}
+
+	public void setPrefetchThreshold(double prefetchThreshold) {
+		AssertUtils.assertTrue(prefetchThreshold > 0 && prefetchThreshold < 1, String.format(
+				"Property 'prefetchThreshold' value '%s' must within interval (0,1)", prefetchThreshold));
+		this.prefetchThreshold = prefetchThreshold;
+	}
+
+	public long getSegmentDurationMillis() {
+		return segmentDurationMillis;
+	}
+
+	public void setSegmentDurationMillis(long segmentDurationMillis) {
+		AssertUtils.assertTrue(segmentDurationMillis > 0, String.format(
+				"Property 'segmentDurationMillis' value '%d' must greater than 0", segmentDurationMillis));
+		this.segmentDurationMillis = segmentDurationMillis;
+	}
+
+	public int getMaxCacheStepSize() {
+		return maxCacheStepSize;
+	}
+
+	public void setMaxCacheStepSize(int maxCacheStepSize) {
+		AssertUtils.assertTrue(maxCacheStepSize > 0, String.format(
+				"Property 'maxCacheStepSize' value '%d' must greater than 0", maxCacheStepSize));
+		this.maxCacheStepSize = maxCacheStepSize;
+	}
+	
+	/**
+	 * 判断是否采用的双缓冲方式
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public boolean isDoubleBuffer() {
+		return cacheableCounter instanceof DoubleBufferCacheCounter;
+	}
 
 	@Override
 	protected Long doGenerateByKey(Object key) {
-		IntervalCounter<Long> counter = cache.get(key);
-		if (counter == null) {
-			keyLock.lock(key);
-			try {
-				// 双重检查，防止多线程环境针对同一参数同时调用多次
-				if ((counter = cache.get(key)) == null) {
-					return cacheableCounter.cacheAndIncrement(key);
-				}
-			} finally {
-				keyLock.unlock(key);
+		return doNextLongByKey(key);
+	}
+
+	@Override
+	protected List<Long> doBatchGenerateByKey(Object key, int count) {
+		long[] values = new long[count];
+		doFillByKey(key, values, 0, count);
+		return LongGeneratorUtils.toList(values);
+	}
+	
+	@Override
+	public long nextLong() {
+		return nextLongByKey(this.defaultSpaceId);
+	}
+
+	@Override
+	public void fill(long[] dest, int off, int len) {
+		fillByKey(this.defaultSpaceId, dest, off, len);
+	}
+
+	@Override
+	public long nextLongByKey(Object key) {
+		checkSpace(key);
+		return doNextLongByKey(key);
+	}
+
+	@Override
+	public void fillByKey(Object key, long[] dest, int off, int len) {
+		checkSpace(key);
+		LongGeneratorUtils.checkFillRange(this, dest, off, len);
+		if (len > 0) {
+			doFillByKey(key, dest, off, len);
+		}
+	}
+	
+	/**
+	 * 根据指定的键执行生成一个基本长整型结果
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @return
+	 */
+	protected long doNextLongByKey(Object key) {
+		AtomicLongIntervalCounter counter = cache.get(key);
+		if (counter != null) {
+			// 计数器区间内还有剩余时直接通过CAS累加，无需加锁
+			long value = counter.incrementAsLong();
+			if (value <= counter.getMaximumAsLong()) {
+				cacheableCounter.afterIncrement(counter, key);
+				return value;
 			}
 		}
 		
+		// 只有在计数器不存在或已用完时才加锁
 		keyLock.lock(key);
 		try {
-			Long value = counter.increment();
-			if (value == null || value > counter.getMaximum()) {
+			// 双重检查，加锁期间计数器可能已被其它线程创建或替换
+			if ((counter = cache.get(key)) == null) {
+				return cacheableCounter.cacheAndIncrement(key);
+			}
+			
+			long value = counter.incrementAsLong();
+			if (value > counter.getMaximumAsLong()) {
 				return cacheableCounter.updateAndIncrement(counter, key);
 			}
+			
+			cacheableCounter.afterIncrement(counter, key);
 			return value;
 		} finally {
 			keyLock.unlock(key);
 		}
 	}
-
-	@Override
-	protected List<Long> doBatchGenerateByKey(Object key, int count) {
-		IntervalCounter<Long> counter = cache.get(key);
-		if (counter == null) {
-			keyLock.lock(key);
-			try {
-				if ((counter = cache.get(key)) == null) {
-					return cacheableCounter.cacheAndBatchIncrement(key, count);
-				}
-			} finally {
-				keyLock.unlock(key);
-			}
+	
+	/**
+	 * 根据指定的键执行批量生成len个结果，并填充到目标数组从off开始的位置上
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @param dest
+	 * @param off
+	 * @param len
+	 */
+	protected void doFillByKey(Object key, long[] dest, int off, int len) {
+		AtomicLongIntervalCounter counter = cache.get(key);
+		if (counter != null && cacheableCounter.tryBatchIncrement(counter, dest, off, len)) {
+			cacheableCounter.afterIncrement(counter, key);
+			return;
 		}
 		
 		keyLock.lock(key);
 		try {
-			int counterRemain = (int) (counter.getMaximum() - counter.get());
-			if (counterRemain < count) {
-				return cacheableCounter.updateAndBatchIncrement(counter, key, counterRemain, count);
-			} 
-			return cacheableCounter.batchIncrement(counter, count);
+			if ((counter = cache.get(key)) == null) {
+				cacheableCounter.cacheAndBatchIncrement(key, dest, off, len);
+			} else if (cacheableCounter.tryBatchIncrement(counter, dest, off, len)) {
+				cacheableCounter.afterIncrement(counter, key);
+			} else {
+				cacheableCounter.updateAndBatchIncrement(counter, key, dest, off, len);
+			}
 		} finally {
 			keyLock.unlock(key);
 		}
-		
 	}
 	
 	/**
@@ -149,11 +273,10 @@ public class CounterCacheSequenceGenerator extends AbstractCacheableGenerator<Ob
 		 * @param key
 		 * @return
 		 */
-		protected Long cacheAndIncrement(Object key) {
-			IntervalCounter<Long> counter = createCounter(key);
+		protected long cacheAndIncrement(Object key) {
+			AtomicLongIntervalCounter counter = createCounter(key);
+			long value = counter.incrementAsLong();
 			cache.put(key, counter);
-			
-			Long value = counter.increment();
 			logger.debug("Keyspace '{}' cache {} elements in counter and get one element", 
 					key, counter.incrementSize());
 			
@@ -161,104 +284,141 @@ public class CounterCacheSequenceGenerator extends AbstractCacheableGenerator<Ob
 		}
 		
 		/**
-		 * 更新计数器并累加出一个结果
+		 * 更新计数器并累加出一个结果。已缓存的计数器可能正在被其它线程无锁访问，因此不会修改其区间，
+		 * 而是创建新的计数器后替换掉缓存中的计数器
 		 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
 		 * @param counter
 		 * @param key
 		 * @return
 		 */
-		protected Long updateAndIncrement(IntervalCounter<Long> counter, Object key) {
-			counter.setStart(calculateStartValue(key));
-			counter.setStepSize(calculateStepSize());
+		protected long updateAndIncrement(AtomicLongIntervalCounter counter, Object key) {
+			AtomicLongIntervalCounter next = nextCounter(key, 1);
+			long value = next.incrementAsLong();
+			cache.put(key, next);
 			
-			Long value = counter.increment();
 			logger.debug("Keyspace '{}' cache {} elements in counter and get one element", 
-					key, counter.incrementSize());
+					key, next.incrementSize());
 					
 			return value;
 		}
 		
 		/**
-		 * 缓存计数器并批量累加出count个结果
+		 * 缓存计数器并批量累加出count个结果，填充到目标数组从off开始的位置上
 		 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
 		 * @param key
+		 * @param dest
+		 * @param off
 		 * @param count
-		 * @return
 		 */
-		protected List<Long> cacheAndBatchIncrement(Object key, int count) {
-			IntervalCounter<Long> counter = createCounter(key, count);
+		protected void cacheAndBatchIncrement(Object key, long[] dest, int off, int count) {
+			AtomicLongIntervalCounter counter = createCounter(key, count);
+			batchIncrement(counter, dest, off, count);
 			cache.put(key, counter);
 			
-			List<Long> list = batchIncrement(counter, count);
 			logger.debug("Keyspace '{}' cache {} elements in counter and get {} element", 
-					key, counter.incrementSize(), list.size());
-			
-			return list;
+					key, counter.incrementSize(), count);
 		}
 		
 		/**
-		 * 更新计数器并批量累加出结果。当计数器的剩余个数小于批量个数(counterRemain<count)时被调用，其实现方式如下：</P>
-		 * 1.如果counterRemain==0，表明计数器已经没有剩余元素了，更新计数器后累加出count个结果；</P>
-		 * 2.如果counterRemain!=0，表明计数器还剩余有元素未出列，累加出包括剩余的counterRemain个元素在内的count(总计)个结果。</P>
+		 * 更新计数器并批量累加出结果。当计数器的剩余个数不足批量个数时被调用，其实现方式如下：</P>
+		 * 1.如果计数器已经没有剩余元素了，创建新的计数器后累加出count个结果；</P>
+		 * 2.如果计数器还剩余有元素未累加，累加出包括剩余元素在内的count(总计)个结果。</P>
+		 * 新的计数器在填充完结果后才会替换掉缓存中的计数器，因此在替换之前其它线程不会访问到它。
 		 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
 		 * @param counter
 		 * @param key
-		 * @param counterRemain
+		 * @param dest
+		 * @param off
 		 * @param count
-		 * @return
 		 */
-		protected List<Long> updateAndBatchIncrement(IntervalCounter<Long> counter, Object key, int counterRemain, int count) {
-			if (counterRemain == 0) {
-				counter.setStart(calculateStartValue(key, count));
-				counter.setStepSize(calculateStepSize(count));
-				
-				List<Long> list = batchIncrement(counter, count);
-				logger.debug("Keyspace '{}' cache {} elements in counter and get {} element", 
-						key, counter.incrementSize(), list.size());
-				
-				return list;
-			} 
-			
+		protected void updateAndBatchIncrement(AtomicLongIntervalCounter counter, Object key, long[] dest, int off, int count) {
 			// 1.计算出还需要补偿获取的个数(compensateCount)="指定生成的个数-计数器剩余的个数"
+			int counterRemain = (int) Math.max(counter.getMaximumAsLong() - counter.getAsLong(), 0);
 			int compensateCount = count - counterRemain;
 			
-			/* 2.计算出用于更新计数器的初始值和步长 */
-			long start = calculateStartValue(key, compensateCount);
-			int stepSize = calculateStepSize(compensateCount);
-			logger.debug("Keyspace '{}' remain {} elements incrementing in counter, compensate {} elements incrementing, generated {} elements",
-					key, counterRemain, compensateCount, stepSize);
-			
-			/* 3.获取计数器在更新之前剩余的所有元素 
-			 * 注意：此步不要放在第2步计算之前计数器的初始值和步长进行，因为如果先进行剩余元素的获取操作，再进行计算时由于某种原因(例如：异常)导致失败，
+			/* 2.获取新的计数器
+			 * 注意：此步不要放在第3步获取剩余元素之后进行，因为如果先进行剩余元素的获取操作，再获取新的计数器时由于某种原因(例如：异常)导致失败，
 			 * 由于基于计数器的获取属于单向递增的一次性消费过程，这会导致已获取的剩余元素不能被调用方正常接收到，造成缓存丢失。*/
-			List<Long> list = batchIncrement(counter, counterRemain);
+			AtomicLongIntervalCounter next = nextCounter(key, compensateCount);
 			
-			/* 4.更新计数器后，再累加并获取前compensateCount个元素，从而使最终获取到的结果为count个。
-			 * 在分布式环境中，list中呈现的出列元素可能不是连续的 */
-			counter.setStart(start);
-			counter.setStepSize(stepSize);
-			list.addAll(batchIncrement(counter, compensateCount));
+			/* 3.获取计数器剩余的所有元素，由于其它线程可能同时在无锁的累加，因此实际获取到的个数可能少于第1步计算出的个数 */
+			long drained = counter.drainAsLong();
+			int position = off;
+			for (long value = drained + 1, maximum = counter.getMaximumAsLong(); value <= maximum; value++) {
+				dest[position++] = value;
+			}
 			
-			logger.debug("Keyspace '{}' cache {} elements in counter and get {} elements {remaining:{},compensated:{}}", 
-					key, counter.incrementSize(), list.size(), counterRemain, compensateCount);
+			/* 4.从新的计数器中累加出剩余需要的元素，从而使最终获取到的结果为count个。在分布式环境中，dest中呈现的元素可能不是连续的 */
+			int remain = off + count - position;
+			while (next.incrementSize() < remain) {
+				// 新的计数器不足时(例如：剩余元素被其它线程获取或预取的计数器较小)，先将其全部获取后再补偿获取
+				int size = (int) next.incrementSize();
+				batchIncrement(next, dest, position, size);
+				position += size;
+				remain -= size;
+				next = nextCounter(key, remain);
+			}
+			batchIncrement(next, dest, position, remain);
+			cache.put(key, next);
 			
-			return list;
+			logger.debug("Keyspace '{}' cache {} elements in counter and get {} elements {remaining:{},compensated:{}}", 
+					key, next.incrementSize(), count, counterRemain, compensateCount);
+		}
+		
+		/**
+		 * 从计数器中成功累加出结果后的回调，默认不做任何处理
+		 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+		 * @param counter
+		 * @param key
+		 */
+		protected void afterIncrement(AtomicLongIntervalCounter counter, Object key) {
 		}
 		
 		/**
-		 * 从计数器中出列count个结果
+		 * 尝试通过一次CAS操作从计数器中累加出count个结果，填充到目标数组从off开始的位置上
 		 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
 		 * @param counter
+		 * @param dest
+		 * @param off
 		 * @param count
-		 * @return
+		 * @return 计数器剩余的个数不足时返回false，此时计数器和目标数组均不会被修改
 		 */
-		protected List<Long> batchIncrement(IntervalCounter<Long> counter, int count) {
-			List<Long> list = CollectionUtils.newArrayList(count);
-			for (int i = 0; i < count; i++) {
-				list.add(counter.increment());
+		protected boolean tryBatchIncrement(AtomicLongIntervalCounter counter, long[] dest, int off, int count) {
+			long last = counter.incrementAsLong(count);
+			if (last > counter.getMaximumAsLong()) {
+				return false;
 			}
 			
-			return list;
+			long first = last - count + 1;
+			for (int i = 0; i < count; i++) {
+				dest[off + i] = first + i;
+			}
+			return true;
+		}
+		
+		/**
+		 * 从未被其它线程访问的计数器中累加出count个结果，填充到目标数组从off开始的位置上
+		 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+		 * @param counter
+		 * @param dest
+		 * @param off
+		 * @param count
+		 */
+		protected void batchIncrement(AtomicLongIntervalCounter counter, long[] dest, int off, int count) {
+			if (count > 0) {
+				tryBatchIncrement(counter, dest, off, count);
+			}
+		}
+		
+		/**
+		 * 获取用于替换已用完计数器的下一个计数器，默认直接根据键和生成个数创建
+		 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+		 * @param key
+		 * @param count
+		 * @return
+		 */
+		protected AtomicLongIntervalCounter nextCounter(Object key, int count) {
+			return createCounter(key, count);
 		}
 		
 		/**
@@ -267,7 +427,7 @@ public class CounterCacheSequenceGenerator extends AbstractCacheableGenerator<Ob
 		 * @param key
 		 * @return
 		 */
-		protected IntervalCounter<Long> createCounter(Object key) {
+		protected AtomicLongIntervalCounter createCounter(Object key) {
 			long start = calculateStartValue(key);
 			return new AtomicLongIntervalCounter(start, calculateStepSize());
 		}
@@ -279,7 +439,7 @@ public class CounterCacheSequenceGenerator extends AbstractCacheableGenerator<Ob
 		 * @param count
 		 * @return
 		 */
-		protected IntervalCounter<Long> createCounter(Object key, int count) {
+		protected AtomicLongIntervalCounter createCounter(Object key, int count) {
 			long start = calculateStartValue(key, count);
 			return new AtomicLongIntervalCounter(start, calculateStepSize(count));
 		}
@@ -356,4 +516,201 @@ public class CounterCacheSequenceGenerator extends AbstractCacheableGenerator<Ob
 		
 	}
 	
+	/**
+	 * 创建默认的预取执行器，其线程均为守护线程，空闲一段时间后会自动回收
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	private static Executor newPrefetchExecutor() {
+		return Executors.newCachedThreadPool(new ThreadFactory() {
+			
+			private final AtomicInteger threadNumber = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "counter-cache-prefetch-" + threadNumber.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+	
+	/**
+	 * 双缓冲计数器实现类，每个键空间同时持有"当前计数器"和"下一个计数器"两个缓冲区，其实现方式如下：</P>
+	 * 1.当前计数器剩余可累加的个数低于"步长*prefetchThreshold"时，由预取执行器在后台从趋势序列中获取下一个计数器的区间，
+	 *   因此消费方不需要同步等待远程调用；</P>
+	 * 2.当前计数器用完后，直接将缓存中的计数器引用切换为已预取好的下一个计数器，如果预取尚未完成则等待其完成，
+	 *   如果预取失败则退化为同步获取，预取的计数器不足以满足批量生成的个数时，则不足的部分同步获取；</P>
+	 * 3.步长根据计数器的消费速度动态调整：计数器被消费完的时长小于segmentDurationMillis时，步长翻倍(不超过maxCacheStepSize)，
+	 *   大于等于2*segmentDurationMillis时步长减半(不小于cacheStepSize)，否则保持不变。</P>
+	 * 由于预取的区间在被使用之前就已经从趋势序列中获取，因此在宕机和重启恢复的情况下，丢失的范围最多为两个计数器的步长。
+	 * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @version 1.0
+	 */
+	private class DoubleBufferCacheCounter extends AbstractCacheableCounter {
+		
+		private final Executor prefetchExecutor;
+		
+		/** 各键空间的缓冲状态 */
+		private final ConcurrentMap<Object, BufferState> bufferStates;
+		
+		private DoubleBufferCacheCounter(Executor prefetchExecutor) {
+			this.prefetchExecutor = prefetchExecutor;
+			this.bufferStates = MapUtils.newConcurrentHashMap();
+		}
+		
+		@Override
+		protected AtomicLongIntervalCounter createCounter(Object key) {
+			return fetchCounter(key, 1);
+		}
+		
+		@Override
+		protected AtomicLongIntervalCounter createCounter(Object key, int count) {
+			return fetchCounter(key, count);
+		}
+		
+		@Override
+		protected AtomicLongIntervalCounter nextCounter(Object key, int count) {
+			AtomicLongIntervalCounter next = takePrefetchedCounter(key);
+			return next != null ? next : fetchCounter(key, count);
+		}
+		
+		@Override
+		protected void afterIncrement(AtomicLongIntervalCounter counter, Object key) {
+			long counterRemain = counter.getMaximumAsLong() - counter.getAsLong();
+			if (counterRemain <= counter.getStepSize() * prefetchThreshold) {
+				prefetch(key);
+			}
+		}
+		
+		@Override
+		protected int calculateStepSize() {
+			return getCacheStepSize();
+		}
+
+		@Override
+		protected int calculateStepSize(int count) {
+			return Math.max(getCacheStepSize(), count);
+		}
+		
+		/**
+		 * 在后台预取指定键的下一个计数器，如果已经在预取中则忽略
+		 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+		 * @param key
+		 */
+		private void prefetch(final Object key) {
+			BufferState state = getBufferState(key);
+			if (state.next.get() != null) {
+				return;
+			}
+			
+			FutureTask<AtomicLongIntervalCounter> task = new FutureTask<AtomicLongIntervalCounter>(
+					new Callable<AtomicLongIntervalCounter>() {
+
+				@Override
+				public AtomicLongIntervalCounter call() throws Exception {
+					return fetchCounter(key, 1);
+				}
+			});
+			
+			if (state.next.compareAndSet(null, task)) {
+				try {
+					prefetchExecutor.execute(task);
+				} catch (RejectedExecutionException e) {
+					state.next.compareAndSet(task, null);
+					logger.warn("Keyspace '{}' prefetch rejected, next counter will be fetched synchronously", key);
+				}
+			}
+		}
+		
+		/**
+		 * 获取已预取的计数器，如果预取尚未完成则等待其完成
+		 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+		 * @param key
+		 * @return 未开始预取或者预取失败时返回null
+		 */
+		private AtomicLongIntervalCounter takePrefetchedCounter(Object key) {
+			FutureTask<AtomicLongIntervalCounter> task = getBufferState(key).next.getAndSet(null);
+			if (task == null) {
+				return null;
+			}
+			
+			try {
+				return task.get();
+			} catch (ExecutionException e) {
+				logger.warn("Keyspace '" + key + "' prefetch failed, fetch next counter synchronously", e.getCause());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return null;
+		}
+		
+		/**
+		 * 从趋势序列中获取一个新的计数器，步长根据消费速度动态计算
+		 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+		 * @param key
+		 * @param count 至少需要累加的个数
+		 * @return
+		 */
+		private AtomicLongIntervalCounter fetchCounter(Object key, int count) {
+			int stepSize = Math.max(getBufferState(key).adjustStepSize(), calculateStepSize(count));
+			long seed = keyspaceTrendSequence.updateByKey(key, stepSize);
+			return new AtomicLongIntervalCounter(seed - stepSize, stepSize);
+		}
+		
+		private BufferState getBufferState(Object key) {
+			BufferState state = bufferStates.get(key);
+			if (state == null) {
+				BufferState existing = bufferStates.putIfAbsent(key, state = new BufferState());
+				if (existing != null) {
+					state = existing;
+				}
+			}
+			return state;
+		}
+	}
+	
+	/**
+	 * 键空间的缓冲状态
+	 * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @version 1.0
+	 */
+	private class BufferState {
+		
+		/** 正在预取或已预取好的下一个计数器 */
+		private final AtomicReference<FutureTask<AtomicLongIntervalCounter>> next = 
+				new AtomicReference<FutureTask<AtomicLongIntervalCounter>>();
+		
+		/** 当前的动态步长 */
+		private int stepSize;
+		
+		/** 最近一次获取计数器的时间 */
+		private long lastFetchMillis;
+		
+		/**
+		 * 根据距离上一次获取计数器的时长调整步长
+		 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+		 * @return 调整后的步长
+		 */
+		private synchronized int adjustStepSize() {
+			int minStepSize = getCacheStepSize();
+			long now = System.currentTimeMillis();
+			if (lastFetchMillis == 0) {
+				stepSize = minStepSize;
+			} else {
+				long duration = now - lastFetchMillis;
+				if (duration < segmentDurationMillis) {
+					stepSize = (int) Math.min((long) stepSize * 2, Math.max(maxCacheStepSize, minStepSize));
+				} else if (duration >= segmentDurationMillis * 2) {
+					stepSize = Math.max(stepSize / 2, minStepSize);
+				} else {
+					stepSize = Math.max(stepSize, minStepSize);
+				}
+			}
+			
+			lastFetchMillis = now;
+			return stepSize;
+		}
+	}
+	
 }
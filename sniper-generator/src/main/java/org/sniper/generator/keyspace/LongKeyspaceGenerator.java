@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.generator.keyspace;
+
+import org.sniper.generator.LongGenerator;
+
+/**
+ * 基于键空间的基本长整型结果生成器接口
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public interface LongKeyspaceGenerator<K> extends KeyspaceGenerator<K, Long>, LongGenerator {
+	
+	/**
+	 * 根据指定的键生成一个基本长整型结果
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @return
+	 */
+	public long nextLongByKey(K key);
+	
+	/**
+	 * 根据指定的键批量生成len个结果，并依次填充到目标数组从off开始的位置上
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @param dest
+	 * @param off
+	 * @param len
+	 */
+	public void fillByKey(K key, long[] dest, int off, int len);
+
+}
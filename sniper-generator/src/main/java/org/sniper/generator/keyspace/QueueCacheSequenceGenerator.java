@@ -27,7 +27,8 @@ import org.sniper.commons.util.CollectionUtils;
 import org.sniper.concurrent.locks.KeyspaceLock;
 
 /**
- * 基于队列的缓存序列生成器实现类
+ * 基于队列的缓存序列生成器实现类，队列中还有剩余元素时直接无锁出列，只有在队列不存在或已为空时才会对键加锁，
+ * 由加锁的线程生成新的元素并缓存入列
  * @author  <a href="mailto:code727@gmail.com">杜斌</a>
  * @version 1.0
  */
@@ -59,23 +60,24 @@ public class QueueCacheSequenceGenerator<V> extends AbstractCacheableGenerator<O
 	@Override
 	protected V doGenerateByKey(Object key) {
 		Queue<V> queue = cache.get(key);
-		if (queue == null) {
-			keyLock.lock(key);
-			try {
-				if ((queue = cache.get(key)) == null) {
-					return cacheableQueue.cacheAndPoll(key);
-				}
-			} finally {
-				keyLock.unlock(key);
+		if (queue != null) {
+			// 队列中还有剩余元素时直接出列，无需加锁
+			V polled = queue.poll();
+			if (polled != null) {
+				return polled;
 			}
 		}
 		
+		// 只有在队列不存在或已为空时才加锁
 		keyLock.lock(key);
 		try {
-			if (queue.isEmpty()) {
-				return cacheableQueue.updateAndPoll(queue, key);
+			// 双重检查，加锁期间队列可能已被其它线程创建或填充
+			if ((queue = cache.get(key)) == null) {
+				return cacheableQueue.cacheAndPoll(key);
 			}
-			return queue.poll();
+			
+			V polled = queue.poll();
+			return polled != null ? polled : cacheableQueue.updateAndPoll(queue, key);
 		} finally {
 			keyLock.unlock(key);
 		}
@@ -84,24 +86,28 @@ public class QueueCacheSequenceGenerator<V> extends AbstractCacheableGenerator<O
 	@Override
 	protected List<V> doBatchGenerateByKey(Object key, int count) {
 		Queue<V> queue = cache.get(key);
-		if (queue == null) {
-			keyLock.lock(key);
-			try {
-				if ((queue = cache.get(key)) == null) {
-					return cacheableQueue.cacheAndBatchPoll(key, count);
-				}
-			} finally {
-				keyLock.unlock(key);
+		List<V> polledList = null;
+		if (queue != null) {
+			polledList = cacheableQueue.batchPoll(queue, key, count);
+			if (polledList.size() == count) {
+				return polledList;
 			}
 		}
 		
 		keyLock.lock(key);
 		try {
-			int queueRemain = queue.size();
-			if (queueRemain < count) {
-				return cacheableQueue.updateAndBatchPoll(queue, key, queueRemain, count);
+			if ((queue = cache.get(key)) == null) {
+				return cacheableQueue.cacheAndBatchPoll(key, count);
+			}
+			
+			if (polledList == null) {
+				polledList = cacheableQueue.batchPoll(queue, key, count);
+			} else {
+				polledList.addAll(cacheableQueue.batchPoll(queue, key, count - polledList.size()));
 			}
-			return cacheableQueue.batchPoll(queue, key, count);
+			
+			return polledList.size() < count ? 
+					cacheableQueue.updateAndBatchPoll(queue, key, polledList, count) : polledList;
 		} finally {
 			keyLock.unlock(key);
 		}
@@ -200,40 +206,44 @@ public class QueueCacheSequenceGenerator<V> extends AbstractCacheableGenerator<O
 		}
 		
 		/**
-		 * 更新队列并批量出列。当队列的剩余个数小于批量出列个数(queueRemain<count)时被调用，其实现方式如下：</P>
-		 * 1.如果queueRemain==0，表明队列已经没有剩余元素了，缓存并出列count个结果；</P>
-		 * 2.如果queueRemain!=0，表明队列还剩余有元素未出列，缓存并批量出列包括剩余的queueRemain个元素在内的count(总计)个结果。</P>
+		 * 更新队列并补齐批量出列的结果。当队列中已出列的元素(polledList)不足批量出列个数时被调用，其实现方式如下：</P>
+		 * 1.如果polledList为空，表明队列已经没有剩余元素了，缓存并出列count个结果；</P>
+		 * 2.如果polledList不为空，生成并缓存元素后补齐剩余的结果，最终返回包括polledList在内的count(总计)个结果。</P>
 		 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
 		 * @param queue
 		 * @param key
-		 * @param queueRemain
+		 * @param polledList
 		 * @param count
 		 * @return
 		 */
-		protected List<V> updateAndBatchPoll(Queue<V> queue, Object key, int queueRemain, int count) {
-			if (queueRemain == 0) {
-				// 如果queueRemain==0，表明队列已经没有剩余元素了， 将调用重载的updateAndBatchPoll方法更新队列并出列count个结果
+		protected List<V> updateAndBatchPoll(Queue<V> queue, Object key, List<V> polledList, int count) {
+			if (polledList.isEmpty()) {
+				// 如果polledList为空，表明队列已经没有剩余元素了， 将调用重载的updateAndBatchPoll方法更新队列并出列count个结果
 				return updateAndBatchPoll(queue, key, count);
 			}
 			
-			// 1.计算出还需要补偿出列的个数(compensateCount)="指定生成的个数-队列剩余的个数"
+			// 1.计算出还需要补偿出列的个数(compensateCount)="指定生成的个数-已出列的个数"
+			int queueRemain = polledList.size();
 			int compensateCount = count - queueRemain;
 			
-			/* 2.计算出批量生成的实际个数后利用代理的键空间生成器批量生成结果 */
-			List<V> list = keyspaceGenerator.batchGenerateByKey(key, calculateBatchCount(compensateCount));
+			/* 2.计算出批量生成的实际个数后利用代理的键空间生成器批量生成结果。
+			 * 注意：由于队列的出列是无锁进行的，在此之前剩余元素已经出列，因此当生成失败(例如：异常)时需要将其重新入列，
+			 * 否则基于队列的出列属于一次性的消费过程，会导致已出列的剩余元素不能被调用方正常接收到，造成缓存丢失。*/
+			List<V> list;
+			try {
+				list = keyspaceGenerator.batchGenerateByKey(key, calculateBatchCount(compensateCount));
+			} catch (RuntimeException e) {
+				queue.addAll(polledList);
+				throw e;
+			}
 			logger.debug("Keyspace '{}' remain {} elements polling in queue, compensate {} elements polling, generated {} elements",
 					key, queueRemain, compensateCount, list.size());
 			
 			// 3.以compensateCount为界，将第compensateCount个元素以后的所有元素全部存入缓存队列 
 			queue.addAll(list.subList(compensateCount, list.size()));
 			
-			/* 4.从队列中出列前queueRemain个元素，即进行补偿生成前，缓存队列中剩余的元素。
-			 * 注意：此步不要放在第2步批量生成结果之前进行。因为如果先进行剩余元素的出列操作，再进行批量生成操作时由于某种原因(例如：异常)导致失败，
-			 * 由于基于队列的出列属于一次性的消费过程，这会导致已出列的剩余元素不能被调用方正常接收到，造成缓存丢失。*/
-			List<V> polledList = batchPoll(queue, key, queueRemain);
-			
-			/* 5.再次以compensateCount为界，第compensateCount个元素之前的所有元素是当前批次需要补偿出列的，
-			 * 因此进行出列操作，从而使最终获取到的结果为count个。在分布式环境中，polledList中呈现的出列元素可能不是连续的 */
+			/* 4.第compensateCount个元素之前的所有元素是当前批次需要补偿出列的，因此进行出列操作，从而使最终获取到的结果为count个。
+			 * 在分布式环境中，polledList中呈现的出列元素可能不是连续的 */
 			List<V> polledSubList = list.subList(0, compensateCount);
 			polledList.addAll(polledSubList);
 			
@@ -244,7 +254,7 @@ public class QueueCacheSequenceGenerator<V> extends AbstractCacheableGenerator<O
 		}
 		
 		/**
-		 * 从队列中批量出列count个结果
+		 * 从队列中批量出列最多count个结果，当队列中的元素不足时，返回的结果个数将少于count
 		 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
 		 * @param queue
 		 * @param key
@@ -253,8 +263,9 @@ public class QueueCacheSequenceGenerator<V> extends AbstractCacheableGenerator<O
 		 */
 		protected List<V> batchPoll(Queue<V> queue, Object key, int count) {
 			List<V> list = CollectionUtils.newArrayList(count);
-			for (int i = 0; i < count; i++) {
-				list.add(queue.poll());
+			V polled;
+			for (int i = 0; i < count && (polled = queue.poll()) != null; i++) {
+				list.add(polled);
 			}
 			
 			return list;
@@ -20,8 +20,9 @@ package org.sniper.generator.redis;
 
 import java.util.List;
 
-import org.sniper.commons.util.CollectionUtils;
+import org.sniper.generator.LongGeneratorUtils;
 import org.sniper.generator.keyspace.AbstractKeyspaceGenerator;
+import org.sniper.generator.keyspace.LongKeyspaceGenerator;
 
 /**
  * 基于Redis实现的序列生成器，生成的结果具备的特点：</P>
@@ -30,7 +31,7 @@ import org.sniper.generator.keyspace.AbstractKeyspaceGenerator;
  * @author  <a href="mailto:code727@gmail.com">杜斌</a>
  * @version 1.0
  */
-public class RedisSequenceGenerator extends AbstractKeyspaceGenerator<Object, Long> {
+public class RedisSequenceGenerator extends AbstractKeyspaceGenerator<Object, Long> implements LongKeyspaceGenerator<Object> {
 	
 	private final RedisTrendSequence redisTrendSequence;
 	
@@ -41,20 +42,67 @@ public class RedisSequenceGenerator extends AbstractKeyspaceGenerator<Object, Lo
 	
 	@Override
 	protected Long doGenerateByKey(Object key) {
-		return this.redisTrendSequence.updateByKey(key, 1);
+		return doNextLongByKey(key);
 	}
 
 	@Override
 	protected List<Long> doBatchGenerateByKey(Object key, int count) {
+		long[] values = new long[count];
+		doFillByKey(key, values, 0, count);
+		return LongGeneratorUtils.toList(values);
+	}
+	
+	@Override
+	public long nextLong() {
+		return nextLongByKey(this.defaultSpaceId);
+	}
+
+	@Override
+	public void fill(long[] dest, int off, int len) {
+		fillByKey(this.defaultSpaceId, dest, off, len);
+	}
+
+	@Override
+	public long nextLongByKey(Object key) {
+		checkSpace(key);
+		return doNextLongByKey(key);
+	}
+
+	@Override
+	public void fillByKey(Object key, long[] dest, int off, int len) {
+		checkSpace(key);
+		LongGeneratorUtils.checkFillRange(this, dest, off, len);
+		if (len > 0) {
+			doFillByKey(key, dest, off, len);
+		}
+	}
+	
+	/**
+	 * 根据指定的键执行生成一个基本长整型结果
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @return
+	 */
+	protected long doNextLongByKey(Object key) {
+		return this.redisTrendSequence.updateByKey(key, 1);
+	}
+	
+	/**
+	 * 根据指定的键执行批量生成len个结果，只需一次Redis调用即可获得整个批次的区间，并填充到目标数组从off开始的位置上
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @param dest
+	 * @param off
+	 * @param len
+	 */
+	protected void doFillByKey(Object key, long[] dest, int off, int len) {
 		// 当前批次起始值
-		long batchStartValue = this.redisTrendSequence.updateByKey(key, count) - count;
+		long batchStartValue = this.redisTrendSequence.updateByKey(key, len) - len;
 		
-		List<Long> list = CollectionUtils.newArrayList(count);
-		for (int i = 0; i < count; i++) {
-			list.add(++batchStartValue);
+		int end = off + len;
+		for (int i = off; i < end; i++) {
+			dest[i] = ++batchStartValue;
 		}
-		
-		return list;
 	}
 	
 }
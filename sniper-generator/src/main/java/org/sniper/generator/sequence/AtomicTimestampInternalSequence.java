@@ -0,0 +1,177 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.generator.sequence;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.sniper.commons.util.AssertUtils;
+
+/**
+ * 无锁的时间戳内序列实现类，与TimestampInternalSequence不同的是，"最近生成的时间截"和"毫秒内序列"被打包存储在同一个long值中，
+ * 打包格式为：(时间截 << 序列位数) | 毫秒内序列，每次更新时通过一次CAS操作同时完成两者的修改，因此多线程调用时无需加锁。</P>
+ * 另外还支持将毫秒内的序列空间拆分成多个通道(lane)：</P>
+ * 1.通道个数必须为2的幂，每个通道独占毫秒内序列的高位部分，通道内的序列只在低位部分进行累加；</P>
+ * 2.线程根据自身的ID映射到某一个通道上，不同通道的状态分别存储在相互隔离的缓存行中，因此多线程之间几乎不存在CAS竞争；</P>
+ * 3.由于每个通道毫秒内可用的序列数为(sequenceMask+1)/lanes，因此通道越多单个线程每毫秒内可生成的结果就越少，
+ *   同时同一毫秒内不同线程生成的序列之间将不再保持先后递增的关系。</P>
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class AtomicTimestampInternalSequence {
+
+	/** 每个通道状态之间间隔的long个数，用于避免伪共享 */
+	private static final int PADDING = 8;
+
+	/** 每个通道在毫秒内至少可用的序列数 */
+	private static final int MIN_LANE_CAPACITY = 16;
+
+	/** 序列掩码 */
+	private final long sequenceMask;
+
+	/** 序列所占的位数 */
+	private final int sequenceBits;
+
+	/** 通道个数 */
+	private final int lanes;
+
+	/** 通道内序列所占的位数 */
+	private final int laneSequenceBits;
+
+	/** 通道内序列掩码 */
+	private final long laneSequenceMask;
+
+	/** 各通道打包后的状态值 */
+	private final AtomicLongArray states;
+	
+	/** 时钟回退处理器 */
+	private final ClockRollbackHandler clockRollbackHandler;
+
+	public AtomicTimestampInternalSequence(long sequenceMask) {
+		this(sequenceMask, 1);
+	}
+
+	public AtomicTimestampInternalSequence(long sequenceMask, int lanes) {
+		this(sequenceMask, lanes, null);
+	}
+
+	public AtomicTimestampInternalSequence(long sequenceMask, int lanes, ClockRollbackHandler clockRollbackHandler) {
+		AssertUtils.assertTrue(sequenceMask > 0 && (sequenceMask & (sequenceMask + 1)) == 0,
+				String.format("Parameter 'sequenceMask' value '%d' must be a positive bit mask", sequenceMask));
+		AssertUtils.assertTrue(lanes > 0 && (lanes & (lanes - 1)) == 0,
+				String.format("Parameter 'lanes' value '%d' must be a positive power of two", lanes));
+		AssertUtils.assertTrue((sequenceMask + 1) / lanes >= MIN_LANE_CAPACITY, String.format(
+				"Parameter 'lanes' value '%d' must less than or equal to %d", lanes, (sequenceMask + 1) / MIN_LANE_CAPACITY));
+
+		this.sequenceMask = sequenceMask;
+		this.sequenceBits = Long.bitCount(sequenceMask);
+		this.lanes = lanes;
+		this.laneSequenceBits = sequenceBits - Integer.numberOfTrailingZeros(lanes);
+		this.laneSequenceMask = -1L ^ (-1L << laneSequenceBits);
+		this.states = new AtomicLongArray(lanes * PADDING);
+		this.clockRollbackHandler = (clockRollbackHandler != null ? clockRollbackHandler : new ClockRollbackHandler());
+	}
+
+	/**
+	 * 根据可用的处理器个数计算出默认的通道数
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @param sequenceMask
+	 * @return
+	 */
+	public static int defaultLanes(long sequenceMask) {
+		int processors = Runtime.getRuntime().availableProcessors();
+		int lanes = Integer.highestOneBit(processors);
+		if (lanes < processors) {
+			lanes <<= 1;
+		}
+
+		return (int) Math.min(lanes, (sequenceMask + 1) / MIN_LANE_CAPACITY);
+	}
+
+	/**
+	 * 更新当前时间序列，并返回打包后的"时间截+毫秒内序列"值
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @return
+	 */
+	public long update() {
+		int lane = currentLane();
+		int index = lane * PADDING;
+		long laneHigh = ((long) lane) << laneSequenceBits;
+
+		for (;;) {
+			long state = states.get(index);
+			long lastTimestamp = state >>> sequenceBits;
+			long currentTimestamp = clockRollbackHandler.currentTimeMillis();
+
+			if (currentTimestamp < lastTimestamp) {
+				currentTimestamp = clockRollbackHandler.handleRollback(lastTimestamp, currentTimestamp);
+			}
+
+			long next;
+			if (currentTimestamp == lastTimestamp) {
+				if ((state & laneSequenceMask) == laneSequenceMask) {
+					// 当前通道在毫秒内的序列已用完，获取下一个毫秒时间刻度后重新竞争
+					currentTimestamp = clockRollbackHandler.nextMillis(lastTimestamp);
+					next = (currentTimestamp << sequenceBits) | laneHigh;
+				} else {
+					next = state + 1;
+				}
+			} else {
+				next = (currentTimestamp << sequenceBits) | laneHigh;
+			}
+
+			if (states.compareAndSet(index, state, next)) {
+				return next;
+			}
+		}
+	}
+
+	/**
+	 * 从打包值中获取时间截
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @param stamp
+	 * @return
+	 */
+	public long getTimestamp(long stamp) {
+		return stamp >>> sequenceBits;
+	}
+
+	/**
+	 * 从打包值中获取毫秒内序列
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @param stamp
+	 * @return
+	 */
+	public long getSequence(long stamp) {
+		return stamp & sequenceMask;
+	}
+
+	public int getLanes() {
+		return lanes;
+	}
+
+	/**
+	 * 获取当前线程映射的通道
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @return
+	 */
+	protected int currentLane() {
+		return lanes == 1 ? 0 : (int) (Thread.currentThread().getId() & (lanes - 1));
+	}
+
+}
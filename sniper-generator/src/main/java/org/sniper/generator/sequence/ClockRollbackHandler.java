@@ -0,0 +1,211 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.generator.sequence;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.sniper.commons.util.AssertUtils;
+
+/**
+ * 时钟回退处理器，负责在系统时钟回退或毫秒内序列用完时，根据设置的策略(ClockRollbackPolicy)计算出下一个可用的时间截：</P>
+ * 1.REJECT：时钟回退时直接抛出异常，与原有的处理方式一致；</P>
+ * 2.WAIT：回退时长不超过maxRollbackMillis时，阻塞等待到时钟追上最近生成的时间截，超过时抛出异常；</P>
+ * 3.BORROW：回退时长不超过maxRollbackMillis时，继续使用最近生成的时间截生成序列，毫秒内序列用完后直接借用下一个毫秒，
+ *   只要借用后的时间截领先当前时钟的时长不超过maxRollbackMillis，就无需等待。</P>
+ * 所有需要等待的场景都采用parkNanos并逐步退避的方式挂起当前线程，而不是空转消耗CPU。
+ * 同时对每种情况的触发次数进行统计，便于监控时钟的异常状况。
+ * 其中借用未来毫秒后时钟会暂时落后于最近生成的时间截，这种情况不是时钟回退，期间生成的序列统计到借用次数而非沿用次数中。
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class ClockRollbackHandler {
+	
+	/** 最小的挂起时长(纳秒) */
+	private static final long MIN_PARK_NANOS = 10000L;
+	
+	/** 最大的挂起时长(纳秒) */
+	private static final long MAX_PARK_NANOS = 1000000L;
+	
+	/** 时钟回退策略 */
+	private volatile ClockRollbackPolicy policy = ClockRollbackPolicy.REJECT;
+	
+	/** 能容忍的最大时钟回退时长(毫秒) */
+	private volatile long maxRollbackMillis = 100;
+	
+	/** 拒绝生成的次数 */
+	private final AtomicLong rejectedCount = new AtomicLong();
+	
+	/** 等待时钟追上的次数 */
+	private final AtomicLong waitedCount = new AtomicLong();
+	
+	/** 时钟回退期间沿用最近生成的时间截生成序列的次数 */
+	private final AtomicLong reusedCount = new AtomicLong();
+	
+	/** 在借用的未来毫秒时间刻度上生成序列的次数 */
+	private final AtomicLong borrowedCount = new AtomicLong();
+	
+	/** 已借用的最大毫秒时间刻度 */
+	private final AtomicLong borrowedTimestamp = new AtomicLong(-1);
+	
+	/** 毫秒内序列用完后等待下一个毫秒的次数 */
+	private final AtomicLong exhaustedCount = new AtomicLong();
+	
+	public ClockRollbackPolicy getPolicy() {
+		return policy;
+	}
+
+	public void setPolicy(ClockRollbackPolicy policy) {
+		AssertUtils.assertNotNull(policy, "Clock rollback policy must not be null");
+		this.policy = policy;
+	}
+
+	public long getMaxRollbackMillis() {
+		return maxRollbackMillis;
+	}
+
+	public void setMaxRollbackMillis(long maxRollbackMillis) {
+		AssertUtils.assertTrue(maxRollbackMillis >= 0, String.format(
+				"Property 'maxRollbackMillis' value '%d' must greater than or equal to 0", maxRollbackMillis));
+		this.maxRollbackMillis = maxRollbackMillis;
+	}
+	
+	public long getRejectedCount() {
+		return rejectedCount.get();
+	}
+
+	public long getWaitedCount() {
+		return waitedCount.get();
+	}
+
+	public long getReusedCount() {
+		return reusedCount.get();
+	}
+
+	public long getBorrowedCount() {
+		return borrowedCount.get();
+	}
+
+	public long getExhaustedCount() {
+		return exhaustedCount.get();
+	}
+
+	/**
+	 * 获取当前时间截
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public long currentTimeMillis() {
+		return System.currentTimeMillis();
+	}
+	
+	/**
+	 * 处理时钟回退，当前时间截小于最近生成的时间截时被调用，返回一个不小于最近生成时间截的可用时间截
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param lastTimestamp
+	 * @param currentTimestamp
+	 * @return
+	 */
+	public long handleRollback(long lastTimestamp, long currentTimestamp) {
+		long offset = lastTimestamp - currentTimestamp;
+		ClockRollbackPolicy policy = this.policy;
+		if (policy == ClockRollbackPolicy.REJECT || offset > maxRollbackMillis) {
+			rejectedCount.incrementAndGet();
+			throw new RuntimeException(String.format("Clock moved backwards.Refusing to generate id for %d milliseconds", offset));
+		}
+		
+		if (policy == ClockRollbackPolicy.WAIT) {
+			waitedCount.incrementAndGet();
+			return awaitMillis(lastTimestamp);
+		}
+		
+		if (lastTimestamp > borrowedTimestamp.get()) {
+			reusedCount.incrementAndGet();
+		} else {
+			// 时钟落后是由于之前借用了未来的毫秒时间刻度，并不是时钟回退
+			borrowedCount.incrementAndGet();
+		}
+		return lastTimestamp;
+	}
+	
+	/**
+	 * 毫秒内序列用完时获取下一个毫秒时间刻度
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param lastTimestamp
+	 * @return
+	 */
+	public long nextMillis(long lastTimestamp) {
+		long currentTimestamp = currentTimeMillis();
+		if (currentTimestamp > lastTimestamp) {
+			return currentTimestamp;
+		}
+		
+		if (policy == ClockRollbackPolicy.BORROW && lastTimestamp + 1 - currentTimestamp <= maxRollbackMillis) {
+			if (currentTimestamp == lastTimestamp) {
+				borrowedCount.incrementAndGet();
+			} else if (lastTimestamp > borrowedTimestamp.get()) {
+				// 本次生成已在handleRollback中统计为沿用，序列用完后改为借用下一个毫秒，因此转入借用次数
+				reusedCount.decrementAndGet();
+				borrowedCount.incrementAndGet();
+			}
+			
+			return borrow(lastTimestamp + 1);
+		}
+		
+		exhaustedCount.incrementAndGet();
+		return awaitMillis(lastTimestamp + 1);
+	}
+	
+	/**
+	 * 记录借用的毫秒时间刻度
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param timestamp
+	 * @return
+	 */
+	private long borrow(long timestamp) {
+		long borrowed;
+		while ((borrowed = borrowedTimestamp.get()) < timestamp) {
+			if (borrowedTimestamp.compareAndSet(borrowed, timestamp)) {
+				break;
+			}
+		}
+		
+		return timestamp;
+	}
+	
+	/**
+	 * 以逐步退避的方式挂起当前线程，直到当前时间截不小于目标时间截为止
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param targetTimestamp
+	 * @return
+	 */
+	private long awaitMillis(long targetTimestamp) {
+		long parkNanos = MIN_PARK_NANOS;
+		long timestamp;
+		while ((timestamp = currentTimeMillis()) < targetTimestamp) {
+			LockSupport.parkNanos(parkNanos);
+			if (parkNanos < MAX_PARK_NANOS) {
+				parkNanos <<= 1;
+			}
+		}
+		
+		return timestamp;
+	}
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.generator.sequence;
+
+/**
+ * 时钟回退策略
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public enum ClockRollbackPolicy {
+	
+	/** 时钟回退时直接拒绝生成 */
+	REJECT("reject"),
+	
+	/** 时钟回退的时长在容忍范围内时，阻塞等待到时钟追上最近生成的时间截 */
+	WAIT("wait"),
+	
+	/** 时钟回退的时长在容忍范围内时，继续使用最近生成的时间截，毫秒内序列用完后借用未来的毫秒时间刻度 */
+	BORROW("borrow");
+	
+	private String name;
+	
+	private ClockRollbackPolicy(String name) {
+		this.name = name;
+	}
+
+	public String getName() {
+		return name;
+	}
+	
+	@Override
+	public String toString() {
+		return name;
+	}
+
+}
@@ -31,7 +31,11 @@ public class TimestampInternalRadomSequence extends TimestampInternalSequence {
 	private final long radomSeed;
 
 	public TimestampInternalRadomSequence(long sequenceMask) {
-		super(sequenceMask);
+		this(sequenceMask, null);
+	}
+	
+	public TimestampInternalRadomSequence(long sequenceMask, ClockRollbackHandler clockRollbackHandler) {
+		super(sequenceMask, clockRollbackHandler);
 		this.radomSeed = ++sequenceMask;
 	}
 	
@@ -28,8 +28,8 @@ public class TimestampInternalSequence implements DimensionSequence<TimestampInt
 	/** 序列掩码 */
 	private final long sequenceMask;
 	
-	/** 时间戳序列 */
-	private final TimestampSequence timestampSequence;
+	/** 时钟回退处理器 */
+	private final ClockRollbackHandler clockRollbackHandler;
 	
 	/** 毫秒内序列，[0,sequenceMask]区间内 */
 	protected long sequence;
@@ -38,8 +38,12 @@ public class TimestampInternalSequence implements DimensionSequence<TimestampInt
 	private long lastTimestamp = -1L;
 	
 	public TimestampInternalSequence(long sequenceMask) {
+		this(sequenceMask, null);
+	}
+	
+	public TimestampInternalSequence(long sequenceMask, ClockRollbackHandler clockRollbackHandler) {
 		this.sequenceMask = sequenceMask;
-		this.timestampSequence = new TimestampSequence();
+		this.clockRollbackHandler = (clockRollbackHandler != null ? clockRollbackHandler : new ClockRollbackHandler());
 	}
 	
 	/**
@@ -48,12 +52,11 @@ public class TimestampInternalSequence implements DimensionSequence<TimestampInt
 	 * @return
 	 */
 	public TimestampInternalSequence update() {
-		long currentTimestamp = this.timestampSequence.update();
+		long currentTimestamp = this.clockRollbackHandler.currentTimeMillis();
 		
-        //如果当前时间小于最近生成的时间戳，说明系统时钟回退过这个时候应当抛出异常
+        //如果当前时间小于最近生成的时间戳，说明系统时钟回退过，这个时候交由时钟回退处理器根据策略进行处理
         if (currentTimestamp < this.lastTimestamp) {
-			throw new RuntimeException(String.format("Clock moved backwards.Refusing to generate id for %d milliseconds", 
-					this.lastTimestamp - currentTimestamp));
+        	currentTimestamp = this.clockRollbackHandler.handleRollback(this.lastTimestamp, currentTimestamp);
         }
 
         /* 如果是同一时间生成的，则进行毫秒内序列 */
@@ -61,7 +64,7 @@ public class TimestampInternalSequence implements DimensionSequence<TimestampInt
         	this.nextSequence();
             if (this.getSequence() == 0) {
 				// 阻塞到下一个毫秒，获得新的时间戳
-            	currentTimestamp = nextMillis(this.lastTimestamp);
+            	currentTimestamp = this.clockRollbackHandler.nextMillis(this.lastTimestamp);
             }
         } else {
 			// 时间戳改变，毫秒内序列重置
@@ -102,19 +105,5 @@ public class TimestampInternalSequence implements DimensionSequence<TimestampInt
 	protected void setLastTimestamp(long lastTimestamp) {
 		this.lastTimestamp = lastTimestamp;
 	}
-
-	/**
-	 * 生成下一个毫秒时间刻度
-	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
-	 * @param lastTimestamp
-	 * @return
-	 */
-	private long nextMillis(long lastTimestamp) {
-        long timestamp = this.timestampSequence.update();
-        while (timestamp <= lastTimestamp) {
-            timestamp = this.timestampSequence.update();
-        }
-        return timestamp;
-    }
 		
 }
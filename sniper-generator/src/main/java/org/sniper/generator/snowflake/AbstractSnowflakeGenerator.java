@@ -22,6 +22,8 @@ import org.sniper.commons.util.AssertUtils;
 import org.sniper.commons.util.DateUtils;
 import org.sniper.commons.util.NumberUtils;
 import org.sniper.generator.AbstractGenerator;
+import org.sniper.generator.sequence.ClockRollbackHandler;
+import org.sniper.generator.sequence.ClockRollbackPolicy;
 import org.sniper.generator.sequence.SequenceNode;
 import org.sniper.generator.sequence.TimestampInternalSequence;
 
@@ -67,6 +69,9 @@ public abstract class AbstractSnowflakeGenerator<T> extends AbstractGenerator<T>
 
     /** 数据中心ID*/
 	protected final long dataCenterId;
+	
+	/** 时钟回退处理器 */
+	protected final ClockRollbackHandler clockRollbackHandler;
                 
     protected AbstractSnowflakeGenerator(SequenceNode sequenceNode) {    	
     	AssertUtils.assertNotNull(sequenceNode, "Sequence node must not be null");
@@ -82,6 +87,44 @@ public abstract class AbstractSnowflakeGenerator<T> extends AbstractGenerator<T>
 
     	this.workerId = workerId;
     	this.dataCenterId = dataCenterId;
+    	this.clockRollbackHandler = new ClockRollbackHandler();
+    }
+    
+    public ClockRollbackPolicy getClockRollbackPolicy() {
+    	return clockRollbackHandler.getPolicy();
+    }
+    
+    public void setClockRollbackPolicy(ClockRollbackPolicy clockRollbackPolicy) {
+    	clockRollbackHandler.setPolicy(clockRollbackPolicy);
+    }
+    
+    public long getMaxRollbackMillis() {
+    	return clockRollbackHandler.getMaxRollbackMillis();
+    }
+    
+    public void setMaxRollbackMillis(long maxRollbackMillis) {
+    	clockRollbackHandler.setMaxRollbackMillis(maxRollbackMillis);
+    }
+    
+    /**
+     * 获取时钟回退处理器，可通过它获取各策略触发次数的统计
+     * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+     * @return
+     */
+    public ClockRollbackHandler getClockRollbackHandler() {
+    	return clockRollbackHandler;
+    }
+    
+    /**
+     * 根据时间截和毫秒内序列号计算出64位的序列结果，具体规则与DefaultSequenceGenerator一致
+     * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+     * @param timestamp
+     * @param sequence
+     * @return
+     */
+    protected long toSequenceValue(long timestamp, long sequence) {
+    	return ((timestamp - twepoch) << timestampLeftShift)
+    			| (dataCenterId << datacenterIdShift) | (workerId << workerIdShift) | sequence;
     }
         
 	/**
@@ -115,8 +158,7 @@ public abstract class AbstractSnowflakeGenerator<T> extends AbstractGenerator<T>
 
 		@Override
 		public Long generate(TimestampInternalSequence timeSequence) {
-			return ((timeSequence.getLastTimestamp() - twepoch) << timestampLeftShift)
-					| (dataCenterId << datacenterIdShift) | (workerId << workerIdShift) | timeSequence.getSequence();
+			return toSequenceValue(timeSequence.getLastTimestamp(), timeSequence.getSequence());
 		}
 	}
 	
@@ -20,7 +20,10 @@ package org.sniper.generator.snowflake;
 
 import java.util.List;
 
-import org.sniper.commons.util.CollectionUtils;
+import org.sniper.commons.util.AssertUtils;
+import org.sniper.generator.LongGenerator;
+import org.sniper.generator.LongGeneratorUtils;
+import org.sniper.generator.sequence.AtomicTimestampInternalSequence;
 import org.sniper.generator.sequence.SequenceNode;
 import org.sniper.generator.sequence.TimestampInternalSequence;
 
@@ -32,40 +35,118 @@ import org.sniper.generator.sequence.TimestampInternalSequence;
  * 3.理论上每秒中可同时生成4194304(1024*4096)个不同的结果。</p>
  * 4.具体实现原理请参考<a>https://segmentfault.com/a/1190000011282426</a></P>
  * 5.具体生成规则和结果特点与内部使用的DefaultSequenceGenerator一致。</p>
+ * 6.支持如下两种并发模式，生成结果的位格式完全相同：</p>
+ * 1)同步模式(默认)：生成方法加锁后更新共享的TimestampInternalSequence，所有线程串行执行；</p>
+ * 2)无锁模式：利用AtomicTimestampInternalSequence通过CAS更新打包的"时间截+毫秒内序列"值，
+ *   通道数(sequenceLanes)为0时表示采用同步模式，大于0时必须为2的幂，当大于1时，毫秒内12bit的序列空间将按通道拆分，不同线程在各自的通道内累加序列，从而减少CAS竞争。</p>
+ * 7.实现了LongGenerator接口，nextLong()和fill(long[], int, int)方法在生成过程中不会产生装箱对象，generate()和batchGenerate(int)只是在此基础上的装箱适配。</p>
+ * 8.系统时钟回退时的处理方式由clockRollbackPolicy和maxRollbackMillis决定，默认直接拒绝生成，具体参考ClockRollbackHandler。</p>
  * 
  * @author  <a href="mailto:code727@gmail.com">杜斌</a>
  * @version 1.0
  */
-public class SnowflakeGenerator extends AbstractSnowflakeGenerator<Long> {
-	
-	private final SequenceGenerator<Long> sequenceGenerator;
+public class SnowflakeGenerator extends AbstractSnowflakeGenerator<Long> implements LongGenerator {
 	
 	private final TimestampInternalSequence timeSequence;
 	
+	/** 无锁模式下的时间序列，为null时表示采用同步模式 */
+	private final AtomicTimestampInternalSequence atomicTimeSequence;
+	
     public SnowflakeGenerator() {
     	this(new SequenceNode());
     }
 
     public SnowflakeGenerator(SequenceNode sequenceNode) {
-		super(sequenceNode);
-		this.sequenceGenerator = new DefaultSequenceGenerator();
-		this.timeSequence = new TimestampInternalSequence(sequenceMask);
+		this(sequenceNode, 0);
+    }
+    
+    public SnowflakeGenerator(SequenceNode sequenceNode, boolean lockFree) {
+    	this(sequenceNode, lockFree ? 1 : 0);
+    }
+    
+    public SnowflakeGenerator(SequenceNode sequenceNode, int sequenceLanes) {
+    	super(sequenceNode);
+    	AssertUtils.assertTrue(sequenceLanes >= 0, String.format(
+    			"Parameter 'sequenceLanes' value '%d' must greater than or equal to 0", sequenceLanes));
+    	
+    	if (sequenceLanes > 0) {
+    		this.timeSequence = null;
+    		this.atomicTimeSequence = new AtomicTimestampInternalSequence(sequenceMask, sequenceLanes, clockRollbackHandler);
+    	} else {
+    		this.timeSequence = new TimestampInternalSequence(sequenceMask, clockRollbackHandler);
+    		this.atomicTimeSequence = null;
+    	}
     }
     
 	@Override
-	public synchronized Long generate() {
-		return sequenceGenerator.generate(this.timeSequence.update());
+	public Long generate() {
+		return nextLong();
 	}
 
 	@Override
-	public synchronized List<Long> batchGenerate(int count) {
+	public List<Long> batchGenerate(int count) {
 		checkBatchCount(count);
-		List<Long> results = CollectionUtils.newArrayList(count);
-		for (int i = 0; i < count; i++) {
-			results.add(sequenceGenerator.generate(this.timeSequence.update()));
+		long[] values = new long[count];
+		fill(values, 0, count);
+		return LongGeneratorUtils.toList(values);
+	}
+	
+	@Override
+	public long nextLong() {
+		if (atomicTimeSequence != null) {
+			return atomicGenerate();
+		}
+		
+		synchronized (this) {
+			return synchronizedGenerate();
+		}
+	}
+
+	@Override
+	public void fill(long[] dest, int off, int len) {
+		LongGeneratorUtils.checkFillRange(this, dest, off, len);
+		int end = off + len;
+		if (atomicTimeSequence != null) {
+			for (int i = off; i < end; i++) {
+				dest[i] = atomicGenerate();
+			}
+			return;
 		}
 		
-		return results;
+		synchronized (this) {
+			for (int i = off; i < end; i++) {
+				dest[i] = synchronizedGenerate();
+			}
+		}
+	}
+	
+	/**
+	 * 判断是否采用的无锁模式
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public boolean isLockFree() {
+		return atomicTimeSequence != null;
+	}
+	
+	/**
+	 * 同步模式下生成结果，调用方需持有当前对象的锁
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	private long synchronizedGenerate() {
+		this.timeSequence.update();
+		return toSequenceValue(this.timeSequence.getLastTimestamp(), this.timeSequence.getSequence());
+	}
+	
+	/**
+	 * 无锁模式下生成结果
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	private long atomicGenerate() {
+		long stamp = atomicTimeSequence.update();
+		return toSequenceValue(atomicTimeSequence.getTimestamp(stamp), atomicTimeSequence.getSequence(stamp));
 	}
 					
 }
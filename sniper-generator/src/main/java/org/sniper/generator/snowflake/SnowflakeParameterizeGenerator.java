@@ -43,6 +43,7 @@ import org.sniper.generator.sequence.TimestampInternalSequence;
  * 2)"4050":"当前毫秒内的序列号"；</p>
  * 3)"42":业务参数的值经过ParameterizeGenerator处理后截取的值。</p>
  * 5.具体生成规则和结果特点与内部使用的CustomizeSequenceGenerator一致。</p>
+ * 6.系统时钟回退时的处理方式由clockRollbackPolicy和maxRollbackMillis决定，默认直接拒绝生成，具体参考ClockRollbackHandler。</p>
  * @author  <a href="mailto:code727@gmail.com">杜斌</a>
  * @version 1.0
  */
@@ -70,7 +71,7 @@ public class SnowflakeParameterizeGenerator extends AbstractSnowflakeGenerator<L
 	public SnowflakeParameterizeGenerator(SequenceNode sequenceNode, ParameterizeGenerator<Object, ?> parameterGenerator) {
 		super(sequenceNode);
 		this.sequenceGenerator = new CustomizeSequenceGenerator();
-		this.timeSequence = new TimestampInternalRadomSequence(sequenceMask);
+		this.timeSequence = new TimestampInternalRadomSequence(sequenceMask, clockRollbackHandler);
 		this.parameterGenerator = (parameterGenerator != null ? parameterGenerator : new ShortLinkGenerator(true));
 	}
 	
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.generator.test.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.sniper.generator.keyspace.CounterCacheSequenceGenerator;
+import org.sniper.generator.keyspace.QueueCacheSequenceGenerator;
+import org.sniper.generator.test.cache.LocalKeyspaceTrendSequence;
+
+/**
+ * 缓存序列生成器基准测试类，对比无锁累加/出列与每次调用都对键加锁两种方式在不同线程数下的吞吐量。</P>
+ * 热点键空间(hot)：所有线程都在同一个键上生成结果；冷键空间(cold)：每个线程分别在各自的键上生成结果。</P>
+ * 运行main方法将分别以1、8、32个线程执行所有的基准测试
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheSequenceGeneratorBenchmark {
+	
+	@Param({"true", "false"})
+	private boolean lockFree;
+	
+	@Param({"hot", "cold"})
+	private String keyspace;
+	
+	private CounterCacheSequenceGenerator counterCacheGenerator;
+	
+	private QueueCacheSequenceGenerator<Long> queueCacheGenerator;
+	
+	private final AtomicInteger threadIndex = new AtomicInteger();
+	
+	@Setup(Level.Trial)
+	public void setup() {
+		if (lockFree) {
+			counterCacheGenerator = new CounterCacheSequenceGenerator(new LocalKeyspaceTrendSequence());
+			queueCacheGenerator = new QueueCacheSequenceGenerator<Long>(
+					new CounterCacheSequenceGenerator(new LocalKeyspaceTrendSequence()));
+		} else {
+			counterCacheGenerator = new LockedCounterCacheSequenceGenerator(new LocalKeyspaceTrendSequence());
+			queueCacheGenerator = new LockedQueueCacheSequenceGenerator(
+					new CounterCacheSequenceGenerator(new LocalKeyspaceTrendSequence()));
+		}
+		
+		counterCacheGenerator.setCacheStepSize(1000);
+		queueCacheGenerator.setCacheStepSize(1000);
+	}
+	
+	@State(Scope.Thread)
+	public static class ThreadKey {
+		
+		private Object key;
+		
+		@Setup(Level.Trial)
+		public void setup(CacheSequenceGeneratorBenchmark benchmark) {
+			key = "hot".equals(benchmark.keyspace) ? "hot" : "cold_" + benchmark.threadIndex.getAndIncrement();
+		}
+	}
+	
+	@Benchmark
+	public long counterCache(ThreadKey threadKey) {
+		return counterCacheGenerator.nextLongByKey(threadKey.key);
+	}
+	
+	@Benchmark
+	public Long queueCache(ThreadKey threadKey) {
+		return queueCacheGenerator.generateByKey(threadKey.key);
+	}
+	
+	public static void main(String[] args) throws RunnerException {
+		for (int threads : new int[] { 1, 8, 32 }) {
+			Options options = new OptionsBuilder()
+					.include(CacheSequenceGeneratorBenchmark.class.getSimpleName())
+					.threads(threads)
+					.build();
+			new Runner(options).run();
+		}
+	}
+	
+	/**
+	 * 每次调用都对键加锁的计数器缓存序列生成器，用于模拟改造前的实现
+	 * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @version 1.0
+	 */
+	private static class LockedCounterCacheSequenceGenerator extends CounterCacheSequenceGenerator {
+
+		public LockedCounterCacheSequenceGenerator(LocalKeyspaceTrendSequence keyspaceTrendSequence) {
+			super(keyspaceTrendSequence);
+		}
+		
+		@Override
+		protected long doNextLongByKey(Object key) {
+			keyLock.lock(key);
+			try {
+				return super.doNextLongByKey(key);
+			} finally {
+				keyLock.unlock(key);
+			}
+		}
+	}
+	
+	/**
+	 * 每次调用都对键加锁的队列缓存序列生成器，用于模拟改造前的实现
+	 * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @version 1.0
+	 */
+	private static class LockedQueueCacheSequenceGenerator extends QueueCacheSequenceGenerator<Long> {
+
+		public LockedQueueCacheSequenceGenerator(CounterCacheSequenceGenerator keyspaceGenerator) {
+			super(keyspaceGenerator);
+		}
+		
+		@Override
+		protected Long doGenerateByKey(Object key) {
+			keyLock.lock(key);
+			try {
+				return super.doGenerateByKey(key);
+			} finally {
+				keyLock.unlock(key);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.generator.test.cache;
+
+import org.junit.Test;
+import org.sniper.generator.keyspace.CounterCacheSequenceGenerator;
+import org.sniper.generator.test.AbstractGeneratorTest;
+
+/**
+ * 基于双缓冲计数器的缓存序列生成器单元测试类
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class DoubleBufferCounterCacheSequenceGeneratorTest extends AbstractGeneratorTest<Long> {
+	
+	private final CounterCacheSequenceGenerator generator;
+	
+	public DoubleBufferCounterCacheSequenceGeneratorTest() {
+		super(true, true);
+		this.generator = new CounterCacheSequenceGenerator(new LocalKeyspaceTrendSequence(5), null);
+		this.generator.setCacheStepSize(100);
+		this.generator.setMaxCacheStepSize(10000);
+	}
+
+	@Override
+	protected Long generate() {
+		return generator.nextLong();
+	}
+	
+	@Test
+	public void testSequential() {
+		CounterCacheSequenceGenerator generator = new CounterCacheSequenceGenerator(new LocalKeyspaceTrendSequence(2), null);
+		generator.setCacheStepSize(10);
+		generator.setMaxCacheStepSize(10);
+		assertTrue(generator.isDoubleBuffer());
+		
+		for (int i = 1; i <= 100; i++) {
+			assertEquals(i, generator.nextLongByKey("test"));
+		}
+		
+		long[] values = new long[25];
+		generator.fillByKey("test", values, 0, values.length);
+		for (int i = 0; i < values.length; i++) {
+			assertEquals(101 + i, values[i]);
+		}
+	}
+	
+	@Test
+	public void testAdaptiveStepSize() {
+		LocalKeyspaceTrendSequence sequence = new LocalKeyspaceTrendSequence();
+		CounterCacheSequenceGenerator generator = new CounterCacheSequenceGenerator(sequence, null);
+		generator.setCacheStepSize(10);
+		generator.setMaxCacheStepSize(80);
+		
+		long last = 0;
+		for (int i = 0; i < 1000; i++) {
+			long value = generator.nextLongByKey("test");
+			assertTrue(value > last);
+			last = value;
+		}
+		
+		// 快速消费时步长翻倍增长，但当前和预取的计数器区间之和不会超过两倍的最大步长
+		long fetched = sequence.updateByKey("test", 1) - 1;
+		assertTrue(fetched - last <= 80 * 2);
+	}
+	
+}
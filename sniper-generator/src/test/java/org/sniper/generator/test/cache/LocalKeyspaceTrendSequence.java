@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.generator.test.cache;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.sniper.commons.util.MapUtils;
+import org.sniper.generator.sequence.AbstractKeyspaceTrendSequence;
+
+/**
+ * 基于本地内存的键空间趋势序列，用于在没有Redis等外部依赖的情况下测试缓存序列生成器
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class LocalKeyspaceTrendSequence extends AbstractKeyspaceTrendSequence<Object, Long> {
+	
+	private final ConcurrentMap<Object, AtomicLong> sequences = MapUtils.newConcurrentHashMap();
+	
+	/** 每次更新序列时模拟的远程调用耗时(毫秒) */
+	private final long latencyMillis;
+	
+	public LocalKeyspaceTrendSequence() {
+		this(0);
+	}
+	
+	public LocalKeyspaceTrendSequence(long latencyMillis) {
+		super("local_sequence_key");
+		this.latencyMillis = latencyMillis;
+	}
+
+	@Override
+	protected Long doUpdateByKey(Object key, int stepSize) {
+		if (latencyMillis > 0) {
+			try {
+				Thread.sleep(latencyMillis);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		
+		AtomicLong sequence = sequences.get(key);
+		if (sequence == null) {
+			AtomicLong existing = sequences.putIfAbsent(key, sequence = new AtomicLong());
+			if (existing != null) {
+				sequence = existing;
+			}
+		}
+		return sequence.addAndGet(stepSize);
+	}
+
+}
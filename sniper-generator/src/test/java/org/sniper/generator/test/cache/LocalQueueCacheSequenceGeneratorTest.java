@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.generator.test.cache;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import org.sniper.commons.util.CollectionUtils;
+import org.sniper.generator.keyspace.CounterCacheSequenceGenerator;
+import org.sniper.generator.keyspace.QueueCacheSequenceGenerator;
+import org.sniper.generator.test.AbstractGeneratorTest;
+
+/**
+ * 基于本地趋势序列的队列缓存序列生成器单元测试类
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class LocalQueueCacheSequenceGeneratorTest extends AbstractGeneratorTest<Long> {
+	
+	private final QueueCacheSequenceGenerator<Long> generator;
+	
+	public LocalQueueCacheSequenceGeneratorTest() {
+		super(true, true);
+		this.generator = new QueueCacheSequenceGenerator<Long>(new CounterCacheSequenceGenerator(new LocalKeyspaceTrendSequence()));
+		this.generator.setCacheStepSize(100);
+	}
+
+	@Override
+	protected Long generate() {
+		return generator.generate();
+	}
+	
+	@Test
+	public void testConcurrentBatchGenerate() throws Exception {
+		final QueueCacheSequenceGenerator<Long> generator = new QueueCacheSequenceGenerator<Long>(
+				new CounterCacheSequenceGenerator(new LocalKeyspaceTrendSequence()), false);
+		generator.setCacheStepSize(10);
+		
+		final int batchSize = 7;
+		final int batchTimes = 10000;
+		ExecutorService executor = Executors.newFixedThreadPool(thradPoolSize);
+		Callable<Set<Long>> task = new Callable<Set<Long>>() {
+
+			@Override
+			public Set<Long> call() throws Exception {
+				Set<Long> set = CollectionUtils.newHashSet();
+				for (int i = 0; i < batchTimes; i++) {
+					List<Long> list = generator.batchGenerate(batchSize);
+					assertEquals(batchSize, list.size());
+					set.addAll(list);
+					set.add(generator.generate());
+				}
+				return set;
+			}
+		};
+		
+		List<Future<Set<Long>>> futures = CollectionUtils.newArrayList(thradPoolSize);
+		for (int i = 0; i < thradPoolSize; i++) {
+			futures.add(executor.submit(task));
+		}
+		
+		Set<Long> totalSet = CollectionUtils.newHashSet();
+		for (Future<Set<Long>> future : futures) {
+			totalSet.addAll(future.get());
+		}
+		executor.shutdown();
+		
+		assertEquals(thradPoolSize * batchTimes * (batchSize + 1), totalSet.size());
+	}
+	
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.generator.test.cache;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.sniper.generator.keyspace.CounterCacheSequenceGenerator;
+import org.sniper.generator.test.AbstractGeneratorTest;
+
+/**
+ * 基于计数器的缓存序列生成器基本长整型接口单元测试类
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class LongCounterCacheSequenceGeneratorTest extends AbstractGeneratorTest<Long> {
+	
+	private final CounterCacheSequenceGenerator generator;
+	
+	public LongCounterCacheSequenceGeneratorTest() {
+		super(true, true);
+		this.generator = new CounterCacheSequenceGenerator(new LocalKeyspaceTrendSequence());
+		this.generator.setCacheStepSize(100);
+	}
+
+	@Override
+	protected Long generate() {
+		return generator.nextLong();
+	}
+	
+	@Test
+	public void testFill() {
+		CounterCacheSequenceGenerator generator = new CounterCacheSequenceGenerator(new LocalKeyspaceTrendSequence(), false);
+		generator.setCacheStepSize(10);
+		
+		long[] values = new long[32];
+		generator.fillByKey("test", values, 1, 25);
+		assertEquals(0, values[0]);
+		for (int i = 1; i <= 25; i++) {
+			assertEquals(i, values[i]);
+		}
+		assertEquals(0, values[26]);
+		
+		assertEquals(26, generator.nextLongByKey("test"));
+		List<Long> list = generator.batchGenerateByKey("test", 5);
+		assertEquals(5, list.size());
+		assertEquals(Long.valueOf(27), list.get(0));
+		assertEquals(Long.valueOf(31), list.get(4));
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testFillOutOfBounds() {
+		generator.fill(new long[4], 2, 3);
+	}
+	
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.generator.test.sequence;
+
+import org.junit.Test;
+import org.sniper.generator.sequence.AtomicTimestampInternalSequence;
+import org.sniper.generator.sequence.ClockRollbackHandler;
+import org.sniper.generator.sequence.ClockRollbackPolicy;
+import org.sniper.generator.sequence.TimestampInternalSequence;
+import org.sniper.test.junit.BaseTestCase;
+
+/**
+ * 时钟回退处理器单元测试类
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class ClockRollbackHandlerTest extends BaseTestCase {
+	
+	private static final long SEQUENCE_MASK = 4095L;
+	
+	@Test(expected = RuntimeException.class)
+	public void testReject() {
+		MockClockRollbackHandler handler = new MockClockRollbackHandler(1000);
+		TimestampInternalSequence sequence = new TimestampInternalSequence(SEQUENCE_MASK, handler);
+		sequence.update();
+		
+		handler.time = 990;
+		try {
+			sequence.update();
+		} finally {
+			assertEquals(1, handler.getRejectedCount());
+		}
+	}
+	
+	@Test
+	public void testWait() {
+		MockClockRollbackHandler handler = new MockClockRollbackHandler(1000);
+		handler.setPolicy(ClockRollbackPolicy.WAIT);
+		TimestampInternalSequence sequence = new TimestampInternalSequence(SEQUENCE_MASK, handler);
+		sequence.update();
+		
+		handler.time = 995;
+		handler.tick = true;
+		sequence.update();
+		assertTrue(sequence.getLastTimestamp() >= 1000);
+		assertEquals(1, handler.getWaitedCount());
+	}
+	
+	@Test
+	public void testBorrow() {
+		MockClockRollbackHandler handler = new MockClockRollbackHandler(1000);
+		handler.setPolicy(ClockRollbackPolicy.BORROW);
+		handler.setMaxRollbackMillis(10);
+		TimestampInternalSequence sequence = new TimestampInternalSequence(SEQUENCE_MASK, handler);
+		sequence.update();
+		
+		// 时钟回退后继续沿用最近的时间截，序列用完后借用下一个毫秒
+		handler.time = 995;
+		for (int i = 0; i < SEQUENCE_MASK + 1; i++) {
+			sequence.update();
+		}
+		assertEquals(1001, sequence.getLastTimestamp());
+		assertEquals(SEQUENCE_MASK, handler.getReusedCount());
+		assertEquals(1, handler.getBorrowedCount());
+		
+		// 时钟仍落后于借用的时间截，这不是时钟回退，继续生成的序列只统计为借用
+		for (int i = 0; i < SEQUENCE_MASK + 1; i++) {
+			sequence.update();
+		}
+		assertEquals(1002, sequence.getLastTimestamp());
+		assertEquals(SEQUENCE_MASK, handler.getReusedCount());
+		assertEquals(SEQUENCE_MASK + 2, handler.getBorrowedCount());
+	}
+	
+	@Test(expected = RuntimeException.class)
+	public void testBorrowOutOfRange() {
+		MockClockRollbackHandler handler = new MockClockRollbackHandler(1000);
+		handler.setPolicy(ClockRollbackPolicy.BORROW);
+		handler.setMaxRollbackMillis(10);
+		AtomicTimestampInternalSequence sequence = new AtomicTimestampInternalSequence(SEQUENCE_MASK, 1, handler);
+		sequence.update();
+		
+		handler.time = 900;
+		sequence.update();
+	}
+	
+	@Test
+	public void testAtomicBorrow() {
+		MockClockRollbackHandler handler = new MockClockRollbackHandler(1000);
+		handler.setPolicy(ClockRollbackPolicy.BORROW);
+		AtomicTimestampInternalSequence sequence = new AtomicTimestampInternalSequence(SEQUENCE_MASK, 1, handler);
+		
+		long last = sequence.update();
+		for (int i = 0; i < SEQUENCE_MASK + 1; i++) {
+			long stamp = sequence.update();
+			assertTrue(stamp > last);
+			last = stamp;
+		}
+		assertEquals(1001, sequence.getTimestamp(last));
+		assertEquals(0, sequence.getSequence(last));
+		assertEquals(1, handler.getBorrowedCount());
+	}
+	
+	/**
+	 * 可控制时钟的回退处理器
+	 * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @version 1.0
+	 */
+	private static class MockClockRollbackHandler extends ClockRollbackHandler {
+		
+		private volatile long time;
+		
+		/** 每次获取时间后是否向前推进1毫秒 */
+		private volatile boolean tick;
+		
+		private MockClockRollbackHandler(long time) {
+			this.time = time;
+		}
+
+		@Override
+		public long currentTimeMillis() {
+			return tick ? time++ : time;
+		}
+	}
+
+}
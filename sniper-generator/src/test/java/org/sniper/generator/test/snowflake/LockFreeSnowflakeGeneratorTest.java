@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.generator.test.snowflake;
+
+import org.sniper.generator.sequence.AtomicTimestampInternalSequence;
+import org.sniper.generator.sequence.SequenceNode;
+import org.sniper.generator.snowflake.SnowflakeGenerator;
+import org.sniper.generator.test.AbstractGeneratorTest;
+
+/**
+ * 无锁模式的推特Snowflake序列生成器单元测试类
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class LockFreeSnowflakeGeneratorTest extends AbstractGeneratorTest<Long> {
+	
+	private final SnowflakeGenerator generator;
+	
+	public LockFreeSnowflakeGeneratorTest() {
+		super(true, true);
+		this.generator = new SnowflakeGenerator(new SequenceNode(),
+				AtomicTimestampInternalSequence.defaultLanes(4095));
+	}
+
+	@Override
+	protected Long generate() {
+		return generator.generate();
+	}
+	
+}
@@ -51,6 +51,9 @@ public abstract class MappedHttpAccessor extends CheckableInitializingBeanAdapte
 	protected MessageFormatter<Object> urlFormatter;
 	
 	protected StringEncoder urlEncoder;
+	
+	/** 是否将当前线程的链路上下文写入请求头 */
+	protected boolean tracePropagation = true;
 		
 	/** 模板所支持的请求方法映射集 */
 	private static final Map<String, String> SUPPORT_REQUEST_METHOD;
@@ -91,6 +94,14 @@ public abstract class MappedHttpAccessor extends CheckableInitializingBeanAdapte
 		this.urlEncoder = urlEncoder;
 	}
 	
+	public boolean isTracePropagation() {
+		return tracePropagation;
+	}
+
+	public void setTracePropagation(boolean tracePropagation) {
+		this.tracePropagation = tracePropagation;
+	}
+	
 	@Override
 	protected void checkProperties() {
 		if (formRegister == null)
@@ -23,6 +23,7 @@ import org.apache.http.client.methods.HttpDelete;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
+import org.apache.http.client.methods.HttpRequestBase;
 import org.sniper.commons.util.NetUtils;
 import org.sniper.http.MappedHttpAccessor;
 import org.sniper.http.form.HttpForm;
@@ -31,6 +32,8 @@ import org.sniper.http.httpclient.v4.factory.HttpClientFactoryBean;
 import org.sniper.http.httpclient.v4.handler.request.DefualtRequestHandler;
 import org.sniper.http.httpclient.v4.handler.request.RequestHandler;
 import org.sniper.http.httpclient.v4.handler.response.DefaultResponseHandler;
+import org.sniper.trace.context.TraceContext;
+import org.sniper.trace.context.TraceContextHolder;
 
 /**
  * 已映射的 HttpClient4.x发送器实现类
@@ -90,6 +93,7 @@ public final class MappedHttpClientSender extends MappedHttpAccessor {
 		HttpGet httpGet = new HttpGet(encodedUrl);
 		
 		try {
+			propagateTrace(httpGet);
 			logger.debug("Execute {} request [{}] by form [{}]", HttpGet.METHOD_NAME, url, name);
 			String response = httpClientFactory.create().execute(httpGet, responseHandler);
 			return handleResponse(form, response);
@@ -117,6 +121,7 @@ public final class MappedHttpClientSender extends MappedHttpAccessor {
 		
 		try {
 			requestHandler.handle(httpPost, url, form.getHeaders(), requestBody, form.getEncoding());
+			propagateTrace(httpPost);
 			logger.debug("Execute {} request [{}] by form [{}]", HttpPost.METHOD_NAME, url, name);
 			String response = httpClientFactory.create().execute(httpPost, responseHandler);
 			return handleResponse(form, response);
@@ -144,6 +149,7 @@ public final class MappedHttpClientSender extends MappedHttpAccessor {
 		
 		try {
 			requestHandler.handle(httpPut, url, form.getHeaders(), requestBody, form.getEncoding());
+			propagateTrace(httpPut);
 			logger.debug("Execute {} request [{}] by form [{}]", HttpPut.METHOD_NAME, url, name);
 			String response = httpClientFactory.create().execute(httpPut, responseHandler);
 			return handleResponse(form, response);
@@ -169,6 +175,7 @@ public final class MappedHttpClientSender extends MappedHttpAccessor {
 		String encodedUrl = urlEncoder.encode(url, form.getEncoding());
 		HttpDelete httpDelete = new HttpDelete(encodedUrl);
 		try {
+			propagateTrace(httpDelete);
 			logger.debug("Execute {} request [{}] by form [{}]", HttpDelete.METHOD_NAME, url, name);
 			String response = httpClientFactory.create().execute(httpDelete, responseHandler);
 			return handleResponse(form, response);
@@ -177,5 +184,22 @@ public final class MappedHttpClientSender extends MappedHttpAccessor {
 				httpDelete.releaseConnection();
 		}
 	}
+	
+	/**
+	 * 将当前线程链路上下文的子跨度写入请求头，请求头中已存在链路ID时不做任何处理
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param request
+	 */
+	private void propagateTrace(HttpRequestBase request) {
+		if (!tracePropagation || request.containsHeader(TraceContext.TRACE_ID_HEADER))
+			return;
+		
+		TraceContext context = TraceContextHolder.newChild();
+		if (context != null) {
+			request.setHeader(TraceContext.TRACE_ID_HEADER, context.getTraceIdString());
+			request.setHeader(TraceContext.SPAN_ID_HEADER, context.getSpanIdString());
+			request.setHeader(TraceContext.PARENT_SPAN_ID_HEADER, context.getParentSpanIdString());
+		}
+	}
 							
 }
@@ -18,8 +18,12 @@
 
 package org.sniper.http.spring;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.web.client.RestTemplate;
 import org.sniper.http.MappedHttpAccessor;
 import org.sniper.http.form.HttpForm;
@@ -48,6 +52,26 @@ public final class MappedRestSender extends MappedHttpAccessor {
 		
 		if (this.restTemplate == null)
 			this.restTemplate = new RestTemplate();
+		
+		if (tracePropagation && !hasTraceInterceptor()) {
+			List<ClientHttpRequestInterceptor> interceptors = new ArrayList<ClientHttpRequestInterceptor>(restTemplate.getInterceptors());
+			interceptors.add(new TraceClientHttpRequestInterceptor());
+			this.restTemplate.setInterceptors(interceptors);
+		}
+	}
+	
+	/**
+	 * 判断RestTemplate是否已注册了链路跟踪请求拦截器
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	private boolean hasTraceInterceptor() {
+		for (ClientHttpRequestInterceptor interceptor : restTemplate.getInterceptors()) {
+			if (interceptor instanceof TraceClientHttpRequestInterceptor)
+				return true;
+		}
+		
+		return false;
 	}
 	
 	@Override
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.http.spring;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.sniper.trace.context.TraceContext;
+import org.sniper.trace.context.TraceContextHolder;
+
+/**
+ * 链路跟踪请求拦截器，将当前线程链路上下文的子跨度写入请求头，请求头中已存在链路ID时不做任何处理
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class TraceClientHttpRequestInterceptor implements ClientHttpRequestInterceptor {
+
+	@Override
+	public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+			throws IOException {
+		
+		HttpHeaders headers = request.getHeaders();
+		if (!headers.containsKey(TraceContext.TRACE_ID_HEADER)) {
+			TraceContext context = TraceContextHolder.newChild();
+			if (context != null) {
+				headers.set(TraceContext.TRACE_ID_HEADER, context.getTraceIdString());
+				headers.set(TraceContext.SPAN_ID_HEADER, context.getSpanIdString());
+				headers.set(TraceContext.PARENT_SPAN_ID_HEADER, context.getParentSpanIdString());
+			}
+		}
+		
+		return execution.execute(request, body);
+	}
+
+}
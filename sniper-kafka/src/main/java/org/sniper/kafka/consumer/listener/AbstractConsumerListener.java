@@ -24,11 +24,14 @@ import org.slf4j.LoggerFactory;
 import org.springframework.kafka.support.Acknowledgment;
 import org.sniper.kafka.support.ConsumeResult;
 import org.sniper.kafka.support.MQFactory;
+import org.sniper.kafka.support.TraceHeaders;
 import org.sniper.serialization.Serializer;
 import org.sniper.serialization.json.jackson.fasterxml.FasterxmlJacksonSerializer;
+import org.sniper.trace.context.TraceContext;
+import org.sniper.trace.context.TraceContextHolder;
 
 /**
- * 消费者监听抽象类
+ * 消费者监听抽象类，消息头中携带链路上下文时，receive方法将在该上下文中执行
  * @author  <a href="mailto:code727@gmail.com">杜斌</a>
  * @version 1.0
  */
@@ -61,7 +64,18 @@ public abstract class AbstractConsumerListener<K, V> implements ConsumerListener
 			// ACK回复
 			acknowledgment.acknowledge();
 		
-		receive(MQFactory.buildConsumeResult(record));
+		TraceContext context = TraceHeaders.extract(record.headers());
+		if (context == null) {
+			receive(MQFactory.buildConsumeResult(record));
+			return;
+		}
+		
+		TraceContext previous = TraceContextHolder.set(context);
+		try {
+			receive(MQFactory.buildConsumeResult(record));
+		} finally {
+			TraceContextHolder.set(previous);
+		}
 	}
 	
 	/**
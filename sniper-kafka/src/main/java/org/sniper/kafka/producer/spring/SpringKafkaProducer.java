@@ -34,6 +34,8 @@ import org.sniper.kafka.exception.ProducerException;
 import org.sniper.kafka.producer.KafkaProducer;
 import org.sniper.kafka.producer.MessagePacket;
 import org.sniper.kafka.support.ProduceResult;
+import org.sniper.kafka.support.TraceHeaders;
+import org.sniper.trace.context.TraceContextHolder;
 
 /**
  * SpringKafka生产者实现类
@@ -136,6 +138,10 @@ public class SpringKafkaProducer extends SpringKafkaProducerSupport implements K
 	
 	@SuppressWarnings("unchecked")
 	protected <K, V> Object send(final ProducerRecord<K, V> producerRecord, final boolean wait) {
+		if (isTracePropagation())
+			// 以当前链路的子跨度作为消息的链路上下文
+			TraceHeaders.inject(producerRecord.headers(), TraceContextHolder.newChild());
+		
 		KafkaTemplate<K, V> kafkaTemplate = (KafkaTemplate<K, V>) getKafkaTemplate();
 		Object result = kafkaTemplate.execute(new ProducerCallback<K, V, Object>() {
 
@@ -47,6 +47,9 @@ public abstract class SpringKafkaProducerSupport extends KafkaProducerSupport {
     
     private boolean autoFlush;
     
+    /** 是否将当前线程的链路上下文写入消息头 */
+    private boolean tracePropagation = true;
+    
     /** 全局的生产者回调 */
     protected ListenableFutureCallback<?> producerCallback;
     
@@ -69,6 +72,14 @@ public abstract class SpringKafkaProducerSupport extends KafkaProducerSupport {
 	public boolean isAutoFlush() {
 		return autoFlush;
 	}
+	
+	public boolean isTracePropagation() {
+		return tracePropagation;
+	}
+
+	public void setTracePropagation(boolean tracePropagation) {
+		this.tracePropagation = tracePropagation;
+	}
 
 	@Override
 	protected void checkProperties() {		
@@ -19,10 +19,13 @@
 package org.sniper.kafka.serialization;
 
 import java.util.Arrays;
+import java.util.Map;
 
 import org.sniper.commons.util.AssertUtils;
 import org.sniper.serialization.SerializationException;
 import org.sniper.serialization.Serializer;
+import org.sniper.serialization.TypedSerializer;
+import org.sniper.serialization.compact.CompactSerializer;
 
 /**
  * Kafka反序列化器代理实现类
@@ -33,15 +36,44 @@ public class DeserializerProxy<T> extends AbstractDeserializer<T> {
 	
 	private Serializer serializer;
 	
+	/** 反序列化目标对象类型，为null时使用序列化器的全局目标类型 */
+	private Class<T> targetType;
+	
+	/**
+	 * 供Kafka通过类名实例化，默认使用只允许已注册类型的紧凑二进制序列化器，
+	 * 需通过{@link SerializerProxy#COMPACT_REGISTERED_CLASSES_CONFIG}配置项注册消息中的类型
+	 */
+	public DeserializerProxy() {
+		this(SerializerProxy.newRegisteredCompactSerializer());
+	}
+	
 	public DeserializerProxy(Serializer serializer) {
+		this(serializer, null);
+	}
+	
+	public DeserializerProxy(Serializer serializer, Class<T> targetType) {
 		AssertUtils.assertNotNull(serializer, "sniper serializer must not be null");
 		
+		// 消息数据不可信，紧凑二进制序列化器必须只允许已注册的类型，以免数据指定任意类名并由此创建实例
+		if (serializer instanceof CompactSerializer)
+			AssertUtils.assertTrue(((CompactSerializer) serializer).isRegistrationRequired(), 
+					"Compact serializer must require registration when deserializing kafka messages");
+		
 		this.serializer = serializer;
+		this.targetType = targetType;
+	}
+	
+	@Override
+	public void configure(Map<String, ?> configs, boolean isKey) {
+		SerializerProxy.registerCompactClasses(serializer, configs);
 	}
 	
 	@Override
 	public T deserialize(String topic, byte[] data) {
 		try {
+			if (targetType != null && serializer.isTypedSerializer())
+				return ((TypedSerializer) serializer).deserialize(data, targetType);
+			
 			return serializer.deserialize(data);
 		} catch (SerializationException e) {
 			throw new SerializationException(
@@ -18,9 +18,15 @@
 
 package org.sniper.kafka.serialization;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
 import org.sniper.commons.util.AssertUtils;
+import org.sniper.commons.util.StringUtils;
 import org.sniper.serialization.SerializationException;
 import org.sniper.serialization.Serializer;
+import org.sniper.serialization.compact.CompactSerializer;
 
 /**
  * Kafka序列化器代理实现类
@@ -30,14 +36,30 @@ import org.sniper.serialization.Serializer;
 @SuppressWarnings("rawtypes")
 public class SerializerProxy extends AbstractSerializer {
 	
+	/** 紧凑二进制序列化器需按顺序注册的类名配置项，多个类名之间用逗号分隔 */
+	public static final String COMPACT_REGISTERED_CLASSES_CONFIG = "sniper.compact.registered.classes";
+	
 	private Serializer serializer;
 	
+	/**
+	 * 供Kafka通过类名实例化，默认使用只允许已注册类型的紧凑二进制序列化器，
+	 * 需通过{@link #COMPACT_REGISTERED_CLASSES_CONFIG}配置项注册消息中的类型
+	 */
+	public SerializerProxy() {
+		this(newRegisteredCompactSerializer());
+	}
+	
 	public SerializerProxy(Serializer serializer) {
 		AssertUtils.assertNotNull(serializer, "sniper serializer must not be null");
 		
 		this.serializer = serializer;
 	}
 	
+	@Override
+	public void configure(Map configs, boolean isKey) {
+		registerCompactClasses(serializer, configs);
+	}
+	
 	@Override
 	public byte[] serialize(String topic, Object data) {
 		try {
@@ -46,5 +68,48 @@ public class SerializerProxy extends AbstractSerializer {
 			throw new SerializationException("Can't serialize data [" + data + "] for topic [" + topic + "]", e);
 		}
 	}
+	
+	/**
+	 * 创建只允许已注册类型的紧凑二进制序列化器，消息来自外部时不能由数据指定任意类名
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	static CompactSerializer newRegisteredCompactSerializer() {
+		CompactSerializer serializer = new CompactSerializer();
+		serializer.setRegistrationRequired(true);
+		return serializer;
+	}
+	
+	/**
+	 * 根据配置项为紧凑二进制序列化器注册类型，序列化端与反序列化端的配置必须一致
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param serializer
+	 * @param configs
+	 */
+	static void registerCompactClasses(Serializer serializer, Map<?, ?> configs) {
+		if (!(serializer instanceof CompactSerializer) || configs == null)
+			return;
+		
+		Object value = configs.get(COMPACT_REGISTERED_CLASSES_CONFIG);
+		if (value == null)
+			return;
+		
+		Collection<?> classNames = (value instanceof Collection) ? (Collection<?>) value 
+				: Arrays.asList(StringUtils.split(value.toString(), StringUtils.COMMA));
+		
+		CompactSerializer compactSerializer = (CompactSerializer) serializer;
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		for (Object className : classNames) {
+			String name = className.toString().trim();
+			if (name.isEmpty())
+				continue;
+			
+			try {
+				compactSerializer.register(Class.forName(name, false, classLoader));
+			} catch (ClassNotFoundException e) {
+				throw new SerializationException("Cannot load registered class [" + name + "]", e);
+			}
+		}
+	}
 
 }
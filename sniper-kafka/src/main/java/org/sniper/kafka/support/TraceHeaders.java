@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.kafka.support;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.sniper.trace.context.TraceContext;
+
+/**
+ * Kafka消息头与链路跟踪上下文之间的转换工具类
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class TraceHeaders {
+	
+	private TraceHeaders() {}
+	
+	/**
+	 * 将链路上下文写入消息头，消息头中已存在链路ID时不做任何处理
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param headers
+	 * @param context
+	 * @return 是否写入成功
+	 */
+	public static boolean inject(Headers headers, TraceContext context) {
+		if (headers == null || context == null || headers.lastHeader(TraceContext.TRACE_ID_HEADER) != null)
+			return false;
+		
+		headers.add(TraceContext.TRACE_ID_HEADER, toBytes(context.getTraceIdString()));
+		headers.add(TraceContext.SPAN_ID_HEADER, toBytes(context.getSpanIdString()));
+		if (context.getParentSpanId() != 0)
+			headers.add(TraceContext.PARENT_SPAN_ID_HEADER, toBytes(context.getParentSpanIdString()));
+		
+		return true;
+	}
+	
+	/**
+	 * 从消息头中解析出链路上下文，不存在或不合法时返回null
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param headers
+	 * @return
+	 */
+	public static TraceContext extract(Headers headers) {
+		if (headers == null)
+			return null;
+		
+		String traceId = lastValue(headers, TraceContext.TRACE_ID_HEADER);
+		return traceId != null ? TraceContext.parse(traceId, lastValue(headers, TraceContext.SPAN_ID_HEADER),
+				lastValue(headers, TraceContext.PARENT_SPAN_ID_HEADER)) : null;
+	}
+	
+	private static byte[] toBytes(String value) {
+		return value.getBytes(StandardCharsets.US_ASCII);
+	}
+	
+	private static String lastValue(Headers headers, String key) {
+		Header header = headers.lastHeader(key);
+		return header != null && header.value() != null ? new String(header.value(), StandardCharsets.US_ASCII) : null;
+	}
+
+}
@@ -0,0 +1,396 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.nosql.redis.cache;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.sniper.commons.util.AssertUtils;
+
+/**
+ * Redis客户端近端缓存，以序列化后的键(及哈希键)字节为索引，缓存反序列化后的值。</P>
+ * 1.读取不加锁，每次命中时累加条目的访问频率，频率上限为MAX_FREQUENCY；</P>
+ * 2.条目数超过上限时，由一个线程以时钟(CLOCK)算法扫描条目：访问频率大于0的条目频率减1后跳过，频率为0或已过期的条目被淘汰，
+ *   因此访问频率越高的条目被保留的时间越长；</P>
+ * 3.为避免"读取Redis后、写入本地缓存前"键被修改而缓存了旧值，读取Redis前需通过stamp(key)获取键所在分段的失效戳，
+ *   写入时若该分段在期间发生过失效，则放弃本次写入。
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class NearCache {
+	
+	/** 访问频率上限 */
+	private static final int MAX_FREQUENCY = 15;
+	
+	/** 失效戳分段数 */
+	private static final int STAMP_STRIPES = 64;
+	
+	/** 最大条目数 */
+	private final int maximumSize;
+	
+	/** 条目最长的存活毫秒数 */
+	private final long expireMillis;
+	
+	/** 缓存条目 */
+	private final ConcurrentMap<CacheKey, CacheEntry> entries = new ConcurrentHashMap<CacheKey, CacheEntry>();
+	
+	/** 键与其已缓存的哈希键之间的索引 */
+	private final ConcurrentMap<BytesKey, Set<BytesKey>> fieldIndex = new ConcurrentHashMap<BytesKey, Set<BytesKey>>();
+	
+	/** 分段失效戳 */
+	private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+	
+	/** 淘汰锁 */
+	private final ReentrantLock evictionLock = new ReentrantLock();
+	
+	/** 时钟指针 */
+	private Iterator<Entry<CacheKey, CacheEntry>> clockHand;
+	
+	private final LongAdder hitCount = new LongAdder();
+	
+	private final LongAdder missCount = new LongAdder();
+	
+	private final LongAdder evictionCount = new LongAdder();
+	
+	public NearCache(int maximumSize, long expireMillis) {
+		AssertUtils.assertTrue(maximumSize > 0, "Near cache maximum size must be greater than 0");
+		AssertUtils.assertTrue(expireMillis > 0, "Near cache expire millis must be greater than 0");
+		this.maximumSize = maximumSize;
+		this.expireMillis = expireMillis;
+	}
+	
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	public long getExpireMillis() {
+		return expireMillis;
+	}
+
+	/**
+	 * 获取缓存的值，不存在、已过期或缓存时的值类型与valueType不一致时返回null
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @param field 哈希键，为null时表示字符串值
+	 * @param valueType
+	 * @return
+	 */
+	public Object get(byte[] key, byte[] field, Class<?> valueType) {
+		CacheKey cacheKey = new CacheKey(key, field);
+		CacheEntry entry = entries.get(cacheKey);
+		if (entry == null || entry.valueType != valueType) {
+			missCount.increment();
+			return null;
+		}
+		
+		if (entry.expireAt <= System.currentTimeMillis()) {
+			remove(cacheKey, entry);
+			missCount.increment();
+			return null;
+		}
+		
+		int frequency = entry.frequency;
+		if (frequency < MAX_FREQUENCY)
+			entry.frequency = frequency + 1;
+		
+		hitCount.increment();
+		return entry.value;
+	}
+	
+	/**
+	 * 获取键所在分段的失效戳，需要在读取Redis之前调用
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @return
+	 */
+	public long stamp(byte[] key) {
+		return stamps.get(stripeOf(key));
+	}
+	
+	/**
+	 * 缓存值，当键所在分段的失效戳与stamp不一致时放弃缓存
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @param field
+	 * @param value
+	 * @param valueType
+	 * @param ttlMillis 值在Redis中的剩余存活毫秒数，小于等于0表示未知或永久
+	 * @param stamp
+	 * @return 是否缓存成功
+	 */
+	public boolean put(byte[] key, byte[] field, Object value, Class<?> valueType, long ttlMillis, long stamp) {
+		if (value == null)
+			return false;
+		
+		int stripe = stripeOf(key);
+		if (stamps.get(stripe) != stamp)
+			return false;
+		
+		long ttl = (ttlMillis > 0 ? Math.min(ttlMillis, expireMillis) : expireMillis);
+		CacheKey cacheKey = new CacheKey(key, field);
+		CacheEntry entry = new CacheEntry(value, valueType, System.currentTimeMillis() + ttl);
+		entries.put(cacheKey, entry);
+		
+		if (field != null) {
+			Set<BytesKey> fields = fieldIndex.get(cacheKey.key);
+			if (fields == null) {
+				Set<BytesKey> newFields = ConcurrentHashMap.<BytesKey>newKeySet();
+				fields = fieldIndex.putIfAbsent(cacheKey.key, newFields);
+				if (fields == null)
+					fields = newFields;
+			}
+			fields.add(cacheKey.field);
+		}
+		
+		// 写入期间键被失效，撤销本次写入
+		if (stamps.get(stripe) != stamp) {
+			remove(cacheKey, entry);
+			return false;
+		}
+		
+		if (entries.size() > maximumSize)
+			evict();
+		
+		return true;
+	}
+	
+	/**
+	 * 使键的字符串值及其所有哈希键的值失效
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 */
+	public void invalidate(byte[] key) {
+		stamps.incrementAndGet(stripeOf(key));
+		
+		BytesKey bytesKey = new BytesKey(key);
+		entries.remove(new CacheKey(bytesKey, null));
+		
+		Set<BytesKey> fields = fieldIndex.remove(bytesKey);
+		if (fields != null) {
+			for (BytesKey field : fields) {
+				entries.remove(new CacheKey(bytesKey, field));
+			}
+		}
+	}
+	
+	/**
+	 * 使所有缓存失效
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a>
+	 */
+	public void invalidateAll() {
+		for (int i = 0; i < STAMP_STRIPES; i++) {
+			stamps.incrementAndGet(i);
+		}
+		
+		entries.clear();
+		fieldIndex.clear();
+	}
+	
+	public int size() {
+		return entries.size();
+	}
+	
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+	
+	public long getMissCount() {
+		return missCount.sum();
+	}
+	
+	public long getEvictionCount() {
+		return evictionCount.sum();
+	}
+	
+	/**
+	 * 获取命中率
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public double getHitRate() {
+		long hits = hitCount.sum();
+		long total = hits + missCount.sum();
+		return total > 0 ? (double) hits / total : 0;
+	}
+	
+	/**
+	 * 以时钟算法淘汰条目，直到条目数不超过上限
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a>
+	 */
+	private void evict() {
+		// 已有其它线程在淘汰时直接返回
+		if (!evictionLock.tryLock())
+			return;
+		
+		try {
+			long now = System.currentTimeMillis();
+			while (entries.size() > maximumSize) {
+				if (clockHand == null || !clockHand.hasNext()) {
+					clockHand = entries.entrySet().iterator();
+					if (!clockHand.hasNext())
+						break;
+				}
+				
+				Entry<CacheKey, CacheEntry> candidate = clockHand.next();
+				CacheEntry entry = candidate.getValue();
+				int frequency = entry.frequency;
+				if (frequency > 0 && entry.expireAt > now) 
+					entry.frequency = frequency - 1;
+				else if (remove(candidate.getKey(), entry))
+					evictionCount.increment();
+			}
+		} finally {
+			evictionLock.unlock();
+		}
+	}
+	
+	/**
+	 * 删除条目及其哈希键索引
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param cacheKey
+	 * @param entry
+	 * @return
+	 */
+	private boolean remove(CacheKey cacheKey, CacheEntry entry) {
+		if (!entries.remove(cacheKey, entry))
+			return false;
+		
+		if (cacheKey.field != null) {
+			Set<BytesKey> fields = fieldIndex.get(cacheKey.key);
+			if (fields != null)
+				fields.remove(cacheKey.field);
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * 计算键所在的失效戳分段
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @return
+	 */
+	private static int stripeOf(byte[] key) {
+		int hash = Arrays.hashCode(key);
+		return (hash ^ (hash >>> 16)) & (STAMP_STRIPES - 1);
+	}
+	
+	/**
+	 * 字节数组键
+	 * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @version 1.0
+	 */
+	private static final class BytesKey {
+		
+		private final byte[] bytes;
+		
+		private final int hash;
+		
+		private BytesKey(byte[] bytes) {
+			this.bytes = bytes;
+			this.hash = Arrays.hashCode(bytes);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			
+			if (!(obj instanceof BytesKey))
+				return false;
+			
+			BytesKey other = (BytesKey) obj;
+			return hash == other.hash && Arrays.equals(bytes, other.bytes);
+		}
+	}
+	
+	/**
+	 * 缓存键，由键和哈希键组成
+	 * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @version 1.0
+	 */
+	private static final class CacheKey {
+		
+		private final BytesKey key;
+		
+		private final BytesKey field;
+		
+		private CacheKey(byte[] key, byte[] field) {
+			this(new BytesKey(key), field != null ? new BytesKey(field) : null);
+		}
+		
+		private CacheKey(BytesKey key, BytesKey field) {
+			this.key = key;
+			this.field = field;
+		}
+
+		@Override
+		public int hashCode() {
+			return field != null ? key.hash * 31 + field.hash : key.hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			
+			if (!(obj instanceof CacheKey))
+				return false;
+			
+			CacheKey other = (CacheKey) obj;
+			return key.equals(other.key) && (field != null ? field.equals(other.field) : other.field == null);
+		}
+	}
+	
+	/**
+	 * 缓存条目
+	 * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @version 1.0
+	 */
+	private static final class CacheEntry {
+		
+		private final Object value;
+		
+		private final Class<?> valueType;
+		
+		private final long expireAt;
+		
+		/** 访问频率，并发累加时允许丢失更新 */
+		private volatile int frequency = 1;
+		
+		private CacheEntry(Object value, Class<?> valueType, long expireAt) {
+			this.value = value;
+			this.valueType = valueType;
+			this.expireAt = expireAt;
+		}
+	}
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.nosql.redis.cluster;
+
+import java.util.List;
+import java.util.Map;
+
+import org.sniper.commons.util.AssertUtils;
+import org.sniper.commons.util.CollectionUtils;
+import org.sniper.commons.util.MapUtils;
+
+/**
+ * Redis集群槽位工具类
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class ClusterSlotUtils {
+	
+	/** 集群槽位总数 */
+	public static final int SLOT_COUNT = 16384;
+	
+	/** CRC16(XMODEM)查找表 */
+	private static final int[] CRC16_TABLE = new int[256];
+	
+	static {
+		for (int i = 0; i < 256; i++) {
+			int crc = i << 8;
+			for (int j = 0; j < 8; j++) {
+				crc = ((crc & 0x8000) != 0 ? (crc << 1) ^ 0x1021 : crc << 1);
+			}
+			CRC16_TABLE[i] = crc & 0xffff;
+		}
+	}
+	
+	private ClusterSlotUtils() {}
+	
+	/**
+	 * 计算键所在的槽位，键中含有非空的哈希标签时只计算标签部分
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param keyByte
+	 * @return
+	 */
+	public static int slot(byte[] keyByte) {
+		AssertUtils.assertNotNull(keyByte, "Key must not be null");
+		
+		int start = 0;
+		int end = keyByte.length;
+		for (int i = 0; i < keyByte.length; i++) {
+			if (keyByte[i] == '{') {
+				for (int j = i + 1; j < keyByte.length; j++) {
+					if (keyByte[j] == '}') {
+						if (j > i + 1) {
+							start = i + 1;
+							end = j;
+						}
+						break;
+					}
+				}
+				break;
+			}
+		}
+		
+		return crc16(keyByte, start, end) & (SLOT_COUNT - 1);
+	}
+	
+	/**
+	 * 为键添加哈希标签，具有相同标签的键会被分配到同一个槽位中，从而可以在集群中执行多键命令
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param tag
+	 * @param key
+	 * @return
+	 */
+	public static String hashTag(String tag, String key) {
+		AssertUtils.assertNotBlank(tag, "Hash tag must not be null or blank");
+		AssertUtils.assertTrue(tag.indexOf('{') < 0 && tag.indexOf('}') < 0, "Hash tag must not contain '{' or '}'");
+		
+		return new StringBuilder(tag.length() + 2 + (key != null ? key.length() : 0))
+				.append('{').append(tag).append('}').append(key != null ? key : "").toString();
+	}
+	
+	/**
+	 * 为多个键添加相同的哈希标签
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param tag
+	 * @param keys
+	 * @return
+	 */
+	public static String[] hashTags(String tag, String... keys) {
+		String[] taggedKeys = new String[keys.length];
+		for (int i = 0; i < keys.length; i++) {
+			taggedKeys[i] = hashTag(tag, keys[i]);
+		}
+		
+		return taggedKeys;
+	}
+	
+	/**
+	 * 将键按槽位分组，组的顺序为各槽位首次出现的顺序，组内保持键的原始顺序
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param keyBytes
+	 * @return
+	 */
+	public static List<SlotGroup> group(byte[][] keyBytes) {
+		Map<Integer, List<Integer>> slotPositions = MapUtils.newLinkedHashMap();
+		for (int i = 0; i < keyBytes.length; i++) {
+			Integer slot = slot(keyBytes[i]);
+			List<Integer> positions = slotPositions.get(slot);
+			if (positions == null) {
+				positions = CollectionUtils.newArrayList();
+				slotPositions.put(slot, positions);
+			}
+			positions.add(i);
+		}
+		
+		List<SlotGroup> groups = CollectionUtils.newArrayList(slotPositions.size());
+		for (Map.Entry<Integer, List<Integer>> entry : slotPositions.entrySet()) {
+			List<Integer> positions = entry.getValue();
+			int[] positionArray = new int[positions.size()];
+			byte[][] groupKeyBytes = new byte[positions.size()][];
+			for (int i = 0; i < positionArray.length; i++) {
+				positionArray[i] = positions.get(i);
+				groupKeyBytes[i] = keyBytes[positionArray[i]];
+			}
+			
+			groups.add(new SlotGroup(entry.getKey(), positionArray, groupKeyBytes));
+		}
+		
+		return groups;
+	}
+	
+	/**
+	 * 判断所有键是否位于同一个槽位
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param keyBytes
+	 * @return
+	 */
+	public static boolean isSameSlot(byte[]... keyBytes) {
+		if (keyBytes.length < 2)
+			return true;
+		
+		int slot = slot(keyBytes[0]);
+		for (int i = 1; i < keyBytes.length; i++) {
+			if (slot(keyBytes[i]) != slot)
+				return false;
+		}
+		
+		return true;
+	}
+	
+	private static int crc16(byte[] bytes, int start, int end) {
+		int crc = 0;
+		for (int i = start; i < end; i++) {
+			crc = ((crc << 8) ^ CRC16_TABLE[((crc >>> 8) ^ bytes[i]) & 0xff]) & 0xffff;
+		}
+		
+		return crc;
+	}
+
+}
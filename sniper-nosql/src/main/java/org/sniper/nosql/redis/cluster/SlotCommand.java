@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.nosql.redis.cluster;
+
+import java.util.List;
+
+/**
+ * 在单个槽位上执行的命令。同一主节点上的多个槽位的命令会在同一连接的管道中发送，
+ * 因此命令分为发送与结果转换两个阶段
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public interface SlotCommand<C, T> {
+	
+	/**
+	 * 在连接上对位于同一槽位的一组键发送命令，并将每个命令的返回值依次添加到返回值列表中。
+	 * 连接处于管道模式时返回值为null，管道关闭后将按发送的顺序替换为命令的实际结果
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param connection
+	 * @param group
+	 * @param replies
+	 */
+	public void execute(C connection, SlotGroup group, List<Object> replies);
+	
+	/**
+	 * 将本组命令的实际结果转换为本组的结果
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param replies
+	 * @param group
+	 * @return
+	 */
+	public T getResult(List<Object> replies, SlotGroup group);
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.nosql.redis.cluster;
+
+/**
+ * 位于同一槽位的一组键
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class SlotGroup {
+	
+	/** 槽位 */
+	private final int slot;
+	
+	/** 各键在原始键列表中的位置 */
+	private final int[] positions;
+	
+	/** 组内的键 */
+	private final byte[][] keyBytes;
+	
+	public SlotGroup(int slot, int[] positions, byte[][] keyBytes) {
+		this.slot = slot;
+		this.positions = positions;
+		this.keyBytes = keyBytes;
+	}
+
+	public int getSlot() {
+		return slot;
+	}
+
+	public int[] getPositions() {
+		return positions;
+	}
+
+	public byte[][] getKeyBytes() {
+		return keyBytes;
+	}
+	
+}
@@ -22,6 +22,7 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -39,6 +40,7 @@ import org.sniper.nosql.redis.model.geo.GeoPoint;
 import org.sniper.nosql.redis.model.geo.GeoRadiusResult;
 import org.sniper.nosql.redis.model.xscan.IndexedScanResult;
 import org.sniper.nosql.redis.model.xscan.MappedScanResult;
+import org.sniper.nosql.redis.model.xscan.ScanIterator;
 import org.sniper.nosql.redis.model.zset.ZSetTuple;
 import org.sniper.nosql.redis.option.GeoRadiusOption;
 import org.sniper.nosql.redis.option.Limit;
@@ -345,6 +347,21 @@ public abstract class RedisAccessor extends CheckableInitializingBean implements
 		return scan(dbName, cursorId, option, null);
 	}
 	
+	@Override
+	public <K> ScanIterator<K> scanKeys(ScanOption option) {
+		return scanKeys(option, null);
+	}
+	
+	@Override
+	public <K> ScanIterator<K> scanKeys(ScanOption option, Class<K> keyType) {
+		return scanKeys(null, option, keyType);
+	}
+	
+	@Override
+	public <K> ScanIterator<K> scanKeys(String dbName, ScanOption option) {
+		return scanKeys(dbName, option, null);
+	}
+	
 	@Override
 	public <K> DataType type(K key) {
 		return type(null, key);
@@ -385,6 +402,21 @@ public abstract class RedisAccessor extends CheckableInitializingBean implements
 		return valuesByPattern(dbName, pattern, null);
 	}
 	
+	@Override
+	public <V> ScanIterator<V> scanValues(ScanOption option) {
+		return scanValues(option, null);
+	}
+	
+	@Override
+	public <V> ScanIterator<V> scanValues(ScanOption option, Class<V> valueType) {
+		return scanValues(null, option, valueType);
+	}
+	
+	@Override
+	public <V> ScanIterator<V> scanValues(String dbName, ScanOption option) {
+		return scanValues(dbName, option, null);
+	}
+	
 	@Override
 	public <K, V> void set(K key, V value) {
 		set(key, value, 0);
@@ -980,6 +1012,21 @@ public abstract class RedisAccessor extends CheckableInitializingBean implements
 	public <K, H, V> MappedScanResult<H, V> hScan(String dbName, K key, long cursorId, ScanOption option, Class<V> valueType) {
 		return hScan(dbName, key, cursorId, option, (Class<H>) null, valueType);
 	}
+	
+	@Override
+	public <K, H, V> ScanIterator<Entry<H, V>> hScanEntries(K key, ScanOption option) {
+		return hScanEntries(key, option, null, null);
+	}
+	
+	@Override
+	public <K, H, V> ScanIterator<Entry<H, V>> hScanEntries(K key, ScanOption option, Class<H> hashKeyType, Class<V> valueType) {
+		return hScanEntries(null, key, option, hashKeyType, valueType);
+	}
+	
+	@Override
+	public <K, H, V> ScanIterator<Entry<H, V>> hScanEntries(String dbName, K key, ScanOption option) {
+		return hScanEntries(dbName, key, option, null, null);
+	}
 
 	@Override
 	public <K, V> Long lInsert(K key, ListPosition where, V pivot, V value) {
@@ -1726,6 +1773,21 @@ public abstract class RedisAccessor extends CheckableInitializingBean implements
 		return sscan(dbName, key, cursorId, option, null);
 	}
 	
+	@Override
+	public <K, V> ScanIterator<V> sscanMembers(K key, ScanOption option) {
+		return sscanMembers(key, option, null);
+	}
+	
+	@Override
+	public <K, V> ScanIterator<V> sscanMembers(K key, ScanOption option, Class<V> valueType) {
+		return sscanMembers(null, key, option, valueType);
+	}
+	
+	@Override
+	public <K, V> ScanIterator<V> sscanMembers(String dbName, K key, ScanOption option) {
+		return sscanMembers(dbName, key, option, null);
+	}
+	
 	@Override
 	public <K, V> Boolean zAdd(K key, double score, V member) {
 		return zAdd(key, score, member, 0);
@@ -2296,6 +2358,21 @@ public abstract class RedisAccessor extends CheckableInitializingBean implements
 		return zScan(dbName, key, cursorId, option, null);
 	}
 	
+	@Override
+	public <K, V> ScanIterator<Entry<V, Double>> zScanEntries(K key, ScanOption option) {
+		return zScanEntries(key, option, null);
+	}
+	
+	@Override
+	public <K, V> ScanIterator<Entry<V, Double>> zScanEntries(K key, ScanOption option, Class<V> valueType) {
+		return zScanEntries(null, key, option, valueType);
+	}
+	
+	@Override
+	public <K, V> ScanIterator<Entry<V, Double>> zScanEntries(String dbName, K key, ScanOption option) {
+		return zScanEntries(dbName, key, option, null);
+	}
+	
 	@Override
 	public <K,V> Long pfAdd(K key, V element) {
 		return pfAdd(key, element, 0);
@@ -2597,4 +2674,14 @@ public abstract class RedisAccessor extends CheckableInitializingBean implements
 		return ping(null);
 	}
 	
+	@Override
+	public <K> Long eval(String script, List<K> keys, Object... args) {
+		return eval(null, script, keys, args);
+	}
+	
+	@Override
+	public RedisPipeline pipelined() {
+		return pipelined(null);
+	}
+	
 }
@@ -25,6 +25,6 @@ package org.sniper.nosql.redis.command;
  */
 public interface RedisCommands extends RedisKeyCommands, RedisStringCommands, RedisHashCommands, RedisListCommands,
 		RedisSetCommands, RedisSortedSetCommands, RedisHyperLogLogCommands, RedisGeoCommands, RedisServerCommands,
-		RedisConnectionCommands {
+		RedisConnectionCommands, RedisScriptingCommands, RedisPipelineCommands {
 
 }
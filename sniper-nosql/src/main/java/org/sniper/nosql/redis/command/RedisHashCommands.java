@@ -21,9 +21,11 @@ package org.sniper.nosql.redis.command;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
 import org.sniper.nosql.redis.model.xscan.MappedScanResult;
+import org.sniper.nosql.redis.model.xscan.ScanIterator;
 import org.sniper.nosql.redis.option.ScanOption;
 
 /**
@@ -831,4 +833,47 @@ public interface RedisHashCommands {
 	 */
 	public <K, H, V> MappedScanResult<H, V> hScan(String dbName, K key, long cursorId, ScanOption option, Class<H> hashKeyType, Class<V> valueType);
 
+
+	/**
+	 * 在当前库中以hScan命令逐页迭代哈希中所有匹配的哈希键值对，返回可以转换为流的惰性迭代器
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @param option
+	 * @return
+	 */
+	public <K, H, V> ScanIterator<Entry<H, V>> hScanEntries(K key, ScanOption option);
+	
+	/**
+	 * 在当前库中以hScan命令逐页迭代哈希中所有匹配的哈希键值对，并转换为指定的类型，返回可以转换为流的惰性迭代器
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @param option
+	 * @param hashKeyType
+	 * @param valueType
+	 * @return
+	 */
+	public <K, H, V> ScanIterator<Entry<H, V>> hScanEntries(K key, ScanOption option, Class<H> hashKeyType, Class<V> valueType);
+	
+	/**
+	 * 在指定库中以hScan命令逐页迭代哈希中所有匹配的哈希键值对，返回可以转换为流的惰性迭代器
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param dbName
+	 * @param key
+	 * @param option
+	 * @return
+	 */
+	public <K, H, V> ScanIterator<Entry<H, V>> hScanEntries(String dbName, K key, ScanOption option);
+	
+	/**
+	 * 在指定库中以hScan命令逐页迭代哈希中所有匹配的哈希键值对，并转换为指定的类型，返回可以转换为流的惰性迭代器
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param dbName
+	 * @param key
+	 * @param option
+	 * @param hashKeyType
+	 * @param valueType
+	 * @return
+	 */
+	public <K, H, V> ScanIterator<Entry<H, V>> hScanEntries(String dbName, K key, ScanOption option, Class<H> hashKeyType, Class<V> valueType);
+
 }
@@ -25,6 +25,7 @@ import java.util.Set;
 
 import org.sniper.nosql.redis.enums.DataType;
 import org.sniper.nosql.redis.model.xscan.IndexedScanResult;
+import org.sniper.nosql.redis.model.xscan.ScanIterator;
 import org.sniper.nosql.redis.option.ScanOption;
 import org.sniper.nosql.redis.option.SortOptional;
 
@@ -458,6 +459,44 @@ public interface RedisKeyCommands {
 	 * @return
 	 */
 	public <V> List<V> valuesByPattern(String dbName, String pattern, Class<V> valueType);
+
+	
+	/**
+	 * 在当前库中以scan命令逐页迭代所有匹配的键，并以mGet命令批量获取每页键对应的值，不存在的值会被忽略，返回可以转换为流的惰性迭代器
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param option
+	 * @return
+	 */
+	public <V> ScanIterator<V> scanValues(ScanOption option);
+	
+	/**
+	 * 在当前库中以scan命令逐页迭代所有匹配的键，并以mGet命令批量获取每页键对应的值，并转换为指定的类型，不存在的值会被忽略，返回可以转换为流的惰性迭代器
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param option
+	 * @param valueType
+	 * @return
+	 */
+	public <V> ScanIterator<V> scanValues(ScanOption option, Class<V> valueType);
+	
+	/**
+	 * 在指定库中以scan命令逐页迭代所有匹配的键，并以mGet命令批量获取每页键对应的值，不存在的值会被忽略，返回可以转换为流的惰性迭代器
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param dbName
+	 * @param option
+	 * @return
+	 */
+	public <V> ScanIterator<V> scanValues(String dbName, ScanOption option);
+	
+	/**
+	 * 在指定库中以scan命令逐页迭代所有匹配的键，并以mGet命令批量获取每页键对应的值，并转换为指定的类型，不存在的值会被忽略，返回可以转换为流的惰性迭代器
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param dbName
+	 * @param option
+	 * @param valueType
+	 * @return
+	 */
+	public <V> ScanIterator<V> scanValues(String dbName, ScanOption option, Class<V> valueType);
+	
 	
 	/**
 	 * 在当前库中获取键的数据类型
@@ -787,5 +826,43 @@ public interface RedisKeyCommands {
 	 * @return
 	 */
 	public <K> IndexedScanResult<K> scan(String dbName, long cursorId, ScanOption option, Class<K> keyType);
+
+	
+	/**
+	 * 在当前库中以scan命令逐页迭代所有匹配的键，每页的键个数由选项中的count决定，返回可以转换为流的惰性迭代器
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param option
+	 * @return
+	 */
+	public <K> ScanIterator<K> scanKeys(ScanOption option);
+	
+	/**
+	 * 在当前库中以scan命令逐页迭代所有匹配的键，每页的键个数由选项中的count决定，并转换为指定的类型，返回可以转换为流的惰性迭代器
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param option
+	 * @param keyType
+	 * @return
+	 */
+	public <K> ScanIterator<K> scanKeys(ScanOption option, Class<K> keyType);
+	
+	/**
+	 * 在指定库中以scan命令逐页迭代所有匹配的键，每页的键个数由选项中的count决定，返回可以转换为流的惰性迭代器
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param dbName
+	 * @param option
+	 * @return
+	 */
+	public <K> ScanIterator<K> scanKeys(String dbName, ScanOption option);
+	
+	/**
+	 * 在指定库中以scan命令逐页迭代所有匹配的键，每页的键个数由选项中的count决定，并转换为指定的类型，返回可以转换为流的惰性迭代器
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param dbName
+	 * @param option
+	 * @param keyType
+	 * @return
+	 */
+	public <K> ScanIterator<K> scanKeys(String dbName, ScanOption option, Class<K> keyType);
+	
 	
 }
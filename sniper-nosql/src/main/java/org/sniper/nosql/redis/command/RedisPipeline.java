@@ -0,0 +1,203 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.nosql.redis.command;
+
+import java.util.Map;
+
+/**
+ * Redis管道接口，命令被调用时只是进入队列并返回尚未完成的响应结果，
+ * 在调用sync()方法后，队列中的所有命令将在一次管道往返中被发送到服务端，并以所属库的序列化器完成各自的响应结果。</P>
+ * 管道绑定在创建时指定的库上，并且不是线程安全的
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public interface RedisPipeline {
+	
+	/**
+	 * 排队执行expire命令
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @param seconds
+	 * @return
+	 */
+	public <K> RedisResponse<Boolean> expire(K key, long seconds);
+	
+	/**
+	 * 排队执行pExpire命令
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @param millis
+	 * @return
+	 */
+	public <K> RedisResponse<Boolean> pExpire(K key, long millis);
+	
+	/**
+	 * 排队执行del命令
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @return
+	 */
+	public <K> RedisResponse<Long> del(K key);
+	
+	/**
+	 * 排队执行多个键的del命令
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param keys
+	 * @return
+	 */
+	public <K> RedisResponse<Long> del(K[] keys);
+	
+	/**
+	 * 排队执行set命令，库设置了过期时间时将执行setEx命令
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @param value
+	 * @return
+	 */
+	public <K, V> RedisResponse<Void> set(K key, V value);
+	
+	/**
+	 * 排队执行带过期秒数的set命令
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @param value
+	 * @param expireSeconds
+	 * @return
+	 */
+	public <K, V> RedisResponse<Void> set(K key, V value, long expireSeconds);
+	
+	/**
+	 * 排队执行mSet命令
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param keyValues
+	 * @return
+	 */
+	public <K, V> RedisResponse<Void> mSet(Map<K, V> keyValues);
+	
+	/**
+	 * 排队执行mSet命令，过期时间大于0时为每个键追加expire命令，这些命令与mSet在同一次管道往返中发送
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param keyValues
+	 * @param expireSeconds
+	 * @return
+	 */
+	public <K, V> RedisResponse<Void> mSet(Map<K, V> keyValues, long expireSeconds);
+	
+	/**
+	 * 排队执行get命令
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @return
+	 */
+	public <K, V> RedisResponse<V> get(K key);
+	
+	/**
+	 * 排队执行get命令，并将结果反序列化为指定类型
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @param valueType
+	 * @return
+	 */
+	public <K, V> RedisResponse<V> get(K key, Class<V> valueType);
+	
+	/**
+	 * 排队执行incrBy命令
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @param value
+	 * @return
+	 */
+	public <K> RedisResponse<Long> incrBy(K key, long value);
+	
+	/**
+	 * 排队执行hSet命令
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @param hashKey
+	 * @param value
+	 * @return
+	 */
+	public <K, H, V> RedisResponse<Boolean> hSet(K key, H hashKey, V value);
+	
+	/**
+	 * 排队执行hSet命令，过期时间大于0时追加expire命令。
+	 * 与RedisHashCommands不同的是，由于管道中无法根据hSet的结果决定是否设置过期时间，因此过期时间总会被设置
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @param hashKey
+	 * @param value
+	 * @param expireSeconds
+	 * @return
+	 */
+	public <K, H, V> RedisResponse<Boolean> hSet(K key, H hashKey, V value, long expireSeconds);
+	
+	/**
+	 * 排队执行hGet命令
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @param hashKey
+	 * @return
+	 */
+	public <K, H, V> RedisResponse<V> hGet(K key, H hashKey);
+	
+	/**
+	 * 排队执行hGet命令，并将结果反序列化为指定类型
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @param hashKey
+	 * @param valueType
+	 * @return
+	 */
+	public <K, H, V> RedisResponse<V> hGet(K key, H hashKey, Class<V> valueType);
+	
+	/**
+	 * 排队执行zAdd命令
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @param score
+	 * @param member
+	 * @return
+	 */
+	public <K, V> RedisResponse<Boolean> zAdd(K key, double score, V member);
+	
+	/**
+	 * 排队执行zAdd命令，过期时间大于0时追加expire命令，过期时间总会被设置
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @param score
+	 * @param member
+	 * @param expireSeconds
+	 * @return
+	 */
+	public <K, V> RedisResponse<Boolean> zAdd(K key, double score, V member, long expireSeconds);
+	
+	/**
+	 * 获取队列中的命令个数
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public int size();
+	
+	/**
+	 * 在一次管道往返中发送队列中的所有命令，并完成各自的响应结果，执行后队列将被清空
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a>
+	 */
+	public void sync();
+
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.nosql.redis.command;
+
+import java.util.List;
+import java.util.Map;
+
+import org.sniper.commons.util.CollectionUtils;
+import org.sniper.nosql.redis.RedisRepository;
+
+/**
+ * Redis管道支持类，负责按所属库的序列化器进行序列化以及响应结果的排队和完成
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public abstract class RedisPipelineSupport implements RedisPipeline {
+	
+	protected final RedisSupport redisSupport;
+	
+	/** 管道所绑定的库名称 */
+	protected final String dbName;
+	
+	/** 排队中的响应结果 */
+	private final List<RedisResponse<?>> responses = CollectionUtils.newArrayList();
+	
+	protected RedisPipelineSupport(RedisSupport redisSupport, String dbName) {
+		this.redisSupport = redisSupport;
+		this.dbName = dbName;
+	}
+	
+	@Override
+	@SuppressWarnings("unchecked")
+	public <K> RedisResponse<Long> del(K key) {
+		return del((K[]) new Object[] { key });
+	}
+	
+	@Override
+	public <K, V> RedisResponse<Void> set(K key, V value) {
+		return set(key, value, 0);
+	}
+	
+	@Override
+	public <K, V> RedisResponse<Void> mSet(Map<K, V> keyValues) {
+		return mSet(keyValues, 0);
+	}
+	
+	@Override
+	public <K, V> RedisResponse<V> get(K key) {
+		return get(key, null);
+	}
+	
+	@Override
+	public <K, H, V> RedisResponse<Boolean> hSet(K key, H hashKey, V value) {
+		return hSet(key, hashKey, value, 0);
+	}
+	
+	@Override
+	public <K, H, V> RedisResponse<V> hGet(K key, H hashKey) {
+		return hGet(key, hashKey, null);
+	}
+	
+	@Override
+	public <K, V> RedisResponse<Boolean> zAdd(K key, double score, V member) {
+		return zAdd(key, score, member, 0);
+	}
+	
+	@Override
+	public int size() {
+		return responses.size();
+	}
+	
+	/**
+	 * 获取管道所绑定的库
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	protected RedisRepository getRepository() {
+		return redisSupport.repositoryManager != null ? redisSupport.repositoryManager.getRepository(dbName) : null;
+	}
+	
+	/**
+	 * 获取过期秒数，expireSeconds小于等于0时使用库的过期时间
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param expireSeconds
+	 * @return
+	 */
+	protected long getExpireSeconds(long expireSeconds) {
+		return redisSupport.getExpireSeconds(expireSeconds, getRepository());
+	}
+	
+	protected <K> byte[] serializeKey(K key) {
+		return redisSupport.serializeKey(dbName, key);
+	}
+	
+	protected <V> byte[] serializeValue(V value) {
+		return redisSupport.serializeValue(dbName, value);
+	}
+	
+	protected <K, V> Map<byte[], byte[]> serializeKeyValues(Map<K, V> keyValues) {
+		return redisSupport.serializeKeyValues(dbName, keyValues);
+	}
+	
+	protected <H> byte[] serializeHashKey(H hashKey) {
+		return redisSupport.serializeHashKey(dbName, hashKey);
+	}
+	
+	protected <V> byte[] serializeHashValue(V hashValue) {
+		return redisSupport.serializeHashValue(dbName, hashValue);
+	}
+	
+	/**
+	 * 排队一个值响应结果
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param valueType
+	 * @return
+	 */
+	protected <V> RedisResponse<V> queueValue(final Class<V> valueType) {
+		return queue(new RedisResponse<V>() {
+
+			@Override
+			protected V convert(Object result) {
+				return redisSupport.deserializeValueByte(dbName, (byte[]) result, valueType);
+			}
+		});
+	}
+	
+	/**
+	 * 排队一个哈希值响应结果
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param valueType
+	 * @return
+	 */
+	protected <V> RedisResponse<V> queueHashValue(final Class<V> valueType) {
+		return queue(new RedisResponse<V>() {
+
+			@Override
+			protected V convert(Object result) {
+				return redisSupport.deserializeHashValueByte(dbName, (byte[]) result, valueType);
+			}
+		});
+	}
+	
+	/**
+	 * 排队一个布尔响应结果，兼容客户端未对管道结果进行转换时返回的整数结果
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	protected RedisResponse<Boolean> queueBoolean() {
+		return queue(new RedisResponse<Boolean>() {
+
+			@Override
+			protected Boolean convert(Object result) {
+				if (result instanceof Number)
+					return ((Number) result).longValue() != 0;
+				
+				return (Boolean) result;
+			}
+		});
+	}
+	
+	/**
+	 * 排队一个整数响应结果
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	protected RedisResponse<Long> queueLong() {
+		return queue(new RedisResponse<Long>() {
+
+			@Override
+			protected Long convert(Object result) {
+				return result != null ? ((Number) result).longValue() : null;
+			}
+		});
+	}
+	
+	/**
+	 * 排队一个状态响应结果
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	protected RedisResponse<Void> queueStatus() {
+		return queue(new RedisResponse<Void>() {
+
+			@Override
+			protected Void convert(Object result) {
+				return null;
+			}
+		});
+	}
+	
+	/**
+	 * 排队响应结果
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param response
+	 * @return
+	 */
+	protected <T> RedisResponse<T> queue(RedisResponse<T> response) {
+		responses.add(response);
+		return response;
+	}
+	
+	/**
+	 * 根据管道返回的结果依次完成排队中的响应结果，并清空队列。</P>
+	 * 结果与排队中的响应结果一一对应，包括状态响应在内的每个响应结果都必须有一个对应的结果
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param results
+	 */
+	protected void complete(List<Object> results) {
+		int size = CollectionUtils.size(results);
+		int index = 0;
+		try {
+			for (RedisResponse<?> response : responses) {
+				if (index < size)
+					response.complete(results.get(index++));
+				else
+					response.complete(new IllegalStateException("Missing pipeline result at index " + index));
+			}
+		} finally {
+			responses.clear();
+		}
+	}
+	
+	/**
+	 * 以指定的异常完成排队中的响应结果，并清空队列
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param cause
+	 */
+	protected void fail(RuntimeException cause) {
+		try {
+			for (RedisResponse<?> response : responses) {
+				response.complete(cause);
+			}
+		} finally {
+			responses.clear();
+		}
+	}
+	
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.nosql.redis.command;
+
+/**
+ * 管道命令的响应结果，在所属管道调用sync()方法之前，响应结果不可用
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public abstract class RedisResponse<T> {
+	
+	/** 是否已完成 */
+	private boolean done;
+	
+	/** 转换后的结果 */
+	private T value;
+	
+	/** 命令执行或结果转换失败时的异常 */
+	private RuntimeException error;
+	
+	/**
+	 * 获取响应结果，命令执行失败时抛出对应的异常
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public T get() {
+		if (!done)
+			throw new IllegalStateException("Pipeline has not been synchronized, please call sync() before getting response");
+		
+		if (error != null)
+			throw error;
+		
+		return value;
+	}
+	
+	/**
+	 * 判断响应结果是否已完成
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public boolean isDone() {
+		return done;
+	}
+	
+	/**
+	 * 将管道返回的原始结果转换为响应结果
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param result
+	 * @return
+	 */
+	protected abstract T convert(Object result);
+	
+	/**
+	 * 以管道返回的原始结果完成响应
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param result
+	 */
+	void complete(Object result) {
+		if (result instanceof RuntimeException)
+			error = (RuntimeException) result;
+		else if (result instanceof Throwable)
+			error = new IllegalStateException((Throwable) result);
+		else {
+			try {
+				value = convert(result);
+			} catch (RuntimeException e) {
+				error = e;
+			}
+		}
+		
+		done = true;
+	}
+	
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.nosql.redis.command;
+
+import java.util.List;
+
+/**
+ * Redis脚本命令接口
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public interface RedisScriptingCommands {
+	
+	/**
+	 * 在当前库中执行eval命令，运行返回结果为整型的Lua脚本。
+	 * 脚本中通过KEYS访问的键与其它命令一样进行序列化，而通过ARGV访问的参数统一按字符串进行序列化
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param script
+	 * @param keys
+	 * @param args
+	 * @return
+	 */
+	public <K> Long eval(String script, List<K> keys, Object... args);
+	
+	/**
+	 * 在指定库中执行eval命令，运行返回结果为整型的Lua脚本
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param dbName
+	 * @param script
+	 * @param keys
+	 * @param args
+	 * @return
+	 */
+	public <K> Long eval(String dbName, String script, List<K> keys, Object... args);
+
+}
@@ -22,6 +22,7 @@ import java.util.Collection;
 import java.util.Set;
 
 import org.sniper.nosql.redis.model.xscan.IndexedScanResult;
+import org.sniper.nosql.redis.model.xscan.ScanIterator;
 import org.sniper.nosql.redis.option.ScanOption;
 
 /**
@@ -1011,5 +1012,47 @@ public interface RedisSetCommands {
 	 * @return
 	 */
 	public <K, V> IndexedScanResult<V> sscan(String dbName, K key, long cursorId, ScanOption option, Class<V> valueType);
+
+	
+	/**
+	 * 在当前库中以sscan命令逐页迭代集合中所有匹配的成员，返回可以转换为流的惰性迭代器
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @param option
+	 * @return
+	 */
+	public <K, V> ScanIterator<V> sscanMembers(K key, ScanOption option);
+	
+	/**
+	 * 在当前库中以sscan命令逐页迭代集合中所有匹配的成员，并转换为指定的类型，返回可以转换为流的惰性迭代器
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @param option
+	 * @param valueType
+	 * @return
+	 */
+	public <K, V> ScanIterator<V> sscanMembers(K key, ScanOption option, Class<V> valueType);
+	
+	/**
+	 * 在指定库中以sscan命令逐页迭代集合中所有匹配的成员，返回可以转换为流的惰性迭代器
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param dbName
+	 * @param key
+	 * @param option
+	 * @return
+	 */
+	public <K, V> ScanIterator<V> sscanMembers(String dbName, K key, ScanOption option);
+	
+	/**
+	 * 在指定库中以sscan命令逐页迭代集合中所有匹配的成员，并转换为指定的类型，返回可以转换为流的惰性迭代器
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param dbName
+	 * @param key
+	 * @param option
+	 * @param valueType
+	 * @return
+	 */
+	public <K, V> ScanIterator<V> sscanMembers(String dbName, K key, ScanOption option, Class<V> valueType);
+	
 	
 }
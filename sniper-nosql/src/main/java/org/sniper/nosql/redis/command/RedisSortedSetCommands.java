@@ -20,9 +20,11 @@ package org.sniper.nosql.redis.command;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
 import org.sniper.nosql.redis.model.xscan.MappedScanResult;
+import org.sniper.nosql.redis.model.xscan.ScanIterator;
 import org.sniper.nosql.redis.model.zset.ZSetTuple;
 import org.sniper.nosql.redis.option.Limit;
 import org.sniper.nosql.redis.option.ScanOption;
@@ -1497,5 +1499,46 @@ public interface RedisSortedSetCommands {
 	 * @return
 	 */
 	public <K, V> MappedScanResult<V, Double> zScan(String dbName, K key, long cursorId, ScanOption option, Class<V> valueType);
+
+	
+	/**
+	 * 在当前库中以zScan命令逐页迭代有序集合中所有匹配的成员及其分数，返回可以转换为流的惰性迭代器
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @param option
+	 * @return
+	 */
+	public <K, V> ScanIterator<Entry<V, Double>> zScanEntries(K key, ScanOption option);
+	
+	/**
+	 * 在当前库中以zScan命令逐页迭代有序集合中所有匹配的成员及其分数，并转换为指定的类型，返回可以转换为流的惰性迭代器
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @param option
+	 * @param valueType
+	 * @return
+	 */
+	public <K, V> ScanIterator<Entry<V, Double>> zScanEntries(K key, ScanOption option, Class<V> valueType);
+	
+	/**
+	 * 在指定库中以zScan命令逐页迭代有序集合中所有匹配的成员及其分数，返回可以转换为流的惰性迭代器
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param dbName
+	 * @param key
+	 * @param option
+	 * @return
+	 */
+	public <K, V> ScanIterator<Entry<V, Double>> zScanEntries(String dbName, K key, ScanOption option);
+	
+	/**
+	 * 在指定库中以zScan命令逐页迭代有序集合中所有匹配的成员及其分数，并转换为指定的类型，返回可以转换为流的惰性迭代器
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param dbName
+	 * @param key
+	 * @param option
+	 * @param valueType
+	 * @return
+	 */
+	public <K, V> ScanIterator<Entry<V, Double>> zScanEntries(String dbName, K key, ScanOption option, Class<V> valueType);
 	
 }
@@ -24,7 +24,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,20 +48,23 @@ import org.sniper.nosql.redis.model.xscan.HScanResult;
 import org.sniper.nosql.redis.model.xscan.IndexedScanResult;
 import org.sniper.nosql.redis.model.xscan.MappedScanResult;
 import org.sniper.nosql.redis.model.xscan.SScanResult;
+import org.sniper.nosql.redis.model.xscan.ScanIterator;
 import org.sniper.nosql.redis.model.xscan.ScanResult;
+import org.sniper.nosql.redis.model.xscan.ScannableResult;
 import org.sniper.nosql.redis.model.xscan.ZScanResult;
 import org.sniper.nosql.redis.option.ScanOption;
 import org.sniper.serialization.Serializer;
 import org.sniper.serialization.TypedSerializer;
 import org.sniper.serialization.jdk.JdkSerializer;
 import org.sniper.serialization.jdk.StringSerializer;
+import org.springframework.beans.factory.DisposableBean;
 
 /**
  * Redis支持类
  * @author  <a href="mailto:code727@gmail.com">杜斌</a>
  * @version 1.0
  */
-public abstract class RedisSupport extends RedisAccessor {
+public abstract class RedisSupport extends RedisAccessor implements DisposableBean {
 	
 	protected final Logger logger;
 	
@@ -123,6 +135,21 @@ public abstract class RedisSupport extends RedisAccessor {
 	/** 预留，是否维持原子性的操作 */
 	private boolean keepAtomic;
 	
+	/** 集群环境下并行向多个主节点发送命令的线程池 */
+	private ExecutorService clusterExecutor;
+	
+	/** 未指定线程池时，默认创建的集群命令线程池的最大线程数 */
+	private int clusterThreads = Runtime.getRuntime().availableProcessors();
+	
+	/** 未指定线程池时，默认创建的集群命令线程池的任务队列容量，队列已满时由提交任务的线程自行执行 */
+	private int clusterQueueCapacity = 1024;
+	
+	/** 集群命令线程池是否由当前对象创建，只有自行创建的线程池才会在销毁时关闭 */
+	private boolean clusterExecutorCreated;
+	
+	/** 扫描迭代器未指定count时每页的默认元素个数 */
+	private long scanCount = 1000;
+	
 	static {
 		SET_COMMAND_NAME = "set";
 		GEODIST_COMMAND_NAME = "geoDist";
@@ -214,10 +241,209 @@ public abstract class RedisSupport extends RedisAccessor {
 		this.keepAtomic = keepAtomic;
 	}
 	
+	public ExecutorService getClusterExecutor() {
+		return clusterExecutor;
+	}
+
+	public void setClusterExecutor(ExecutorService clusterExecutor) {
+		this.clusterExecutor = clusterExecutor;
+	}
+	
+	public int getClusterThreads() {
+		return clusterThreads;
+	}
+
+	public void setClusterThreads(int clusterThreads) {
+		AssertUtils.assertTrue(clusterThreads > 0, "Cluster threads must be greater than 0");
+		this.clusterThreads = clusterThreads;
+	}
+	
+	public int getClusterQueueCapacity() {
+		return clusterQueueCapacity;
+	}
+
+	public void setClusterQueueCapacity(int clusterQueueCapacity) {
+		AssertUtils.assertTrue(clusterQueueCapacity > 0, "Cluster queue capacity must be greater than 0");
+		this.clusterQueueCapacity = clusterQueueCapacity;
+	}
+	
+	public long getScanCount() {
+		return scanCount;
+	}
+
+	public void setScanCount(long scanCount) {
+		AssertUtils.assertTrue(scanCount > 0, "Scan count must be greater than 0");
+		this.scanCount = scanCount;
+	}
+	
 	@Override
 	protected void init() throws Exception {
 		initializeDefaultDbIndex();
 		initializeGlobalSerializers();
+		
+		if (this.cluster && this.clusterExecutor == null) {
+			this.clusterExecutor = newClusterExecutor(this.clusterThreads, this.clusterQueueCapacity);
+			this.clusterExecutorCreated = true;
+		}
+	}
+	
+	@Override
+	public void destroy() throws Exception {
+		if (this.clusterExecutorCreated)
+			this.clusterExecutor.shutdown();
+	}
+	
+	/**
+	 * 并行执行多个任务，只有一个任务或未指定线程池时在当前线程中依次执行。返回结果的顺序与任务的顺序一致
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param tasks
+	 * @return
+	 */
+	protected <T> List<T> executeInParallel(List<Callable<T>> tasks) {
+		List<T> results = CollectionUtils.newArrayList(tasks.size());
+		try {
+			if (tasks.size() == 1 || this.clusterExecutor == null) {
+				for (Callable<T> task : tasks) {
+					results.add(task.call());
+				}
+				
+				return results;
+			}
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+		
+		List<Future<T>> futures = CollectionUtils.newArrayList(tasks.size());
+		try {
+			for (Callable<T> task : tasks) {
+				futures.add(this.clusterExecutor.submit(task));
+			}
+			
+			for (Future<T> future : futures) {
+				results.add(future.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while executing command in cluster nodes", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			
+			throw new IllegalStateException(cause);
+		} finally {
+			for (Future<T> future : futures) {
+				future.cancel(false);
+			}
+		}
+		
+		return results;
+	}
+	
+	@Override
+	public <K> ScanIterator<K> scanKeys(final String dbName, ScanOption option, final Class<K> keyType) {
+		final ScanOption pageOption = toPageOption(option);
+		return new ScanIterator<K>() {
+
+			@Override
+			protected ScannableResult<K> scan(long cursorId) {
+				return RedisSupport.this.scan(dbName, cursorId, pageOption, keyType);
+			}
+		};
+	}
+	
+	@Override
+	public <K, H, V> ScanIterator<Entry<H, V>> hScanEntries(final String dbName, final K key, ScanOption option, 
+			final Class<H> hashKeyType, final Class<V> valueType) {
+		
+		final ScanOption pageOption = toPageOption(option);
+		return new ScanIterator<Entry<H, V>>() {
+
+			@Override
+			protected ScannableResult<Entry<H, V>> scan(long cursorId) {
+				return RedisSupport.this.hScan(dbName, key, cursorId, pageOption, hashKeyType, valueType);
+			}
+		};
+	}
+	
+	@Override
+	public <K, V> ScanIterator<V> sscanMembers(final String dbName, final K key, ScanOption option, final Class<V> valueType) {
+		final ScanOption pageOption = toPageOption(option);
+		return new ScanIterator<V>() {
+
+			@Override
+			protected ScannableResult<V> scan(long cursorId) {
+				return RedisSupport.this.sscan(dbName, key, cursorId, pageOption, valueType);
+			}
+		};
+	}
+	
+	@Override
+	public <K, V> ScanIterator<Entry<V, Double>> zScanEntries(final String dbName, final K key, ScanOption option, final Class<V> valueType) {
+		final ScanOption pageOption = toPageOption(option);
+		return new ScanIterator<Entry<V, Double>>() {
+
+			@Override
+			protected ScannableResult<Entry<V, Double>> scan(long cursorId) {
+				return RedisSupport.this.zScan(dbName, key, cursorId, pageOption, valueType);
+			}
+		};
+	}
+	
+	/**
+	 * 将扫描选项转换为扫描迭代器的分页选项，未指定count时使用默认的每页元素个数
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param option
+	 * @return
+	 */
+	protected ScanOption toPageOption(ScanOption option) {
+		ScanOption pageOption = new ScanOption();
+		if (option != null) 
+			pageOption.setPattern(option.getPattern()).setCount(option.getCount());
+		
+		if (pageOption.getCount() == null)
+			pageOption.setCount(this.scanCount);
+		
+		return pageOption;
+	}
+	
+	/**
+	 * 创建默认的集群命令线程池，线程数与任务队列的容量都有上限，空闲的线程超时后会被回收。
+	 * 队列已满时由提交任务的线程自行执行，从而对调用方形成背压，线程池关闭后则拒绝执行
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param threads
+	 * @param queueCapacity
+	 * @return
+	 */
+	private static ExecutorService newClusterExecutor(int threads, int queueCapacity) {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, 
+				new ArrayBlockingQueue<Runnable>(queueCapacity), new ThreadFactory() {
+			
+			private final AtomicInteger threadNumber = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "redis-cluster-node-" + threadNumber.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		}, new ThreadPoolExecutor.CallerRunsPolicy() {
+
+			@Override
+			public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+				// 线程池关闭后CallerRunsPolicy会静默丢弃任务，导致等待该任务结果的调用方永久阻塞
+				if (executor.isShutdown())
+					throw new RejectedExecutionException("Redis cluster executor has been shut down");
+				
+				super.rejectedExecution(runnable, executor);
+			}
+		});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
 	}
 	
 	/**
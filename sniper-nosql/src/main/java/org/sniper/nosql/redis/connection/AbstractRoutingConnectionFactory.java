@@ -19,27 +19,45 @@
 package org.sniper.nosql.redis.connection;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import org.sniper.commons.util.MapUtils;
+import org.sniper.commons.util.ReflectionUtils;
 import org.sniper.spring.beans.CheckableInitializingBeanAdapter;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.dao.DataAccessException;
 import org.springframework.data.redis.connection.RedisClusterConnection;
 import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisSentinelConnection;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
 
 /**
- * 多路由RedisConnectionFactory抽象类
+ * 多路由RedisConnectionFactory抽象类。</P>
+ * 开启dbPinned后，当前线程通过RedisDbIndexHolder指定了库索引时，会从固定在该库上的连接池中获取连接，
+ * 连接在创建和归还时已位于该库，因此执行命令前不需要再发送SELECT命令。固定库的连接池由目标JedisConnectionFactory
+ * 按需复制而来，每个库都有独立的连接池；目标工厂为哨兵、集群或非Jedis的工厂时不进行固定，仍使用目标工厂的连接
  * @author  <a href="mailto:code727@gmail.com">杜斌</a>
  * @version 1.0
  */
 public abstract class AbstractRoutingConnectionFactory extends CheckableInitializingBeanAdapter
-		implements RedisConnectionFactory {
+		implements RedisConnectionFactory, DisposableBean {
 	
 	/** 可用的RedisConnectionFactory对象映射集 */
 	private Map<Object, RedisConnectionFactory> targetConnectionFactories;
 	
 	/** 当前默认使用的RedisConnectionFactory对象 */
 	private RedisConnectionFactory resolvedDefaultConnectionFactory;
+	
+	/** 是否为每个库创建固定在该库上的连接池 */
+	private boolean dbPinned;
+	
+	/** 标识键为null时在路由映射集中使用的键 */
+	private static final Object DEFAULT_LOOKUP_KEY = new Object();
+	
+	/** 标识键与路由的映射集，每个标识键只创建一个路由，固定库的路由挂在其下 */
+	private final ConcurrentMap<Object, Route> routes = new ConcurrentHashMap<Object, Route>();
 		
 	public Map<Object, RedisConnectionFactory> getTargetConnectionFactories() {
 		return targetConnectionFactories;
@@ -59,6 +77,32 @@ public abstract class AbstractRoutingConnectionFactory extends CheckableInitiali
 		this.resolvedDefaultConnectionFactory = resolvedDefaultConnectionFactory;
 	}
 	
+	public boolean isDbPinned() {
+		return dbPinned;
+	}
+
+	public void setDbPinned(boolean dbPinned) {
+		this.dbPinned = dbPinned;
+	}
+	
+	/**
+	 * 获取各路由的连接获取统计，键为路由名称
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public Map<String, ConnectionRouteMetrics> getRouteMetrics() {
+		Map<String, ConnectionRouteMetrics> metrics = MapUtils.newLinkedHashMap();
+		for (Route route : routes.values()) {
+			metrics.put(route.metrics.getRoute(), route.metrics);
+			for (Route pinnedRoute : route.pinnedRoutes.values()) {
+				if (pinnedRoute.connectionFactory != null)
+					metrics.put(pinnedRoute.metrics.getRoute(), pinnedRoute.metrics);
+			}
+		}
+		
+		return metrics;
+	}
+	
 	@Override
 	public DataAccessException translateExceptionIfPossible(RuntimeException ex) {
 		return determineConnectionFactory().translateExceptionIfPossible(ex);
@@ -66,7 +110,31 @@ public abstract class AbstractRoutingConnectionFactory extends CheckableInitiali
 
 	@Override
 	public RedisConnection getConnection() {
-		return determineConnectionFactory().getConnection();
+		Object lookupKey = determineCurrentLookupKey();
+		RedisConnectionFactory connectionFactory = determineConnectionFactory(lookupKey);
+		
+		Route route = determineRoute(lookupKey);
+		if (this.dbPinned) {
+			Integer dbIndex = RedisDbIndexHolder.getDbIndex();
+			if (dbIndex != null) {
+				Route pinnedRoute = determinePinnedRoute(route, dbIndex, connectionFactory);
+				if (pinnedRoute.connectionFactory != null) {
+					connectionFactory = pinnedRoute.connectionFactory;
+					route = pinnedRoute;
+				}
+			}
+		}
+		
+		ConnectionRouteMetrics metrics = route.metrics;
+		long start = System.nanoTime();
+		boolean success = false;
+		try {
+			RedisConnection connection = connectionFactory.getConnection();
+			success = true;
+			return connection;
+		} finally {
+			metrics.record(System.nanoTime() - start, success);
+		}
 	}
 	
 	@Override
@@ -97,8 +165,18 @@ public abstract class AbstractRoutingConnectionFactory extends CheckableInitiali
 	 * @return
 	 */
 	protected RedisConnectionFactory determineConnectionFactory() {
-		Object lookupKey = determineCurrentLookupKey();
-		RedisConnectionFactory connectionFactory = this.targetConnectionFactories.get(lookupKey);
+		return determineConnectionFactory(determineCurrentLookupKey());
+	}
+	
+	/**
+	 * 根据标识键确定RedisConnectionFactory对象
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param lookupKey
+	 * @return
+	 */
+	protected RedisConnectionFactory determineConnectionFactory(Object lookupKey) {
+		RedisConnectionFactory connectionFactory = (lookupKey != null && this.targetConnectionFactories != null 
+				? this.targetConnectionFactories.get(lookupKey) : null);
 		
 		if (connectionFactory == null) 
 			connectionFactory = this.resolvedDefaultConnectionFactory;
@@ -110,11 +188,142 @@ public abstract class AbstractRoutingConnectionFactory extends CheckableInitiali
 		return connectionFactory;
 	}
 	
+	/**
+	 * 确定标识键对应的路由，不存在时创建
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param lookupKey
+	 * @return
+	 */
+	private Route determineRoute(Object lookupKey) {
+		Object key = (lookupKey != null ? lookupKey : DEFAULT_LOOKUP_KEY);
+		Route route = routes.get(key);
+		if (route == null) {
+			Route newRoute = new Route(lookupKey, null, null);
+			route = routes.putIfAbsent(key, newRoute);
+			if (route == null)
+				route = newRoute;
+		}
+		
+		return route;
+	}
+	
+	/**
+	 * 确定路由下固定在指定库上的路由，不存在时创建。不能固定库时，返回的路由没有RedisConnectionFactory对象
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param route
+	 * @param dbIndex
+	 * @param connectionFactory
+	 * @return
+	 */
+	private Route determinePinnedRoute(Route route, Integer dbIndex, RedisConnectionFactory connectionFactory) {
+		Route pinnedRoute = route.pinnedRoutes.get(dbIndex);
+		if (pinnedRoute != null)
+			return pinnedRoute;
+		
+		synchronized (route.pinnedRoutes) {
+			pinnedRoute = route.pinnedRoutes.get(dbIndex);
+			if (pinnedRoute == null) {
+				pinnedRoute = new Route(route.lookupKey, dbIndex, createPinnedConnectionFactory(connectionFactory, dbIndex));
+				route.pinnedRoutes.put(dbIndex, pinnedRoute);
+			}
+		}
+		
+		return pinnedRoute;
+	}
+	
+	/**
+	 * 复制目标工厂，创建固定在指定库上的RedisConnectionFactory对象，不能固定库时返回null
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param connectionFactory
+	 * @param dbIndex
+	 * @return
+	 */
+	protected RedisConnectionFactory createPinnedConnectionFactory(RedisConnectionFactory connectionFactory, int dbIndex) {
+		if (!(connectionFactory instanceof JedisConnectionFactory))
+			return null;
+		
+		JedisConnectionFactory source = (JedisConnectionFactory) connectionFactory;
+		if (source.getDatabase() == dbIndex || source.isRedisSentinelAware() || isClusterAware(source))
+			return null;
+		
+		JedisConnectionFactory pinned = new JedisConnectionFactory();
+		if (source.getPoolConfig() != null)
+			pinned.setPoolConfig(source.getPoolConfig());
+		
+		pinned.setHostName(source.getHostName());
+		pinned.setPort(source.getPort());
+		pinned.setPassword(source.getPassword());
+		pinned.setTimeout(source.getTimeout());
+		pinned.setUseSsl(source.isUseSsl());
+		pinned.setUsePool(source.getUsePool());
+		pinned.setClientName(source.getClientName());
+		pinned.setConvertPipelineAndTxResults(source.getConvertPipelineAndTxResults());
+		pinned.setDatabase(dbIndex);
+		pinned.afterPropertiesSet();
+		return pinned;
+	}
+	
+	@Override
+	public void destroy() throws Exception {
+		for (Route route : routes.values()) {
+			synchronized (route.pinnedRoutes) {
+				for (Route pinnedRoute : route.pinnedRoutes.values()) {
+					if (pinnedRoute.connectionFactory instanceof JedisConnectionFactory)
+						((JedisConnectionFactory) pinnedRoute.connectionFactory).destroy();
+				}
+				
+				route.pinnedRoutes.clear();
+			}
+		}
+	}
+	
+	private static boolean isClusterAware(JedisConnectionFactory connectionFactory) {
+		try {
+			return ReflectionUtils.getFieldValue(connectionFactory, "clusterConfig") != null;
+		} catch (Exception e) {
+			// 无法确定时按集群处理，不进行固定
+			return true;
+		}
+	}
+	
 	/** 
 	 * 查找RedisConnectionFactory对象的标识键
 	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
 	 * @return
 	 */
 	protected abstract Object determineCurrentLookupKey();
+	
+	/**
+	 * 连接路由，由数据源标识键和库索引组成，每个路由在首次使用时创建一次，并持有其统计
+	 * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @version 1.0
+	 */
+	private static final class Route {
+		
+		private final Object lookupKey;
+		
+		private final Integer dbIndex;
+		
+		/** 固定库的RedisConnectionFactory对象，未固定库或不能固定库时为null */
+		private final RedisConnectionFactory connectionFactory;
+		
+		private final ConnectionRouteMetrics metrics;
+		
+		/** 库索引与固定库路由的映射集 */
+		private final ConcurrentMap<Integer, Route> pinnedRoutes = new ConcurrentHashMap<Integer, Route>();
+		
+		private Route(Object lookupKey, Integer dbIndex, RedisConnectionFactory connectionFactory) {
+			this.lookupKey = lookupKey;
+			this.dbIndex = dbIndex;
+			this.connectionFactory = connectionFactory;
+			this.metrics = new ConnectionRouteMetrics(toString());
+		}
+		
+		@Override
+		public String toString() {
+			String name = (lookupKey != null ? lookupKey.toString() : "default");
+			return dbIndex != null ? name + "#" + dbIndex : name;
+		}
+	}
 
 }
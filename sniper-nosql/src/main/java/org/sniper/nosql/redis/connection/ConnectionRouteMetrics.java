@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.nosql.redis.connection;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * 连接路由统计，记录从某个路由(数据源及库索引)上获取连接的次数和等待时间
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class ConnectionRouteMetrics {
+	
+	/** 路由名称 */
+	private final String route;
+	
+	/** 成功获取连接的次数 */
+	private final LongAdder borrowCount = new LongAdder();
+	
+	/** 获取连接失败的次数 */
+	private final LongAdder failureCount = new LongAdder();
+	
+	/** 获取连接的总等待纳秒数 */
+	private final LongAdder totalWaitNanos = new LongAdder();
+	
+	/** 获取连接的最大等待纳秒数 */
+	private final LongAccumulator maxWaitNanos = new LongAccumulator(new LongBinaryOperator() {
+		
+		@Override
+		public long applyAsLong(long left, long right) {
+			return Math.max(left, right);
+		}
+	}, 0);
+	
+	public ConnectionRouteMetrics(String route) {
+		this.route = route;
+	}
+	
+	/**
+	 * 记录一次获取连接
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param waitNanos
+	 * @param success
+	 */
+	void record(long waitNanos, boolean success) {
+		if (success)
+			borrowCount.increment();
+		else
+			failureCount.increment();
+		
+		totalWaitNanos.add(waitNanos);
+		maxWaitNanos.accumulate(waitNanos);
+	}
+
+	public String getRoute() {
+		return route;
+	}
+
+	public long getBorrowCount() {
+		return borrowCount.sum();
+	}
+
+	public long getFailureCount() {
+		return failureCount.sum();
+	}
+	
+	/**
+	 * 获取平均等待毫秒数
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public double getAverageWaitMillis() {
+		long count = borrowCount.sum() + failureCount.sum();
+		return count > 0 ? (double) totalWaitNanos.sum() / count / TimeUnit.MILLISECONDS.toNanos(1) : 0;
+	}
+	
+	/**
+	 * 获取最大等待毫秒数
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public double getMaxWaitMillis() {
+		return (double) maxWaitNanos.get() / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("{route:%s,borrowCount:%d,failureCount:%d,averageWaitMillis:%.3f,maxWaitMillis:%.3f}", 
+				route, getBorrowCount(), getFailureCount(), getAverageWaitMillis(), getMaxWaitMillis());
+	}
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.nosql.redis.connection;
+
+/**
+ * Redis库索引线程上下文工具类，路由连接工厂根据当前线程中的库索引选择固定在该库上的连接池
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class RedisDbIndexHolder {
+	
+	private static final ThreadLocal<Integer> DB_INDEX = new ThreadLocal<Integer>();
+	
+	private RedisDbIndexHolder() {}
+	
+	/**
+	 * 设置当前线程的库索引，并返回之前的库索引
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param dbIndex
+	 * @return
+	 */
+	public static Integer setDbIndex(Integer dbIndex) {
+		Integer previous = DB_INDEX.get();
+		if (dbIndex != null)
+			DB_INDEX.set(dbIndex);
+		else
+			DB_INDEX.remove();
+		
+		return previous;
+	}
+	
+	/**
+	 * 获取当前线程的库索引
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public static Integer getDbIndex() {
+		return DB_INDEX.get();
+	}
+	
+	/**
+	 * 删除当前线程的库索引
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a>
+	 */
+	public static void removeDbIndex() {
+		DB_INDEX.remove();
+	}
+
+}
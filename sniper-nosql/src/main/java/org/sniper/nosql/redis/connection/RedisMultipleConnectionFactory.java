@@ -34,8 +34,8 @@ public class RedisMultipleConnectionFactory extends AbstractRoutingConnectionFac
 	@Override
 	protected Object determineCurrentLookupKey() {
 		Object datasource = DataSourceHolder.getDataSource();
-		if (datasource != null) 
-			logger.info("Determine current datasource [{}]", datasource);
+		if (datasource != null && logger.isDebugEnabled()) 
+			logger.debug("Determine current datasource [{}]", datasource);
 		
 		return datasource;
 	}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.nosql.redis.model.xscan;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 基于游标的扫描迭代器抽象类。</P>
+ * 每次只在本地保留一页扫描结果，当前页迭代完后才以上一页返回的游标获取下一页，直到游标回到0为止，
+ * 因此可以在常量内存中遍历任意数量的元素。与scan系列命令的语义相同，同一个元素可能会被返回多次，
+ * 迭代期间被添加或删除的元素可能会被返回，也可能不会被返回
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public abstract class ScanIterator<T> implements Iterator<T> {
+	
+	/** 下一页的游标 */
+	private long cursorId;
+	
+	/** 是否已扫描完所有页 */
+	private boolean completed;
+	
+	/** 当前页的迭代器 */
+	private Iterator<T> page = Collections.emptyIterator();
+	
+	/**
+	 * 以指定的游标获取一页扫描结果，返回null表示扫描结束
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param cursorId
+	 * @return
+	 */
+	protected abstract ScannableResult<T> scan(long cursorId);
+	
+	@Override
+	public boolean hasNext() {
+		while (!page.hasNext() && !completed) {
+			ScannableResult<T> result = scan(cursorId);
+			if (result == null) {
+				completed = true;
+				break;
+			}
+			
+			cursorId = result.getCursorId();
+			completed = result.completed();
+			page = result.iterator();
+		}
+		
+		return page.hasNext();
+	}
+
+	@Override
+	public T next() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+		
+		return page.next();
+	}
+	
+	/**
+	 * 获取下一页的游标
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public long getCursorId() {
+		return cursorId;
+	}
+	
+	/**
+	 * 将迭代器转换为顺序流，流中的元素按需逐页获取
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public Stream<T> stream() {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false);
+	}
+
+}
@@ -0,0 +1,780 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.nosql.redis.spring;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.sniper.commons.util.AssertUtils;
+import org.sniper.commons.util.CollectionUtils;
+import org.sniper.commons.util.StringUtils;
+import org.sniper.nosql.redis.RedisRepository;
+import org.sniper.nosql.redis.cache.NearCache;
+import org.sniper.nosql.redis.command.RedisPipeline;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.Subscription;
+import org.springframework.data.redis.core.RedisCallback;
+
+/**
+ * 带近端缓存的Spring Redis命令行实现类。</P>
+ * 1.get和hGet命令的结果按库缓存在本地的NearCache中，未命中时在一次管道往返中同时读取值及其剩余存活时间，
+ *   本地条目的存活时间不会超过值在Redis中的剩余存活时间；</P>
+ * 2.通过当前实例执行的字符串、哈希、键过期、删除、移动、清库以及eval命令会使相关键的本地缓存失效，
+ *   并通过Redis的发布/订阅将失效消息广播给其它节点，其它节点收到后使各自的本地缓存失效；</P>
+ * 3.订阅连接断开期间可能会错过失效消息，因此每次(重新)订阅时都会清空所有本地缓存；</P>
+ * 4.集合、列表、有序集合等命令的存储结果(例如sUnionStore)不会使本地缓存失效，不应当对被缓存的键执行这些命令。</P>
+ * 缓存的是反序列化后的对象，调用方不应修改返回的值。
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class NearCacheRedisCommands extends SpringRedisCommands {
+	
+	/** 默认的失效消息频道 */
+	public static final String DEFAULT_INVALIDATION_CHANNEL = "sniper:near-cache:invalidation";
+	
+	/** 默认每个库的最大缓存条目数 */
+	private static final int DEFAULT_MAXIMUM_SIZE = 10000;
+	
+	/** 默认的本地条目最长存活毫秒数 */
+	private static final long DEFAULT_EXPIRE_MILLIS = 60000;
+	
+	/** 订阅断开后重新订阅的间隔毫秒数 */
+	private static final long RESUBSCRIBE_DELAY_MILLIS = 1000;
+	
+	/** 表示所有库的索引 */
+	private static final int ALL_DB_INDEX = -1;
+	
+	/** 每个库的最大缓存条目数 */
+	private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+	
+	/** 本地条目最长存活毫秒数 */
+	private long expireMillis = DEFAULT_EXPIRE_MILLIS;
+	
+	/** 失效消息频道，为空时不进行跨节点失效 */
+	private String invalidationChannel = DEFAULT_INVALIDATION_CHANNEL;
+	
+	/** 当前实例的ID，用于忽略自身发出的失效消息 */
+	private final long instanceId = ThreadLocalRandom.current().nextLong();
+	
+	/** 库名称与近端缓存的映射 */
+	private final ConcurrentMap<String, NearCache> caches = new ConcurrentHashMap<String, NearCache>();
+	
+	private volatile boolean running;
+	
+	/** 订阅线程 */
+	private Thread subscriber;
+	
+	/** 订阅连接 */
+	private volatile RedisConnection subscriptionConnection;
+	
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	public void setMaximumSize(int maximumSize) {
+		AssertUtils.assertTrue(maximumSize > 0, "Near cache maximum size must be greater than 0");
+		this.maximumSize = maximumSize;
+	}
+
+	public long getExpireMillis() {
+		return expireMillis;
+	}
+
+	public void setExpireMillis(long expireMillis) {
+		AssertUtils.assertTrue(expireMillis > 0, "Near cache expire millis must be greater than 0");
+		this.expireMillis = expireMillis;
+	}
+
+	public String getInvalidationChannel() {
+		return invalidationChannel;
+	}
+
+	public void setInvalidationChannel(String invalidationChannel) {
+		this.invalidationChannel = invalidationChannel;
+	}
+	
+	@Override
+	protected void init() throws Exception {
+		super.init();
+		
+		if (StringUtils.isNotBlank(invalidationChannel)) {
+			running = true;
+			subscriber = new Thread(new Runnable() {
+				
+				@Override
+				public void run() {
+					subscribe();
+				}
+			}, "redis-near-cache-invalidation");
+			subscriber.setDaemon(true);
+			subscriber.start();
+		}
+	}
+	
+	@Override
+	public void destroy() throws Exception {
+		running = false;
+		
+		RedisConnection connection = subscriptionConnection;
+		if (connection != null) {
+			Subscription subscription = connection.getSubscription();
+			if (subscription != null && subscription.isAlive())
+				subscription.unsubscribe();
+		}
+		
+		if (subscriber != null)
+			subscriber.interrupt();
+		
+		super.destroy();
+	}
+	
+	/**
+	 * 获取指定库的近端缓存，不存在时返回null
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param dbName
+	 * @return
+	 */
+	public NearCache getNearCache(String dbName) {
+		return caches.get(toCacheName(dbName));
+	}
+	
+	/**
+	 * 获取所有库的命中次数
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public long getHitCount() {
+		long count = 0;
+		for (NearCache cache : caches.values()) {
+			count += cache.getHitCount();
+		}
+		
+		return count;
+	}
+	
+	/**
+	 * 获取所有库的未命中次数
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public long getMissCount() {
+		long count = 0;
+		for (NearCache cache : caches.values()) {
+			count += cache.getMissCount();
+		}
+		
+		return count;
+	}
+	
+	/**
+	 * 获取所有库的淘汰次数
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public long getEvictionCount() {
+		long count = 0;
+		for (NearCache cache : caches.values()) {
+			count += cache.getEvictionCount();
+		}
+		
+		return count;
+	}
+	
+	@Override
+	@SuppressWarnings("unchecked")
+	public <K, V> V get(final String dbName, final K key, final Class<V> valueType) {
+		if (key == null)
+			return null;
+		
+		byte[] keyByte = serializeKey(dbName, key);
+		NearCache cache = cacheOf(dbName);
+		Object cached = cache.get(keyByte, null, valueType);
+		if (cached != null)
+			return (V) cached;
+		
+		long stamp = cache.stamp(keyByte);
+		List<Object> results = readWithTtl(dbName, keyByte, null);
+		V value = deserializeValueByte(dbName, (byte[]) results.get(0), valueType);
+		cache.put(keyByte, null, value, valueType, toTtlMillis(results.get(1)), stamp);
+		return value;
+	}
+	
+	@Override
+	@SuppressWarnings("unchecked")
+	public <K, H, V> V hGet(final String dbName, final K key, final H hashKey, final Class<V> valueType) {
+		if (key == null || hashKey == null)
+			return null;
+		
+		byte[] keyByte = serializeKey(dbName, key);
+		byte[] hashKeyByte = serializeHashKey(dbName, hashKey);
+		NearCache cache = cacheOf(dbName);
+		Object cached = cache.get(keyByte, hashKeyByte, valueType);
+		if (cached != null)
+			return (V) cached;
+		
+		long stamp = cache.stamp(keyByte);
+		List<Object> results = readWithTtl(dbName, keyByte, hashKeyByte);
+		V value = deserializeHashValueByte(dbName, (byte[]) results.get(0), valueType);
+		cache.put(keyByte, hashKeyByte, value, valueType, toTtlMillis(results.get(1)), stamp);
+		return value;
+	}
+	
+	@Override
+	public <K> Long del(String dbName, K[] keys) {
+		try {
+			return super.del(dbName, keys);
+		} finally {
+			invalidate(dbName, keys);
+		}
+	}
+	
+	@Override
+	public <K> Boolean expire(String dbName, K key, long seconds) {
+		try {
+			return super.expire(dbName, key, seconds);
+		} finally {
+			invalidate(dbName, key);
+		}
+	}
+	
+	@Override
+	public <K> Boolean expireAt(String dbName, K key, long unixTimestamp) {
+		try {
+			return super.expireAt(dbName, key, unixTimestamp);
+		} finally {
+			invalidate(dbName, key);
+		}
+	}
+	
+	@Override
+	public <K> Boolean pExpire(String dbName, K key, long millis) {
+		try {
+			return super.pExpire(dbName, key, millis);
+		} finally {
+			invalidate(dbName, key);
+		}
+	}
+	
+	@Override
+	public <K> Boolean pExpireAt(String dbName, K key, long timestamp) {
+		try {
+			return super.pExpireAt(dbName, key, timestamp);
+		} finally {
+			invalidate(dbName, key);
+		}
+	}
+	
+	@Override
+	public <K> Boolean move(String dbName, K key, int dbIndex) {
+		try {
+			return super.move(dbName, key, dbIndex);
+		} finally {
+			if (key != null) {
+				byte[] keyByte = serializeKey(dbName, key);
+				invalidate(dbIndexOf(dbName), keyByte);
+				invalidate(dbIndex, keyByte);
+			}
+		}
+	}
+	
+	@Override
+	public <K, V> void set(String dbName, K key, V value, long expireSeconds) {
+		try {
+			super.set(dbName, key, value, expireSeconds);
+		} finally {
+			invalidate(dbName, key);
+		}
+	}
+	
+	@Override
+	public <K, V> Boolean setNX(String dbName, K key, V value, long expireTime, TimeUnit timeUnit) {
+		try {
+			return super.setNX(dbName, key, value, expireTime, timeUnit);
+		} finally {
+			invalidate(dbName, key);
+		}
+	}
+	
+	@Override
+	public <K, V> void setEx(String dbName, K key, long seconds, V value) {
+		try {
+			super.setEx(dbName, key, seconds, value);
+		} finally {
+			invalidate(dbName, key);
+		}
+	}
+	
+	@Override
+	public <K, V> void pSetEx(String dbName, K key, long millis, V value) {
+		try {
+			super.pSetEx(dbName, key, millis, value);
+		} finally {
+			invalidate(dbName, key);
+		}
+	}
+	
+	@Override
+	public <K, V> void mSet(String dbName, Map<K, V> keyValues, long expireSeconds) {
+		try {
+			super.mSet(dbName, keyValues, expireSeconds);
+		} finally {
+			invalidate(dbName, keyValues);
+		}
+	}
+	
+	@Override
+	public <K, V> Boolean mSetNX(String dbName, Map<K, V> keyValues, long expireSeconds) {
+		try {
+			return super.mSetNX(dbName, keyValues, expireSeconds);
+		} finally {
+			invalidate(dbName, keyValues);
+		}
+	}
+	
+	@Override
+	public <K, V> void setRange(String dbName, K key, long offset, V value, long expireSeconds) {
+		try {
+			super.setRange(dbName, key, offset, value, expireSeconds);
+		} finally {
+			invalidate(dbName, key);
+		}
+	}
+	
+	@Override
+	public <K, V> Long append(String dbName, K key, V value, long expireSeconds) {
+		try {
+			return super.append(dbName, key, value, expireSeconds);
+		} finally {
+			invalidate(dbName, key);
+		}
+	}
+	
+	@Override
+	public <K, V, O> O getSet(String dbName, K key, V value, long expireSeconds, Class<O> oldValueType) {
+		try {
+			return super.getSet(dbName, key, value, expireSeconds, oldValueType);
+		} finally {
+			invalidate(dbName, key);
+		}
+	}
+	
+	@Override
+	public <K> Long decr(String dbName, K key) {
+		try {
+			return super.decr(dbName, key);
+		} finally {
+			invalidate(dbName, key);
+		}
+	}
+	
+	@Override
+	public <K> Long decrBy(String dbName, K key, long value) {
+		try {
+			return super.decrBy(dbName, key, value);
+		} finally {
+			invalidate(dbName, key);
+		}
+	}
+	
+	@Override
+	public <K> Long incr(String dbName, K key) {
+		try {
+			return super.incr(dbName, key);
+		} finally {
+			invalidate(dbName, key);
+		}
+	}
+	
+	@Override
+	public <K> Long incrBy(String dbName, K key, long value) {
+		try {
+			return super.incrBy(dbName, key, value);
+		} finally {
+			invalidate(dbName, key);
+		}
+	}
+	
+	@Override
+	public <K, H, V> Boolean hSet(String dbName, K key, H hashKey, V value, long expireSeconds) {
+		try {
+			return super.hSet(dbName, key, hashKey, value, expireSeconds);
+		} finally {
+			invalidate(dbName, key);
+		}
+	}
+	
+	@Override
+	public <K, H, V> Boolean hSetNX(String dbName, K key, H hashKey, V value, long expireSeconds) {
+		try {
+			return super.hSetNX(dbName, key, hashKey, value, expireSeconds);
+		} finally {
+			invalidate(dbName, key);
+		}
+	}
+	
+	@Override
+	public <K, H, V> void hMSet(String dbName, K key, Map<H, V> hashKeyValues, long expireSeconds) {
+		try {
+			super.hMSet(dbName, key, hashKeyValues, expireSeconds);
+		} finally {
+			invalidate(dbName, key);
+		}
+	}
+	
+	@Override
+	public <K, H> Long hDel(String dbName, K key, H[] hashKeys) {
+		try {
+			return super.hDel(dbName, key, hashKeys);
+		} finally {
+			invalidate(dbName, key);
+		}
+	}
+	
+	@Override
+	public <K, H> Long hIncrBy(String dbName, K key, H hashKey, long value) {
+		try {
+			return super.hIncrBy(dbName, key, hashKey, value);
+		} finally {
+			invalidate(dbName, key);
+		}
+	}
+	
+	@Override
+	public void flushAll() {
+		try {
+			super.flushAll();
+		} finally {
+			invalidate(ALL_DB_INDEX);
+		}
+	}
+	
+	@Override
+	public void flushDb(String dbName) {
+		try {
+			super.flushDb(dbName);
+		} finally {
+			invalidate(dbIndexOf(dbName));
+		}
+	}
+	
+	@Override
+	public <K> Long eval(String dbName, String script, List<K> keys, Object... args) {
+		try {
+			return super.eval(dbName, script, keys, args);
+		} finally {
+			if (CollectionUtils.isNotEmpty(keys)) 
+				invalidate(dbName, keys.toArray());
+		}
+	}
+	
+	@Override
+	public RedisPipeline pipelined(final String dbName) {
+		return new SpringRedisPipeline(this, dbName) {
+			
+			/** 管道中被写入的键 */
+			private final List<byte[]> writtenKeys = CollectionUtils.newArrayList();
+
+			@Override
+			protected void onWrite(byte[] keyByte) {
+				writtenKeys.add(keyByte);
+			}
+
+			@Override
+			public void sync() {
+				try {
+					super.sync();
+				} finally {
+					if (!writtenKeys.isEmpty()) {
+						invalidate(dbIndexOf(dbName), writtenKeys.toArray(new byte[writtenKeys.size()][]));
+						writtenKeys.clear();
+					}
+				}
+			}
+		};
+	}
+	
+	/**
+	 * 在一次管道往返中读取键(或哈希键)的值以及键的剩余存活毫秒数，集群环境下依次读取
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param dbName
+	 * @param keyByte
+	 * @param hashKeyByte
+	 * @return
+	 */
+	private List<Object> readWithTtl(final String dbName, final byte[] keyByte, final byte[] hashKeyByte) {
+		List<Object> results = execute(dbName, new RedisCallback<List<Object>>() {
+
+			@Override
+			public List<Object> doInRedis(RedisConnection connection) throws DataAccessException {
+				if (isCluster()) {
+					List<Object> results = CollectionUtils.newArrayList(2);
+					results.add(hashKeyByte != null ? connection.hGet(keyByte, hashKeyByte) : connection.get(keyByte));
+					results.add(connection.pTtl(keyByte));
+					return results;
+				}
+				
+				connection.openPipeline();
+				select(connection, dbName);
+				if (hashKeyByte != null)
+					connection.hGet(keyByte, hashKeyByte);
+				else
+					connection.get(keyByte);
+				
+				connection.pTtl(keyByte);
+				return connection.closePipeline();
+			}
+		});
+		
+		if (CollectionUtils.size(results) < 2) 
+			throw new IllegalStateException("Unexpected pipeline results for near cache read: " + results);
+		
+		return results;
+	}
+	
+	/**
+	 * 获取库名称对应的近端缓存，不存在时创建
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param dbName
+	 * @return
+	 */
+	private NearCache cacheOf(String dbName) {
+		String name = toCacheName(dbName);
+		NearCache cache = caches.get(name);
+		if (cache == null) {
+			NearCache newCache = new NearCache(maximumSize, expireMillis);
+			cache = caches.putIfAbsent(name, newCache);
+			if (cache == null)
+				cache = newCache;
+		}
+		
+		return cache;
+	}
+	
+	/**
+	 * 获取库名称对应的库索引
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param dbName
+	 * @return
+	 */
+	private int dbIndexOf(String dbName) {
+		if (repositoryManager == null)
+			return getDefaultDbIndex();
+		
+		RedisRepository repository = repositoryManager.getRepository(dbName);
+		return repository != null ? repository.getDbIndex() : getDefaultDbIndex();
+	}
+	
+	private <K> void invalidate(String dbName, K key) {
+		if (key != null)
+			invalidate(dbIndexOf(dbName), serializeKey(dbName, key));
+	}
+	
+	private <K> void invalidate(String dbName, K[] keys) {
+		if (keys == null || keys.length == 0)
+			return;
+		
+		byte[][] keyBytes = new byte[keys.length][];
+		for (int i = 0; i < keys.length; i++) {
+			keyBytes[i] = serializeKey(dbName, keys[i]);
+		}
+		
+		invalidate(dbIndexOf(dbName), keyBytes);
+	}
+	
+	private <K, V> void invalidate(String dbName, Map<K, V> keyValues) {
+		if (keyValues != null)
+			invalidate(dbName, keyValues.keySet().toArray());
+	}
+	
+	/**
+	 * 使本地缓存失效，并广播失效消息，keyBytes为空时表示使整个库失效
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param dbIndex
+	 * @param keyBytes
+	 */
+	private void invalidate(int dbIndex, byte[]... keyBytes) {
+		invalidateLocal(dbIndex, keyBytes);
+		
+		if (StringUtils.isNotBlank(invalidationChannel)) {
+			final byte[] channel = stringSerializer.serialize(invalidationChannel);
+			final byte[] message = encode(dbIndex, keyBytes);
+			try {
+				getRedisTemplate().execute(new RedisCallback<Object>() {
+
+					@Override
+					public Object doInRedis(RedisConnection connection) throws DataAccessException {
+						return connection.publish(channel, message);
+					}
+				});
+			} catch (RuntimeException e) {
+				logger.warn("Near cache invalidation publishing error, cause:{}", e.getMessage());
+			}
+		}
+	}
+	
+	/**
+	 * 使本地缓存失效，keyBytes为空时表示使整个库失效
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param dbIndex
+	 * @param keyBytes
+	 */
+	private void invalidateLocal(int dbIndex, byte[]... keyBytes) {
+		for (Entry<String, NearCache> entry : caches.entrySet()) {
+			String dbName = entry.getKey();
+			if (dbIndex != ALL_DB_INDEX && dbIndex != dbIndexOf(dbName.isEmpty() ? null : dbName))
+				continue;
+			
+			NearCache cache = entry.getValue();
+			if (keyBytes.length == 0)
+				cache.invalidateAll();
+			else {
+				for (byte[] keyByte : keyBytes) {
+					cache.invalidate(keyByte);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * 编码失效消息，格式为：实例ID(8字节) + 库索引(4字节) + 键个数(4字节) + [键长度(4字节) + 键字节]*
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param dbIndex
+	 * @param keyBytes
+	 * @return
+	 */
+	private byte[] encode(int dbIndex, byte[][] keyBytes) {
+		int length = 16;
+		for (byte[] keyByte : keyBytes) {
+			length += 4 + keyByte.length;
+		}
+		
+		ByteBuffer buffer = ByteBuffer.allocate(length);
+		buffer.putLong(instanceId).putInt(dbIndex).putInt(keyBytes.length);
+		for (byte[] keyByte : keyBytes) {
+			buffer.putInt(keyByte.length).put(keyByte);
+		}
+		
+		return buffer.array();
+	}
+	
+	/**
+	 * 处理其它节点广播的失效消息
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param message
+	 */
+	private void handleInvalidation(byte[] message) {
+		if (message == null || message.length < 16)
+			return;
+		
+		ByteBuffer buffer = ByteBuffer.wrap(message);
+		if (buffer.getLong() == instanceId)
+			return;
+		
+		int dbIndex = buffer.getInt();
+		int count = buffer.getInt();
+		byte[][] keyBytes = new byte[count][];
+		for (int i = 0; i < count; i++) {
+			keyBytes[i] = new byte[buffer.getInt()];
+			buffer.get(keyBytes[i]);
+		}
+		
+		invalidateLocal(dbIndex, keyBytes);
+	}
+	
+	/**
+	 * 订阅失效消息频道，连接断开后自动重新订阅
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a>
+	 */
+	private void subscribe() {
+		byte[] channel = stringSerializer.serialize(invalidationChannel);
+		MessageListener listener = new MessageListener() {
+
+			@Override
+			public void onMessage(Message message, byte[] pattern) {
+				try {
+					handleInvalidation(message.getBody());
+				} catch (RuntimeException e) {
+					logger.warn("Near cache invalidation message handling error, cause:{}", e.getMessage());
+				}
+			}
+		};
+		
+		while (running) {
+			RedisConnection connection = null;
+			try {
+				connection = getRedisTemplate().getConnectionFactory().getConnection();
+				subscriptionConnection = connection;
+				// 订阅断开期间可能错过了失效消息
+				invalidateLocal(ALL_DB_INDEX);
+				connection.subscribe(listener, channel);
+				
+				// 非阻塞的客户端在订阅后会立即返回
+				while (running && connection.isSubscribed()) {
+					Thread.sleep(RESUBSCRIBE_DELAY_MILLIS);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (RuntimeException e) {
+				if (running)
+					logger.warn("Near cache invalidation subscription error, cause:{}", e.getMessage());
+			} finally {
+				subscriptionConnection = null;
+				closeQuietly(connection);
+			}
+			
+			if (running) {
+				try {
+					Thread.sleep(RESUBSCRIBE_DELAY_MILLIS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+	
+	private void closeQuietly(RedisConnection connection) {
+		if (connection != null) {
+			try {
+				connection.close();
+			} catch (RuntimeException e) {
+				// 忽略关闭异常
+			}
+		}
+	}
+	
+	private static String toCacheName(String dbName) {
+		return dbName != null ? dbName : StringUtils.EMPTY;
+	}
+	
+	private static long toTtlMillis(Object ttl) {
+		return ttl instanceof Number ? ((Number) ttl).longValue() : 0;
+	}
+	
+}
@@ -18,8 +18,11 @@
 
 package org.sniper.nosql.redis.spring;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -28,12 +31,18 @@ import org.sniper.commons.util.ArrayUtils;
 import org.sniper.commons.util.AssertUtils;
 import org.sniper.commons.util.BooleanUtils;
 import org.sniper.commons.util.CollectionUtils;
+import org.sniper.commons.util.MapUtils;
 import org.sniper.commons.util.StringUtils;
 import org.sniper.nosql.redis.RedisRepository;
+import org.sniper.nosql.redis.cluster.ClusterSlotUtils;
+import org.sniper.nosql.redis.cluster.SlotCommand;
+import org.sniper.nosql.redis.cluster.SlotGroup;
+import org.sniper.nosql.redis.command.RedisPipeline;
 import org.sniper.nosql.redis.enums.DataType;
 import org.sniper.nosql.redis.enums.GeoDistanceUnit;
 import org.sniper.nosql.redis.enums.ListPosition;
 import org.sniper.nosql.redis.enums.Section;
+import org.sniper.nosql.redis.enums.ZStoreAggregate;
 import org.sniper.nosql.redis.model.geo.GeoCircle;
 import org.sniper.nosql.redis.model.geo.GeoDistance;
 import org.sniper.nosql.redis.model.geo.GeoLocations;
@@ -41,6 +50,9 @@ import org.sniper.nosql.redis.model.geo.GeoPoint;
 import org.sniper.nosql.redis.model.geo.GeoRadiusResult;
 import org.sniper.nosql.redis.model.xscan.IndexedScanResult;
 import org.sniper.nosql.redis.model.xscan.MappedScanResult;
+import org.sniper.nosql.redis.model.xscan.ScanIterator;
+import org.sniper.nosql.redis.model.xscan.ScanResult;
+import org.sniper.nosql.redis.model.xscan.ScannableResult;
 import org.sniper.nosql.redis.model.zset.ZSetTuple;
 import org.sniper.nosql.redis.option.GeoRadiusOption;
 import org.sniper.nosql.redis.option.Limit;
@@ -52,9 +64,11 @@ import org.springframework.dao.DataAccessException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.geo.GeoResults;
 import org.springframework.data.geo.Point;
+import org.springframework.data.redis.connection.DefaultTuple;
 import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisGeoCommands.GeoLocation;
 import org.springframework.data.redis.connection.RedisZSetCommands.Tuple;
+import org.springframework.data.redis.connection.ReturnType;
 import org.springframework.data.redis.connection.SortParameters;
 import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.stereotype.Repository;
@@ -70,12 +84,28 @@ public class SpringRedisCommands extends SpringRedisSupport {
 	@Override
 	public <K> Set<K> keysByPattern(final String dbName, final String pattern, final Class<K> keyType) {
 		final byte[] patternByte = stringSerializer.serialize(StringUtils.isNotEmpty(pattern) ? pattern : StringUtils.ANY);
-		Set<byte[]> keyBytes = getRedisTemplate().execute(new RedisCallback<Set<byte[]>>() {
+		final ScanOption pageOption = toPageOption(new ScanOption().setPattern(pattern));
+		Set<byte[]> keyBytes = execute(dbName, new RedisCallback<Set<byte[]>>() {
 			
 			@Override
 			public Set<byte[]> doInRedis(RedisConnection connection) throws DataAccessException {
 				select(connection, dbName);
-				return connection.keys(patternByte);
+				// 集群环境下不支持scan命令，keys命令会在所有主节点上执行
+				if (isCluster())
+					return connection.keys(patternByte);
+				
+				// 以scan命令逐页获取键，避免keys命令长时间阻塞服务端
+				Map<ByteBuffer, byte[]> scannedKeyBytes = MapUtils.newLinkedHashMap();
+				long cursorId = 0;
+				do {
+					List<Object> scanned = scanPage(connection, cursorId, pageOption);
+					cursorId = toCursorId(scanned);
+					for (byte[] keyByte : toScannedBytes(scanned)) {
+						scannedKeyBytes.put(ByteBuffer.wrap(keyByte), keyByte);
+					}
+				} while (cursorId != 0);
+				
+				return CollectionUtils.newLinkedHashSet(scannedKeyBytes.values());
 			}
 		});
 		
@@ -84,7 +114,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 	
 	@Override
 	public <K> K randomKey(final String dbName, final Class<K> keyType) {
-		final byte[] keyByte = getRedisTemplate().execute(new RedisCallback<byte[]>() {
+		final byte[] keyByte = execute(dbName, new RedisCallback<byte[]>() {
 			
 			@Override
 			public byte[] doInRedis(RedisConnection connection) throws DataAccessException {
@@ -102,7 +132,10 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return 0L;
 		
 		final byte[][] keyBytes = serializeKeys(dbName, keys);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		if (isCluster())
+			return clusterDel(keyBytes);
+		
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -118,7 +151,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return false;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		return getRedisTemplate().execute(new RedisCallback<Boolean>() {
+		return execute(dbName, new RedisCallback<Boolean>() {
 
 			@Override
 			public Boolean doInRedis(RedisConnection connection) throws DataAccessException {
@@ -134,7 +167,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return false;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		return getRedisTemplate().execute(new RedisCallback<Boolean>() {
+		return execute(dbName, new RedisCallback<Boolean>() {
 
 			@Override
 			public Boolean doInRedis(RedisConnection connection) throws DataAccessException {
@@ -150,7 +183,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return false;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		return getRedisTemplate().execute(new RedisCallback<Boolean>() {
+		return execute(dbName, new RedisCallback<Boolean>() {
 
 			@Override
 			public Boolean doInRedis(RedisConnection connection) throws DataAccessException {
@@ -166,7 +199,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return false;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		return getRedisTemplate().execute(new RedisCallback<Boolean>() {
+		return execute(dbName, new RedisCallback<Boolean>() {
 
 			@Override
 			public Boolean doInRedis(RedisConnection connection) throws DataAccessException {
@@ -182,7 +215,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return false;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		return getRedisTemplate().execute(new RedisCallback<Boolean>() {
+		return execute(dbName, new RedisCallback<Boolean>() {
 
 			@Override
 			public Boolean doInRedis(RedisConnection connection) throws DataAccessException {
@@ -198,7 +231,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return false;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		return getRedisTemplate().execute(new RedisCallback<Boolean>() {
+		return execute(dbName, new RedisCallback<Boolean>() {
 
 			@Override
 			public Boolean doInRedis(RedisConnection connection) throws DataAccessException {
@@ -214,7 +247,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return false;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		return getRedisTemplate().execute(new RedisCallback<Boolean>() {
+		return execute(dbName, new RedisCallback<Boolean>() {
 
 			@Override
 			public Boolean doInRedis(RedisConnection connection) throws DataAccessException {
@@ -230,7 +263,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return -2L;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -246,7 +279,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return -2L;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -264,7 +297,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final SortParameters sortParameters = toSortParameters(optional);
-		List<byte[]> valueBytes = getRedisTemplate().execute(new RedisCallback<List<byte[]>>() {
+		List<byte[]> valueBytes = execute(dbName, new RedisCallback<List<byte[]>>() {
 
 			@Override
 			public List<byte[]> doInRedis(RedisConnection connection) throws DataAccessException {
@@ -285,7 +318,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		final byte[] keyByte = keySerializer.serialize(key);
 		final byte[] destKeyByte = (destKey.equals(key) ? keyByte : keySerializer.serialize(destKey));
 		final SortParameters sortParameters = toSortParameters(optional);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -304,7 +337,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 	@Override
 	public <K> IndexedScanResult<K> scan(final String dbName, final long cursorId, final ScanOption option, final Class<K> keyType) {
 		byte[][] commandArgs = toCommandArgs(cursorId, option);
-		List<Object> scanned = getRedisTemplate().execute(new RedisCallback<List<Object>>() {
+		List<Object> scanned = execute(dbName, new RedisCallback<List<Object>>() {
 
 			@SuppressWarnings("unchecked")
 			@Override
@@ -323,7 +356,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return DataType.NONE;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		return getRedisTemplate().execute(new RedisCallback<DataType>() {
+		return execute(dbName, new RedisCallback<DataType>() {
 
 			@Override
 			public DataType doInRedis(RedisConnection connection) throws DataAccessException {
@@ -338,18 +371,41 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		final byte[] patternByte = stringSerializer.serialize(
 				StringUtils.isNotEmpty(pattern) ? pattern : StringUtils.ANY);
 		
-		List<byte[]> valueBytes = getRedisTemplate().execute(new RedisCallback<List<byte[]>>() {
+		final ScanOption pageOption = toPageOption(new ScanOption().setPattern(pattern));
+		List<byte[]> valueBytes = execute(dbName, new RedisCallback<List<byte[]>>() {
 			
 			@Override
 			public List<byte[]> doInRedis(RedisConnection connection) throws DataAccessException {
 				select(connection, dbName);
-				/* 第一步：先获取匹配模式的键字节集合 */
-				Set<byte[]> keyBytes = connection.keys(patternByte);
-				if (CollectionUtils.isEmpty(keyBytes))
-					return null;
+				if (isCluster()) {
+					/* 第一步：先获取匹配模式的键字节集合 */
+					Set<byte[]> keyBytes = connection.keys(patternByte);
+					if (CollectionUtils.isEmpty(keyBytes))
+						return null;
+					
+					// 第二步：再根据键集合执行mGet命令，批量获取对应的值字节集合
+					return connection.mGet(CollectionUtils.toArray(keyBytes, byte[].class));
+				}
+				
+				/* 非集群环境下以scan命令逐页获取键，并对每页新出现的键执行mGet命令，避免keys命令长时间阻塞服务端 */
+				Set<ByteBuffer> scannedKeys = CollectionUtils.newHashSet();
+				List<byte[]> pageValueBytes = CollectionUtils.newArrayList();
+				long cursorId = 0;
+				do {
+					List<Object> scanned = scanPage(connection, cursorId, pageOption);
+					cursorId = toCursorId(scanned);
+					
+					List<byte[]> pageKeyBytes = CollectionUtils.newArrayList();
+					for (byte[] keyByte : toScannedBytes(scanned)) {
+						if (scannedKeys.add(ByteBuffer.wrap(keyByte)))
+							pageKeyBytes.add(keyByte);
+					}
+					
+					if (!pageKeyBytes.isEmpty())
+						pageValueBytes.addAll(connection.mGet(CollectionUtils.toArray(pageKeyBytes, byte[].class)));
+				} while (cursorId != 0);
 				
-				// 第二步：再根据键集合执行mGet命令，批量获取对应的值字节集合
-				return connection.mGet(CollectionUtils.toArray(keyBytes, byte[].class));
+				return pageValueBytes;
 			}
 		});
 		
@@ -357,6 +413,41 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		return deserializeValueBytes(dbName, valueBytes, valueType);
 	}
 	
+	@Override
+	public <V> ScanIterator<V> scanValues(final String dbName, ScanOption option, final Class<V> valueType) {
+		final ScanOption pageOption = toPageOption(option);
+		return new ScanIterator<V>() {
+
+			@Override
+			protected ScannableResult<V> scan(final long cursorId) {
+				final List<Object> pageScanned = CollectionUtils.newArrayList(2);
+				List<byte[]> valueBytes = execute(dbName, new RedisCallback<List<byte[]>>() {
+
+					@Override
+					public List<byte[]> doInRedis(RedisConnection connection) throws DataAccessException {
+						select(connection, dbName);
+						List<Object> scanned = scanPage(connection, cursorId, pageOption);
+						pageScanned.addAll(scanned);
+						
+						List<byte[]> keyBytes = toScannedBytes(scanned);
+						return keyBytes.isEmpty() ? null : connection.mGet(CollectionUtils.toArray(keyBytes, byte[].class));
+					}
+				});
+				
+				// 忽略扫描后被删除或过期的键
+				List<V> values = CollectionUtils.newArrayList();
+				if (valueBytes != null) {
+					for (byte[] valueByte : valueBytes) {
+						if (valueByte != null)
+							values.add(deserializeValueByte(dbName, valueByte, valueType));
+					}
+				}
+				
+				return new ScanResult<V>(toCursorId(pageScanned), values);
+			}
+		};
+	}
+	
 	@Override
 	public <K, V> void set(final String dbName, final K key, final V value, final long expireSeconds) {
 		AssertUtils.assertNotNull(key, "Key must not be null for command [set]");
@@ -364,7 +455,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[] valueByte = serializeValue(dbName, value);
-		getRedisTemplate().execute(new RedisCallback<Object>() {
+		execute(dbName, new RedisCallback<Object>() {
 			
 			@Override
 			public Object doInRedis(RedisConnection connection) throws DataAccessException {
@@ -388,7 +479,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[] valueByte = serializeValue(dbName, value);
-		return getRedisTemplate().execute(new RedisCallback<Boolean>() {
+		return execute(dbName, new RedisCallback<Boolean>() {
 
 			@Override
 			public Boolean doInRedis(RedisConnection connection) throws DataAccessException {
@@ -414,7 +505,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[] valueByte = serializeValue(dbName, value);
-		getRedisTemplate().execute(new RedisCallback<Object>() {
+		execute(dbName, new RedisCallback<Object>() {
 
 			@Override
 			public Object doInRedis(RedisConnection connection) throws DataAccessException {
@@ -438,7 +529,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[] valueByte = serializeValue(dbName, value);
-		getRedisTemplate().execute(new RedisCallback<Object>() {
+		execute(dbName, new RedisCallback<Object>() {
 
 			@Override
 			public Object doInRedis(RedisConnection connection) throws DataAccessException {
@@ -462,13 +553,19 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		AssertUtils.assertNotEmpty(keyValues, "Key values must not be empty for command [mSet");
 		
 		final Map<byte[], byte[]> keyValueBytes = serializeKeyValues(dbName, keyValues);
-		getRedisTemplate().execute(new RedisCallback<Object>() {
+		execute(dbName, new RedisCallback<Object>() {
 
 			@Override
 			public Object doInRedis(RedisConnection connection) throws DataAccessException {
 				RedisRepository repository = select(connection, dbName);
 				long expireTime = getExpireSeconds(expireSeconds, repository);
 				
+				if (expireTime > 0 && (!isCluster() || isSameSlot(keyValueBytes.keySet()))) {
+					// 在一次往返中原子性的设置所有键值及其过期时间
+					evalScript(connection, MSET_EX_SCRIPT, keyValueBytes.size(), toScriptKeysAndArgs(keyValueBytes, expireTime));
+					return null;
+				}
+				
 				connection.mSet(keyValueBytes);
 				if (expireTime > 0) 
 					batchSetExpireTime(connection, keyValueBytes.keySet(), expireTime);
@@ -483,14 +580,22 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		AssertUtils.assertNotEmpty(keyValues, "Key values must not be empty for command [mSetNX]");
 		
 		final Map<byte[], byte[]> keyValueBytes = serializeKeyValues(dbName, keyValues);
-		return getRedisTemplate().execute(new RedisCallback<Boolean>() {
+		return execute(dbName, new RedisCallback<Boolean>() {
 
 			@Override
 			public Boolean doInRedis(RedisConnection connection) throws DataAccessException {
 				RedisRepository repository = select(connection, dbName);
 				long expireTime = getExpireSeconds(expireSeconds, repository);
 				
-				/* 注意：键值设置和过期设置为非原子性操作，因此在实现诸如批量分布式锁这样的应用场景中，此命令可能并不合适。
+				if (expireTime > 0 && (!isCluster() || isSameSlot(keyValueBytes.keySet()))) {
+					// 在一次往返中原子性的设置所有键值及其过期时间，可用于批量分布式锁
+					Long success = evalScript(connection, MSETNX_EX_SCRIPT, 
+							keyValueBytes.size(), toScriptKeysAndArgs(keyValueBytes, expireTime));
+					return success != null ? success > 0 : null;
+				}
+				
+				/* 注意：集群环境下的键不在同一个槽时不能通过一个脚本设置，此时键值设置和过期设置为非原子性操作，
+				 * 因此在实现诸如批量分布式锁这样的应用场景中，应使用哈希标签(例如{lock}:a和{lock}:b)使这些键位于同一个槽。
 				 * 另外，mSetNX方法如果返回为null，并不一定代表设置不成功，可能是由于connection使用的管道或队列的形式异步来发送命令的，
 				 * 因此在这两种情况下，以同步的方式获取到的结果就为null(参考JedisConnection源代码)。
 				 * Boolean判断认为返回为null时也不进行过期时间设置，因为这里的connection是以同步的方式来发送命令的，忽略掉null只是为了防止空指针异常    */
@@ -510,7 +615,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[] valueByte = serializeValue(dbName, value);
-		getRedisTemplate().execute(new RedisCallback<Object>() {
+		execute(dbName, new RedisCallback<Object>() {
 
 			@Override
 			public Object doInRedis(RedisConnection connection) throws DataAccessException {
@@ -533,7 +638,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[] valueByte = serializeValue(dbName, value);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -556,7 +661,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return null;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		byte[] valueByte = getRedisTemplate().execute(new RedisCallback<byte[]>() {
+		byte[] valueByte = execute(dbName, new RedisCallback<byte[]>() {
 
 			@Override
 			public byte[] doInRedis(RedisConnection connection) throws DataAccessException {
@@ -574,7 +679,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return null;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		byte[] valueByte = getRedisTemplate().execute(new RedisCallback<byte[]>() {
+		byte[] valueByte = execute(dbName, new RedisCallback<byte[]>() {
 
 			@Override
 			public byte[] doInRedis(RedisConnection connection) throws DataAccessException {
@@ -593,7 +698,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[] valueByte = serializeValue(dbName, value);
-		byte[] oldValueByte = getRedisTemplate().execute(new RedisCallback<byte[]>() {
+		byte[] oldValueByte = execute(dbName, new RedisCallback<byte[]>() {
 
 			@Override
 			public byte[] doInRedis(RedisConnection connection) throws DataAccessException {
@@ -617,7 +722,8 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return null;
 		
 		final byte[][] keyBytes = serializeKeys(dbName, keys);
-		List<byte[]> valueBytes = getRedisTemplate().execute(new RedisCallback<List<byte[]>>() {
+		List<byte[]> valueBytes = isCluster() ? clusterMGet(keyBytes) 
+				: execute(dbName, new RedisCallback<List<byte[]>>() {
 
 			@Override
 			public List<byte[]> doInRedis(RedisConnection connection) throws DataAccessException {
@@ -635,7 +741,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return 0L;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -650,7 +756,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		AssertUtils.assertNotNull(key, "Key must not be null for command [decr]");
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -665,7 +771,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		AssertUtils.assertNotNull(key, "Key must not be null for command [decrBy]");
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -680,7 +786,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		AssertUtils.assertNotNull(key, "Key must not be null for command [incr]");
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -695,7 +801,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		AssertUtils.assertNotNull(key, "Key must not be null for command [incrBy]");
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -716,7 +822,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[] hashKeyByte = serializeHashKey(dbName, hashKey);
 		final byte[] hashValueByte = serializeHashValue(dbName, value);
-		return getRedisTemplate().execute(new RedisCallback<Boolean>() {
+		return execute(dbName, new RedisCallback<Boolean>() {
 
 			@Override
 			public Boolean doInRedis(RedisConnection connection) throws DataAccessException {
@@ -746,7 +852,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[] hashKeyByte = serializeHashKey(dbName, hashKey);
 		final byte[] hashValueByte = serializeHashValue(dbName, value);
-		return getRedisTemplate().execute(new RedisCallback<Boolean>() {
+		return execute(dbName, new RedisCallback<Boolean>() {
 
 			@Override
 			public Boolean doInRedis(RedisConnection connection) throws DataAccessException {
@@ -771,13 +877,18 @@ public class SpringRedisCommands extends SpringRedisSupport {
 				
 		final byte[] keyByte = serializeKey(dbName, key);
 		final Map<byte[], byte[]> hashKeyValueBytes = serializeHashKeyValues(dbName, hashKeyValues);
-		getRedisTemplate().execute(new RedisCallback<Object>() {
+		execute(dbName, new RedisCallback<Object>() {
 
 			@Override
 			public Object doInRedis(RedisConnection connection) throws DataAccessException {
 				RedisRepository repository = select(connection, dbName);
 				long expireTime = getExpireSeconds(expireSeconds, repository);
 				
+				if (expireTime > 0) {
+					evalScript(connection, HMSET_EX_SCRIPT, 1, toScriptKeyAndArgs(keyByte, expireTime, hashKeyValueBytes));
+					return null;
+				}
+				
 				connection.hMSet(keyByte, hashKeyValueBytes);
 				if (expireTime > 0)
 					setExpireTime(connection, keyByte, expireTime);
@@ -794,7 +905,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[][] hashKeyBytes = serializeHashKeys(dbName, hashKeys);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -811,7 +922,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[] hashKeyByte = serializeHashKey(dbName, hashKey);
-		return getRedisTemplate().execute(new RedisCallback<Boolean>() {
+		return execute(dbName, new RedisCallback<Boolean>() {
 
 			@Override
 			public Boolean doInRedis(RedisConnection connection) throws DataAccessException {
@@ -828,7 +939,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[] hashKeyByte = serializeHashKey(dbName, hashKey);
-		byte[] hashValueByte = getRedisTemplate().execute(new RedisCallback<byte[]>() {
+		byte[] hashValueByte = execute(dbName, new RedisCallback<byte[]>() {
 
 			@Override
 			public byte[] doInRedis(RedisConnection connection) throws DataAccessException {
@@ -846,7 +957,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return null;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		Map<byte[], byte[]> hashKeyValueBytes = getRedisTemplate().execute(new RedisCallback<Map<byte[], byte[]>>() {
+		Map<byte[], byte[]> hashKeyValueBytes = execute(dbName, new RedisCallback<Map<byte[], byte[]>>() {
 
 			@Override
 			public Map<byte[], byte[]> doInRedis(RedisConnection connection) throws DataAccessException {
@@ -864,7 +975,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return null;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		Set<byte[]> hashKeyBytes = getRedisTemplate().execute(new RedisCallback<Set<byte[]>>() {
+		Set<byte[]> hashKeyBytes = execute(dbName, new RedisCallback<Set<byte[]>>() {
 
 			@Override
 			public Set<byte[]> doInRedis(RedisConnection connection) throws DataAccessException {
@@ -882,7 +993,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return 0L;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -899,7 +1010,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[][] hashKeyBytes = serializeHashKeys(dbName, hashKeys);
-		List<byte[]> haseValueBytes = getRedisTemplate().execute(new RedisCallback<List<byte[]>>() {
+		List<byte[]> haseValueBytes = execute(dbName, new RedisCallback<List<byte[]>>() {
 
 			@Override
 			public List<byte[]> doInRedis(RedisConnection connection) throws DataAccessException {
@@ -917,7 +1028,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return null;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		List<byte[]> hashValueBytes = getRedisTemplate().execute(new RedisCallback<List<byte[]>>() {
+		List<byte[]> hashValueBytes = execute(dbName, new RedisCallback<List<byte[]>>() {
 
 			@Override
 			public List<byte[]> doInRedis(RedisConnection connection) throws DataAccessException {
@@ -936,7 +1047,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[] hashKeyByte = serializeHashKey(dbName, hashKey);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -954,7 +1065,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return null;
 		
 		byte[][] commandArgs = toCommandArgs(dbName, key, cursorId, option);
-		List<Object> scanned = getRedisTemplate().execute(new RedisCallback<List<Object>>() {
+		List<Object> scanned = execute(dbName, new RedisCallback<List<Object>>() {
 
 			@SuppressWarnings("unchecked")
 			@Override
@@ -975,7 +1086,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return null;
 		
 		byte[][] commandArgs = toCommandArgs(dbName, key, cursorId, option);
-		List<Object> scanned = getRedisTemplate().execute(new RedisCallback<List<Object>>() {
+		List<Object> scanned = execute(dbName, new RedisCallback<List<Object>>() {
 
 			@SuppressWarnings("unchecked")
 			@Override
@@ -1001,7 +1112,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		Serializer valueSerializer = selectValueSerializer(dbName);
 		final byte[] pivotByte = valueSerializer.serialize(pivot);
 		final byte[] valueByte = (pivot.equals(value) ? pivotByte : valueSerializer.serialize(value));
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1026,7 +1137,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[] valueByte = serializeValue(dbName, value);
-		getRedisTemplate().execute(new RedisCallback<Object>() {
+		execute(dbName, new RedisCallback<Object>() {
 
 			@Override
 			public Object doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1049,7 +1160,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[][] valueBytes = serializeValues(dbName, values);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1072,7 +1183,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[] valueByte = serializeValue(dbName, value);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 			
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1094,7 +1205,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return null;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		byte[] valueByte = getRedisTemplate().execute(new RedisCallback<byte[]>() {
+		byte[] valueByte = execute(dbName, new RedisCallback<byte[]>() {
 
 			@Override
 			public byte[] doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1112,7 +1223,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return 0L;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1128,7 +1239,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return null;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		byte[] valueByte = getRedisTemplate().execute(new RedisCallback<byte[]>() {
+		byte[] valueByte = execute(dbName, new RedisCallback<byte[]>() {
 
 			@Override
 			public byte[] doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1146,7 +1257,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return null;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		List<byte[]> valueBytes = getRedisTemplate().execute(new RedisCallback<List<byte[]>>() {
+		List<byte[]> valueBytes = execute(dbName, new RedisCallback<List<byte[]>>() {
 
 			@Override
 			public List<byte[]> doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1165,7 +1276,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[] valueByte = serializeValue(dbName, value);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1181,7 +1292,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		getRedisTemplate().execute(new RedisCallback<Object>() {
+		execute(dbName, new RedisCallback<Object>() {
 
 			@Override
 			public Object doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1199,7 +1310,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[][] valueBytes = serializeValues(dbName, values);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1222,7 +1333,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[] valueByte = serializeValue(dbName, value);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 			
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1246,7 +1357,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		Serializer keySerializer = selectKeySerializer(dbName);
 		final byte[] srcKeyByte = keySerializer.serialize(srcKey);
 		final byte[] destKeyByte = (destKey.equals(srcKey) ? srcKeyByte : keySerializer.serialize(destKey));
-		byte[] destValueByte = getRedisTemplate().execute(new RedisCallback<byte[]>() {
+		byte[] destValueByte = execute(dbName, new RedisCallback<byte[]>() {
 
 			@Override
 			public byte[] doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1272,7 +1383,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return null;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		final byte[] valueByte = getRedisTemplate().execute(new RedisCallback<byte[]>() {
+		final byte[] valueByte = execute(dbName, new RedisCallback<byte[]>() {
 
 			@Override
 			public byte[] doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1291,13 +1402,16 @@ public class SpringRedisCommands extends SpringRedisSupport {
 				
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[][] memberBytes = serializeValues(dbName, members);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 			
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
 				RedisRepository repository = select(connection, dbName);
 				long expireTime = getExpireSeconds(expireSeconds, repository);
 				
+				if (expireTime > 0) 
+					return evalScript(connection, SADD_EX_SCRIPT, 1, toScriptKeyAndArgs(keyByte, expireTime, memberBytes));
+				
 				Long count = connection.sAdd(keyByte, memberBytes);
 				if (expireTime > 0 && count != null && count > 0)
 					setExpireTime(connection, keyByte, expireTime);
@@ -1313,7 +1427,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return 0L;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1329,7 +1443,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return null;
 		
 		final byte[][] keyBytes = serializeKeys(dbName, keys);
-		Set<byte[]> valueBytes = getRedisTemplate().execute(new RedisCallback<Set<byte[]>>() {
+		Set<byte[]> valueBytes = execute(dbName, new RedisCallback<Set<byte[]>>() {
 
 			@Override
 			public Set<byte[]> doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1348,7 +1462,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] destKeyByte = serializeKey(dbName, destKey);
 		final byte[][] keyBytes = serializeKeys(dbName, keys);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1370,7 +1484,8 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return null;
 		
 		final byte[][] keyBytes = serializeKeys(dbName, keys);
-		Set<byte[]> valueBytes = getRedisTemplate().execute(new RedisCallback<Set<byte[]>>() {
+		Set<byte[]> valueBytes = isCluster() ? clusterSInter(keyBytes) 
+				: execute(dbName, new RedisCallback<Set<byte[]>>() {
 
 			@Override
 			public Set<byte[]> doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1389,7 +1504,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] destKeyByte = serializeKey(dbName, destKey);
 		final byte[][] keyBytes = serializeKeys(dbName, keys);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1411,7 +1526,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return null;
 		
 		final byte[][] keyBytes = serializeKeys(dbName, keys);
-		Set<byte[]> valueBytes = getRedisTemplate().execute(new RedisCallback<Set<byte[]>>() {
+		Set<byte[]> valueBytes = execute(dbName, new RedisCallback<Set<byte[]>>() {
 
 			@Override
 			public Set<byte[]> doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1431,7 +1546,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] destKeyByte = serializeKey(dbName, destKey);
 		final byte[][] keyBytes = serializeKeys(dbName, keys);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1454,7 +1569,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[] memberByte = serializeValue(dbName, member);
-		return getRedisTemplate().execute(new RedisCallback<Boolean>() {
+		return execute(dbName, new RedisCallback<Boolean>() {
 
 			@Override
 			public Boolean doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1470,7 +1585,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return null;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		Set<byte[]> memberBytes = getRedisTemplate().execute(new RedisCallback<Set<byte[]>>() {
+		Set<byte[]> memberBytes = execute(dbName, new RedisCallback<Set<byte[]>>() {
 
 			@Override
 			public Set<byte[]> doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1490,7 +1605,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		final byte[] srcKeyByte = keySerializer.serialize(srcKey);
 		final byte[] destKeyByte = (destKey.equals(srcKey) ? srcKeyByte : keySerializer.serialize(destKey));
 		final byte[] memberByte = serializeValue(dbName, member);
-		return getRedisTemplate().execute(new RedisCallback<Boolean>() {
+		return execute(dbName, new RedisCallback<Boolean>() {
 
 			@Override
 			public Boolean doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1512,7 +1627,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return null;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		byte[] memberByte = getRedisTemplate().execute(new RedisCallback<byte[]>() {
+		byte[] memberByte = execute(dbName, new RedisCallback<byte[]>() {
 
 			@Override
 			public byte[] doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1530,7 +1645,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return null;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		byte[] memberByte = getRedisTemplate().execute(new RedisCallback<byte[]>() {
+		byte[] memberByte = execute(dbName, new RedisCallback<byte[]>() {
 
 			@Override
 			public byte[] doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1549,7 +1664,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[][] memberBytes = serializeValues(dbName, members);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1565,7 +1680,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return null;
 		
 		byte[][] commandArgs = toCommandArgs(dbName, key, cursorId, option);
-		List<Object> scanned = getRedisTemplate().execute(new RedisCallback<List<Object>>() {
+		List<Object> scanned = execute(dbName, new RedisCallback<List<Object>>() {
 
 			@SuppressWarnings("unchecked")
 			@Override
@@ -1585,13 +1700,19 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[] memberByte = serializeValue(dbName, member);
-		return getRedisTemplate().execute(new RedisCallback<Boolean>() {
+		return execute(dbName, new RedisCallback<Boolean>() {
 
 			@Override
 			public Boolean doInRedis(RedisConnection connection) throws DataAccessException {
 				RedisRepository repository = select(connection, dbName);
 				long expireTime = getExpireSeconds(expireSeconds, repository);
 				
+				if (expireTime > 0) {
+					Long count = evalScript(connection, ZADD_EX_SCRIPT, 1, 
+							keyByte, serializeExpireTime(expireTime), stringSerializer.serialize(String.valueOf(score)), memberByte);
+					return count != null ? count > 0 : null;
+				}
+				
 				Boolean success = connection.zAdd(keyByte, score, memberByte);
 				if (expireTime > 0 && BooleanUtils.isTrue(success))
 					setExpireTime(connection, keyByte, expireTime);
@@ -1612,13 +1733,16 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		if (tuples.size() == 0)
 			return 0L;
 		
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
 				RedisRepository repository = select(connection, dbName);
 				long expireTime = getExpireSeconds(expireSeconds, repository);
 				
+				if (expireTime > 0) 
+					return evalScript(connection, ZADD_EX_SCRIPT, 1, toScriptKeyAndArgs(keyByte, expireTime, tuples));
+				
 				Long count = connection.zAdd(keyByte, tuples);
 				if (expireTime > 0 && count != null && count > 0)
 					setExpireTime(connection, keyByte, expireTime);
@@ -1634,7 +1758,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return 0L;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1650,7 +1774,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return 0L;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1666,7 +1790,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return null;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		Set<byte[]> valueBytes = getRedisTemplate().execute(new RedisCallback<Set<byte[]>>() {
+		Set<byte[]> valueBytes = execute(dbName, new RedisCallback<Set<byte[]>>() {
 
 			@Override
 			public Set<byte[]> doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1686,7 +1810,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return null;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		Set<byte[]> valueBytes = getRedisTemplate().execute(new RedisCallback<Set<byte[]>>() {
+		Set<byte[]> valueBytes = execute(dbName, new RedisCallback<Set<byte[]>>() {
 			
 			@Override
 			public Set<byte[]> doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1707,7 +1831,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return null;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		Set<Tuple> tuples = getRedisTemplate().execute(new RedisCallback<Set<Tuple>>() {
+		Set<Tuple> tuples = execute(dbName, new RedisCallback<Set<Tuple>>() {
 			
 			@Override
 			public Set<Tuple> doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1726,7 +1850,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return null;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		Set<byte[]> valueBytes = getRedisTemplate().execute(new RedisCallback<Set<byte[]>>() {
+		Set<byte[]> valueBytes = execute(dbName, new RedisCallback<Set<byte[]>>() {
 
 			@Override
 			public Set<byte[]> doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1746,7 +1870,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return null;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		Set<byte[]> valueBytes = getRedisTemplate().execute(new RedisCallback<Set<byte[]>>() {
+		Set<byte[]> valueBytes = execute(dbName, new RedisCallback<Set<byte[]>>() {
 
 			@Override
 			public Set<byte[]> doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1767,7 +1891,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return null;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		Set<Tuple> tuples = getRedisTemplate().execute(new RedisCallback<Set<Tuple>>() {
+		Set<Tuple> tuples = execute(dbName, new RedisCallback<Set<Tuple>>() {
 			
 			@Override
 			public Set<Tuple> doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1787,7 +1911,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[] memberByte = serializeValue(dbName, member);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 			
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1804,7 +1928,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[] memberByte = serializeValue(dbName, member);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 			
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1821,7 +1945,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[][] memberBytes = serializeValues(dbName, members);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1837,7 +1961,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return 0L;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1854,7 +1978,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return 0L;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1871,7 +1995,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[] memberByte = serializeValue(dbName, member);
-		return getRedisTemplate().execute(new RedisCallback<Double>() {
+		return execute(dbName, new RedisCallback<Double>() {
 
 			@Override
 			public Double doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1888,7 +2012,10 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] destKeyByte = serializeKey(dbName, destKey);
 		final byte[][] keyBytes = serializeKeys(dbName, keys);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		if (isCluster() && !isSameSlot(destKeyByte, keyBytes))
+			return clusterZUnionStore(dbName, destKeyByte, keyBytes, null, expireSeconds);
+		
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1913,7 +2040,10 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] destKeyByte = serializeKey(dbName, destKey);
 		final byte[][] keyBytes = serializeKeys(dbName, keys);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		if (isCluster() && !isSameSlot(destKeyByte, keyBytes))
+			return clusterZUnionStore(dbName, destKeyByte, keyBytes, option, expireSeconds);
+		
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1937,7 +2067,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] destKeyByte = serializeKey(dbName, destKey);
 		final byte[][] keyBytes = serializeKeys(dbName, keys);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1962,7 +2092,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] destKeyByte = serializeKey(dbName, destKey);
 		final byte[][] keyBytes = serializeKeys(dbName, keys);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -1986,7 +2116,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[] memberByte = serializeValue(dbName, member);
-		return getRedisTemplate().execute(new RedisCallback<Double>() {
+		return execute(dbName, new RedisCallback<Double>() {
 
 			@Override
 			public Double doInRedis(RedisConnection connection) throws DataAccessException {
@@ -2003,7 +2133,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[][] elementBytes = serializeValues(dbName, elements);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -2025,7 +2155,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return 0L;
 		
 		final byte[][] keyBytes = serializeKeys(dbName, keys);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -2042,7 +2172,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] destKeyByte = serializeKey(dbName, destKey);
 		final byte[][] sourceKeyBytes = serializeKeys(dbName, sourceKeys);
-		getRedisTemplate().execute(new RedisCallback<Object>() {
+		execute(dbName, new RedisCallback<Object>() {
 
 			@Override
 			public Object doInRedis(RedisConnection connection) throws DataAccessException {
@@ -2060,7 +2190,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[] memberByte = serializeValue(dbName, member);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -2084,7 +2214,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final Map<byte[], Point> locationMap = toMemberPointMap(locations);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -2107,7 +2237,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[] memberByte = serializeValue(dbName, member);
-		Point point = getRedisTemplate().execute(new RedisCallback<Point>() {
+		Point point = execute(dbName, new RedisCallback<Point>() {
 
 			@Override
 			public Point doInRedis(RedisConnection connection) throws DataAccessException {
@@ -2126,7 +2256,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[][] memberBytes = serializeValues(dbName, members);
-		List<Point> points = getRedisTemplate().execute(new RedisCallback<List<Point>>() {
+		List<Point> points = execute(dbName, new RedisCallback<List<Point>>() {
 
 			@Override
 			public List<Point> doInRedis(RedisConnection connection) throws DataAccessException {
@@ -2149,7 +2279,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[] memberByte1 = valueSerializer.serialize(member1);
 		final byte[] memberByte2 = valueSerializer.serialize(member2);
-		byte[] distanceByte = getRedisTemplate().execute(new RedisCallback<byte[]>() {
+		byte[] distanceByte = execute(dbName, new RedisCallback<byte[]>() {
 
 			@Override
 			public byte[] doInRedis(RedisConnection connection) throws DataAccessException {
@@ -2175,7 +2305,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 			return null;
 		
 		final byte[] keyByte = serializeKey(dbName, key);
-		GeoResults<GeoLocation<byte[]>> geoResults = getRedisTemplate().execute(new RedisCallback<GeoResults<GeoLocation<byte[]>>>() {
+		GeoResults<GeoLocation<byte[]>> geoResults = execute(dbName, new RedisCallback<GeoResults<GeoLocation<byte[]>>>() {
 				
 			@Override
 			public GeoResults<GeoLocation<byte[]>> doInRedis(RedisConnection connection) throws DataAccessException {
@@ -2197,7 +2327,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[] memberByte = serializeValue(dbName, member);
-		GeoResults<GeoLocation<byte[]>> geoResults = getRedisTemplate().execute(new RedisCallback<GeoResults<GeoLocation<byte[]>>>() {
+		GeoResults<GeoLocation<byte[]>> geoResults = execute(dbName, new RedisCallback<GeoResults<GeoLocation<byte[]>>>() {
 
 			@Override
 			public GeoResults<GeoLocation<byte[]>> doInRedis(RedisConnection connection) throws DataAccessException {
@@ -2223,7 +2353,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[] memberByte = serializeValue(dbName, member);
-		List<String> list = getRedisTemplate().execute(new RedisCallback<List<String>>() {
+		List<String> list = execute(dbName, new RedisCallback<List<String>>() {
 
 			@Override
 			public List<String> doInRedis(RedisConnection connection) throws DataAccessException {
@@ -2243,7 +2373,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[][] memberBytes = serializeValues(dbName, members);
-		return getRedisTemplate().execute(new RedisCallback<List<String>>() {
+		return execute(dbName, new RedisCallback<List<String>>() {
 
 			@Override
 			public List<String> doInRedis(RedisConnection connection) throws DataAccessException {
@@ -2260,7 +2390,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		final byte[] keyByte = serializeKey(dbName, key);
 		final byte[][] memberBytes = serializeValues(dbName, members);
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -2369,7 +2499,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 
 	@Override
 	public Long dbSize(final String dbName) {
-		return getRedisTemplate().execute(new RedisCallback<Long>() {
+		return execute(dbName, new RedisCallback<Long>() {
 
 			@Override
 			public Long doInRedis(RedisConnection connection) throws DataAccessException {
@@ -2428,7 +2558,7 @@ public class SpringRedisCommands extends SpringRedisSupport {
 
 	@Override
 	public void flushDb(final String dbName) {
-		getRedisTemplate().execute(new RedisCallback<Object>() {
+		execute(dbName, new RedisCallback<Object>() {
 
 			@Override
 			public Object doInRedis(RedisConnection connection) throws DataAccessException {
@@ -2512,5 +2642,385 @@ public class SpringRedisCommands extends SpringRedisSupport {
 		
 		return stringSerializer.deserialize(echo);
 	}
+	
+	@Override
+	public <K> Long eval(final String dbName, String script, List<K> keys, Object... args) {
+		AssertUtils.assertNotBlank(script, "Script must not be null or blank for command [eval]");
+		
+		final byte[] scriptByte = stringSerializer.serialize(script);
+		final int numKeys = CollectionUtils.size(keys);
+		final byte[][] keysAndArgs = new byte[numKeys + ArrayUtils.length(args)][];
+		
+		int index = 0;
+		for (int i = 0; i < numKeys; i++) {
+			keysAndArgs[index++] = serializeKey(dbName, keys.get(i));
+		}
+		
+		for (int i = 0; index < keysAndArgs.length; i++) {
+			keysAndArgs[index++] = stringSerializer.serialize(String.valueOf(args[i]));
+		}
+			
+		return execute(dbName, new RedisCallback<Long>() {
+
+			@Override
+			public Long doInRedis(RedisConnection connection) throws DataAccessException {
+				select(connection, dbName);
+				return connection.eval(scriptByte, ReturnType.INTEGER, numKeys, keysAndArgs);
+			}
+		});
+	}
+	
+	@Override
+	public RedisPipeline pipelined(String dbName) {
+		return new SpringRedisPipeline(this, dbName);
+	}
+	
+	/**
+	 * 在当前连接上执行一次scan命令
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param connection
+	 * @param cursorId
+	 * @param option
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	private List<Object> scanPage(RedisConnection connection, long cursorId, ScanOption option) {
+		return (List<Object>) connection.execute(SCAN_COMMAND_NAME, toCommandArgs(cursorId, option));
+	}
+	
+	/**
+	 * 获取扫描结果中的下一页游标
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param scanned
+	 * @return
+	 */
+	private long toCursorId(List<Object> scanned) {
+		return Long.valueOf(stringSerializer.deserialize((byte[]) scanned.get(0)));
+	}
+	
+	/**
+	 * 获取扫描结果中的元素字节列表
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param scanned
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	private List<byte[]> toScannedBytes(List<Object> scanned) {
+		List<byte[]> scannedBytes = (List<byte[]>) scanned.get(1);
+		return scannedBytes != null ? scannedBytes : CollectionUtils.<byte[]>newArrayList();
+	}
+	
+	/**
+	 * 集群环境下按槽位分组，并行在各主节点上删除多个键
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param keyBytes
+	 * @return
+	 */
+	private Long clusterDel(byte[][] keyBytes) {
+		List<Long> counts = executeInSlots(ClusterSlotUtils.group(keyBytes), new SlotCommand<RedisConnection, Long>() {
+
+			@Override
+			public void execute(RedisConnection connection, SlotGroup group, List<Object> replies) {
+				replies.add(connection.del(group.getKeyBytes()));
+			}
+
+			@Override
+			public Long getResult(List<Object> replies, SlotGroup group) {
+				return (Long) replies.get(0);
+			}
+		});
+		
+		long total = 0;
+		for (Long count : counts) {
+			if (count != null)
+				total += count;
+		}
+		
+		return total;
+	}
+	
+	/**
+	 * 集群环境下按槽位分组，并行在各主节点上获取多个键的值，结果按键的原始顺序合并
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param keyBytes
+	 * @return
+	 */
+	private List<byte[]> clusterMGet(byte[][] keyBytes) {
+		List<SlotGroup> groups = ClusterSlotUtils.group(keyBytes);
+		List<List<byte[]>> groupValueBytes = executeInSlots(groups, new SlotCommand<RedisConnection, List<byte[]>>() {
+
+			@Override
+			public void execute(RedisConnection connection, SlotGroup group, List<Object> replies) {
+				replies.add(connection.mGet(group.getKeyBytes()));
+			}
+
+			@SuppressWarnings("unchecked")
+			@Override
+			public List<byte[]> getResult(List<Object> replies, SlotGroup group) {
+				return (List<byte[]>) replies.get(0);
+			}
+		});
+		
+		byte[][] valueBytes = new byte[keyBytes.length][];
+		for (int i = 0; i < groups.size(); i++) {
+			int[] positions = groups.get(i).getPositions();
+			List<byte[]> values = groupValueBytes.get(i);
+			for (int j = 0; values != null && j < positions.length; j++) {
+				valueBytes[positions[j]] = values.get(j);
+			}
+		}
+		
+		return Arrays.asList(valueBytes);
+	}
+	
+	/**
+	 * 集群环境下先在各槽位内求交集(各主节点并行执行)，再在客户端合并各槽位的交集
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param keyBytes
+	 * @return
+	 */
+	private Set<byte[]> clusterSInter(byte[][] keyBytes) {
+		List<Set<byte[]>> groupMemberBytes = executeInSlots(ClusterSlotUtils.group(keyBytes), new SlotCommand<RedisConnection, Set<byte[]>>() {
+
+			@Override
+			public void execute(RedisConnection connection, SlotGroup group, List<Object> replies) {
+				replies.add(connection.sInter(group.getKeyBytes()));
+			}
+
+			@SuppressWarnings("unchecked")
+			@Override
+			public Set<byte[]> getResult(List<Object> replies, SlotGroup group) {
+				return (Set<byte[]>) replies.get(0);
+			}
+		});
+		
+		Map<ByteBuffer, byte[]> intersection = null;
+		for (Set<byte[]> memberBytes : groupMemberBytes) {
+			if (CollectionUtils.isEmpty(memberBytes))
+				return CollectionUtils.newLinkedHashSet();
+			
+			Map<ByteBuffer, byte[]> members = MapUtils.newLinkedHashMap(memberBytes.size());
+			for (byte[] memberByte : memberBytes) {
+				ByteBuffer member = ByteBuffer.wrap(memberByte);
+				if (intersection == null || intersection.containsKey(member))
+					members.put(member, memberByte);
+			}
+			
+			intersection = members;
+		}
+		
+		return CollectionUtils.newLinkedHashSet(intersection.values());
+	}
+	
+	/**
+	 * 集群环境下目标键与源键不在同一槽位时，按槽位分组并行在各主节点上读取源键的所有成员，
+	 * 在客户端按权重和聚合方式计算并集后写入目标键。注意：读取与写入为非原子性操作
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param dbName
+	 * @param destKeyByte
+	 * @param keyBytes
+	 * @param option
+	 * @param expireSeconds
+	 * @return
+	 */
+	private Long clusterZUnionStore(final String dbName, final byte[] destKeyByte, byte[][] keyBytes, 
+			ZStoreOptional option, final long expireSeconds) {
+		
+		List<SlotGroup> groups = ClusterSlotUtils.group(keyBytes);
+		List<List<Set<Tuple>>> groupTuples = executeInSlots(groups, new SlotCommand<RedisConnection, List<Set<Tuple>>>() {
+
+			@Override
+			public void execute(RedisConnection connection, SlotGroup group, List<Object> replies) {
+				for (byte[] keyByte : group.getKeyBytes()) {
+					replies.add(connection.zRangeWithScores(keyByte, 0, -1));
+				}
+			}
+
+			@SuppressWarnings("unchecked")
+			@Override
+			public List<Set<Tuple>> getResult(List<Object> replies, SlotGroup group) {
+				List<Set<Tuple>> tuples = CollectionUtils.newArrayList(replies.size());
+				for (Object reply : replies) {
+					tuples.add((Set<Tuple>) reply);
+				}
+				
+				return tuples;
+			}
+		});
+		
+		@SuppressWarnings("unchecked")
+		Set<Tuple>[] keyTuples = new Set[keyBytes.length];
+		for (int i = 0; i < groups.size(); i++) {
+			int[] positions = groups.get(i).getPositions();
+			for (int j = 0; j < positions.length; j++) {
+				keyTuples[positions[j]] = groupTuples.get(i).get(j);
+			}
+		}
+		
+		int[] weights = (option != null ? option.getWeights() : null);
+		ZStoreAggregate aggregate = (option != null && option.getAggregate() != null ? option.getAggregate() : ZStoreAggregate.SUM);
+		Map<ByteBuffer, Double> scores = MapUtils.newLinkedHashMap();
+		for (int i = 0; i < keyTuples.length; i++) {
+			if (CollectionUtils.isEmpty(keyTuples[i]))
+				continue;
+			
+			int weight = (weights != null && i < weights.length ? weights[i] : 1);
+			for (Tuple tuple : keyTuples[i]) {
+				ByteBuffer member = ByteBuffer.wrap(tuple.getValue());
+				double score = tuple.getScore() * weight;
+				Double current = scores.get(member);
+				if (current == null)
+					scores.put(member, score);
+				else if (aggregate == ZStoreAggregate.MIN)
+					scores.put(member, Math.min(current, score));
+				else if (aggregate == ZStoreAggregate.MAX)
+					scores.put(member, Math.max(current, score));
+				else
+					scores.put(member, current + score);
+			}
+		}
+		
+		final Set<Tuple> tuples = CollectionUtils.newLinkedHashSet(scores.size());
+		for (Entry<ByteBuffer, Double> entry : scores.entrySet()) {
+			tuples.add(new DefaultTuple(entry.getKey().array(), entry.getValue()));
+		}
+		
+		return execute(dbName, new RedisCallback<Long>() {
+
+			@Override
+			public Long doInRedis(RedisConnection connection) throws DataAccessException {
+				RedisRepository repository = select(connection, dbName);
+				long expireTime = getExpireSeconds(expireSeconds, repository);
+				
+				connection.del(destKeyByte);
+				if (tuples.isEmpty())
+					return 0L;
+				
+				Long count = connection.zAdd(destKeyByte, tuples);
+				if (expireTime > 0 && count != null && count > 0)
+					setExpireTime(connection, destKeyByte, expireTime);
+				
+				return count;
+			}
+		});
+	}
+	
+	/**
+	 * 判断目标键与所有源键是否位于同一槽位
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param destKeyByte
+	 * @param keyBytes
+	 * @return
+	 */
+	private boolean isSameSlot(byte[] destKeyByte, byte[][] keyBytes) {
+		int slot = ClusterSlotUtils.slot(destKeyByte);
+		for (byte[] keyByte : keyBytes) {
+			if (ClusterSlotUtils.slot(keyByte) != slot)
+				return false;
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * 判断所有键是否位于同一槽位
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param keyBytes
+	 * @return
+	 */
+	private boolean isSameSlot(Set<byte[]> keyBytes) {
+		int slot = -1;
+		for (byte[] keyByte : keyBytes) {
+			int keySlot = ClusterSlotUtils.slot(keyByte);
+			if (slot != -1 && keySlot != slot)
+				return false;
+			
+			slot = keySlot;
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * 将多个键值转换为脚本的键和参数，格式为：键列表 + 过期秒数 + 值列表
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param keyValueBytes
+	 * @param expireTime
+	 * @return
+	 */
+	private byte[][] toScriptKeysAndArgs(Map<byte[], byte[]> keyValueBytes, long expireTime) {
+		int size = keyValueBytes.size();
+		byte[][] keysAndArgs = new byte[size * 2 + 1][];
+		keysAndArgs[size] = serializeExpireTime(expireTime);
+		
+		int index = 0;
+		for (Entry<byte[], byte[]> keyValueByte : keyValueBytes.entrySet()) {
+			keysAndArgs[index] = keyValueByte.getKey();
+			keysAndArgs[size + 1 + index] = keyValueByte.getValue();
+			index++;
+		}
+		
+		return keysAndArgs;
+	}
+	
+	/**
+	 * 将键及其哈希键值转换为脚本的键和参数，格式为：键 + 过期秒数 + 哈希键值对
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param keyByte
+	 * @param expireTime
+	 * @param hashKeyValueBytes
+	 * @return
+	 */
+	private byte[][] toScriptKeyAndArgs(byte[] keyByte, long expireTime, Map<byte[], byte[]> hashKeyValueBytes) {
+		byte[][] keyAndArgs = new byte[hashKeyValueBytes.size() * 2 + 2][];
+		keyAndArgs[0] = keyByte;
+		keyAndArgs[1] = serializeExpireTime(expireTime);
+		
+		int index = 2;
+		for (Entry<byte[], byte[]> hashKeyValueByte : hashKeyValueBytes.entrySet()) {
+			keyAndArgs[index++] = hashKeyValueByte.getKey();
+			keyAndArgs[index++] = hashKeyValueByte.getValue();
+		}
+		
+		return keyAndArgs;
+	}
+	
+	/**
+	 * 将键及其成员转换为脚本的键和参数，格式为：键 + 过期秒数 + 成员列表
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param keyByte
+	 * @param expireTime
+	 * @param memberBytes
+	 * @return
+	 */
+	private byte[][] toScriptKeyAndArgs(byte[] keyByte, long expireTime, byte[][] memberBytes) {
+		byte[][] keyAndArgs = new byte[memberBytes.length + 2][];
+		keyAndArgs[0] = keyByte;
+		keyAndArgs[1] = serializeExpireTime(expireTime);
+		System.arraycopy(memberBytes, 0, keyAndArgs, 2, memberBytes.length);
+		return keyAndArgs;
+	}
+	
+	/**
+	 * 将键及其分数成员转换为脚本的键和参数，格式为：键 + 过期秒数 + 分数成员对
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param keyByte
+	 * @param expireTime
+	 * @param tuples
+	 * @return
+	 */
+	private byte[][] toScriptKeyAndArgs(byte[] keyByte, long expireTime, Set<Tuple> tuples) {
+		byte[][] keyAndArgs = new byte[tuples.size() * 2 + 2][];
+		keyAndArgs[0] = keyByte;
+		keyAndArgs[1] = serializeExpireTime(expireTime);
+		
+		int index = 2;
+		for (Tuple tuple : tuples) {
+			keyAndArgs[index++] = stringSerializer.serialize(String.valueOf(tuple.getScore()));
+			keyAndArgs[index++] = tuple.getValue();
+		}
+		
+		return keyAndArgs;
+	}
 
 }
@@ -0,0 +1,470 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.nosql.redis.spring;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.sniper.commons.util.ArrayUtils;
+import org.sniper.commons.util.AssertUtils;
+import org.sniper.commons.util.CollectionUtils;
+import org.sniper.nosql.redis.command.RedisPipelineSupport;
+import org.sniper.nosql.redis.command.RedisResponse;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+
+/**
+ * Spring Redis管道实现类。</P>
+ * 队列中的命令在sync()时通过同一个连接的Jedis原生管道发送，select命令也在管道中发送，因此整个过程只需一次网络往返。
+ * 每个命令都持有各自的原生响应，即使其中的状态命令(例如set)执行失败，其余命令的结果也不会错位；
+ * 集群环境下或连接不是Jedis连接时不使用管道，此时命令将在同一个连接上依次执行
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class SpringRedisPipeline extends RedisPipelineSupport {
+	
+	private final SpringRedisSupport springRedisSupport;
+	
+	/** 排队中的命令 */
+	private final List<PipelineCommand> commands = CollectionUtils.newArrayList();
+	
+	public SpringRedisPipeline(SpringRedisSupport springRedisSupport, String dbName) {
+		super(springRedisSupport, dbName);
+		this.springRedisSupport = springRedisSupport;
+	}
+
+	@Override
+	public <K> RedisResponse<Boolean> expire(K key, long seconds) {
+		AssertUtils.assertNotNull(key, "Key must not be null for command [expire]");
+		
+		byte[] keyByte = serializeKey(key);
+		onWrite(keyByte);
+		return queueExpire(keyByte, seconds);
+	}
+
+	@Override
+	public <K> RedisResponse<Boolean> pExpire(K key, final long millis) {
+		AssertUtils.assertNotNull(key, "Key must not be null for command [pExpire]");
+		
+		final byte[] keyByte = serializeKey(key);
+		onWrite(keyByte);
+		commands.add(new PipelineCommand() {
+
+			@Override
+			public Object execute(RedisConnection connection) {
+				return connection.pExpire(keyByte, millis);
+			}
+
+			@Override
+			public Response<?> execute(Pipeline pipeline) {
+				return pipeline.pexpire(keyByte, millis);
+			}
+		});
+		
+		return queueBoolean();
+	}
+
+	@Override
+	public <K> RedisResponse<Long> del(K[] keys) {
+		AssertUtils.assertTrue(ArrayUtils.isNotEmpty(keys), "Keys must not be empty for command [del]");
+		
+		final byte[][] keyBytes = new byte[keys.length][];
+		for (int i = 0; i < keys.length; i++) {
+			AssertUtils.assertNotNull(keys[i], "Key must not be null for command [del]");
+			keyBytes[i] = serializeKey(keys[i]);
+			onWrite(keyBytes[i]);
+		}
+		
+		commands.add(new PipelineCommand() {
+
+			@Override
+			public Object execute(RedisConnection connection) {
+				return connection.del(keyBytes);
+			}
+
+			@Override
+			public Response<?> execute(Pipeline pipeline) {
+				return pipeline.del(keyBytes);
+			}
+		});
+		
+		return queueLong();
+	}
+
+	@Override
+	public <K, V> RedisResponse<Void> set(K key, V value, long expireSeconds) {
+		AssertUtils.assertNotNull(key, "Key must not be null for command [set]");
+		AssertUtils.assertNotNull(value, "Value must not be null for command [set]");
+		
+		final byte[] keyByte = serializeKey(key);
+		final byte[] valueByte = serializeValue(value);
+		final long expireTime = getExpireSeconds(expireSeconds);
+		onWrite(keyByte);
+		commands.add(new PipelineCommand() {
+
+			@Override
+			public Object execute(RedisConnection connection) {
+				if (expireTime > 0)
+					connection.setEx(keyByte, expireTime, valueByte);
+				else
+					connection.set(keyByte, valueByte);
+				
+				return null;
+			}
+
+			@Override
+			public Response<?> execute(Pipeline pipeline) {
+				return expireTime > 0 ? pipeline.setex(keyByte, (int) expireTime, valueByte) : pipeline.set(keyByte, valueByte);
+			}
+		});
+		
+		return queueStatus();
+	}
+
+	@Override
+	public <K, V> RedisResponse<Void> mSet(Map<K, V> keyValues, long expireSeconds) {
+		AssertUtils.assertNotEmpty(keyValues, "Key values must not be empty for command [mSet]");
+		
+		final Map<byte[], byte[]> keyValueBytes = serializeKeyValues(keyValues);
+		final byte[][] keysValues = new byte[keyValueBytes.size() * 2][];
+		int index = 0;
+		for (Entry<byte[], byte[]> entry : keyValueBytes.entrySet()) {
+			onWrite(entry.getKey());
+			keysValues[index++] = entry.getKey();
+			keysValues[index++] = entry.getValue();
+		}
+		
+		commands.add(new PipelineCommand() {
+
+			@Override
+			public Object execute(RedisConnection connection) {
+				connection.mSet(keyValueBytes);
+				return null;
+			}
+
+			@Override
+			public Response<?> execute(Pipeline pipeline) {
+				return pipeline.mset(keysValues);
+			}
+		});
+		
+		RedisResponse<Void> response = queueStatus();
+		long expireTime = getExpireSeconds(expireSeconds);
+		if (expireTime > 0) {
+			// 过期命令与mSet在同一次管道往返中发送，其结果不单独返回给调用方
+			Set<byte[]> keyBytes = keyValueBytes.keySet();
+			for (byte[] keyByte : keyBytes) {
+				queueExpire(keyByte, expireTime);
+			}
+		}
+		
+		return response;
+	}
+
+	@Override
+	public <K, V> RedisResponse<V> get(K key, Class<V> valueType) {
+		AssertUtils.assertNotNull(key, "Key must not be null for command [get]");
+		
+		final byte[] keyByte = serializeKey(key);
+		commands.add(new PipelineCommand() {
+
+			@Override
+			public Object execute(RedisConnection connection) {
+				return connection.get(keyByte);
+			}
+
+			@Override
+			public Response<?> execute(Pipeline pipeline) {
+				return pipeline.get(keyByte);
+			}
+		});
+		
+		return queueValue(valueType);
+	}
+
+	@Override
+	public <K> RedisResponse<Long> incrBy(K key, final long value) {
+		AssertUtils.assertNotNull(key, "Key must not be null for command [incrBy]");
+		
+		final byte[] keyByte = serializeKey(key);
+		onWrite(keyByte);
+		commands.add(new PipelineCommand() {
+
+			@Override
+			public Object execute(RedisConnection connection) {
+				return connection.incrBy(keyByte, value);
+			}
+
+			@Override
+			public Response<?> execute(Pipeline pipeline) {
+				return pipeline.incrBy(keyByte, value);
+			}
+		});
+		
+		return queueLong();
+	}
+
+	@Override
+	public <K, H, V> RedisResponse<Boolean> hSet(K key, H hashKey, V value, long expireSeconds) {
+		AssertUtils.assertNotNull(key, "Key must not be null for command [hSet]");
+		AssertUtils.assertNotNull(hashKey, "Hash key must not be null for command [hSet]");
+		AssertUtils.assertNotNull(value, "Value must not be null for command [hSet]");
+		
+		final byte[] keyByte = serializeKey(key);
+		final byte[] hashKeyByte = serializeHashKey(hashKey);
+		final byte[] hashValueByte = serializeHashValue(value);
+		onWrite(keyByte);
+		commands.add(new PipelineCommand() {
+
+			@Override
+			public Object execute(RedisConnection connection) {
+				return connection.hSet(keyByte, hashKeyByte, hashValueByte);
+			}
+
+			@Override
+			public Response<?> execute(Pipeline pipeline) {
+				return pipeline.hset(keyByte, hashKeyByte, hashValueByte);
+			}
+		});
+		
+		RedisResponse<Boolean> response = queueBoolean();
+		long expireTime = getExpireSeconds(expireSeconds);
+		if (expireTime > 0)
+			queueExpire(keyByte, expireTime);
+		
+		return response;
+	}
+
+	@Override
+	public <K, H, V> RedisResponse<V> hGet(K key, H hashKey, Class<V> valueType) {
+		AssertUtils.assertNotNull(key, "Key must not be null for command [hGet]");
+		AssertUtils.assertNotNull(hashKey, "Hash key must not be null for command [hGet]");
+		
+		final byte[] keyByte = serializeKey(key);
+		final byte[] hashKeyByte = serializeHashKey(hashKey);
+		commands.add(new PipelineCommand() {
+
+			@Override
+			public Object execute(RedisConnection connection) {
+				return connection.hGet(keyByte, hashKeyByte);
+			}
+
+			@Override
+			public Response<?> execute(Pipeline pipeline) {
+				return pipeline.hget(keyByte, hashKeyByte);
+			}
+		});
+		
+		return queueHashValue(valueType);
+	}
+
+	@Override
+	public <K, V> RedisResponse<Boolean> zAdd(K key, final double score, V member, long expireSeconds) {
+		AssertUtils.assertNotNull(key, "Key must not be null for command [zAdd]");
+		AssertUtils.assertNotNull(member, "Member must not be null for command [zAdd]");
+		
+		final byte[] keyByte = serializeKey(key);
+		final byte[] memberByte = serializeValue(member);
+		onWrite(keyByte);
+		commands.add(new PipelineCommand() {
+
+			@Override
+			public Object execute(RedisConnection connection) {
+				return connection.zAdd(keyByte, score, memberByte);
+			}
+
+			@Override
+			public Response<?> execute(Pipeline pipeline) {
+				return pipeline.zadd(keyByte, score, memberByte);
+			}
+		});
+		
+		RedisResponse<Boolean> response = queueBoolean();
+		long expireTime = getExpireSeconds(expireSeconds);
+		if (expireTime > 0)
+			queueExpire(keyByte, expireTime);
+		
+		return response;
+	}
+
+	@Override
+	public void sync() {
+		if (commands.isEmpty())
+			return;
+		
+		final List<PipelineCommand> queued = CollectionUtils.newArrayList(commands);
+		commands.clear();
+		
+		List<Object> results;
+		try {
+			results = springRedisSupport.execute(dbName, new RedisCallback<List<Object>>() {
+
+				@Override
+				public List<Object> doInRedis(RedisConnection connection) throws DataAccessException {
+					Object nativeConnection = connection.getNativeConnection();
+					if (!springRedisSupport.isCluster() && nativeConnection instanceof Jedis && !connection.isQueueing())
+						return executePipelined(connection, (Jedis) nativeConnection, queued);
+					
+					return execute(connection, queued);
+				}
+			});
+		} catch (RuntimeException e) {
+			fail(e);
+			throw e;
+		}
+		
+		complete(results);
+	}
+	
+	/**
+	 * 写命令进入队列时的回调，默认不做任何处理
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param keyByte 被写入的键
+	 */
+	protected void onWrite(byte[] keyByte) {
+	}
+	
+	/**
+	 * 以Jedis原生管道的方式执行排队中的命令，每个命令对应一个结果，单个命令的执行异常将作为其对应的结果返回。
+	 * 管道中的select命令执行失败时，后续的命令可能已在错误的库上执行，因此所有命令都以select的异常作为结果
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param connection
+	 * @param jedis
+	 * @param queued
+	 * @return
+	 */
+	private List<Object> executePipelined(RedisConnection connection, Jedis jedis, List<PipelineCommand> queued) {
+		Pipeline pipeline = jedis.pipelined();
+		Integer dbIndex = springRedisSupport.getSelectDbIndex(connection, dbName);
+		Response<?> select = (dbIndex != null ? pipeline.select(dbIndex) : null);
+		
+		List<Response<?>> responses = CollectionUtils.newArrayList(queued.size());
+		for (PipelineCommand command : queued) {
+			responses.add(command.execute(pipeline));
+		}
+		pipeline.sync();
+		
+		List<Object> results = CollectionUtils.newArrayList(queued.size());
+		Object selectError = (select != null ? getResult(select) : null);
+		if (selectError instanceof RuntimeException) {
+			for (int i = 0; i < queued.size(); i++) {
+				results.add(selectError);
+			}
+		} else {
+			for (Response<?> response : responses) {
+				results.add(getResult(response));
+			}
+		}
+		
+		return results;
+	}
+	
+	/**
+	 * 在同一个连接上依次执行排队中的命令，状态命令对应的结果为null
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param connection
+	 * @param queued
+	 * @return
+	 */
+	private List<Object> execute(RedisConnection connection, List<PipelineCommand> queued) {
+		springRedisSupport.select(connection, dbName);
+		List<Object> results = CollectionUtils.newArrayList(queued.size());
+		for (PipelineCommand command : queued) {
+			try {
+				results.add(command.execute(connection));
+			} catch (RuntimeException e) {
+				results.add(e);
+			}
+		}
+		
+		return results;
+	}
+	
+	/**
+	 * 获取原生响应的结果，命令执行失败时返回转换后的异常
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param response
+	 * @return
+	 */
+	private Object getResult(Response<?> response) {
+		try {
+			return response.get();
+		} catch (RuntimeException e) {
+			DataAccessException translated = springRedisSupport.getRedisTemplate().getConnectionFactory().translateExceptionIfPossible(e);
+			return translated != null ? translated : e;
+		}
+	}
+	
+	/**
+	 * 排队一个expire命令
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param keyByte
+	 * @param seconds
+	 * @return
+	 */
+	private RedisResponse<Boolean> queueExpire(final byte[] keyByte, final long seconds) {
+		commands.add(new PipelineCommand() {
+
+			@Override
+			public Object execute(RedisConnection connection) {
+				return connection.expire(keyByte, seconds);
+			}
+
+			@Override
+			public Response<?> execute(Pipeline pipeline) {
+				// 秒数超过int范围时按毫秒设置，与Spring的Jedis连接的处理方式一致
+				return seconds > Integer.MAX_VALUE ? pipeline.pexpire(keyByte, seconds * 1000) : pipeline.expire(keyByte, (int) seconds);
+			}
+		});
+		
+		return queueBoolean();
+	}
+	
+	/**
+	 * 管道中的命令，既可以在连接上直接执行，也可以在Jedis原生管道中发送
+	 * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @version 1.0
+	 */
+	private interface PipelineCommand {
+		
+		/**
+		 * 在连接上直接执行命令并返回结果
+		 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+		 * @param connection
+		 * @return
+		 */
+		public Object execute(RedisConnection connection);
+		
+		/**
+		 * 在Jedis原生管道中发送命令并返回其响应
+		 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+		 * @param pipeline
+		 * @return
+		 */
+		public Response<?> execute(Pipeline pipeline);
+	}
+	
+}
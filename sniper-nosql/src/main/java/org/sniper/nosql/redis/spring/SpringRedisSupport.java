@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 import org.sniper.beans.PropertyUtils;
 import org.sniper.commons.util.CollectionUtils;
@@ -31,7 +32,10 @@ import org.sniper.commons.util.MapUtils;
 import org.sniper.commons.util.ReflectionUtils;
 import org.sniper.commons.util.StringUtils;
 import org.sniper.nosql.redis.RedisRepository;
+import org.sniper.nosql.redis.cluster.SlotCommand;
+import org.sniper.nosql.redis.cluster.SlotGroup;
 import org.sniper.nosql.redis.command.RedisSupport;
+import org.sniper.nosql.redis.connection.RedisDbIndexHolder;
 import org.sniper.nosql.redis.enums.GeoDistanceUnit;
 import org.sniper.nosql.redis.enums.ListPosition;
 import org.sniper.nosql.redis.enums.ZStoreAggregate;
@@ -50,6 +54,8 @@ import org.sniper.nosql.redis.option.SortOptional;
 import org.sniper.nosql.redis.serializer.SpringRedisSerializerProxy;
 import org.sniper.serialization.Serializer;
 import org.sniper.serialization.TypedSerializer;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.ClusterRedirectException;
 import org.springframework.data.geo.Circle;
 import org.springframework.data.geo.Distance;
 import org.springframework.data.geo.GeoResult;
@@ -58,19 +64,32 @@ import org.springframework.data.geo.Metric;
 import org.springframework.data.geo.Point;
 import org.springframework.data.redis.connection.DefaultSortParameters;
 import org.springframework.data.redis.connection.DefaultTuple;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
 import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisPipelineException;
 import org.springframework.data.redis.connection.RedisGeoCommands.DistanceUnit;
 import org.springframework.data.redis.connection.RedisGeoCommands.GeoLocation;
 import org.springframework.data.redis.connection.RedisGeoCommands.GeoRadiusCommandArgs;
 import org.springframework.data.redis.connection.RedisListCommands.Position;
 import org.springframework.data.redis.connection.RedisZSetCommands.Aggregate;
 import org.springframework.data.redis.connection.RedisZSetCommands.Tuple;
+import org.springframework.data.redis.connection.ReturnType;
 import org.springframework.data.redis.connection.SortParameters;
 import org.springframework.data.redis.connection.SortParameters.Order;
+import org.springframework.data.redis.connection.jedis.JedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.data.redis.serializer.RedisSerializer;
 
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+
 /**
  * SpringRedis支持类
  * @author  <a href="mailto:code727@gmail.com">杜斌</a>
@@ -78,6 +97,37 @@ import org.springframework.data.redis.serializer.RedisSerializer;
  */
 public abstract class SpringRedisSupport extends RedisSupport {
 	
+	/** 批量设置键值及过期时间的脚本，KEYS为键列表，ARGV[1]为过期秒数，ARGV[i + 1]为KEYS[i]的值 */
+	protected static final RedisScript<Long> MSET_EX_SCRIPT = newScript(
+			"for i = 1, #KEYS do redis.call('SET', KEYS[i], ARGV[i + 1], 'EX', ARGV[1]) end "
+			+ "return #KEYS");
+	
+	/** 所有键都不存在时批量设置键值及过期时间的脚本，参数同MSET_EX_SCRIPT */
+	protected static final RedisScript<Long> MSETNX_EX_SCRIPT = newScript(
+			"for i = 1, #KEYS do if redis.call('EXISTS', KEYS[i]) == 1 then return 0 end end "
+			+ "for i = 1, #KEYS do redis.call('SET', KEYS[i], ARGV[i + 1], 'EX', ARGV[1]) end "
+			+ "return 1");
+	
+	/** 批量设置哈希键值及过期时间的脚本，KEYS[1]为键，ARGV[1]为过期秒数，其余参数为哈希键值对 */
+	protected static final RedisScript<Long> HMSET_EX_SCRIPT = newScript(
+			"for i = 2, #ARGV, 2 do redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1]) end "
+			+ "redis.call('EXPIRE', KEYS[1], ARGV[1]) "
+			+ "return 1");
+	
+	/** 添加集合成员，有新成员时设置过期时间的脚本，KEYS[1]为键，ARGV[1]为过期秒数，其余参数为成员 */
+	protected static final RedisScript<Long> SADD_EX_SCRIPT = newScript(
+			"local count = 0 "
+			+ "for i = 2, #ARGV do count = count + redis.call('SADD', KEYS[1], ARGV[i]) end "
+			+ "if count > 0 then redis.call('EXPIRE', KEYS[1], ARGV[1]) end "
+			+ "return count");
+	
+	/** 添加有序集合成员，有新成员时设置过期时间的脚本，KEYS[1]为键，ARGV[1]为过期秒数，其余参数为分数成员对 */
+	protected static final RedisScript<Long> ZADD_EX_SCRIPT = newScript(
+			"local count = 0 "
+			+ "for i = 2, #ARGV, 2 do count = count + redis.call('ZADD', KEYS[1], ARGV[i], ARGV[i + 1]) end "
+			+ "if count > 0 then redis.call('EXPIRE', KEYS[1], ARGV[1]) end "
+			+ "return count");
+	
 	private RedisTemplate<?, ?> redisTemplate;
 	
 	public RedisTemplate<?, ?> getRedisTemplate() {
@@ -145,15 +195,301 @@ public abstract class SpringRedisSupport extends RedisSupport {
 			return null;
 		
 		RedisRepository redisRepository = repositoryManager.getRepository(dbName);
-		if (redisRepository != null) {
-			int dbIndex = redisRepository.getDbIndex();
-			if (dbIndex != this.defaultDbIndex && !isCluster())
-				// 非集群环境下select命令才能被执行
-				connection.select(dbIndex);
-		}
+		if (redisRepository != null && needSelect(connection, redisRepository.getDbIndex()))
+			connection.select(redisRepository.getDbIndex());
 		
 		return redisRepository;
 	}
+	
+	/**
+	 * 获取在连接上执行指定库的命令之前需要选择的库索引，不需要选择时返回null
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param connection
+	 * @param dbName
+	 * @return
+	 */
+	protected Integer getSelectDbIndex(RedisConnection connection, String dbName) {
+		RedisRepository redisRepository = (repositoryManager != null ? repositoryManager.getRepository(dbName) : null);
+		return redisRepository != null && needSelect(connection, redisRepository.getDbIndex()) ? redisRepository.getDbIndex() : null;
+	}
+	
+	/**
+	 * 判断是否需要在连接上选择指定的库
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param connection
+	 * @param dbIndex
+	 * @return
+	 */
+	private boolean needSelect(RedisConnection connection, int dbIndex) {
+		// 非集群环境下select命令才能被执行，连接已位于该库时(例如从固定库的连接池中获取)不再发送select命令
+		return dbIndex != this.defaultDbIndex && !isCluster() && !isSelected(connection, dbIndex);
+	}
+	
+	/**
+	 * 在指定库对应的路由上执行回调，连接工厂开启了固定库的连接池时，将从该库的连接池中获取连接
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param dbName
+	 * @param action
+	 * @return
+	 */
+	protected <T> T execute(String dbName, RedisCallback<T> action) {
+		Integer dbIndex = routeDbIndex(dbName);
+		if (dbIndex == null)
+			return this.redisTemplate.execute(action);
+		
+		Integer previous = RedisDbIndexHolder.setDbIndex(dbIndex);
+		try {
+			return this.redisTemplate.execute(action);
+		} finally {
+			RedisDbIndexHolder.setDbIndex(previous);
+		}
+	}
+	
+	/**
+	 * 集群环境下在各槽位上执行命令。槽位组先按负责的主节点归并，每个主节点只获取一个连接，
+	 * 并在该连接的管道中一次性发送其所有槽位的命令，不同主节点之间并行执行。返回结果的顺序与槽位组的顺序一致
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param groups
+	 * @param command
+	 * @return
+	 */
+	protected <T> List<T> executeInSlots(List<SlotGroup> groups, final SlotCommand<RedisConnection, T> command) {
+		Map<JedisPool, List<SlotGroup>> nodeGroups = groupByNode(groups);
+		List<List<SlotGroup>> nodeGroupList = CollectionUtils.newArrayList(nodeGroups.size());
+		List<Callable<List<T>>> tasks = CollectionUtils.newArrayList(nodeGroups.size());
+		for (final Entry<JedisPool, List<SlotGroup>> entry : nodeGroups.entrySet()) {
+			nodeGroupList.add(entry.getValue());
+			tasks.add(new Callable<List<T>>() {
+
+				@Override
+				public List<T> call() throws Exception {
+					return executeInNode(entry.getKey(), entry.getValue(), command);
+				}
+			});
+		}
+		
+		List<List<T>> nodeResults = executeInParallel(tasks);
+		Map<SlotGroup, T> groupResults = MapUtils.newHashMap(groups.size());
+		for (int i = 0; i < nodeGroupList.size(); i++) {
+			List<SlotGroup> currentGroups = nodeGroupList.get(i);
+			for (int j = 0; j < currentGroups.size(); j++) {
+				groupResults.put(currentGroups.get(j), nodeResults.get(i).get(j));
+			}
+		}
+		
+		List<T> results = CollectionUtils.newArrayList(groups.size());
+		for (SlotGroup group : groups) {
+			results.add(groupResults.get(group));
+		}
+		
+		return results;
+	}
+	
+	/**
+	 * 将槽位组按负责的主节点分组，键为主节点的连接池。
+	 * 无法获取主节点的连接池时(例如非Jedis集群连接)，对应的槽位组将归入键为null的组
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param groups
+	 * @return
+	 */
+	private Map<JedisPool, List<SlotGroup>> groupByNode(final List<SlotGroup> groups) {
+		return this.redisTemplate.execute(new RedisCallback<Map<JedisPool, List<SlotGroup>>>() {
+
+			@Override
+			public Map<JedisPool, List<SlotGroup>> doInRedis(RedisConnection connection) throws DataAccessException {
+				Object nativeConnection = connection.getNativeConnection();
+				Map<String, JedisPool> nodePools = (connection instanceof RedisClusterConnection && nativeConnection instanceof JedisCluster) 
+						? ((JedisCluster) nativeConnection).getClusterNodes() : null;
+				
+				Map<JedisPool, List<SlotGroup>> nodeGroups = MapUtils.newLinkedHashMap();
+				for (SlotGroup group : groups) {
+					JedisPool pool = null;
+					if (nodePools != null) {
+						RedisClusterNode node = ((RedisClusterConnection) connection).clusterGetNodeForSlot(group.getSlot());
+						if (node != null)
+							pool = nodePools.get(node.getHost() + ":" + node.getPort());
+					}
+					
+					List<SlotGroup> currentGroups = nodeGroups.get(pool);
+					if (currentGroups == null) {
+						currentGroups = CollectionUtils.newArrayList();
+						nodeGroups.put(pool, currentGroups);
+					}
+					
+					currentGroups.add(group);
+				}
+				
+				return nodeGroups;
+			}
+		});
+	}
+	
+	/**
+	 * 在主节点上执行多个槽位组的命令，连接池为null或无法连接到主节点(例如故障转移期间)时逐个命令地在集群连接上执行
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param pool
+	 * @param groups
+	 * @param command
+	 * @return
+	 */
+	private <T> List<T> executeInNode(JedisPool pool, List<SlotGroup> groups, SlotCommand<RedisConnection, T> command) {
+		if (pool == null)
+			return executeInCluster(groups, command);
+		
+		JedisConnection connection;
+		try {
+			connection = new JedisConnection(pool.getResource(), pool, 0);
+		} catch (JedisConnectionException e) {
+			logger.warn("Failed to connect redis cluster node, execute commands in cluster connection instead", e);
+			return executeInCluster(groups, command);
+		}
+		
+		try {
+			connection.openPipeline();
+			return executeInConnection(connection, groups, command);
+		} finally {
+			try {
+				// 出现异常时读取完管道中剩余的结果，避免将有未读数据的连接归还到连接池
+				if (connection.isPipelined())
+					connection.closePipeline();
+			} catch (RuntimeException e) {
+				logger.warn("Failed to close pipeline of redis cluster node connection", e);
+			} finally {
+				connection.close();
+			}
+		}
+	}
+	
+	/**
+	 * 在集群连接上逐个命令地执行多个槽位组的命令，集群连接会跟随MOVED/ASK重定向并刷新本地的槽位缓存
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param groups
+	 * @param command
+	 * @return
+	 */
+	private <T> List<T> executeInCluster(final List<SlotGroup> groups, final SlotCommand<RedisConnection, T> command) {
+		return this.redisTemplate.execute(new RedisCallback<List<T>>() {
+
+			@Override
+			public List<T> doInRedis(RedisConnection connection) throws DataAccessException {
+				return executeInConnection(connection, groups, command);
+			}
+		});
+	}
+	
+	/**
+	 * 在连接上执行多个槽位组的命令，连接处于管道模式时，所有命令发送完后才关闭管道读取结果。
+	 * 重新分片或故障转移期间槽位可能已不在该节点上，返回重定向错误的槽位组将改为在集群连接上重新执行
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param connection
+	 * @param groups
+	 * @param command
+	 * @return
+	 */
+	private <T> List<T> executeInConnection(RedisConnection connection, List<SlotGroup> groups, SlotCommand<RedisConnection, T> command) {
+		List<Object> replies = CollectionUtils.newArrayList();
+		int[] counts = new int[groups.size()];
+		for (int i = 0; i < counts.length; i++) {
+			int before = replies.size();
+			command.execute(connection, groups.get(i), replies);
+			counts[i] = replies.size() - before;
+		}
+		
+		boolean redirected = false;
+		if (connection.isPipelined()) {
+			try {
+				replies = connection.closePipeline();
+			} catch (RedisPipelineException e) {
+				// 除重定向以外的错误仍然直接抛出
+				if (!isRedirectedOnly(e.getPipelineResult()))
+					throw e;
+				
+				replies = e.getPipelineResult();
+				redirected = true;
+			}
+		}
+		
+		List<T> results = CollectionUtils.newArrayList(counts.length);
+		List<SlotGroup> redirectedGroups = CollectionUtils.newArrayList();
+		List<Integer> redirectedIndexes = CollectionUtils.newArrayList();
+		int from = 0;
+		for (int i = 0; i < counts.length; i++) {
+			List<Object> groupReplies = replies.subList(from, from + counts[i]);
+			if (redirected && isRedirectedOnly(groupReplies)) {
+				results.add(null);
+				redirectedGroups.add(groups.get(i));
+				redirectedIndexes.add(i);
+			} else
+				results.add(command.getResult(groupReplies, groups.get(i)));
+			
+			from += counts[i];
+		}
+		
+		if (!redirectedGroups.isEmpty()) {
+			List<T> redirectedResults = executeInCluster(redirectedGroups, command);
+			for (int i = 0; i < redirectedIndexes.size(); i++) {
+				results.set(redirectedIndexes.get(i), redirectedResults.get(i));
+			}
+		}
+		
+		return results;
+	}
+	
+	/**
+	 * 判断管道中的结果是否包含重定向错误，并且不包含其他的错误
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param replies
+	 * @return
+	 */
+	private boolean isRedirectedOnly(List<Object> replies) {
+		boolean redirected = false;
+		for (Object reply : replies) {
+			if (reply instanceof ClusterRedirectException)
+				redirected = true;
+			else if (reply instanceof Throwable)
+				return false;
+		}
+		
+		return redirected;
+	}
+	
+	/**
+	 * 获取需要路由的库索引，库为默认库或集群环境下返回null
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param dbName
+	 * @return
+	 */
+	private Integer routeDbIndex(String dbName) {
+		if (repositoryManager == null || isCluster())
+			return null;
+		
+		RedisRepository redisRepository = repositoryManager.getRepository(dbName);
+		if (redisRepository == null || redisRepository.getDbIndex() == this.defaultDbIndex)
+			return null;
+		
+		return redisRepository.getDbIndex();
+	}
+	
+	/**
+	 * 判断连接当前是否已位于指定的库，无法确定时返回false
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param connection
+	 * @param dbIndex
+	 * @return
+	 */
+	private boolean isSelected(RedisConnection connection, int dbIndex) {
+		// 管道或事务中的连接无法同步获取当前库
+		if (connection.isPipelined() || connection.isQueueing())
+			return false;
+		
+		Object nativeConnection = connection.getNativeConnection();
+		if (nativeConnection instanceof Jedis) {
+			Long currentDbIndex = ((Jedis) nativeConnection).getDB();
+			return currentDbIndex != null && currentDbIndex == dbIndex;
+		}
+		
+		return false;
+	}
 			
 	/**
 	 * 设置键的过期时间
@@ -187,6 +523,94 @@ public abstract class SpringRedisSupport extends RedisSupport {
 		closePipeline(connection);
 	}
 	
+	/**
+	 * 以EVALSHA执行脚本，服务端未缓存该脚本时(例如服务端重启或执行了SCRIPT FLUSH)改用EVAL执行，
+	 * EVAL执行后服务端会缓存该脚本，后续调用仍以EVALSHA执行。</P>
+	 * 集群环境下Spring的集群连接不支持脚本命令，此时通过JedisCluster将脚本发送到键所在槽的节点上执行，
+	 * 因此脚本涉及的所有键必须位于同一个槽
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param connection
+	 * @param script
+	 * @param numKeys
+	 * @param keysAndArgs
+	 * @return
+	 */
+	protected Long evalScript(RedisConnection connection, RedisScript<Long> script, int numKeys, byte[]... keysAndArgs) {
+		Object nativeConnection = connection.getNativeConnection();
+		if (isCluster() && nativeConnection instanceof JedisCluster) 
+			return evalScript((JedisCluster) nativeConnection, script, numKeys, keysAndArgs);
+		
+		try {
+			return connection.evalSha(script.getSha1(), ReturnType.INTEGER, numKeys, keysAndArgs);
+		} catch (RuntimeException e) {
+			if (!isNoScriptError(e))
+				throw e;
+			
+			return connection.eval(stringSerializer.serialize(script.getScriptAsString()), ReturnType.INTEGER, numKeys, keysAndArgs);
+		}
+	}
+	
+	/**
+	 * 通过JedisCluster在键所在槽的节点上执行脚本
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param jedisCluster
+	 * @param script
+	 * @param numKeys
+	 * @param keysAndArgs
+	 * @return
+	 */
+	private Long evalScript(JedisCluster jedisCluster, RedisScript<Long> script, int numKeys, byte[]... keysAndArgs) {
+		try {
+			try {
+				return (Long) jedisCluster.evalsha(stringSerializer.serialize(script.getSha1()), numKeys, keysAndArgs);
+			} catch (RuntimeException e) {
+				if (!isNoScriptError(e))
+					throw e;
+				
+				return (Long) jedisCluster.eval(stringSerializer.serialize(script.getScriptAsString()), numKeys, keysAndArgs);
+			}
+		} catch (RuntimeException e) {
+			DataAccessException translated = redisTemplate.getConnectionFactory().translateExceptionIfPossible(e);
+			throw translated != null ? translated : e;
+		}
+	}
+	
+	/**
+	 * 将过期秒数序列化为脚本参数
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param expireTime
+	 * @return
+	 */
+	protected byte[] serializeExpireTime(long expireTime) {
+		return stringSerializer.serialize(String.valueOf(expireTime));
+	}
+	
+	/**
+	 * 判断异常是否由服务端未缓存脚本引起
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param e
+	 * @return
+	 */
+	private static boolean isNoScriptError(Throwable e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			String message = cause.getMessage();
+			if (message != null && message.contains("NOSCRIPT"))
+				return true;
+			
+			if (cause.getCause() == cause)
+				break;
+		}
+		
+		return false;
+	}
+	
+	private static RedisScript<Long> newScript(String scriptText) {
+		DefaultRedisScript<Long> script = new DefaultRedisScript<Long>();
+		script.setScriptText(scriptText);
+		script.setResultType(Long.class);
+		return script;
+	}
+	
 	/**
 	 * 将ListPosition枚举转换为Spring的列表位置枚举
 	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.nosql.test;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.sniper.nosql.redis.cluster.ClusterSlotUtils;
+import org.sniper.nosql.redis.cluster.SlotGroup;
+import org.sniper.test.junit.BaseTestCase;
+
+/**
+ * 集群槽位工具单元测试类
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class ClusterSlotUtilsTest extends BaseTestCase {
+	
+	@Test
+	public void testSlot() {
+		// 与CLUSTER KEYSLOT命令的结果一致
+		assertEquals(12739, ClusterSlotUtils.slot("123456789".getBytes()));
+		assertEquals(5474, ClusterSlotUtils.slot("user".getBytes()));
+		assertEquals(ClusterSlotUtils.slot("user".getBytes()), ClusterSlotUtils.slot("{user}.following".getBytes()));
+		
+		// 空标签时计算整个键
+		assertNotEquals(ClusterSlotUtils.slot("user".getBytes()), ClusterSlotUtils.slot("{}user".getBytes()));
+	}
+	
+	@Test
+	public void testHashTag() {
+		String[] keys = ClusterSlotUtils.hashTags("order:1", "items", "payments");
+		assertEquals("{order:1}items", keys[0]);
+		assertTrue(ClusterSlotUtils.isSameSlot(keys[0].getBytes(), keys[1].getBytes()));
+	}
+	
+	@Test
+	public void testGroup() {
+		byte[][] keyBytes = new byte[][] { "{a}1".getBytes(), "{b}1".getBytes(), "{a}2".getBytes() };
+		List<SlotGroup> groups = ClusterSlotUtils.group(keyBytes);
+		
+		assertEquals(2, groups.size());
+		assertArrayEquals(new int[] { 0, 2 }, groups.get(0).getPositions());
+		assertArrayEquals(new int[] { 1 }, groups.get(1).getPositions());
+	}
+
+}
@@ -0,0 +1,430 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.nosql.test;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.sniper.commons.util.CollectionUtils;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+/**
+ * 单元测试使用的内存Redis服务端，只实现了测试所需的部分字符串、哈希、键及发布/订阅命令，
+ * 可以指定某个命令返回错误以模拟只读副本等场景
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class FakeRedisServer implements Closeable {
+
+	private final ServerSocket serverSocket;
+
+	/** 字符串键值，键为"库索引:键" */
+	private final Map<String, byte[]> strings = new ConcurrentHashMap<String, byte[]>();
+
+	/** 哈希键值，键为"库索引:键" */
+	private final Map<String, Map<String, byte[]>> hashes = new ConcurrentHashMap<String, Map<String, byte[]>>();
+
+	/** 命令名称与其返回的错误信息 */
+	private final Map<String, String> errors = new ConcurrentHashMap<String, String>();
+
+	/** 命令名称与其被执行的次数 */
+	private final Map<String, AtomicInteger> counts = new ConcurrentHashMap<String, AtomicInteger>();
+
+	/** 频道与订阅该频道的客户端 */
+	private final Map<String, Set<Client>> subscribers = new ConcurrentHashMap<String, Set<Client>>();
+
+	private final Set<Client> clients = new CopyOnWriteArraySet<Client>();
+
+	private volatile boolean running = true;
+
+	public FakeRedisServer() throws IOException {
+		this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+		Thread acceptor = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				accept();
+			}
+		}, "fake-redis-acceptor");
+		acceptor.setDaemon(true);
+		acceptor.start();
+	}
+
+	public int getPort() {
+		return serverSocket.getLocalPort();
+	}
+
+	/**
+	 * 创建连接到当前服务端的RedisTemplate，键值都以字符串的形式存储
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @return
+	 */
+	public RedisTemplate<String, String> newRedisTemplate() {
+		JedisConnectionFactory connectionFactory = new JedisConnectionFactory();
+		connectionFactory.setHostName(serverSocket.getInetAddress().getHostAddress());
+		connectionFactory.setPort(getPort());
+		connectionFactory.setUsePool(false);
+		connectionFactory.afterPropertiesSet();
+
+		RedisTemplate<String, String> redisTemplate = new RedisTemplate<String, String>();
+		redisTemplate.setConnectionFactory(connectionFactory);
+		redisTemplate.setKeySerializer(new StringRedisSerializer());
+		redisTemplate.setValueSerializer(new StringRedisSerializer());
+		redisTemplate.setHashKeySerializer(new StringRedisSerializer());
+		redisTemplate.setHashValueSerializer(new StringRedisSerializer());
+		redisTemplate.afterPropertiesSet();
+		return redisTemplate;
+	}
+
+	/**
+	 * 指定命令返回的错误信息，信息为null时取消错误
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @param command
+	 * @param error
+	 */
+	public void setError(String command, String error) {
+		if (error != null)
+			errors.put(command.toUpperCase(), error);
+		else
+			errors.remove(command.toUpperCase());
+	}
+
+	/**
+	 * 获取命令被执行的次数
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @param command
+	 * @return
+	 */
+	public int getCount(String command) {
+		AtomicInteger count = counts.get(command.toUpperCase());
+		return count != null ? count.get() : 0;
+	}
+
+	/**
+	 * 获取频道的订阅者个数
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @param channel
+	 * @return
+	 */
+	public int getSubscriberCount(String channel) {
+		Set<Client> clients = subscribers.get(channel);
+		return clients != null ? clients.size() : 0;
+	}
+
+	@Override
+	public void close() throws IOException {
+		running = false;
+		serverSocket.close();
+		for (Client client : clients) {
+			client.close();
+		}
+	}
+
+	private void accept() {
+		while (running) {
+			try {
+				final Client client = new Client(serverSocket.accept());
+				clients.add(client);
+				Thread worker = new Thread(new Runnable() {
+
+					@Override
+					public void run() {
+						client.serve();
+					}
+				}, "fake-redis-client");
+				worker.setDaemon(true);
+				worker.start();
+			} catch (IOException e) {
+				// 服务端已关闭
+			}
+		}
+	}
+
+	private static String toString(byte[] bytes) {
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * 客户端连接
+	 * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @version 1.0
+	 */
+	private class Client implements Closeable {
+
+		private final Socket socket;
+
+		private final InputStream input;
+
+		private final OutputStream output;
+
+		private int dbIndex;
+
+		Client(Socket socket) throws IOException {
+			this.socket = socket;
+			this.input = new BufferedInputStream(socket.getInputStream());
+			this.output = new BufferedOutputStream(socket.getOutputStream());
+		}
+
+		void serve() {
+			try {
+				List<byte[]> args;
+				while ((args = readCommand()) != null) {
+					String name = FakeRedisServer.toString(args.get(0)).toUpperCase();
+					AtomicInteger count = counts.get(name);
+					if (count == null) {
+						counts.putIfAbsent(name, new AtomicInteger());
+						count = counts.get(name);
+					}
+					count.incrementAndGet();
+
+					boolean open = true;
+					synchronized (output) {
+						String error = errors.get(name);
+						if (error != null)
+							writeError(error);
+						else
+							open = execute(name, args);
+
+						output.flush();
+					}
+
+					if (!open)
+						break;
+				}
+			} catch (IOException e) {
+				// 客户端已断开
+			} finally {
+				close();
+			}
+		}
+
+		/**
+		 * 执行命令并写入响应，返回false时关闭连接
+		 * @author <a href="mailto:code727@gmail.com">杜斌</a>
+		 * @param name
+		 * @param args
+		 * @return
+		 * @throws IOException
+		 */
+		private boolean execute(String name, List<byte[]> args) throws IOException {
+			String key = (args.size() > 1 ? dbIndex + ":" + FakeRedisServer.toString(args.get(1)) : null);
+			if ("PING".equals(name))
+				writeStatus("PONG");
+			else if ("QUIT".equals(name)) {
+				writeStatus("OK");
+				return false;
+			} else if ("SELECT".equals(name)) {
+				dbIndex = Integer.parseInt(FakeRedisServer.toString(args.get(1)));
+				writeStatus("OK");
+			} else if ("SET".equals(name)) {
+				strings.put(key, args.get(2));
+				writeStatus("OK");
+			} else if ("SETEX".equals(name)) {
+				strings.put(key, args.get(3));
+				writeStatus("OK");
+			} else if ("MSET".equals(name)) {
+				for (int i = 1; i < args.size(); i += 2) {
+					strings.put(dbIndex + ":" + FakeRedisServer.toString(args.get(i)), args.get(i + 1));
+				}
+				writeStatus("OK");
+			} else if ("GET".equals(name))
+				writeBulk(strings.get(key));
+			else if ("INCRBY".equals(name)) {
+				byte[] value = strings.get(key);
+				long result = (value != null ? Long.parseLong(FakeRedisServer.toString(value)) : 0)
+						+ Long.parseLong(FakeRedisServer.toString(args.get(2)));
+				strings.put(key, String.valueOf(result).getBytes(StandardCharsets.UTF_8));
+				writeInteger(result);
+			} else if ("HSET".equals(name)) {
+				Map<String, byte[]> hash = hashes.get(key);
+				if (hash == null) {
+					hash = new ConcurrentHashMap<String, byte[]>();
+					hashes.put(key, hash);
+				}
+				writeInteger(hash.put(FakeRedisServer.toString(args.get(2)), args.get(3)) == null ? 1 : 0);
+			} else if ("HGET".equals(name)) {
+				Map<String, byte[]> hash = hashes.get(key);
+				writeBulk(hash != null ? hash.get(FakeRedisServer.toString(args.get(2))) : null);
+			} else if ("DEL".equals(name)) {
+				long count = 0;
+				for (int i = 1; i < args.size(); i++) {
+					String deleted = dbIndex + ":" + FakeRedisServer.toString(args.get(i));
+					if (strings.remove(deleted) != null | hashes.remove(deleted) != null)
+						count++;
+				}
+				writeInteger(count);
+			} else if ("EXPIRE".equals(name) || "PEXPIRE".equals(name))
+				writeInteger(strings.containsKey(key) || hashes.containsKey(key) ? 1 : 0);
+			else if ("PTTL".equals(name) || "TTL".equals(name))
+				// 不记录过期时间，存在的键都视为永久
+				writeInteger(strings.containsKey(key) || hashes.containsKey(key) ? -1 : -2);
+			else if ("PUBLISH".equals(name))
+				writeInteger(publish(FakeRedisServer.toString(args.get(1)), args.get(2)));
+			else if ("SUBSCRIBE".equals(name)) {
+				for (int i = 1; i < args.size(); i++) {
+					String channel = FakeRedisServer.toString(args.get(i));
+					Set<Client> clients = subscribers.get(channel);
+					if (clients == null) {
+						subscribers.putIfAbsent(channel, new CopyOnWriteArraySet<Client>());
+						clients = subscribers.get(channel);
+					}
+					clients.add(this);
+					writeLength('*', 3);
+					writeBulk("subscribe".getBytes(StandardCharsets.UTF_8));
+					writeBulk(args.get(i));
+					writeInteger(i);
+				}
+			} else if ("UNSUBSCRIBE".equals(name)) {
+				for (Set<Client> clients : subscribers.values()) {
+					clients.remove(this);
+				}
+				writeLength('*', 3);
+				writeBulk("unsubscribe".getBytes(StandardCharsets.UTF_8));
+				writeBulk(args.size() > 1 ? args.get(1) : null);
+				writeInteger(0);
+			} else
+				writeError("ERR unknown command '" + name + "'");
+
+			return true;
+		}
+
+		private int publish(String channel, byte[] message) {
+			Set<Client> clients = subscribers.get(channel);
+			if (clients == null)
+				return 0;
+
+			int count = 0;
+			for (Client client : clients) {
+				try {
+					synchronized (client.output) {
+						client.writeLength('*', 3);
+						client.writeBulk("message".getBytes(StandardCharsets.UTF_8));
+						client.writeBulk(channel.getBytes(StandardCharsets.UTF_8));
+						client.writeBulk(message);
+						client.output.flush();
+					}
+					count++;
+				} catch (IOException e) {
+					clients.remove(client);
+				}
+			}
+
+			return count;
+		}
+
+		private List<byte[]> readCommand() throws IOException {
+			int type = input.read();
+			if (type == -1)
+				return null;
+			if (type != '*')
+				throw new IOException("Unsupported request type: " + (char) type);
+
+			int size = Integer.parseInt(readLine());
+			List<byte[]> args = CollectionUtils.newArrayList(size);
+			for (int i = 0; i < size; i++) {
+				if (input.read() != '$')
+					throw new IOException("Bulk string expected");
+
+				byte[] arg = new byte[Integer.parseInt(readLine())];
+				int offset = 0;
+				while (offset < arg.length) {
+					int read = input.read(arg, offset, arg.length - offset);
+					if (read == -1)
+						throw new EOFException();
+					offset += read;
+				}
+				readLine();
+				args.add(arg);
+			}
+
+			return args;
+		}
+
+		private String readLine() throws IOException {
+			StringBuilder line = new StringBuilder();
+			int b;
+			while ((b = input.read()) != '\r') {
+				if (b == -1)
+					throw new EOFException();
+				line.append((char) b);
+			}
+			input.read();
+			return line.toString();
+		}
+
+		private void writeStatus(String status) throws IOException {
+			output.write(("+" + status + "\r\n").getBytes(StandardCharsets.UTF_8));
+		}
+
+		private void writeError(String error) throws IOException {
+			output.write(("-" + error + "\r\n").getBytes(StandardCharsets.UTF_8));
+		}
+
+		private void writeInteger(long value) throws IOException {
+			output.write((":" + value + "\r\n").getBytes(StandardCharsets.UTF_8));
+		}
+
+		private void writeBulk(byte[] value) throws IOException {
+			if (value == null) {
+				output.write("$-1\r\n".getBytes(StandardCharsets.UTF_8));
+				return;
+			}
+
+			writeLength('$', value.length);
+			output.write(value);
+			output.write("\r\n".getBytes(StandardCharsets.UTF_8));
+		}
+
+		private void writeLength(char type, int length) throws IOException {
+			output.write((type + String.valueOf(length) + "\r\n").getBytes(StandardCharsets.UTF_8));
+		}
+
+		@Override
+		public void close() {
+			clients.remove(this);
+			for (Set<Client> clients : subscribers.values()) {
+				clients.remove(this);
+			}
+
+			try {
+				socket.close();
+			} catch (IOException e) {
+				// 忽略关闭异常
+			}
+		}
+	}
+
+}
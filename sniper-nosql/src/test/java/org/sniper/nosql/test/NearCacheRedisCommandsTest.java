@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.nosql.test;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sniper.nosql.redis.spring.NearCacheRedisCommands;
+import org.sniper.test.junit.BaseTestCase;
+
+/**
+ * 近端缓存Redis命令单元测试类，使用内存Redis服务端验证读缓存、写失效以及跨实例的失效广播
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class NearCacheRedisCommandsTest extends BaseTestCase {
+
+	private static final long TIMEOUT_MILLIS = 5000;
+
+	private FakeRedisServer server;
+
+	private NearCacheRedisCommands redisCommands;
+
+	private NearCacheRedisCommands otherRedisCommands;
+
+	@Before
+	public void init() throws Exception {
+		server = new FakeRedisServer();
+		redisCommands = newRedisCommands();
+		otherRedisCommands = newRedisCommands();
+
+		// 订阅线程在订阅前会清空本地缓存，因此等待两个实例都订阅完成后再开始测试
+		long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+		while (server.getSubscriberCount(NearCacheRedisCommands.DEFAULT_INVALIDATION_CHANNEL) < 2) {
+			assertTrue("Near cache invalidation subscription timeout", System.currentTimeMillis() < deadline);
+			Thread.sleep(10);
+		}
+	}
+
+	@After
+	public void destroy() throws Exception {
+		redisCommands.destroy();
+		otherRedisCommands.destroy();
+		server.close();
+	}
+
+	@Test
+	public void testGetAfterSet() {
+		redisCommands.set("name", "GTA5");
+		assertEquals("GTA5", redisCommands.get("name"));
+		assertEquals("GTA5", redisCommands.get("name"));
+
+		// 第二次读取命中近端缓存，不再向Redis发送GET命令
+		assertEquals(1, server.getCount("GET"));
+		assertEquals(1, redisCommands.getHitCount());
+		assertEquals(1, redisCommands.getMissCount());
+
+		// 写入后本地缓存失效，重新读取到最新的值
+		redisCommands.set("name", "Michael.De.Santa");
+		assertEquals("Michael.De.Santa", redisCommands.get("name"));
+		assertEquals(2, server.getCount("GET"));
+	}
+
+	@Test
+	public void testHSetInvalidatesHGet() {
+		redisCommands.hSet("user", "name", "Franklin.Clinton");
+		assertEquals("Franklin.Clinton", redisCommands.hGet("user", "name"));
+		assertEquals("Franklin.Clinton", redisCommands.hGet("user", "name"));
+		assertEquals(1, server.getCount("HGET"));
+
+		redisCommands.hSet("user", "name", "Trevor.Philips");
+		assertEquals("Trevor.Philips", redisCommands.hGet("user", "name"));
+		assertEquals(2, server.getCount("HGET"));
+	}
+
+	@Test
+	public void testRemoteInvalidation() throws Exception {
+		redisCommands.set("name", "GTA5");
+		assertEquals("GTA5", redisCommands.get("name"));
+		assertEquals("GTA5", otherRedisCommands.get("name"));
+
+		// 另一个实例写入后广播失效消息，当前实例收到后丢弃本地缓存中的旧值
+		otherRedisCommands.set("name", "Michael.De.Santa");
+		long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+		while (!"Michael.De.Santa".equals(redisCommands.get("name"))) {
+			assertTrue("Near cache remote invalidation timeout", System.currentTimeMillis() < deadline);
+			Thread.sleep(10);
+		}
+
+		assertEquals("Michael.De.Santa", otherRedisCommands.get("name"));
+		assertTrue(server.getCount("PUBLISH") >= 1);
+	}
+
+	private NearCacheRedisCommands newRedisCommands() throws Exception {
+		NearCacheRedisCommands redisCommands = new NearCacheRedisCommands();
+		redisCommands.setRedisTemplate(server.newRedisTemplate());
+		redisCommands.afterPropertiesSet();
+		return redisCommands;
+	}
+
+}
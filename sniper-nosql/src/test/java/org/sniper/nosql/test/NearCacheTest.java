@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.nosql.test;
+
+import org.junit.Test;
+import org.sniper.nosql.redis.cache.NearCache;
+import org.sniper.test.junit.BaseTestCase;
+
+/**
+ * 近端缓存单元测试类
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class NearCacheTest extends BaseTestCase {
+	
+	private static byte[] bytes(String str) {
+		return str.getBytes();
+	}
+	
+	@Test
+	public void testGetAndPut() {
+		NearCache cache = new NearCache(100, 60000);
+		assertNull(cache.get(bytes("key"), null, String.class));
+		
+		assertTrue(cache.put(bytes("key"), null, "value", String.class, 0, cache.stamp(bytes("key"))));
+		assertEquals("value", cache.get(bytes("key"), null, String.class));
+		assertNull(cache.get(bytes("key"), null, Integer.class));
+		assertFalse(cache.put(bytes("key"), null, null, String.class, 0, cache.stamp(bytes("key"))));
+		
+		assertEquals(1, cache.getHitCount());
+		assertEquals(2, cache.getMissCount());
+	}
+	
+	@Test
+	public void testInvalidate() {
+		NearCache cache = new NearCache(100, 60000);
+		byte[] key = bytes("hash");
+		cache.put(key, null, "value", String.class, 0, cache.stamp(key));
+		cache.put(key, bytes("f1"), "v1", String.class, 0, cache.stamp(key));
+		cache.put(key, bytes("f2"), "v2", String.class, 0, cache.stamp(key));
+		assertEquals("v2", cache.get(key, bytes("f2"), String.class));
+		
+		cache.invalidate(key);
+		assertEquals(0, cache.size());
+		assertNull(cache.get(key, bytes("f1"), String.class));
+		
+		cache.put(bytes("other"), null, "value", String.class, 0, cache.stamp(bytes("other")));
+		cache.invalidateAll();
+		assertEquals(0, cache.size());
+	}
+	
+	@Test
+	public void testStaleStamp() {
+		NearCache cache = new NearCache(100, 60000);
+		byte[] key = bytes("key");
+		
+		// 读取Redis期间键被失效，旧值不能被缓存
+		long stamp = cache.stamp(key);
+		cache.invalidate(key);
+		assertFalse(cache.put(key, null, "stale", String.class, 0, stamp));
+		assertNull(cache.get(key, null, String.class));
+	}
+	
+	@Test
+	public void testEviction() {
+		NearCache cache = new NearCache(10, 60000);
+		byte[] hot = bytes("hot");
+		cache.put(hot, null, "hot", String.class, 0, cache.stamp(hot));
+		for (int i = 0; i < 5; i++) {
+			cache.get(hot, null, String.class);
+		}
+		
+		for (int i = 0; i < 100; i++) {
+			byte[] key = bytes("key" + i);
+			cache.put(key, null, i, Integer.class, 0, cache.stamp(key));
+			cache.get(hot, null, String.class);
+		}
+		
+		assertTrue(cache.size() <= 10);
+		assertTrue(cache.getEvictionCount() > 0);
+		assertEquals("hot", cache.get(hot, null, String.class));
+	}
+	
+	@Test
+	public void testExpire() throws InterruptedException {
+		NearCache cache = new NearCache(100, 60000);
+		byte[] key = bytes("key");
+		cache.put(key, null, "value", String.class, 50, cache.stamp(key));
+		assertEquals("value", cache.get(key, null, String.class));
+		
+		Thread.sleep(100);
+		assertNull(cache.get(key, null, String.class));
+		assertEquals(0, cache.size());
+	}
+
+}
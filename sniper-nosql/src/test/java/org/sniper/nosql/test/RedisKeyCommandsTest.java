@@ -20,12 +20,16 @@ package org.sniper.nosql.test;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.junit.Test;
+import org.sniper.commons.util.CollectionUtils;
 import org.sniper.commons.util.MapUtils;
 import org.sniper.nosql.redis.enums.DataType;
 import org.sniper.nosql.redis.enums.Order;
 import org.sniper.nosql.redis.model.xscan.IndexedScanResult;
+import org.sniper.nosql.redis.model.xscan.ScanIterator;
 import org.sniper.nosql.redis.option.Limit;
 import org.sniper.nosql.redis.option.ScanOption;
 import org.sniper.nosql.redis.option.SortOption;
@@ -294,4 +298,21 @@ public class RedisKeyCommandsTest extends AbstractRedisTest {
 		System.out.println("Scan completed!");
 	}
 	
+//	@Test
+	public void testScanIterator() {
+		redisCommands.mSet(names);
+		
+		// 每页只扫描1个键，迭代器仍能遍历所有匹配的键
+		ScanOption option = new ScanOption().setPattern("name_*").setCount(1L);
+		Set<Object> scannedKeys = CollectionUtils.newHashSet();
+		ScanIterator<Object> keyIterator = redisCommands.scanKeys(option);
+		while (keyIterator.hasNext()) {
+			scannedKeys.add(keyIterator.next());
+		}
+		assertTrue(scannedKeys.containsAll(names.keySet()));
+		
+		List<String> values = redisCommands.<String>scanValues(option, String.class).stream().collect(Collectors.toList());
+		assertTrue(values.containsAll(names.values()));
+	}
+	
 }
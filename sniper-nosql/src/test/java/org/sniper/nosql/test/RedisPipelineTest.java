@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.nosql.test;
+
+import org.junit.Test;
+import org.sniper.nosql.redis.command.RedisPipeline;
+import org.sniper.nosql.redis.command.RedisResponse;
+
+/**
+ * Redis管道单元测试类
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class RedisPipelineTest extends AbstractRedisTest {
+	
+	@Test
+	public void testPipelined() {
+		RedisPipeline pipeline = redisCommands.pipelined();
+		RedisResponse<Void> mSet = pipeline.mSet(names, expireTime);
+		RedisResponse<String> name = pipeline.get("name_2");
+		RedisResponse<Long> age = pipeline.incrBy("age", 36);
+		RedisResponse<Boolean> hSet = pipeline.hSet(key, "name_1", "GTA5");
+		RedisResponse<String> hGet = pipeline.hGet(key, "name_1", String.class);
+		RedisResponse<Boolean> zAdd = pipeline.zAdd(key + "_zset", 1, "a", expireTime);
+		RedisResponse<Long> del = pipeline.del(keys);
+		assertFalse(name.isDone());
+		
+		pipeline.sync();
+		assertEquals(0, pipeline.size());
+		assertNull(mSet.get());
+		assertEquals("Michael.De.Santa", name.get());
+		assertEquals(36L, age.get().longValue());
+		assertTrue(hSet.get());
+		assertEquals("GTA5", hGet.get());
+		assertTrue(zAdd.get());
+		assertEquals(0L, del.get().longValue());
+		assertTrue(redisCommands.ttl("name_1") > 0);
+	}
+
+}
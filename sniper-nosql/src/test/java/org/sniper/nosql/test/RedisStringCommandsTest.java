@@ -207,6 +207,25 @@ public class RedisStringCommandsTest extends AbstractRedisTest {
 //		assertTrue(CollectionUtils.isEmpty(redisCommands.keysByPattern("test_*")));
 	}
 	
+//	@Test
+	public void testMSetNXWithExpireAtomically() {
+		redisCommands.del(new String[] { "lock_a", "lock_b" });
+		redisCommands.set("lock_b", 1);
+		
+		Map<Object, Object> kValues = MapUtils.newHashMap();
+		kValues.put("lock_a", 0);
+		kValues.put("lock_b", 1);
+		
+		// 任意一个键已存在时，所有键都不会被设置
+		assertFalse(redisCommands.mSetNX(kValues, expireTime));
+		assertFalse(redisCommands.exists("lock_a"));
+		
+		redisCommands.del("lock_b");
+		assertTrue(redisCommands.mSetNX(kValues, expireTime));
+		assertTrue(redisCommands.ttl("lock_a") > 0);
+		assertTrue(redisCommands.ttl("lock_b") > 0);
+	}
+	
 //	@Test
 	public void testMSetNX() {
 		Map<Object, Object> kValues = MapUtils.newHashMap();
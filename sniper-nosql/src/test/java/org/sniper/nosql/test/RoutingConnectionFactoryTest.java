@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.nosql.test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+
+import org.junit.Test;
+import org.sniper.commons.util.MapUtils;
+import org.sniper.context.DataSourceHolder;
+import org.sniper.nosql.redis.connection.ConnectionRouteMetrics;
+import org.sniper.nosql.redis.connection.RedisDbIndexHolder;
+import org.sniper.nosql.redis.connection.RedisMultipleConnectionFactory;
+import org.sniper.test.junit.BaseTestCase;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+
+/**
+ * 多路由连接工厂单元测试类
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class RoutingConnectionFactoryTest extends BaseTestCase {
+	
+	/**
+	 * 创建返回空连接代理的RedisConnectionFactory
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	private static RedisConnectionFactory newConnectionFactory() {
+		return (RedisConnectionFactory) Proxy.newProxyInstance(RoutingConnectionFactoryTest.class.getClassLoader(), 
+				new Class<?>[] { RedisConnectionFactory.class }, new InvocationHandler() {
+			
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				if ("getConnection".equals(method.getName()))
+					return Proxy.newProxyInstance(RoutingConnectionFactoryTest.class.getClassLoader(), 
+							new Class<?>[] { RedisConnection.class }, new InvocationHandler() {
+						
+						@Override
+						public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+							return null;
+						}
+					});
+				
+				return null;
+			}
+		});
+	}
+	
+	@Test
+	public void testRouteMetrics() throws Exception {
+		RedisConnectionFactory master = newConnectionFactory();
+		Map<Object, RedisConnectionFactory> targets = MapUtils.newHashMap();
+		targets.put("master", master);
+		
+		RedisMultipleConnectionFactory connectionFactory = new RedisMultipleConnectionFactory();
+		connectionFactory.setTargetConnectionFactories(targets);
+		connectionFactory.setResolvedDefaultConnectionFactory(master);
+		connectionFactory.setDbPinned(true);
+		connectionFactory.afterPropertiesSet();
+		
+		connectionFactory.getConnection();
+		DataSourceHolder.setDataSource("master");
+		RedisDbIndexHolder.setDbIndex(2);
+		try {
+			// 非Jedis的工厂不能固定库，仍从目标工厂获取连接
+			connectionFactory.getConnection();
+			connectionFactory.getConnection();
+		} finally {
+			RedisDbIndexHolder.removeDbIndex();
+			DataSourceHolder.removeDataSource();
+		}
+		
+		Map<String, ConnectionRouteMetrics> metrics = connectionFactory.getRouteMetrics();
+		assertEquals(1, metrics.get("default").getBorrowCount());
+		assertEquals(2, metrics.get("master").getBorrowCount());
+		assertNull(metrics.get("master#2"));
+	}
+	
+	@Test
+	public void testUnpinnedRoute() throws Exception {
+		RedisMultipleConnectionFactory connectionFactory = new RedisMultipleConnectionFactory();
+		connectionFactory.setResolvedDefaultConnectionFactory(newConnectionFactory());
+		connectionFactory.afterPropertiesSet();
+		
+		connectionFactory.getConnection();
+		ConnectionRouteMetrics metrics = connectionFactory.getRouteMetrics().get("default");
+		
+		// 未开启dbPinned时忽略指定的库索引，每次都使用标识键对应的同一个路由
+		RedisDbIndexHolder.setDbIndex(2);
+		try {
+			connectionFactory.getConnection();
+		} finally {
+			RedisDbIndexHolder.removeDbIndex();
+		}
+		
+		assertEquals(1, connectionFactory.getRouteMetrics().size());
+		assertSame(metrics, connectionFactory.getRouteMetrics().get("default"));
+		assertEquals(2, metrics.getBorrowCount());
+	}
+	
+	@Test
+	public void testCreatePinnedConnectionFactory() {
+		JedisConnectionFactory source = new JedisConnectionFactory();
+		source.setHostName("127.0.0.1");
+		source.setPort(6380);
+		source.setDatabase(0);
+		
+		PinnableConnectionFactory connectionFactory = new PinnableConnectionFactory();
+		
+		JedisConnectionFactory pinned = (JedisConnectionFactory) connectionFactory.createPinnedConnectionFactory(source, 3);
+		try {
+			assertEquals(3, pinned.getDatabase());
+			assertEquals(6380, pinned.getPort());
+			assertNull(connectionFactory.createPinnedConnectionFactory(source, 0));
+		} finally {
+			pinned.destroy();
+		}
+	}
+	
+	private static class PinnableConnectionFactory extends RedisMultipleConnectionFactory {
+
+		@Override
+		public RedisConnectionFactory createPinnedConnectionFactory(RedisConnectionFactory connectionFactory, int dbIndex) {
+			return super.createPinnedConnectionFactory(connectionFactory, dbIndex);
+		}
+	}
+
+}
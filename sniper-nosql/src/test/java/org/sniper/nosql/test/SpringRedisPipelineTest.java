@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.nosql.test;
+
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sniper.commons.util.MapUtils;
+import org.sniper.nosql.redis.command.RedisPipeline;
+import org.sniper.nosql.redis.command.RedisResponse;
+import org.sniper.nosql.redis.spring.SpringRedisCommands;
+import org.sniper.test.junit.BaseTestCase;
+import org.springframework.dao.DataAccessException;
+
+/**
+ * Spring Redis管道单元测试类，使用内存Redis服务端模拟命令执行失败的场景
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class SpringRedisPipelineTest extends BaseTestCase {
+
+	private FakeRedisServer server;
+
+	private SpringRedisCommands redisCommands;
+
+	@Before
+	public void init() throws Exception {
+		server = new FakeRedisServer();
+		redisCommands = new SpringRedisCommands();
+		redisCommands.setRedisTemplate(server.newRedisTemplate());
+		redisCommands.afterPropertiesSet();
+	}
+
+	@After
+	public void destroy() throws Exception {
+		redisCommands.destroy();
+		server.close();
+	}
+
+	@Test
+	public void testStatusFailure() {
+		redisCommands.set("name", "GTA5");
+		server.setError("SET", "READONLY You can't write against a read only replica.");
+
+		RedisPipeline pipeline = redisCommands.pipelined();
+		RedisResponse<String> before = pipeline.get("name");
+		RedisResponse<Void> set = pipeline.set("name", "Michael.De.Santa");
+		RedisResponse<Long> age = pipeline.incrBy("age", 36);
+		RedisResponse<Boolean> hSet = pipeline.hSet("user", "name", "Trevor.Philips");
+		RedisResponse<String> after = pipeline.get("name");
+		RedisResponse<String> hGet = pipeline.hGet("user", "name");
+		pipeline.sync();
+
+		// 失败的状态命令只影响其自身的响应结果，后续命令的结果不会错位
+		assertEquals("GTA5", before.get());
+		try {
+			set.get();
+			fail("Failed status command must throw");
+		} catch (DataAccessException e) {
+			assertTrue(e.getMessage().contains("READONLY"));
+		}
+
+		assertEquals(36L, age.get().longValue());
+		assertTrue(hSet.get());
+		assertEquals("GTA5", after.get());
+		assertEquals("Trevor.Philips", hGet.get());
+	}
+
+	@Test
+	public void testStatusSuccess() {
+		Map<String, String> names = MapUtils.newLinkedHashMap(2);
+		names.put("name_1", "GTA5");
+		names.put("name_2", "Michael.De.Santa");
+
+		RedisPipeline pipeline = redisCommands.pipelined();
+		RedisResponse<Void> mSet = pipeline.mSet(names, 10);
+		RedisResponse<Void> set = pipeline.set("name_3", "Trevor.Philips");
+		RedisResponse<String> name = pipeline.get("name_2");
+		RedisResponse<Long> age = pipeline.incrBy("age", 5);
+		pipeline.sync();
+
+		// mSet附带的expire命令的结果不返回给调用方，但仍然一一对应
+		assertNull(mSet.get());
+		assertNull(set.get());
+		assertEquals("Michael.De.Santa", name.get());
+		assertEquals(5L, age.get().longValue());
+		assertEquals(2, server.getCount("EXPIRE"));
+	}
+
+}
@@ -18,7 +18,13 @@
 
 package org.sniper.serialization;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
 import org.sniper.codec.CodecSupport;
+import org.sniper.commons.util.AssertUtils;
 import org.sniper.commons.util.Base64Utils;
 
 /**
@@ -28,6 +34,40 @@ import org.sniper.commons.util.Base64Utils;
  */
 public abstract class AbstractSerializer extends CodecSupport implements Serializer {
 	
+	/**
+	 * 默认先将对象序列化成字节数组后再写入输出流，子类可重写此方法直接向流中写入
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param t
+	 * @param out
+	 * @throws SerializationException
+	 */
+	@Override
+	public <T> void serialize(T t, OutputStream out) throws SerializationException {
+		AssertUtils.assertNotNull(out, "Output stream must not be null");
+		try {
+			out.write(serialize(t));
+		} catch (IOException e) {
+			throw new SerializationException("Cannot serialize", e);
+		}
+	}
+	
+	@Override
+	public <T> int serialize(T t, ByteBuffer buffer) throws SerializationException {
+		AssertUtils.assertNotNull(buffer, "Byte buffer must not be null");
+		
+		// 在副本视图上写入，失败时不改变原缓冲区的position
+		ByteBuffer target = buffer.duplicate();
+		try {
+			serialize(t, new ByteBufferOutputStream(target));
+		} catch (BufferOverflowException e) {
+			throw new SerializationException("Insufficient buffer space, remaining " + buffer.remaining() + " bytes", e);
+		}
+		
+		int count = target.position() - buffer.position();
+		buffer.position(target.position());
+		return count;
+	}
+	
 	@Override
 	public <T> String serializeToString(T t) throws SerializationException {
 		return Base64Utils.encode(serialize(t));
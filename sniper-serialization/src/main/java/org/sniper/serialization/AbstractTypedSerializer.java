@@ -18,10 +18,17 @@
 
 package org.sniper.serialization;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
 import org.sniper.beans.Typed;
 import org.sniper.beans.TypedBean;
 import org.sniper.codec.Codecable;
+import org.sniper.commons.util.AssertUtils;
 import org.sniper.commons.util.CodecUtils;
+import org.sniper.commons.util.IOUtils;
 
 /**
  * 类型化序列器抽象类
@@ -50,7 +57,60 @@ public abstract class AbstractTypedSerializer extends AbstractSerializer impleme
 	
 	@Override
 	public <T> T deserialize(byte[] bytes, Class<T> targetType) throws SerializationException {
-		return deserialize(CodecUtils.bytesToString(bytes, getEncoding()), targetType);
+		return bytes != null ? deserialize(bytes, 0, bytes.length, targetType) : null;
+	}
+	
+	/**
+	 * 默认先将指定区间的字节按编码集还原成字符串后再进行反序列化，子类可重写此方法直接从字节数据中进行解析
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param bytes
+	 * @param offset
+	 * @param length
+	 * @param targetType
+	 * @return
+	 * @throws SerializationException
+	 */
+	@Override
+	public <T> T deserialize(byte[] bytes, int offset, int length, Class<T> targetType) throws SerializationException {
+		if (bytes == null)
+			return null;
+		
+		checkBounds(bytes, offset, length);
+		return deserialize(CodecUtils.bytesToString(bytes, offset, length, getEncoding()), targetType);
+	}
+	
+	@Override
+	public <T> T deserialize(ByteBuffer buffer, Class<T> targetType) throws SerializationException {
+		if (buffer == null)
+			return null;
+		
+		if (buffer.hasArray())
+			return deserialize(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), targetType);
+		
+		// 直接缓冲区没有可访问的底层数组，以流的方式读取其副本视图，避免改变原缓冲区的position
+		return deserialize(new ByteBufferInputStream(buffer.duplicate()), targetType);
+	}
+	
+	/**
+	 * 默认先将输入流中的数据全部读取到字节数组后再进行反序列化，子类可重写此方法直接从流中进行解析
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param in
+	 * @param targetType
+	 * @return
+	 * @throws SerializationException
+	 */
+	@Override
+	public <T> T deserialize(InputStream in, Class<T> targetType) throws SerializationException {
+		if (in == null)
+			return null;
+		
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try {
+			IOUtils.write(in, out);
+		} catch (IOException e) {
+			throw new SerializationException("Cannot deserialize", e);
+		}
+		return deserialize(out.toByteArray(), targetType);
 	}
 	
 	@SuppressWarnings("unchecked")
@@ -68,5 +128,17 @@ public abstract class AbstractTypedSerializer extends AbstractSerializer impleme
 	protected Class<?> safeDeserializeType(Class<?> type) {
 		return type != null ? type : typed.getTargetType();
 	}
+	
+	/**
+	 * 检查字节数组区间的合法性
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param bytes
+	 * @param offset
+	 * @param length
+	 */
+	protected void checkBounds(byte[] bytes, int offset, int length) {
+		AssertUtils.assertTrue(offset >= 0 && length >= 0 && offset + length <= bytes.length, 
+				"Offset [" + offset + "] and length [" + length + "] out of bounds for byte array length " + bytes.length);
+	}
 
 }
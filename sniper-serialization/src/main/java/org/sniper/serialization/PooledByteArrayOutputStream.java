@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.serialization;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * 按线程复用的字节数组输出流，避免每次序列化都重新分配并逐步扩容缓冲区。
+ * 通过acquire方法获取，使用完毕后必须调用release方法归还
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class PooledByteArrayOutputStream extends ByteArrayOutputStream {
+	
+	/** 初始容量 */
+	private static final int INITIAL_SIZE = 512;
+	
+	/** 归还时允许保留的最大容量，超出后将重新分配初始容量的缓冲区，避免线程长期持有大块内存 */
+	private static final int MAX_RETAINED_SIZE = 256 * 1024;
+	
+	private static final ThreadLocal<PooledByteArrayOutputStream> POOL = new ThreadLocal<PooledByteArrayOutputStream>() {
+		
+		@Override
+		protected PooledByteArrayOutputStream initialValue() {
+			return new PooledByteArrayOutputStream();
+		}
+	};
+	
+	/** 是否正在被使用 */
+	private boolean inUse;
+	
+	private PooledByteArrayOutputStream() {
+		super(INITIAL_SIZE);
+	}
+	
+	/**
+	 * 获取当前线程复用的输出流，当前线程的输出流正在被使用时(例如嵌套序列化)返回一个新的输出流
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public static PooledByteArrayOutputStream acquire() {
+		PooledByteArrayOutputStream out = POOL.get();
+		if (out.inUse)
+			return new PooledByteArrayOutputStream();
+		
+		out.inUse = true;
+		return out;
+	}
+	
+	/**
+	 * 归还输出流，归还后不能再继续使用
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a>
+	 */
+	public void release() {
+		reset();
+		if (buf.length > MAX_RETAINED_SIZE)
+			buf = new byte[INITIAL_SIZE];
+		
+		inUse = false;
+	}
+	
+	/**
+	 * 将已写入的数据直接写入到目标缓冲区
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param buffer
+	 */
+	public synchronized void writeTo(ByteBuffer buffer) {
+		buffer.put(buf, 0, count);
+	}
+
+}
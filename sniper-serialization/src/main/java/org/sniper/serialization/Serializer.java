@@ -18,6 +18,9 @@
 
 package org.sniper.serialization;
 
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
 /**
  * 序列器接口
  * @author  <a href="mailto:code727@gmail.com">杜斌</a>
@@ -34,6 +37,26 @@ public interface Serializer {
 	 */
 	public <T> byte[] serialize(T t) throws SerializationException;
 	
+	/**
+	 * 将对象序列化后直接写入到输出流，输出流由调用方负责关闭
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param t
+	 * @param out
+	 * @throws SerializationException
+	 */
+	public <T> void serialize(T t, OutputStream out) throws SerializationException;
+	
+	/**
+	 * 将对象序列化后从缓冲区的position处开始直接写入，成功后position前移写入的字节数，
+	 * 剩余空间不足时抛出SerializationException且position保持不变
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param t
+	 * @param buffer
+	 * @return 写入的字节数
+	 * @throws SerializationException
+	 */
+	public <T> int serialize(T t, ByteBuffer buffer) throws SerializationException;
+	
 	/**
 	 * 将对象序列化为字符串
 	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
@@ -18,6 +18,9 @@
 
 package org.sniper.serialization;
 
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
 import org.sniper.beans.Typed;
 
 /**
@@ -37,6 +40,38 @@ public interface TypedSerializer extends Typed, Serializer {
 	 */
 	public <T> T deserialize(byte[] bytes, Class<T> targetType) throws SerializationException;
 	
+	/**
+	 * 将字节数组中指定区间的数据反序列化成指定目标类型的对象
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param bytes
+	 * @param offset 起始位置
+	 * @param length 数据长度
+	 * @param targetType
+	 * @return
+	 * @throws SerializationException
+	 */
+	public <T> T deserialize(byte[] bytes, int offset, int length, Class<T> targetType) throws SerializationException;
+	
+	/**
+	 * 将缓冲区中position至limit之间的数据反序列化成指定目标类型的对象，不改变缓冲区的position
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param buffer
+	 * @param targetType
+	 * @return
+	 * @throws SerializationException
+	 */
+	public <T> T deserialize(ByteBuffer buffer, Class<T> targetType) throws SerializationException;
+	
+	/**
+	 * 将输入流中的数据反序列化成指定目标类型的对象，输入流由调用方负责关闭
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param in
+	 * @param targetType
+	 * @return
+	 * @throws SerializationException
+	 */
+	public <T> T deserialize(InputStream in, Class<T> targetType) throws SerializationException;
+	
 	/**
 	 * 将字符串反序列化成指定目标类型的对象
 	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.serialization.compact;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.sniper.commons.util.CollectionUtils;
+import org.sniper.serialization.SerializationException;
+
+/**
+ * 对象类型的字段结构，序列化时按此结构的固定顺序写出字段值而无需写出字段名
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+final class ClassSchema {
+	
+	private static final Comparator<Field> FIELD_NAME_COMPARATOR = new Comparator<Field>() {
+
+		@Override
+		public int compare(Field field1, Field field2) {
+			return field1.getName().compareTo(field2.getName());
+		}
+	};
+	
+	private final Class<?> type;
+	
+	/** 父类字段在前，同一类中的字段按名称排序 */
+	private final Field[] fields;
+	
+	private final Constructor<?> constructor;
+	
+	ClassSchema(Class<?> type) {
+		this.type = type;
+		
+		LinkedList<Field[]> hierarchy = new LinkedList<Field[]>();
+		for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+			Field[] declaredFields = current.getDeclaredFields();
+			Arrays.sort(declaredFields, FIELD_NAME_COMPARATOR);
+			hierarchy.addFirst(declaredFields);
+		}
+		
+		List<Field> fields = CollectionUtils.newArrayList();
+		for (Field[] declaredFields : hierarchy) {
+			for (Field field : declaredFields) {
+				int modifiers = field.getModifiers();
+				if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic())
+					continue;
+				
+				field.setAccessible(true);
+				fields.add(field);
+			}
+		}
+		this.fields = fields.toArray(new Field[fields.size()]);
+		
+		Constructor<?> constructor;
+		try {
+			constructor = type.getDeclaredConstructor();
+			constructor.setAccessible(true);
+		} catch (NoSuchMethodException e) {
+			constructor = null;
+		}
+		this.constructor = constructor;
+	}
+	
+	Field[] getFields() {
+		return fields;
+	}
+	
+	/**
+	 * 通过无参构造函数创建类型实例
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	Object newInstance() {
+		if (constructor == null)
+			throw new SerializationException("Class [" + type.getName() + "] must declare a no-arg constructor");
+		
+		try {
+			return constructor.newInstance();
+		} catch (Exception e) {
+			throw new SerializationException("Cannot instantiate class [" + type.getName() + "]", e);
+		}
+	}
+	
+}
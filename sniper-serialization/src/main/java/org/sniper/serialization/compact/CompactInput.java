@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.serialization.compact;
+
+import java.util.List;
+
+import org.sniper.commons.util.CollectionUtils;
+import org.sniper.serialization.SerializationException;
+
+/**
+ * 紧凑二进制格式的输入读取器，直接读取源字节数组的指定区间
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+final class CompactInput {
+	
+	private final byte[] buffer;
+	
+	private final int limit;
+	
+	private int position;
+	
+	/** 本次反序列化过程中以类名方式读入的未注册类型 */
+	private final List<Class<?>> classes = CollectionUtils.newArrayList();
+	
+	CompactInput(byte[] buffer, int offset, int length) {
+		this.buffer = buffer;
+		this.position = offset;
+		this.limit = offset + length;
+	}
+	
+	/**
+	 * 获取本次反序列化中指定索引的未注册类型
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param index
+	 * @return
+	 */
+	Class<?> getClass(int index) {
+		if (index >= classes.size())
+			throw new SerializationException("Invalid class index [" + index + "]");
+		
+		return classes.get(index);
+	}
+	
+	/**
+	 * 登记本次反序列化中以类名方式读入的未注册类型
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param type
+	 */
+	void addClass(Class<?> type) {
+		classes.add(type);
+	}
+	
+	private void require(int count) {
+		if (position + count > limit)
+			throw new SerializationException("Unexpected end of compact binary data");
+	}
+	
+	int readByte() {
+		require(1);
+		return buffer[position++];
+	}
+	
+	byte[] readBytes() {
+		int length = readVarInt();
+		require(length);
+		byte[] bytes = new byte[length];
+		System.arraycopy(buffer, position, bytes, 0, length);
+		position += length;
+		return bytes;
+	}
+	
+	int readVarInt() {
+		int result = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			int b = readByte();
+			result |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return result;
+		}
+		throw new SerializationException("Malformed variable-length int");
+	}
+	
+	long readVarLong() {
+		long result = 0;
+		for (int shift = 0; shift < 70; shift += 7) {
+			int b = readByte();
+			result |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return result;
+		}
+		throw new SerializationException("Malformed variable-length long");
+	}
+	
+	int readInt() {
+		int value = readVarInt();
+		return (value >>> 1) ^ -(value & 1);
+	}
+	
+	long readLong() {
+		long value = readVarLong();
+		return (value >>> 1) ^ -(value & 1);
+	}
+	
+	float readFloat() {
+		require(4);
+		int bits = ((buffer[position++] & 0xFF) << 24) | ((buffer[position++] & 0xFF) << 16) 
+				| ((buffer[position++] & 0xFF) << 8) | (buffer[position++] & 0xFF);
+		return Float.intBitsToFloat(bits);
+	}
+	
+	double readDouble() {
+		require(8);
+		long bits = 0;
+		for (int i = 0; i < 8; i++) 
+			bits = (bits << 8) | (buffer[position++] & 0xFF);
+		
+		return Double.longBitsToDouble(bits);
+	}
+	
+	String readString() {
+		int length = readVarInt();
+		char[] chars = new char[length];
+		for (int i = 0; i < length; i++) {
+			int b = readByte() & 0xFF;
+			if (b < 0x80) {
+				chars[i] = (char) b;
+			} else if ((b & 0xE0) == 0xC0) {
+				chars[i] = (char) (((b & 0x1F) << 6) | (readByte() & 0x3F));
+			} else {
+				int b2 = readByte() & 0x3F;
+				chars[i] = (char) (((b & 0x0F) << 12) | (b2 << 6) | (readByte() & 0x3F));
+			}
+		}
+		return new String(chars);
+	}
+	
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.serialization.compact;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * 紧凑二进制格式的输出缓冲区，由序列化器按线程复用
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+final class CompactOutput {
+	
+	/** 初始容量 */
+	private final int initialCapacity;
+	
+	/** 复用时允许保留的最大容量，超出后将重新分配初始容量的缓冲区，避免线程长期持有大块内存 */
+	private final int maxRetainedCapacity;
+	
+	private byte[] buffer;
+	
+	private int position;
+	
+	/** 本次序列化过程中以类名方式写出的未注册类型及其索引 */
+	private final Map<Class<?>, Integer> classIndexes = new IdentityHashMap<Class<?>, Integer>();
+	
+	/** 从根对象到当前对象的路径上正在写出的对象，用于检测循环引用 */
+	private final Map<Object, Boolean> writingObjects = new IdentityHashMap<Object, Boolean>();
+	
+	CompactOutput(int initialCapacity, int maxRetainedCapacity) {
+		this.initialCapacity = initialCapacity;
+		this.maxRetainedCapacity = maxRetainedCapacity;
+		this.buffer = new byte[initialCapacity];
+	}
+	
+	/**
+	 * 重置缓冲区以便下一次复用
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a>
+	 */
+	void reset() {
+		this.position = 0;
+		this.classIndexes.clear();
+		this.writingObjects.clear();
+		if (this.buffer.length > this.maxRetainedCapacity)
+			this.buffer = new byte[this.initialCapacity];
+	}
+	
+	/**
+	 * 获取已写出数据的副本
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	byte[] toByteArray() {
+		return Arrays.copyOf(buffer, position);
+	}
+	
+	/**
+	 * 获取已写出的字节数
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	int size() {
+		return position;
+	}
+	
+	/**
+	 * 将已写出的数据直接写入到输出流
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param out
+	 * @throws IOException
+	 */
+	void writeTo(OutputStream out) throws IOException {
+		out.write(buffer, 0, position);
+	}
+	
+	/**
+	 * 将已写出的数据直接写入到目标缓冲区
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param target
+	 */
+	void writeTo(ByteBuffer target) {
+		target.put(buffer, 0, position);
+	}
+	
+	/**
+	 * 开始写出对象，对象已在当前路径上时说明存在循环引用，返回false
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param value
+	 * @return
+	 */
+	boolean enter(Object value) {
+		return writingObjects.put(value, Boolean.TRUE) == null;
+	}
+	
+	/**
+	 * 结束写出对象
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param value
+	 */
+	void exit(Object value) {
+		writingObjects.remove(value);
+	}
+	
+	/**
+	 * 获取未注册类型在本次序列化中的索引，不存在时返回null
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param type
+	 * @return
+	 */
+	Integer getClassIndex(Class<?> type) {
+		return classIndexes.get(type);
+	}
+	
+	/**
+	 * 登记本次序列化中以类名方式写出的未注册类型
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param type
+	 */
+	void addClass(Class<?> type) {
+		classIndexes.put(type, classIndexes.size());
+	}
+	
+	private void ensureCapacity(int required) {
+		int minCapacity = position + required;
+		if (minCapacity > buffer.length) 
+			buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, minCapacity));
+	}
+	
+	void writeByte(int value) {
+		ensureCapacity(1);
+		buffer[position++] = (byte) value;
+	}
+	
+	void writeBytes(byte[] bytes) {
+		writeVarInt(bytes.length);
+		ensureCapacity(bytes.length);
+		System.arraycopy(bytes, 0, buffer, position, bytes.length);
+		position += bytes.length;
+	}
+	
+	/**
+	 * 以变长方式写出无符号整数，每个字节的低7位存储数据，最高位表示后续是否还有字节
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param value
+	 */
+	void writeVarInt(int value) {
+		ensureCapacity(5);
+		while ((value & ~0x7F) != 0) {
+			buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		buffer[position++] = (byte) value;
+	}
+	
+	void writeVarLong(long value) {
+		ensureCapacity(10);
+		while ((value & ~0x7FL) != 0) {
+			buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		buffer[position++] = (byte) value;
+	}
+	
+	/**
+	 * 以ZigZag编码写出有符号整数，使绝对值较小的负数同样只占用较少的字节
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param value
+	 */
+	void writeInt(int value) {
+		writeVarInt((value << 1) ^ (value >> 31));
+	}
+	
+	void writeLong(long value) {
+		writeVarLong((value << 1) ^ (value >> 63));
+	}
+	
+	void writeFloat(float value) {
+		int bits = Float.floatToIntBits(value);
+		ensureCapacity(4);
+		buffer[position++] = (byte) (bits >>> 24);
+		buffer[position++] = (byte) (bits >>> 16);
+		buffer[position++] = (byte) (bits >>> 8);
+		buffer[position++] = (byte) bits;
+	}
+	
+	void writeDouble(double value) {
+		long bits = Double.doubleToLongBits(value);
+		ensureCapacity(8);
+		for (int shift = 56; shift >= 0; shift -= 8) 
+			buffer[position++] = (byte) (bits >>> shift);
+	}
+	
+	/**
+	 * 写出字符串，先写出字符数，再将每个字符按UTF-8规则编码成1至3个字节，无需构建中间字节数组
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param value
+	 */
+	void writeString(String value) {
+		int length = value.length();
+		writeVarInt(length);
+		ensureCapacity(length * 3);
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			if (c < 0x80) {
+				buffer[position++] = (byte) c;
+			} else if (c < 0x800) {
+				buffer[position++] = (byte) (0xC0 | (c >> 6));
+				buffer[position++] = (byte) (0x80 | (c & 0x3F));
+			} else {
+				buffer[position++] = (byte) (0xE0 | (c >> 12));
+				buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+				buffer[position++] = (byte) (0x80 | (c & 0x3F));
+			}
+		}
+	}
+	
+}
@@ -0,0 +1,768 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.serialization.compact;
+
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.sniper.commons.util.AssertUtils;
+import org.sniper.commons.util.Base64Utils;
+import org.sniper.commons.util.CollectionUtils;
+import org.sniper.commons.util.ReflectionUtils;
+import org.sniper.serialization.AbstractTypedSerializer;
+import org.sniper.serialization.SerializationException;
+import org.sniper.serialization.jdk.JdkSerializer;
+
+/**
+ * 紧凑二进制序列化器实现类<P>
+ * 1)每个值只用一个字节的标记描述其种类，整数采用ZigZag变长编码，字符串不写出中间字节数组<P>
+ * 2)对象按字段结构的固定顺序写出字段值而不写出字段名，基本类型字段不写出标记<P>
+ * 3)注册过的类型只写出变长的编号，未注册的类型在同一次序列化中只写出一次类名<P>
+ * 4)序列化时按线程复用输出缓冲区<P>
+ * 序列化端与反序列化端必须以相同的顺序注册相同的类型，不支持循环引用，遇到循环引用时抛出SerializationException<P>
+ * 注意：格式中没有任何版本信息，对象只按字段结构的顺序写出字段值，增删、重命名字段或修改字段类型后，
+ * 已存储的数据将无法正确读取，甚至被静默地读成错误的值，因此修改类型前必须先清理或迁移已有数据<P>
+ * 反序列化不可信的数据(例如来自消息队列)时必须开启registrationRequired，否则数据可以指定任意类名并由此创建实例
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class CompactSerializer extends AbstractTypedSerializer {
+	
+	private static final int NULL = 0;
+	private static final int TRUE = 1;
+	private static final int FALSE = 2;
+	private static final int BYTE = 3;
+	private static final int SHORT = 4;
+	private static final int INT = 5;
+	private static final int LONG = 6;
+	private static final int FLOAT = 7;
+	private static final int DOUBLE = 8;
+	private static final int CHAR = 9;
+	private static final int STRING = 10;
+	private static final int BYTES = 11;
+	private static final int BIG_DECIMAL = 12;
+	private static final int BIG_INTEGER = 13;
+	private static final int DATE = 14;
+	private static final int ENUM = 15;
+	private static final int ARRAY = 16;
+	private static final int COLLECTION = 17;
+	private static final int MAP = 18;
+	private static final int OBJECT = 19;
+	private static final int SERIALIZED = 20;
+	
+	/** 内置注册的类型，编号固定在用户注册的类型之前 */
+	private static final Class<?>[] BUILTIN_CLASSES = { Object.class, String.class, Boolean.class, Byte.class,
+			Short.class, Integer.class, Long.class, Float.class, Double.class, Character.class, BigDecimal.class,
+			BigInteger.class, Date.class, boolean.class, byte.class, short.class, int.class, long.class,
+			float.class, double.class, char.class, ArrayList.class, LinkedList.class, HashSet.class,
+			LinkedHashSet.class, TreeSet.class, HashMap.class, LinkedHashMap.class, TreeMap.class,
+			ConcurrentHashMap.class };
+	
+	/** 默认的输出缓冲区初始容量 */
+	private static final int DEFAULT_BUFFER_SIZE = 256;
+	
+	/** 默认的输出缓冲区最大保留容量 */
+	private static final int DEFAULT_MAX_BUFFER_SIZE = 64 * 1024;
+	
+	/** 输出缓冲区初始容量 */
+	private int bufferSize = DEFAULT_BUFFER_SIZE;
+	
+	/** 输出缓冲区复用时允许保留的最大容量 */
+	private int maxBufferSize = DEFAULT_MAX_BUFFER_SIZE;
+	
+	/** 是否只允许序列化和反序列化已注册的类型 */
+	private boolean registrationRequired;
+	
+	/** 是否允许通过JDK原生序列化处理没有专用标记的JDK类型，反序列化JDK原生序列化数据存在安全风险，默认不允许 */
+	private boolean jdkSerializationAllowed;
+	
+	private volatile Registry registry = new Registry(BUILTIN_CLASSES);
+	
+	private final ConcurrentMap<Class<?>, ClassSchema> schemas = new ConcurrentHashMap<Class<?>, ClassSchema>();
+	
+	/** 集合/映射类型与反序列化时实际创建的类型的对应关系 */
+	private final ConcurrentMap<Class<?>, Class<?>> containerTypes = new ConcurrentHashMap<Class<?>, Class<?>>();
+	
+	/** 用于处理无法通过反射访问字段的JDK可序列化类型 */
+	private final JdkSerializer jdkSerializer = new JdkSerializer();
+	
+	private final ThreadLocal<CompactOutput> outputs = new ThreadLocal<CompactOutput>() {
+		
+		@Override
+		protected CompactOutput initialValue() {
+			return new CompactOutput(bufferSize, maxBufferSize);
+		}
+	};
+	
+	public int getBufferSize() {
+		return bufferSize;
+	}
+
+	public void setBufferSize(int bufferSize) {
+		AssertUtils.assertTrue(bufferSize > 0, "Buffer size must be greater than 0");
+		this.bufferSize = bufferSize;
+	}
+
+	public int getMaxBufferSize() {
+		return maxBufferSize;
+	}
+
+	public void setMaxBufferSize(int maxBufferSize) {
+		AssertUtils.assertTrue(maxBufferSize > 0, "Max buffer size must be greater than 0");
+		this.maxBufferSize = maxBufferSize;
+	}
+
+	public boolean isRegistrationRequired() {
+		return registrationRequired;
+	}
+
+	public void setRegistrationRequired(boolean registrationRequired) {
+		this.registrationRequired = registrationRequired;
+	}
+
+	public boolean isJdkSerializationAllowed() {
+		return jdkSerializationAllowed;
+	}
+
+	public void setJdkSerializationAllowed(boolean jdkSerializationAllowed) {
+		this.jdkSerializationAllowed = jdkSerializationAllowed;
+	}
+	
+	/**
+	 * 按顺序注册类型，注册过的类型只写出编号
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param registeredClasses
+	 */
+	public void setRegisteredClasses(List<Class<?>> registeredClasses) {
+		AssertUtils.assertNotNull(registeredClasses, "Registered classes must not be null");
+		register(registeredClasses.toArray(new Class<?>[registeredClasses.size()]));
+	}
+	
+	/**
+	 * 获取用户注册的类型
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public List<Class<?>> getRegisteredClasses() {
+		List<Class<?>> classes = this.registry.classes;
+		return Collections.unmodifiableList(classes.subList(BUILTIN_CLASSES.length, classes.size()));
+	}
+
+	/**
+	 * 按顺序注册类型，已注册过的类型将被忽略
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param types
+	 */
+	public synchronized void register(Class<?>... types) {
+		AssertUtils.assertNotNull(types, "Registered classes must not be null");
+		
+		List<Class<?>> classes = CollectionUtils.newArrayList(this.registry.classes);
+		for (Class<?> type : types) {
+			AssertUtils.assertNotNull(type, "Registered class must not be null");
+			if (!this.registry.ids.containsKey(type) && !classes.contains(type))
+				classes.add(type);
+		}
+		this.registry = new Registry(classes.toArray(new Class<?>[classes.size()]));
+	}
+	
+	@Override
+	public <T> byte[] serialize(T t) throws SerializationException {
+		CompactOutput output = outputs.get();
+		try {
+			writeObject(output, t, this.registry);
+			return output.toByteArray();
+		} catch (SerializationException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new SerializationException("Cannot serialize", e);
+		} finally {
+			output.reset();
+		}
+	}
+	
+	@Override
+	public <T> void serialize(T t, OutputStream out) throws SerializationException {
+		CompactOutput output = outputs.get();
+		try {
+			writeObject(output, t, this.registry);
+			output.writeTo(out);
+		} catch (SerializationException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new SerializationException("Cannot serialize", e);
+		} finally {
+			output.reset();
+		}
+	}
+	
+	@Override
+	public <T> int serialize(T t, ByteBuffer buffer) throws SerializationException {
+		AssertUtils.assertNotNull(buffer, "Byte buffer must not be null");
+		
+		CompactOutput output = outputs.get();
+		try {
+			writeObject(output, t, this.registry);
+			if (output.size() > buffer.remaining())
+				throw new SerializationException("Insufficient buffer space, required " 
+						+ output.size() + " bytes but remaining " + buffer.remaining() + " bytes");
+			
+			output.writeTo(buffer);
+			return output.size();
+		} catch (SerializationException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new SerializationException("Cannot serialize", e);
+		} finally {
+			output.reset();
+		}
+	}
+	
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T deserialize(byte[] bytes, int offset, int length, Class<T> targetType) throws SerializationException {
+		if (bytes == null || length == 0)
+			return null;
+		
+		checkBounds(bytes, offset, length);
+		try {
+			return (T) readObject(new CompactInput(bytes, offset, length), this.registry);
+		} catch (SerializationException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new SerializationException("Cannot deserialize", e);
+		}
+	}
+	
+	@Override
+	public <T> T deserialize(String text, Class<T> targetType) throws SerializationException {
+		return deserialize(Base64Utils.decodeToBytes(text), targetType);
+	}
+	
+	/**
+	 * 写出带标记的值
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param output
+	 * @param value
+	 * @param registry
+	 * @throws Exception
+	 */
+	private void writeObject(CompactOutput output, Object value, Registry registry) throws Exception {
+		if (value == null) {
+			output.writeByte(NULL);
+			return;
+		}
+		
+		Class<?> type = value.getClass();
+		if (type == String.class) {
+			output.writeByte(STRING);
+			output.writeString((String) value);
+		} else if (type == Integer.class) {
+			output.writeByte(INT);
+			output.writeInt((Integer) value);
+		} else if (type == Long.class) {
+			output.writeByte(LONG);
+			output.writeLong((Long) value);
+		} else if (type == Boolean.class) {
+			output.writeByte((Boolean) value ? TRUE : FALSE);
+		} else if (type == Double.class) {
+			output.writeByte(DOUBLE);
+			output.writeDouble((Double) value);
+		} else if (type == Float.class) {
+			output.writeByte(FLOAT);
+			output.writeFloat((Float) value);
+		} else if (type == Short.class) {
+			output.writeByte(SHORT);
+			output.writeInt((Short) value);
+		} else if (type == Byte.class) {
+			output.writeByte(BYTE);
+			output.writeByte((Byte) value);
+		} else if (type == Character.class) {
+			output.writeByte(CHAR);
+			output.writeVarInt((Character) value);
+		} else if (type == byte[].class) {
+			output.writeByte(BYTES);
+			output.writeBytes((byte[]) value);
+		} else if (type == BigDecimal.class) {
+			BigDecimal decimal = (BigDecimal) value;
+			output.writeByte(BIG_DECIMAL);
+			output.writeInt(decimal.scale());
+			output.writeBytes(decimal.unscaledValue().toByteArray());
+		} else if (type == BigInteger.class) {
+			output.writeByte(BIG_INTEGER);
+			output.writeBytes(((BigInteger) value).toByteArray());
+		} else if (value instanceof Date) {
+			output.writeByte(DATE);
+			writeClass(output, type, registry);
+			output.writeLong(((Date) value).getTime());
+		} else if (value instanceof Enum) {
+			output.writeByte(ENUM);
+			writeClass(output, ((Enum<?>) value).getDeclaringClass(), registry);
+			output.writeVarInt(((Enum<?>) value).ordinal());
+		} else {
+			// 数组、集合、映射和对象可能直接或间接地引用自身，写出其内容前先检测循环引用
+			if (!output.enter(value))
+				throw new SerializationException("Circular reference detected on class [" + type.getName() + "]");
+			
+			try {
+				writeComposite(output, value, type, registry);
+			} finally {
+				output.exit(value);
+			}
+		}
+	}
+	
+	/**
+	 * 写出数组、集合、映射或对象类型的值
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param output
+	 * @param value
+	 * @param type
+	 * @param registry
+	 * @throws Exception
+	 */
+	private void writeComposite(CompactOutput output, Object value, Class<?> type, Registry registry) throws Exception {
+		if (type.isArray()) {
+			writeArray(output, value, registry);
+		} else if (value instanceof Collection) {
+			Collection<?> collection = (Collection<?>) value;
+			output.writeByte(COLLECTION);
+			writeClass(output, getContainerType(type), registry);
+			output.writeVarInt(collection.size());
+			for (Object element : collection) 
+				writeObject(output, element, registry);
+		} else if (value instanceof Map) {
+			Map<?, ?> map = (Map<?, ?>) value;
+			output.writeByte(MAP);
+			writeClass(output, getContainerType(type), registry);
+			output.writeVarInt(map.size());
+			for (Entry<?, ?> entry : map.entrySet()) {
+				writeObject(output, entry.getKey(), registry);
+				writeObject(output, entry.getValue(), registry);
+			}
+		} else if (isJdkType(type)) {
+			if (!(value instanceof Serializable))
+				throw new SerializationException("Class [" + type.getName() + "] is not supported");
+			if (!jdkSerializationAllowed)
+				throw new SerializationException("Class [" + type.getName() + "] requires JDK serialization, which is not allowed");
+			
+			output.writeByte(SERIALIZED);
+			output.writeBytes(jdkSerializer.serialize(value));
+		} else {
+			output.writeByte(OBJECT);
+			writeClass(output, type, registry);
+			for (Field field : getSchema(type).getFields()) {
+				Class<?> fieldType = field.getType();
+				if (fieldType.isPrimitive())
+					writePrimitive(output, fieldType, field.get(value));
+				else
+					writeObject(output, field.get(value), registry);
+			}
+		}
+	}
+	
+	/**
+	 * 写出数组，基本类型的元素不写出标记
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param output
+	 * @param array
+	 * @param registry
+	 * @throws Exception
+	 */
+	private void writeArray(CompactOutput output, Object array, Registry registry) throws Exception {
+		Class<?> componentType = array.getClass().getComponentType();
+		int length = Array.getLength(array);
+		output.writeByte(ARRAY);
+		writeClass(output, componentType, registry);
+		output.writeVarInt(length);
+		
+		if (componentType.isPrimitive()) {
+			for (int i = 0; i < length; i++) 
+				writePrimitive(output, componentType, Array.get(array, i));
+		} else {
+			Object[] elements = (Object[]) array;
+			for (Object element : elements) 
+				writeObject(output, element, registry);
+		}
+	}
+	
+	/**
+	 * 写出不带标记的基本类型值
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param output
+	 * @param type
+	 * @param value
+	 */
+	private void writePrimitive(CompactOutput output, Class<?> type, Object value) {
+		if (type == int.class)
+			output.writeInt((Integer) value);
+		else if (type == long.class)
+			output.writeLong((Long) value);
+		else if (type == boolean.class)
+			output.writeByte((Boolean) value ? 1 : 0);
+		else if (type == double.class)
+			output.writeDouble((Double) value);
+		else if (type == float.class)
+			output.writeFloat((Float) value);
+		else if (type == short.class)
+			output.writeInt((Short) value);
+		else if (type == byte.class)
+			output.writeByte((Byte) value);
+		else
+			output.writeVarInt((Character) value);
+	}
+	
+	/**
+	 * 写出类型，注册过的类型或本次已写出过的类型只写出编号，否则写出类名
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param output
+	 * @param type
+	 * @param registry
+	 */
+	private void writeClass(CompactOutput output, Class<?> type, Registry registry) {
+		Integer id = registry.ids.get(type);
+		if (id != null) {
+			output.writeVarInt(id + 1);
+			return;
+		}
+		
+		Integer index = output.getClassIndex(type);
+		if (index != null) {
+			output.writeVarInt(registry.classes.size() + index + 1);
+			return;
+		}
+		
+		if (registrationRequired)
+			throw new SerializationException("Class [" + type.getName() + "] is not registered");
+		
+		output.writeVarInt(0);
+		output.writeString(type.getName());
+		output.addClass(type);
+	}
+	
+	/**
+	 * 读取带标记的值
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param input
+	 * @param registry
+	 * @return
+	 * @throws Exception
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private Object readObject(CompactInput input, Registry registry) throws Exception {
+		int tag = input.readByte();
+		switch (tag) {
+		case NULL:
+			return null;
+		case TRUE:
+			return Boolean.TRUE;
+		case FALSE:
+			return Boolean.FALSE;
+		case BYTE:
+			return (byte) input.readByte();
+		case SHORT:
+			return (short) input.readInt();
+		case INT:
+			return input.readInt();
+		case LONG:
+			return input.readLong();
+		case FLOAT:
+			return input.readFloat();
+		case DOUBLE:
+			return input.readDouble();
+		case CHAR:
+			return (char) input.readVarInt();
+		case STRING:
+			return input.readString();
+		case BYTES:
+			return input.readBytes();
+		case BIG_DECIMAL:
+			int scale = input.readInt();
+			return new BigDecimal(new BigInteger(input.readBytes()), scale);
+		case BIG_INTEGER:
+			return new BigInteger(input.readBytes());
+		case DATE:
+			Class<?> dateType = readClass(input, registry);
+			long time = input.readLong();
+			return dateType == Date.class ? new Date(time) 
+					: ReflectionUtils.newInstance(dateType, new Class<?>[] { long.class }, new Object[] { time });
+		case ENUM:
+			Class<?> enumType = readClass(input, registry);
+			return enumType.getEnumConstants()[input.readVarInt()];
+		case ARRAY:
+			return readArray(input, registry);
+		case COLLECTION:
+			Class<?> collectionType = readClass(input, registry);
+			int size = input.readVarInt();
+			Collection collection = newCollection(collectionType, size);
+			for (int i = 0; i < size; i++) 
+				collection.add(readObject(input, registry));
+			
+			return collection;
+		case MAP:
+			Class<?> mapType = readClass(input, registry);
+			int entrySize = input.readVarInt();
+			Map map = newMap(mapType, entrySize);
+			for (int i = 0; i < entrySize; i++) 
+				map.put(readObject(input, registry), readObject(input, registry));
+			
+			return map;
+		case SERIALIZED:
+			if (!jdkSerializationAllowed)
+				throw new SerializationException("JDK serialization data is not allowed");
+			
+			return jdkSerializer.deserialize(input.readBytes());
+		case OBJECT:
+			ClassSchema schema = getSchema(readClass(input, registry));
+			Object object = schema.newInstance();
+			for (Field field : schema.getFields()) {
+				Class<?> fieldType = field.getType();
+				field.set(object, fieldType.isPrimitive() ? readPrimitive(input, fieldType) : readObject(input, registry));
+			}
+			return object;
+		default:
+			throw new SerializationException("Unknown compact binary tag [" + tag + "]");
+		}
+	}
+	
+	/**
+	 * 读取数组
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param input
+	 * @param registry
+	 * @return
+	 * @throws Exception
+	 */
+	private Object readArray(CompactInput input, Registry registry) throws Exception {
+		Class<?> componentType = readClass(input, registry);
+		int length = input.readVarInt();
+		Object array = Array.newInstance(componentType, length);
+		
+		if (componentType.isPrimitive()) {
+			for (int i = 0; i < length; i++) 
+				Array.set(array, i, readPrimitive(input, componentType));
+		} else {
+			Object[] elements = (Object[]) array;
+			for (int i = 0; i < length; i++) 
+				elements[i] = readObject(input, registry);
+		}
+		return array;
+	}
+	
+	/**
+	 * 读取不带标记的基本类型值
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param input
+	 * @param type
+	 * @return
+	 */
+	private Object readPrimitive(CompactInput input, Class<?> type) {
+		if (type == int.class)
+			return input.readInt();
+		if (type == long.class)
+			return input.readLong();
+		if (type == boolean.class)
+			return input.readByte() != 0;
+		if (type == double.class)
+			return input.readDouble();
+		if (type == float.class)
+			return input.readFloat();
+		if (type == short.class)
+			return (short) input.readInt();
+		if (type == byte.class)
+			return (byte) input.readByte();
+		
+		return (char) input.readVarInt();
+	}
+	
+	/**
+	 * 读取类型
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param input
+	 * @param registry
+	 * @return
+	 */
+	private Class<?> readClass(CompactInput input, Registry registry) {
+		int code = input.readVarInt();
+		if (code == 0) {
+			String className = input.readString();
+			if (registrationRequired)
+				throw new SerializationException("Class [" + className + "] is not registered");
+			
+			Class<?> type = loadClass(className);
+			input.addClass(type);
+			return type;
+		}
+		
+		int index = code - 1;
+		int registeredSize = registry.classes.size();
+		return index < registeredSize ? registry.classes.get(index) : input.getClass(index - registeredSize);
+	}
+	
+	/**
+	 * 加载指定名称的类，优先使用当前线程上下文的类加载器
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param className
+	 * @return
+	 */
+	private Class<?> loadClass(String className) {
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		if (classLoader == null)
+			classLoader = CompactSerializer.class.getClassLoader();
+		
+		try {
+			return Class.forName(className, false, classLoader);
+		} catch (ClassNotFoundException e) {
+			throw new SerializationException("Cannot load class [" + className + "]", e);
+		}
+	}
+	
+	/**
+	 * 获取类型的字段结构
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param type
+	 * @return
+	 */
+	private ClassSchema getSchema(Class<?> type) {
+		ClassSchema schema = schemas.get(type);
+		if (schema == null) {
+			ClassSchema newSchema = new ClassSchema(type);
+			schema = schemas.putIfAbsent(type, newSchema);
+			if (schema == null)
+				schema = newSchema;
+		}
+		return schema;
+	}
+	
+	/**
+	 * 获取集合/映射在序列化时写出的类型，没有公有无参构造函数的类型(例如不可变集合和视图)将被替换为相应的常用实现类型
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param type
+	 * @return
+	 */
+	private Class<?> getContainerType(Class<?> type) {
+		Class<?> containerType = containerTypes.get(type);
+		if (containerType == null) {
+			containerType = type;
+			try {
+				if (!Modifier.isPublic(type.getModifiers()))
+					containerType = null;
+				else
+					type.getConstructor();
+			} catch (NoSuchMethodException e) {
+				containerType = null;
+			}
+			
+			if (containerType == null) {
+				if (Map.class.isAssignableFrom(type))
+					containerType = SortedMap.class.isAssignableFrom(type) ? TreeMap.class : LinkedHashMap.class;
+				else if (SortedSet.class.isAssignableFrom(type))
+					containerType = TreeSet.class;
+				else if (Set.class.isAssignableFrom(type))
+					containerType = LinkedHashSet.class;
+				else
+					containerType = ArrayList.class;
+			}
+			containerTypes.putIfAbsent(type, containerType);
+		}
+		return containerType;
+	}
+	
+	@SuppressWarnings("rawtypes")
+	private Collection newCollection(Class<?> type, int size) throws Exception {
+		if (type == ArrayList.class)
+			return new ArrayList(size);
+		if (type == HashSet.class)
+			return new HashSet(Math.max((int) (size / .75f) + 1, 16));
+		if (type == LinkedHashSet.class)
+			return new LinkedHashSet(Math.max((int) (size / .75f) + 1, 16));
+		
+		return (Collection) ReflectionUtils.newInstance(type);
+	}
+	
+	@SuppressWarnings("rawtypes")
+	private Map newMap(Class<?> type, int size) throws Exception {
+		if (type == HashMap.class)
+			return new HashMap(Math.max((int) (size / .75f) + 1, 16));
+		if (type == LinkedHashMap.class)
+			return new LinkedHashMap(Math.max((int) (size / .75f) + 1, 16));
+		
+		return (Map) ReflectionUtils.newInstance(type);
+	}
+	
+	/**
+	 * 判断是否为JDK自身的类型，此类类型的私有字段无法通过反射访问
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param type
+	 * @return
+	 */
+	private boolean isJdkType(Class<?> type) {
+		String name = type.getName();
+		return name.startsWith("java.") || name.startsWith("javax.");
+	}
+	
+	/**
+	 * 类型注册表，注册时整体替换以保证单次序列化过程中编号的一致性
+	 * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @version 1.0
+	 */
+	private static final class Registry {
+		
+		private final List<Class<?>> classes;
+		
+		private final Map<Class<?>, Integer> ids;
+		
+		private Registry(Class<?>[] types) {
+			List<Class<?>> classes = CollectionUtils.newArrayList(types.length);
+			Map<Class<?>, Integer> ids = new IdentityHashMap<Class<?>, Integer>(types.length);
+			for (Class<?> type : types) {
+				ids.put(type, classes.size());
+				classes.add(type);
+			}
+			this.classes = Collections.unmodifiableList(classes);
+			this.ids = ids;
+		}
+	}
+	
+}
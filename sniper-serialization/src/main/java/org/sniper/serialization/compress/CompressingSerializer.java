@@ -0,0 +1,271 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.serialization.compress;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.sniper.commons.util.AssertUtils;
+import org.sniper.commons.util.Base64Utils;
+import org.sniper.serialization.AbstractTypedSerializer;
+import org.sniper.serialization.SerializationException;
+import org.sniper.serialization.Serializer;
+import org.sniper.serialization.TypedSerializer;
+
+/**
+ * 压缩序列化器，装饰任意序列化器，在序列化结果超过阈值时进行压缩。
+ * 压缩后的数据以"魔数(2字节)+算法标识(1字节)+原始长度(4字节)"作为头部，反序列化时根据头部自动解压，
+ * 没有头部的数据直接交给被装饰的序列化器处理，因此启用压缩前写入的数据仍然可以正常读取。
+ * 解压前会检查头部中的原始长度，超过最大解压长度的数据将被拒绝，避免损坏的头部导致分配过大的内存
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class CompressingSerializer extends AbstractTypedSerializer {
+	
+	/** 魔数首字节，0xFF不会出现在UTF-8文本中，也不是JDK、Hessian和紧凑二进制等格式的起始字节 */
+	static final byte MAGIC_HIGH = (byte) 0xFF;
+	
+	static final byte MAGIC_LOW = (byte) 0x53;
+	
+	/** 头部长度 */
+	static final int HEADER_LENGTH = 7;
+	
+	/** 默认的压缩阈值字节数 */
+	public static final int DEFAULT_THRESHOLD = 1024;
+	
+	/** 默认的最大解压字节数 */
+	public static final int DEFAULT_MAX_DECOMPRESSED_LENGTH = 64 * 1024 * 1024;
+	
+	/** 被装饰的序列化器 */
+	private final Serializer serializer;
+	
+	/** 压缩算法，只影响写入，读取时根据头部中的算法标识解压 */
+	private CompressionAlgorithm algorithm = CompressionAlgorithm.DEFLATE;
+	
+	/** 压缩阈值，序列化结果的字节数小于此值时不压缩 */
+	private int threshold = DEFAULT_THRESHOLD;
+	
+	/** 最大解压字节数，头部中的原始长度超过此值时不解压 */
+	private int maxDecompressedLength = DEFAULT_MAX_DECOMPRESSED_LENGTH;
+	
+	private final CompressionMetrics metrics = new CompressionMetrics();
+	
+	public CompressingSerializer(Serializer serializer) {
+		AssertUtils.assertNotNull(serializer, "Delegate serializer must not be null");
+		this.serializer = serializer;
+	}
+	
+	public CompressingSerializer(Serializer serializer, CompressionAlgorithm algorithm) {
+		this(serializer);
+		setAlgorithm(algorithm);
+	}
+	
+	public Serializer getSerializer() {
+		return serializer;
+	}
+
+	public CompressionAlgorithm getAlgorithm() {
+		return algorithm;
+	}
+
+	/**
+	 * 设置压缩算法，算法依赖的压缩库不存在时立即失败
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param algorithm
+	 */
+	public void setAlgorithm(CompressionAlgorithm algorithm) {
+		AssertUtils.assertNotNull(algorithm, "Compression algorithm must not be null");
+		algorithm.getCompressor();
+		this.algorithm = algorithm;
+	}
+
+	public int getThreshold() {
+		return threshold;
+	}
+
+	public void setThreshold(int threshold) {
+		AssertUtils.assertTrue(threshold >= 0, "Compression threshold must not be less than 0");
+		this.threshold = threshold;
+	}
+	
+	public int getMaxDecompressedLength() {
+		return maxDecompressedLength;
+	}
+
+	public void setMaxDecompressedLength(int maxDecompressedLength) {
+		AssertUtils.assertTrue(maxDecompressedLength > 0, "Max decompressed length must be greater than 0");
+		this.maxDecompressedLength = maxDecompressedLength;
+	}
+	
+	public CompressionMetrics getMetrics() {
+		return metrics;
+	}
+	
+	@Override
+	public void setTargetType(Class<?> targetType) {
+		super.setTargetType(targetType);
+		if (serializer.isTypedSerializer())
+			((TypedSerializer) serializer).setTargetType(targetType);
+	}
+	
+	@Override
+	public boolean isTypedSerializer() {
+		return serializer.isTypedSerializer();
+	}
+
+	@Override
+	public <T> byte[] serialize(T t) throws SerializationException {
+		return compress(serializer.serialize(t));
+	}
+	
+	@Override
+	public <T> T deserialize(byte[] bytes, int offset, int length, Class<T> targetType) throws SerializationException {
+		if (bytes == null)
+			return null;
+		
+		checkBounds(bytes, offset, length);
+		if (isCompressed(bytes, offset, length)) {
+			byte[] decompressed = decompress(bytes, offset, length);
+			return deserializeByDelegate(decompressed, 0, decompressed.length, targetType);
+		}
+		
+		return deserializeByDelegate(bytes, offset, length, targetType);
+	}
+
+	@Override
+	public <T> T deserialize(String text, Class<T> targetType) throws SerializationException {
+		return text != null ? deserialize(Base64Utils.decodeToBytes(text), targetType) : null;
+	}
+	
+	/**
+	 * 压缩序列化结果，低于阈值或压缩效果不佳时返回原始数据
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param bytes
+	 * @return
+	 * @throws SerializationException
+	 */
+	protected byte[] compress(byte[] bytes) throws SerializationException {
+		if (bytes == null)
+			return null;
+		
+		if (bytes.length < threshold) {
+			metrics.recordSkipped();
+			return bytes;
+		}
+		
+		CompressionAlgorithm algorithm = this.algorithm;
+		long start = CompressionMetrics.currentThreadNanos();
+		byte[] compressed;
+		try {
+			compressed = algorithm.getCompressor().compress(bytes, 0, bytes.length, HEADER_LENGTH);
+		} catch (IOException e) {
+			throw new SerializationException("Cannot compress with " + algorithm, e);
+		}
+		long nanos = CompressionMetrics.currentThreadNanos() - start;
+		
+		if (compressed == null) {
+			metrics.recordIncompressible(nanos);
+			return bytes;
+		}
+		
+		compressed[0] = MAGIC_HIGH;
+		compressed[1] = MAGIC_LOW;
+		compressed[2] = algorithm.getId();
+		writeInt(compressed, 3, bytes.length);
+		metrics.recordCompressed(bytes.length, compressed.length, nanos);
+		return compressed;
+	}
+	
+	/**
+	 * 判断字节数组指定区间的数据是否为压缩数据
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param bytes
+	 * @param offset
+	 * @param length
+	 * @return
+	 */
+	protected boolean isCompressed(byte[] bytes, int offset, int length) {
+		return length > HEADER_LENGTH && bytes[offset] == MAGIC_HIGH && bytes[offset + 1] == MAGIC_LOW
+				&& CompressionAlgorithm.forId(bytes[offset + 2]) != null;
+	}
+	
+	/**
+	 * 解压字节数组指定区间的压缩数据
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param bytes
+	 * @param offset
+	 * @param length
+	 * @return
+	 * @throws SerializationException
+	 */
+	protected byte[] decompress(byte[] bytes, int offset, int length) throws SerializationException {
+		CompressionAlgorithm algorithm = CompressionAlgorithm.forId(bytes[offset + 2]);
+		int originalLength = readInt(bytes, offset + 3);
+		if (originalLength <= 0)
+			throw new SerializationException("Invalid original length " + originalLength + " in compressed data");
+		if (originalLength > maxDecompressedLength)
+			throw new SerializationException("Original length " + originalLength 
+					+ " in compressed data exceeds max decompressed length " + maxDecompressedLength);
+		
+		byte[] target = new byte[originalLength];
+		long start = CompressionMetrics.currentThreadNanos();
+		try {
+			algorithm.getCompressor().decompress(bytes, offset + HEADER_LENGTH, length - HEADER_LENGTH, target);
+		} catch (IOException e) {
+			throw new SerializationException("Cannot decompress with " + algorithm, e);
+		}
+		
+		metrics.recordDecompressed(CompressionMetrics.currentThreadNanos() - start);
+		return target;
+	}
+	
+	/**
+	 * 由被装饰的序列化器反序列化字节数组指定区间的数据
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param bytes
+	 * @param offset
+	 * @param length
+	 * @param targetType
+	 * @return
+	 * @throws SerializationException
+	 */
+	private <T> T deserializeByDelegate(byte[] bytes, int offset, int length, Class<T> targetType) throws SerializationException {
+		if (serializer.isTypedSerializer())
+			return ((TypedSerializer) serializer).deserialize(bytes, offset, length, targetType);
+		
+		// 非类型化序列器只能处理完整的字节数组
+		if (offset != 0 || length != bytes.length)
+			bytes = Arrays.copyOfRange(bytes, offset, offset + length);
+		
+		return serializer.deserialize(bytes);
+	}
+	
+	private static void writeInt(byte[] bytes, int offset, int value) {
+		bytes[offset] = (byte) (value >>> 24);
+		bytes[offset + 1] = (byte) (value >>> 16);
+		bytes[offset + 2] = (byte) (value >>> 8);
+		bytes[offset + 3] = (byte) value;
+	}
+	
+	private static int readInt(byte[] bytes, int offset) {
+		return ((bytes[offset] & 0xFF) << 24) | ((bytes[offset + 1] & 0xFF) << 16) 
+				| ((bytes[offset + 2] & 0xFF) << 8) | (bytes[offset + 3] & 0xFF);
+	}
+
+}
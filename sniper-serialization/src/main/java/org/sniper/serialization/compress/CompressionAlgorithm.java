@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.serialization.compress;
+
+import org.sniper.serialization.SerializationException;
+
+/**
+ * 压缩算法枚举，标识会写入压缩数据的头部，因此已有算法的标识不能修改。
+ * LZ4和SNAPPY分别依赖可选的lz4-java和snappy-java库，只有在使用时才会加载
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public enum CompressionAlgorithm {
+	
+	DEFLATE((byte) 1) {
+		
+		@Override
+		Compressor newCompressor() {
+			return new DeflateCompressor();
+		}
+	},
+	
+	LZ4((byte) 2) {
+		
+		@Override
+		Compressor newCompressor() {
+			return new Lz4Compressor();
+		}
+	},
+	
+	SNAPPY((byte) 3) {
+		
+		@Override
+		Compressor newCompressor() {
+			return new SnappyCompressor();
+		}
+	};
+	
+	/** 算法标识 */
+	private final byte id;
+	
+	private volatile Compressor compressor;
+	
+	private CompressionAlgorithm(byte id) {
+		this.id = id;
+	}
+	
+	public byte getId() {
+		return id;
+	}
+	
+	/**
+	 * 根据标识获取对应的压缩算法，不存在时返回null
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param id
+	 * @return
+	 */
+	public static CompressionAlgorithm forId(byte id) {
+		for (CompressionAlgorithm algorithm : values()) {
+			if (algorithm.id == id)
+				return algorithm;
+		}
+		return null;
+	}
+	
+	/**
+	 * 获取算法对应的压缩器，首次获取时才创建，压缩器是无状态的，并发重复创建也不影响正确性
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 * @throws SerializationException 算法依赖的压缩库不存在时抛出
+	 */
+	Compressor getCompressor() throws SerializationException {
+		Compressor compressor = this.compressor;
+		if (compressor == null) {
+			try {
+				this.compressor = compressor = newCompressor();
+			} catch (LinkageError e) {
+				throw new SerializationException("Compression algorithm " + this + " is not available, please check the classpath", e);
+			}
+		}
+		return compressor;
+	}
+	
+	/**
+	 * 创建算法对应的压缩器
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	abstract Compressor newCompressor();
+
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.serialization.compress;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 压缩统计，记录压缩率以及压缩和解压所消耗的CPU时间
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class CompressionMetrics {
+	
+	private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+	
+	/** 当前JVM是否支持统计线程的CPU时间，不支持时退化为统计耗时 */
+	private static final boolean CPU_TIME_SUPPORTED = THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() 
+			&& THREAD_MX_BEAN.isThreadCpuTimeEnabled();
+	
+	/** 压缩成功的次数 */
+	private final LongAdder compressedCount = new LongAdder();
+	
+	/** 因低于阈值而未压缩的次数 */
+	private final LongAdder skippedCount = new LongAdder();
+	
+	/** 尝试压缩后因压缩效果不佳而保留原始数据的次数 */
+	private final LongAdder incompressibleCount = new LongAdder();
+	
+	/** 解压的次数 */
+	private final LongAdder decompressedCount = new LongAdder();
+	
+	/** 压缩成功的数据在压缩前的总字节数 */
+	private final LongAdder originalBytes = new LongAdder();
+	
+	/** 压缩成功的数据在压缩后的总字节数(包括头部) */
+	private final LongAdder compressedBytes = new LongAdder();
+	
+	/** 压缩所消耗的总CPU纳秒数，包括压缩效果不佳的尝试 */
+	private final LongAdder compressNanos = new LongAdder();
+	
+	/** 解压所消耗的总CPU纳秒数 */
+	private final LongAdder decompressNanos = new LongAdder();
+	
+	/**
+	 * 获取当前线程已消耗的CPU纳秒数，作为计算压缩和解压CPU时间的起止点
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	static long currentThreadNanos() {
+		return CPU_TIME_SUPPORTED ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : System.nanoTime();
+	}
+	
+	void recordCompressed(int originalLength, int compressedLength, long nanos) {
+		compressedCount.increment();
+		originalBytes.add(originalLength);
+		compressedBytes.add(compressedLength);
+		compressNanos.add(nanos);
+	}
+	
+	void recordIncompressible(long nanos) {
+		incompressibleCount.increment();
+		compressNanos.add(nanos);
+	}
+	
+	void recordSkipped() {
+		skippedCount.increment();
+	}
+	
+	void recordDecompressed(long nanos) {
+		decompressedCount.increment();
+		decompressNanos.add(nanos);
+	}
+
+	public long getCompressedCount() {
+		return compressedCount.sum();
+	}
+
+	public long getSkippedCount() {
+		return skippedCount.sum();
+	}
+
+	public long getIncompressibleCount() {
+		return incompressibleCount.sum();
+	}
+
+	public long getDecompressedCount() {
+		return decompressedCount.sum();
+	}
+
+	public long getOriginalBytes() {
+		return originalBytes.sum();
+	}
+
+	public long getCompressedBytes() {
+		return compressedBytes.sum();
+	}
+	
+	public long getCompressNanos() {
+		return compressNanos.sum();
+	}
+
+	public long getDecompressNanos() {
+		return decompressNanos.sum();
+	}
+	
+	/**
+	 * 获取压缩率，即压缩成功的数据在压缩前后的字节数之比，还没有压缩过任何数据时返回1
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public double getCompressionRatio() {
+		long compressed = compressedBytes.sum();
+		return compressed > 0 ? (double) originalBytes.sum() / compressed : 1;
+	}
+	
+	/**
+	 * 获取每次压缩平均消耗的CPU纳秒数
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public double getAverageCompressNanos() {
+		long count = compressedCount.sum() + incompressibleCount.sum();
+		return count > 0 ? (double) compressNanos.sum() / count : 0;
+	}
+	
+	/**
+	 * 获取每次解压平均消耗的CPU纳秒数
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public double getAverageDecompressNanos() {
+		long count = decompressedCount.sum();
+		return count > 0 ? (double) decompressNanos.sum() / count : 0;
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("{compressedCount:%d,skippedCount:%d,incompressibleCount:%d,decompressedCount:%d,"
+				+ "compressionRatio:%.3f,averageCompressNanos:%.1f,averageDecompressNanos:%.1f}", 
+				getCompressedCount(), getSkippedCount(), getIncompressibleCount(), getDecompressedCount(), 
+				getCompressionRatio(), getAverageCompressNanos(), getAverageDecompressNanos());
+	}
+
+}
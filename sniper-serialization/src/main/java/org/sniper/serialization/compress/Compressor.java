@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.serialization.compress;
+
+import java.io.IOException;
+
+/**
+ * 压缩器接口，实现类必须是线程安全的
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+interface Compressor {
+	
+	/**
+	 * 压缩字节数组指定区间的数据，结果数组的前headerLength个字节留给调用方写入头部信息，
+	 * 当头部与压缩数据的总长度不小于原始长度时返回null，表示不值得压缩
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param bytes
+	 * @param offset
+	 * @param length
+	 * @param headerLength
+	 * @return
+	 * @throws IOException
+	 */
+	public byte[] compress(byte[] bytes, int offset, int length, int headerLength) throws IOException;
+	
+	/**
+	 * 将字节数组指定区间的压缩数据解压到目标数组中，目标数组的长度等于原始数据的长度
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param bytes
+	 * @param offset
+	 * @param length
+	 * @param target
+	 * @throws IOException
+	 */
+	public void decompress(byte[] bytes, int offset, int length, byte[] target) throws IOException;
+
+}
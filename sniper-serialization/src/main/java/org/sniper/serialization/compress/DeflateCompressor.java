@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.serialization.compress;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 基于JDK Deflater/Inflater的压缩器，不依赖任何第三方库
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+final class DeflateCompressor implements Compressor {
+	
+	/** 缓存数据更看重压缩速度，默认采用最快的压缩级别 */
+	private final int level;
+	
+	DeflateCompressor() {
+		this(Deflater.BEST_SPEED);
+	}
+	
+	DeflateCompressor(int level) {
+		this.level = level;
+	}
+
+	@Override
+	public byte[] compress(byte[] bytes, int offset, int length, int headerLength) throws IOException {
+		if (headerLength >= length)
+			return null;
+		
+		Deflater deflater = new Deflater(level);
+		try {
+			deflater.setInput(bytes, offset, length);
+			deflater.finish();
+			
+			// 输出缓冲区以原始长度为上限，写满后仍未结束则说明不值得压缩
+			byte[] buffer = new byte[length];
+			int count = headerLength;
+			while (!deflater.finished()) {
+				if (count == buffer.length)
+					return null;
+				
+				count += deflater.deflate(buffer, count, buffer.length - count);
+			}
+			return count < length ? Arrays.copyOf(buffer, count) : null;
+		} finally {
+			deflater.end();
+		}
+	}
+
+	@Override
+	public void decompress(byte[] bytes, int offset, int length, byte[] target) throws IOException {
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(bytes, offset, length);
+			int count = 0;
+			while (count < target.length) {
+				int n = inflater.inflate(target, count, target.length - count);
+				if (n == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary()))
+					break;
+				
+				count += n;
+			}
+			
+			if (count != target.length || !inflater.finished())
+				throw new IOException("Corrupted deflate data, expected " + target.length + " bytes but inflated " + count);
+		} catch (DataFormatException e) {
+			throw new IOException("Corrupted deflate data", e);
+		} finally {
+			inflater.end();
+		}
+	}
+
+}
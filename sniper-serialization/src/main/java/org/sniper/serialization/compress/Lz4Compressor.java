@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.serialization.compress;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+
+/**
+ * 基于lz4-java的压缩器，压缩和解压速度最快，适合对延迟敏感的场景
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+final class Lz4Compressor implements Compressor {
+	
+	private final LZ4Factory factory = LZ4Factory.fastestInstance();
+
+	@Override
+	public byte[] compress(byte[] bytes, int offset, int length, int headerLength) throws IOException {
+		LZ4Compressor compressor = factory.fastCompressor();
+		byte[] buffer = new byte[headerLength + compressor.maxCompressedLength(length)];
+		try {
+			int count = headerLength + compressor.compress(bytes, offset, length, buffer, headerLength);
+			return count < length ? Arrays.copyOf(buffer, count) : null;
+		} catch (LZ4Exception e) {
+			throw new IOException("Cannot compress with LZ4", e);
+		}
+	}
+
+	@Override
+	public void decompress(byte[] bytes, int offset, int length, byte[] target) throws IOException {
+		try {
+			int count = factory.safeDecompressor().decompress(bytes, offset, length, target, 0);
+			if (count != target.length)
+				throw new IOException("Corrupted LZ4 data, expected " + target.length + " bytes but decompressed " + count);
+		} catch (LZ4Exception e) {
+			throw new IOException("Corrupted LZ4 data", e);
+		}
+	}
+
+}
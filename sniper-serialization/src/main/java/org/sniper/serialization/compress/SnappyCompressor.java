@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.serialization.compress;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.xerial.snappy.Snappy;
+
+/**
+ * 基于snappy-java的压缩器
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+final class SnappyCompressor implements Compressor {
+
+	@Override
+	public byte[] compress(byte[] bytes, int offset, int length, int headerLength) throws IOException {
+		byte[] buffer = new byte[headerLength + Snappy.maxCompressedLength(length)];
+		int count = headerLength + Snappy.compress(bytes, offset, length, buffer, headerLength);
+		return count < length ? Arrays.copyOf(buffer, count) : null;
+	}
+
+	@Override
+	public void decompress(byte[] bytes, int offset, int length, byte[] target) throws IOException {
+		// 先校验Snappy数据自身记录的原始长度，防止损坏的数据越界写入目标数组
+		int uncompressedLength = Snappy.uncompressedLength(bytes, offset, length);
+		if (uncompressedLength != target.length)
+			throw new IOException("Corrupted snappy data, expected " + target.length + " bytes but found " + uncompressedLength);
+		
+		Snappy.uncompress(bytes, offset, length, target, 0);
+	}
+
+}
@@ -19,13 +19,13 @@
 package org.sniper.serialization.hessian;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 
-import org.sniper.commons.util.ArrayUtils;
 import org.sniper.commons.util.Base64Utils;
-import org.sniper.commons.util.IOUtils;
 import org.sniper.serialization.AbstractTypedSerializer;
+import org.sniper.serialization.PooledByteArrayOutputStream;
 import org.sniper.serialization.SerializationException;
 
 import com.caucho.hessian.io.HessianInput;
@@ -40,45 +40,46 @@ public class HessianSerializer extends AbstractTypedSerializer {
 	
 	@Override
 	public <T> byte[] serialize(T t) throws SerializationException {
-		ByteArrayOutputStream byteArrayOutputStream = null;
-		HessianOutput hessianOutput = null;  
+		PooledByteArrayOutputStream out = PooledByteArrayOutputStream.acquire();
 		try {
-			byteArrayOutputStream = new ByteArrayOutputStream();
-			hessianOutput = new HessianOutput(byteArrayOutputStream);
+			serialize(t, out);
+			return out.toByteArray();
+		} finally {
+			out.release();
+		}
+	}
+	
+	@Override
+	public <T> void serialize(T t, OutputStream out) throws SerializationException {
+		try {
+			HessianOutput hessianOutput = new HessianOutput(out);
 			hessianOutput.writeObject(t);
-			return byteArrayOutputStream.toByteArray();
+			hessianOutput.flush();
 		} catch (IOException e) {
 			throw new SerializationException("Cannot serialize", e);
-		} finally {
-			try {
-				IOUtils.close(byteArrayOutputStream);
-			} catch (IOException e) {
-				throw new SerializationException("Cannot serialize", e);
-			}
 		}
 	}
 		
+	@Override
+	public <T> T deserialize(byte[] bytes, int offset, int length, Class<T> targetType) throws SerializationException {
+		if (bytes == null || length == 0)
+			return null;
+		
+		checkBounds(bytes, offset, length);
+		return deserialize(new ByteArrayInputStream(bytes, offset, length), targetType);
+	}
+	
 	@SuppressWarnings("unchecked")
 	@Override
-	public <T> T deserialize(byte[] bytes, Class<T> targetType) throws SerializationException {
-		if (ArrayUtils.isEmpty(bytes))
+	public <T> T deserialize(InputStream in, Class<T> targetType) throws SerializationException {
+		if (in == null)
 			return null;
 		
-		ByteArrayInputStream byteArrayInputStream = null;  
-	    HessianInput hessianInput = null;
-	    try {
-	    	byteArrayInputStream = new ByteArrayInputStream(bytes);
-	    	hessianInput = new HessianInput(byteArrayInputStream);
-	    	return (T) hessianInput.readObject(safeDeserializeType(targetType));
-	    } catch (IOException e) {
-	    	throw new SerializationException("Cannot deserialize", e);
-	    } finally {
-			try {
-				IOUtils.close(byteArrayInputStream);
-			} catch (IOException e) {
-				throw new SerializationException("Cannot deserialize", e);
-			}
-	    }
+		try {
+			return (T) new HessianInput(in).readObject(safeDeserializeType(targetType));
+		} catch (IOException e) {
+			throw new SerializationException("Cannot deserialize", e);
+		}
 	}
 	
 	@Override
@@ -19,14 +19,15 @@
 package org.sniper.serialization.jdk;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 
 import org.sniper.commons.util.ArrayUtils;
 import org.sniper.commons.util.IOUtils;
 import org.sniper.serialization.AbstractSerializer;
+import org.sniper.serialization.PooledByteArrayOutputStream;
 import org.sniper.serialization.SerializationException;
 
 /**
@@ -38,23 +39,24 @@ public class JdkSerializer extends AbstractSerializer {
 	
 	@Override
 	public <T> byte[] serialize(T t) throws SerializationException {
-		ByteArrayOutputStream byteArrayOutputStream = null;
-		ObjectOutputStream objectOutputStream = null;
+		PooledByteArrayOutputStream out = PooledByteArrayOutputStream.acquire();
 		try {
-			byteArrayOutputStream = new ByteArrayOutputStream();
-			objectOutputStream = new ObjectOutputStream(byteArrayOutputStream);  
+			serialize(t, out);
+			return out.toByteArray();
+		} finally {
+			out.release();
+		}
+	}
+	
+	@Override
+	public <T> void serialize(T t, OutputStream out) throws SerializationException {
+		try {
+			// 不关闭ObjectOutputStream，以免连带关闭调用方的输出流
+			ObjectOutputStream objectOutputStream = new ObjectOutputStream(out);  
 			objectOutputStream.writeObject(t);  
 			objectOutputStream.flush();
-			return byteArrayOutputStream.toByteArray();
 		} catch (IOException e) {
 			throw new SerializationException("Cannot serialize", e);
-		} finally {
-			try {
-				IOUtils.close(objectOutputStream);
-				IOUtils.close(byteArrayOutputStream);
-			} catch (IOException e) {
-				throw new SerializationException("Cannot serialize", e);
-			}
 		}
 	}
 
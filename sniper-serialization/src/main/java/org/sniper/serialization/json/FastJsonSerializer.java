@@ -19,6 +19,12 @@
 package org.sniper.serialization.json;
 
 
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Array;
 import java.util.Collection;
 import java.util.Iterator;
@@ -27,6 +33,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 
 import org.sniper.commons.util.ClassUtils;
+import org.sniper.commons.util.CodecUtils;
 import org.sniper.commons.util.CollectionUtils;
 import org.sniper.commons.util.MapUtils;
 import org.sniper.commons.util.ReflectionUtils;
@@ -36,7 +43,11 @@ import org.sniper.serialization.SerializationException;
 import com.alibaba.fastjson.JSONException;
 import com.alibaba.fastjson.JSONObject;
 import com.alibaba.fastjson.parser.DefaultJSONParser;
+import com.alibaba.fastjson.parser.JSONLexer;
+import com.alibaba.fastjson.parser.JSONReaderScanner;
+import com.alibaba.fastjson.parser.JSONToken;
 import com.alibaba.fastjson.parser.ParserConfig;
+import com.alibaba.fastjson.util.TypeUtils;
 import com.alibaba.fastjson.serializer.JSONSerializer;
 import com.alibaba.fastjson.serializer.SerializeConfig;
 import com.alibaba.fastjson.serializer.SerializeWriter;
@@ -77,14 +88,7 @@ public class FastJsonSerializer extends AbstractJsonSerializer {
 	public <T> byte[] serialize(T t) throws SerializationException {
 		JSONSerializer serializer = null;
 		try {
-			serializer = new JSONSerializer(new SerializeWriter());
-			
-			String dateFormat = getDateFormat();
-			if (StringUtils.isNotBlank(dateFormat)) {
-				serializer.config(SerializerFeature.WriteDateUseDateFormat, true);
-				serializer.setDateFormat(dateFormat);
-			}
-			serializer.write(t);
+			serializer = newJSONSerializer(t);
 			return serializer.getWriter().toBytes(getEncoding());
 		} catch (Exception e) {
 			throw new SerializationException("Cannot serialize", e);
@@ -94,6 +98,38 @@ public class FastJsonSerializer extends AbstractJsonSerializer {
 		}
 	}
 	
+	@Override
+	public <T> void serialize(T t, OutputStream out) throws SerializationException {
+		JSONSerializer serializer = null;
+		try {
+			serializer = newJSONSerializer(t);
+			// 将字符缓冲区按编码集直接编码到输出流，无需先生成完整的字节数组
+			serializer.getWriter().writeTo(out, getEncoding());
+		} catch (Exception e) {
+			throw new SerializationException("Cannot serialize", e);
+		} finally {
+			if (serializer != null)
+				serializer.close();
+		}
+	}
+	
+	/**
+	 * 创建一个已写入指定对象的JSON序列化器，使用完毕后需关闭
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param t
+	 * @return
+	 */
+	private JSONSerializer newJSONSerializer(Object t) {
+		JSONSerializer serializer = new JSONSerializer(new SerializeWriter());
+		String dateFormat = getDateFormat();
+		if (StringUtils.isNotBlank(dateFormat)) {
+			serializer.config(SerializerFeature.WriteDateUseDateFormat, true);
+			serializer.setDateFormat(dateFormat);
+		}
+		serializer.write(t);
+		return serializer;
+	}
+	
 	/**
 	 * 创建一个JSON解析器对象
 	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
@@ -101,7 +137,31 @@ public class FastJsonSerializer extends AbstractJsonSerializer {
 	 * @return
 	 */
 	protected DefaultJSONParser newJSONParser(String text) {
-		DefaultJSONParser jsonParser = new DefaultJSONParser(text);
+		return configure(new DefaultJSONParser(text));
+	}
+	
+	/**
+	 * 创建一个直接从输入流中按编码集逐段解码读取的JSON解析器对象
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param in
+	 * @return
+	 * @throws UnsupportedEncodingException 
+	 */
+	protected DefaultJSONParser newJSONParser(InputStream in) throws UnsupportedEncodingException {
+		String encoding = getEncoding();
+		InputStreamReader reader = new InputStreamReader(in, 
+				StringUtils.isNotBlank(encoding) ? encoding : CodecUtils.DEFAULT_ENCODING);
+		JSONLexer lexer = new JSONReaderScanner(reader);
+		return configure(new DefaultJSONParser(lexer));
+	}
+	
+	/**
+	 * 配置JSON解析器
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param jsonParser
+	 * @return
+	 */
+	private DefaultJSONParser configure(DefaultJSONParser jsonParser) {
 		String dateFormat = getDateFormat();
 		if (StringUtils.isNotBlank(dateFormat)) 
 			jsonParser.setDateFormat(dateFormat);
@@ -109,6 +169,73 @@ public class FastJsonSerializer extends AbstractJsonSerializer {
 		return jsonParser;
 	}
 	
+	@Override
+	public <T> T deserialize(byte[] bytes, int offset, int length, Class<T> type) throws SerializationException {
+		if (bytes == null)
+			return null;
+		
+		checkBounds(bytes, offset, length);
+		return deserializeFromStream(new ByteArrayInputStream(bytes, offset, length), type);
+	}
+	
+	@Override
+	public <T> T deserialize(InputStream in, Class<T> type) throws SerializationException {
+		if (in == null)
+			return null;
+		
+		// 解析器关闭时会连带关闭底层的流，而输入流应由调用方负责关闭
+		return deserializeFromStream(new FilterInputStream(in) {
+			
+			@Override
+			public void close() {}
+		}, type);
+	}
+	
+	/**
+	 * 直接从输入流中解码并反序列化出指定类型的对象，根据首个标记判断是否为JSON数组，从而避免构建中间字符串
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param in
+	 * @param type
+	 * @return
+	 * @throws SerializationException
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> T deserializeFromStream(InputStream in, Class<T> type) throws SerializationException {
+		DefaultJSONParser jsonParser = null;
+		try {
+			jsonParser = newJSONParser(in);
+			int token = jsonParser.getLexer().token();
+			if (token == JSONToken.EOF)
+				return null;
+			
+			if (token == JSONToken.LBRACKET) {
+				if (ClassUtils.isCollection(type))
+					return (T) toOriginalMapElementCollection((Collection<JSONObject>) jsonParser.parseObject(safeDeserializeType(type)));
+				
+				if (ClassUtils.isArray(type)) {
+					Class<T> componentType = (Class<T>) type.getComponentType();
+					Collection<T> collection = (Collection<T>) jsonParser.parseArray(safeDeserializeType(componentType));
+					return (T) CollectionUtils.toArray(collection, componentType);
+				}
+				
+				return (T) jsonParser.parseArray(safeDeserializeType(type));
+			} 
+			
+			if (ClassUtils.isCollection(type))
+				return deserializeToCollection(jsonParser, type);
+			
+			if (ClassUtils.isArray(type))
+				return deserializeToArray(jsonParser, type);
+			
+			return (T) jsonParser.parseObject(safeDeserializeType(type));
+		} catch (Exception e) {
+			throw new SerializationException("Cannot deserialize", e);
+		} finally {
+			if (jsonParser != null)
+				jsonParser.close();
+		}
+	}
+	
 	/**
 	 * 重写父类方法，由于FastJson在做反序列化操作时:<P>
 	 * 1)如果调用方传入的目标对象类型为null或Object，则默认反序列化结果的类型为com.alibaba.fastjson.JSONObject<P>
@@ -134,20 +261,45 @@ public class FastJsonSerializer extends AbstractJsonSerializer {
 		return (T) newJSONParser(json).parseObject(safeDeserializeType(type));
 	}
 	
-	@SuppressWarnings("unchecked")
 	@Override
 	protected <T> T deserializeToArray(String json, Class<T> arrayType) throws Exception {
+		return deserializeToArray(newJSONParser(json), arrayType);
+	}
+	
+	/**
+	 * 将JSON解析器中的单个对象反序列化到只有一个元素的数组中
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param jsonParser
+	 * @param arrayType
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> T deserializeToArray(DefaultJSONParser jsonParser, Class<T> arrayType) {
 		Class<?> componentType = arrayType.getComponentType();
 		T[] array = (T[]) Array.newInstance(componentType, 1);
-		array[0] = (T) deserializeToType(json, componentType);
+		array[0] = (T) jsonParser.parseObject(safeDeserializeType(componentType));
 		return (T) array;
 	}
 	
 	@Override
 	protected <T> T deserializeToCollection(String json, Class<T> collectionType) throws Exception {
-		/* 将JSON字符串先构建成数组形式的再进行反序列化 */
-		String jsonArray = new StringBuilder("[").append(json).append("]").toString();
-		return multipleDeserializeToCollection(jsonArray, collectionType);
+		return deserializeToCollection(newJSONParser(json), collectionType);
+	}
+	
+	/**
+	 * 将JSON解析器中的单个对象反序列化到只有一个元素的集合中，无需将JSON字符串先构建成数组形式
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param jsonParser
+	 * @param collectionType
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> T deserializeToCollection(DefaultJSONParser jsonParser, Class<T> collectionType) {
+		Collection<Map<String, Object>> collection = TypeUtils.createCollection(safeDeserializeType(collectionType));
+		Map<String, Object> map = MapUtils.newLinkedHashMap();
+		map.putAll(jsonParser.parseObject());
+		collection.add(map);
+		return (T) collection;
 	}
 	
 	@SuppressWarnings("unchecked")
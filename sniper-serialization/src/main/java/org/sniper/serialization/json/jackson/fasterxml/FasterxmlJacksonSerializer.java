@@ -18,6 +18,9 @@
 
 package org.sniper.serialization.json.jackson.fasterxml;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Array;
 import java.util.Collection;
 import java.util.concurrent.atomic.AtomicReference;
@@ -28,6 +31,10 @@ import org.sniper.commons.util.StringUtils;
 import org.sniper.serialization.SerializationException;
 import org.sniper.serialization.json.AbstractJsonSerializer;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.type.TypeFactory;
@@ -98,6 +105,76 @@ public class FasterxmlJacksonSerializer extends AbstractJsonSerializer {
 			throw new SerializationException("Cannot serialize", e);
 		}
 	}
+	
+	@Override
+	public <T> void serialize(T t, OutputStream out) throws SerializationException {
+		try {
+			// 输出流由调用方负责关闭
+			this.objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(out, t);
+		} catch (Exception e) {
+			throw new SerializationException("Cannot serialize", e);
+		}
+	}
+		
+	@Override
+	public <T> T deserialize(byte[] bytes, int offset, int length, Class<T> type) throws SerializationException {
+		if (bytes == null)
+			return null;
+		
+		checkBounds(bytes, offset, length);
+		try {
+			return deserialize(objectMapper.getFactory().createParser(bytes, offset, length), type);
+		} catch (IOException e) {
+			throw new SerializationException("Cannot deserialize", e);
+		}
+	}
+	
+	@Override
+	public <T> T deserialize(InputStream in, Class<T> type) throws SerializationException {
+		if (in == null)
+			return null;
+		
+		try {
+			JsonParser parser = objectMapper.getFactory().createParser(in);
+			// 输入流由调用方负责关闭
+			parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+			return deserialize(parser, type);
+		} catch (IOException e) {
+			throw new SerializationException("Cannot deserialize", e);
+		}
+	}
+	
+	/**
+	 * 直接从JSON解析器中反序列化出指定类型的对象，根据首个标记判断是否为JSON数组，从而避免构建中间字符串
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param parser
+	 * @param type
+	 * @return
+	 * @throws IOException
+	 */
+	private <T> T deserialize(JsonParser parser, Class<T> type) throws IOException {
+		try {
+			JsonToken token = parser.nextToken();
+			if (token == null)
+				return null;
+			
+			JavaType javaType;
+			TypeFactory typeFactory = objectMapper.getTypeFactory();
+			if (ClassUtils.isCollection(type))
+				javaType = typeFactory.constructType(safeDeserializeType(type));
+			else if (ClassUtils.isArray(type))
+				javaType = typeFactory.constructArrayType(type.getComponentType());
+			else if (token == JsonToken.START_ARRAY)
+				javaType = typeFactory.constructParametricType(Collection.class, safeDeserializeType(type));
+			else
+				javaType = typeFactory.constructType(safeDeserializeType(type));
+			
+			// 目标为集合或数组类型而JSON为单个对象时，将其作为只有一个元素的数组进行反序列化
+			return objectMapper.readerFor(javaType).with(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY).readValue(parser);
+		} finally {
+			parser.close();
+		}
+	}
 		
 	@SuppressWarnings("unchecked")
 	@Override
@@ -116,9 +193,9 @@ public class FasterxmlJacksonSerializer extends AbstractJsonSerializer {
 	
 	@Override
 	protected <T> T deserializeToCollection(String json, Class<T> collectionType) throws Exception {
-		/* 将JSON字符串先构建成数组形式的再进行反序列化 */
-		String jsonArray = new StringBuilder("[").append(json).append("]").toString();
-		return multipleDeserializeToCollection(jsonArray, collectionType);
+		/* 将单个JSON对象作为只有一个元素的数组进行反序列化 */
+		return objectMapper.readerFor(safeDeserializeType(collectionType))
+				.with(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY).readValue(json);
 	}
 			
 	@Override
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.serialization.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.sniper.commons.util.MapUtils;
+import org.sniper.serialization.SerializationException;
+import org.sniper.serialization.compact.CompactSerializer;
+import org.sniper.test.domain.Department;
+import org.sniper.test.domain.User;
+
+/**
+ * 紧凑二进制序列化器单元测试类
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class CompactSerializerTest extends AbstractSerializerTest {
+	
+	private CompactSerializer serializer = new CompactSerializer();
+	
+	@Test
+	public void testSerializeBean() throws Exception {
+		user.setKeywords(new String[] { "a", "中文" });
+		user.setAddresses(Arrays.asList("chengdu", "beijing"));
+		Map<String, Object> detail = MapUtils.newLinkedHashMap();
+		detail.put("level", 3);
+		detail.put("unit", TimeUnit.SECONDS);
+		detail.put("scores", new int[] { -1, 0, Integer.MAX_VALUE });
+		user.setDetail(detail);
+		user.setBoss(list.get(1));
+		
+		User result = serializer.deserialize(serializer.serialize(user), User.class);
+		assertEquals(user.getId(), result.getId());
+		assertEquals(user.getName(), result.getName());
+		assertEquals(user.getAge(), result.getAge());
+		assertEquals(user.isMarried(), result.isMarried());
+		assertEquals(user.getAmount(), result.getAmount());
+		assertEquals(user.getCreateTime(), result.getCreateTime());
+		assertEquals(list.get(1).getId(), result.getBoss().getId());
+		assertTrue(Arrays.equals(user.getKeywords(), result.getKeywords()));
+		assertEquals(user.getAddresses(), result.getAddresses());
+		assertEquals(TimeUnit.SECONDS, result.getDetail().get("unit"));
+		assertTrue(Arrays.equals(new int[] { -1, 0, Integer.MAX_VALUE }, (int[]) result.getDetail().get("scores")));
+	}
+	
+	@Test
+	public void testSerializeCollection() throws Exception {
+		List<User> result = serializer.deserialize(serializer.serialize(list));
+		assertEquals(list.size(), result.size());
+		assertEquals(list.get(2).getId(), result.get(2).getId());
+		
+		// 不可变集合没有公有的无参构造函数，反序列化为常用的实现类型
+		List<String> unmodifiable = Collections.unmodifiableList(Arrays.asList("x", "y"));
+		assertEquals(unmodifiable, serializer.deserialize(serializer.serialize(unmodifiable)));
+		
+		byte[] bytes = serializer.serialize(user);
+		ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+		buffer.put(bytes).flip();
+		assertEquals(user.getId(), serializer.deserialize(buffer, User.class).getId());
+		assertEquals(user.getId(), serializer.deserialize(new ByteArrayInputStream(bytes), User.class).getId());
+		assertEquals(user.getId(), serializer.deserialize(serializer.serializeToString(user), User.class).getId());
+	}
+	
+	@Test
+	public void testRegister() throws Exception {
+		int unregisteredSize = serializer.serialize(list).length;
+		
+		CompactSerializer registered = new CompactSerializer();
+		registered.register(User.class);
+		registered.setRegistrationRequired(true);
+		byte[] bytes = registered.serialize(list);
+		assertTrue(bytes.length < unregisteredSize);
+		
+		List<User> result = registered.deserialize(bytes);
+		assertEquals(list.get(0).getName(), result.get(0).getName());
+		
+		try {
+			registered.serialize(new Department());
+			fail();
+		} catch (SerializationException e) {
+			assertNotNull(e.getMessage());
+		}
+		
+		// 只允许已注册类型时，拒绝读取由数据指定类名的未注册类型
+		try {
+			registered.deserialize(serializer.serialize(new Department()));
+			fail();
+		} catch (SerializationException e) {
+			assertNotNull(e.getMessage());
+		}
+	}
+	
+	@Test
+	public void testCircularReference() throws Exception {
+		user.setBoss(user);
+		try {
+			serializer.serialize(user);
+			fail();
+		} catch (SerializationException e) {
+			assertNotNull(e.getMessage());
+		}
+		
+		// 同一对象在不同分支中出现不属于循环引用
+		user.setBoss(null);
+		List<User> sameUsers = Arrays.asList(user, user);
+		assertEquals(2, serializer.<List<User>>deserialize(serializer.serialize(sameUsers)).size());
+	}
+	
+	@Test
+	public void testJdkSerialization() throws Exception {
+		UUID uuid = UUID.randomUUID();
+		try {
+			serializer.serialize(uuid);
+			fail();
+		} catch (SerializationException e) {
+			assertNotNull(e.getMessage());
+		}
+		
+		CompactSerializer allowed = new CompactSerializer();
+		allowed.setJdkSerializationAllowed(true);
+		byte[] bytes = allowed.serialize(uuid);
+		assertEquals(uuid, allowed.deserialize(bytes));
+		
+		// 默认不允许读取JDK原生序列化数据
+		try {
+			serializer.deserialize(bytes);
+			fail();
+		} catch (SerializationException e) {
+			assertNotNull(e.getMessage());
+		}
+	}
+	
+	@Test
+	public void testSerializeToSink() throws Exception {
+		byte[] expected = serializer.serialize(user);
+		
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		serializer.serialize(user, out);
+		assertTrue(Arrays.equals(expected, out.toByteArray()));
+		
+		ByteBuffer buffer = ByteBuffer.allocateDirect(expected.length);
+		assertEquals(expected.length, serializer.serialize(user, buffer));
+		buffer.flip();
+		assertEquals(user.getId(), serializer.deserialize(buffer, User.class).getId());
+	}
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.serialization.test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.sniper.commons.util.CollectionUtils;
+import org.sniper.serialization.SerializationException;
+import org.sniper.serialization.compress.CompressingSerializer;
+import org.sniper.serialization.compress.CompressionAlgorithm;
+import org.sniper.serialization.compress.CompressionMetrics;
+import org.sniper.serialization.jdk.JdkSerializer;
+import org.sniper.serialization.json.jackson.fasterxml.FasterxmlJacksonSerializer;
+import org.sniper.test.domain.User;
+
+/**
+ * 压缩序列化器单元测试类
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class CompressingSerializerTest extends AbstractSerializerTest {
+	
+	private FasterxmlJacksonSerializer jacksonSerializer = new FasterxmlJacksonSerializer();
+	
+	private List<User> largeList() {
+		List<User> users = CollectionUtils.newArrayList();
+		for (int i = 0; i < 100; i++) {
+			User user = this.user.clone();
+			user.setId(this.user.getId() + i);
+			users.add(user);
+		}
+		return users;
+	}
+	
+	@Test
+	public void testThreshold() throws Exception {
+		CompressingSerializer serializer = new CompressingSerializer(jacksonSerializer);
+		
+		// 低于阈值时与被装饰的序列化器结果完全相同
+		byte[] bytes = serializer.serialize(user);
+		assertEquals(new String(jacksonSerializer.serialize(user), "UTF-8"), new String(bytes, "UTF-8"));
+		assertEquals(user.getId(), serializer.deserialize(bytes, User.class).getId());
+		assertEquals(1, serializer.getMetrics().getSkippedCount());
+		
+		List<User> users = largeList();
+		byte[] compressed = serializer.serialize(users);
+		assertTrue(compressed.length < jacksonSerializer.serialize(users).length);
+		
+		List<?> result = serializer.deserialize(compressed, List.class);
+		assertEquals(users.size(), result.size());
+		assertEquals(1, serializer.getMetrics().getCompressedCount());
+		assertEquals(1, serializer.getMetrics().getDecompressedCount());
+		assertTrue(serializer.getMetrics().getCompressionRatio() > 1);
+	}
+	
+	@Test
+	public void testReadUncompressed() throws Exception {
+		// 启用压缩前写入的数据仍然可以读取
+		byte[] legacy = jacksonSerializer.serialize(largeList());
+		CompressingSerializer serializer = new CompressingSerializer(jacksonSerializer);
+		serializer.setTargetType(User.class);
+		
+		List<User> result = serializer.deserialize(legacy);
+		assertEquals(100, result.size());
+		assertEquals(0, serializer.getMetrics().getDecompressedCount());
+		
+		JdkSerializer jdkSerializer = new JdkSerializer();
+		CompressingSerializer jdkCompressing = new CompressingSerializer(jdkSerializer);
+		assertEquals(user.getId(), jdkCompressing.<User>deserialize(jdkSerializer.serialize(user)).getId());
+		assertFalse(jdkCompressing.isTypedSerializer());
+	}
+	
+	@Test
+	public void testAlgorithms() throws Exception {
+		List<User> users = largeList();
+		for (CompressionAlgorithm algorithm : CompressionAlgorithm.values()) {
+			CompressingSerializer writer = new CompressingSerializer(jacksonSerializer, algorithm);
+			byte[] bytes = writer.serialize(users);
+			
+			// 读取时根据头部中的算法标识解压，与读取方配置的算法无关
+			CompressingSerializer reader = new CompressingSerializer(jacksonSerializer);
+			reader.setTargetType(User.class);
+			List<User> result = reader.deserialize(bytes);
+			assertEquals(users.get(99).getId(), result.get(99).getId());
+			
+			ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+			buffer.put(bytes).flip();
+			assertEquals(users.size(), reader.<List<User>>deserialize(buffer, null).size());
+			assertEquals(users.size(), reader.<List<User>>deserialize(new ByteArrayInputStream(bytes), null).size());
+			assertEquals(users.size(), reader.<List<User>>deserialize(writer.serializeToString(users)).size());
+			
+			CompressionMetrics metrics = writer.getMetrics();
+			System.out.println(algorithm + ": " + metrics);
+			assertTrue(metrics.getCompressionRatio() > 1);
+			assertTrue(metrics.getCompressNanos() >= 0);
+		}
+	}
+	
+	@Test
+	public void testIncompressible() throws Exception {
+		byte[] random = new byte[4096];
+		new Random(9527).nextBytes(random);
+		
+		CompressingSerializer serializer = new CompressingSerializer(new JdkSerializer());
+		byte[] bytes = serializer.serialize(random);
+		assertEquals(1, serializer.getMetrics().getIncompressibleCount());
+		assertTrue(Arrays.equals(random, (byte[]) serializer.deserialize(bytes)));
+	}
+	
+	@Test
+	public void testMaxDecompressedLength() throws Exception {
+		List<User> users = largeList();
+		CompressingSerializer serializer = new CompressingSerializer(jacksonSerializer);
+		byte[] bytes = serializer.serialize(users);
+		
+		serializer.setMaxDecompressedLength(1024);
+		try {
+			serializer.deserialize(bytes, List.class);
+			fail();
+		} catch (SerializationException e) {
+			assertEquals(0, serializer.getMetrics().getDecompressedCount());
+		}
+		
+		// 损坏的头部声明了接近2GB的原始长度
+		serializer.setMaxDecompressedLength(CompressingSerializer.DEFAULT_MAX_DECOMPRESSED_LENGTH);
+		bytes[3] = (byte) 0x7F;
+		try {
+			serializer.deserialize(bytes, List.class);
+			fail();
+		} catch (SerializationException e) {
+			assertEquals(0, serializer.getMetrics().getDecompressedCount());
+		}
+	}
+
+}
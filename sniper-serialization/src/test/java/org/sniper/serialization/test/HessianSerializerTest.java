@@ -18,8 +18,10 @@
 
 package org.sniper.serialization.test;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.nio.ByteBuffer;
 
 import org.junit.Test;
 import org.sniper.commons.util.ArrayUtils;
@@ -60,5 +62,26 @@ public class HessianSerializerTest extends AbstractSerializerTest {
 		System.out.println(user.getAmount());
 		System.out.println(user.getCreateTime());
 	}
+	
+	@Test
+	public void testDeserializeBytes() throws Exception {
+		byte[] bytes = serializer.serialize(list);
+		byte[] padded = new byte[bytes.length + 4];
+		System.arraycopy(bytes, 0, padded, 2, bytes.length);
+		
+		User[] result = serializer.deserialize(padded, 2, bytes.length, User[].class);
+		assertEquals(list.size(), result.length);
+		assertEquals(list.get(0).getName(), result[0].getName());
+		
+		ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+		buffer.put(bytes).flip();
+		result = serializer.deserialize(buffer, User[].class);
+		assertEquals(list.get(2).getId(), result[2].getId());
+		assertEquals(0, buffer.position());
+		
+		User user = serializer.deserialize(new ByteArrayInputStream(serializer.serialize(this.user)), User.class);
+		assertEquals(this.user.getName(), user.getName());
+		assertEquals(this.user.getId(), user.getId());
+	}
 
 }
@@ -18,13 +18,17 @@
 
 package org.sniper.serialization.test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.Test;
 import org.sniper.commons.util.ArrayUtils;
 import org.sniper.commons.util.IOUtils;
+import org.sniper.serialization.SerializationException;
 import org.sniper.serialization.Serializer;
 import org.sniper.serialization.jdk.JdkSerializer;
 import org.sniper.test.domain.User;
@@ -63,5 +67,27 @@ public class JdkSerializerTest extends AbstractSerializerTest {
 		System.out.println(user.getAmount());
 		System.out.println(user.getCreateTime());
 	}
+	
+	@Test
+	public void testSerializeToSink() throws Exception {
+		byte[] expected = serializer.serialize(list);
+		
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		serializer.serialize(list, out);
+		assertTrue(Arrays.equals(expected, out.toByteArray()));
+		
+		ByteBuffer buffer = ByteBuffer.allocate(expected.length + 8);
+		buffer.position(8);
+		assertEquals(expected.length, serializer.serialize(list, buffer));
+		assertEquals(buffer.capacity(), buffer.position());
+		
+		ByteBuffer smallBuffer = ByteBuffer.allocate(expected.length / 2);
+		try {
+			serializer.serialize(list, smallBuffer);
+			fail();
+		} catch (SerializationException e) {
+			assertEquals(0, smallBuffer.position());
+		}
+	}
 
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.serialization.test;
+
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.junit.Test;
+import org.sniper.commons.util.MapUtils;
+import org.sniper.serialization.Serializer;
+import org.sniper.serialization.TypedSerializer;
+import org.sniper.serialization.compact.CompactSerializer;
+import org.sniper.serialization.hessian.HessianSerializer;
+import org.sniper.serialization.jdk.JdkSerializer;
+import org.sniper.serialization.json.FastJsonSerializer;
+import org.sniper.serialization.json.jackson.fasterxml.FasterxmlJacksonSerializer;
+import org.sniper.test.domain.User;
+
+/**
+ * 各序列化器的序列化结果大小及吞吐量对比测试类
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class SerializerComparisonTest extends AbstractSerializerTest {
+	
+	private static final int WARMUP_ROUNDS = 2000;
+	
+	private static final int ROUNDS = 10000;
+	
+	private Map<String, Serializer> newSerializers() {
+		CompactSerializer compactSerializer = new CompactSerializer();
+		compactSerializer.register(User.class);
+		
+		Map<String, Serializer> serializers = MapUtils.newLinkedHashMap();
+		serializers.put("jdk", new JdkSerializer());
+		serializers.put("hessian", new HessianSerializer());
+		serializers.put("jackson", new FasterxmlJacksonSerializer());
+		serializers.put("fastjson", new FastJsonSerializer());
+		serializers.put("compact", compactSerializer);
+		return serializers;
+	}
+	
+	@Test
+	public void testSize() {
+		Map<String, Integer> sizes = MapUtils.newLinkedHashMap();
+		for (Entry<String, Serializer> entry : newSerializers().entrySet()) {
+			int size = entry.getValue().serialize(user).length;
+			sizes.put(entry.getKey(), size);
+			System.out.println(String.format("%-10s single=%5d bytes, list=%5d bytes", 
+					entry.getKey(), size, entry.getValue().serialize(list).length));
+		}
+		
+		int compactSize = sizes.get("compact");
+		assertTrue(compactSize < sizes.get("jdk"));
+		assertTrue(compactSize < sizes.get("hessian"));
+		assertTrue(compactSize < sizes.get("jackson"));
+	}
+	
+	@Test
+	public void testThroughput() {
+		for (Entry<String, Serializer> entry : newSerializers().entrySet()) {
+			Serializer serializer = entry.getValue();
+			byte[] bytes = serializer.serialize(user);
+			
+			for (int i = 0; i < WARMUP_ROUNDS; i++) 
+				roundTrip(serializer, bytes);
+			
+			long start = System.nanoTime();
+			for (int i = 0; i < ROUNDS; i++) 
+				roundTrip(serializer, bytes);
+			
+			long elapsed = System.nanoTime() - start;
+			System.out.println(String.format("%-10s %8d round trips/s", 
+					entry.getKey(), ROUNDS * 1000000000L / Math.max(elapsed, 1)));
+		}
+	}
+	
+	private void roundTrip(Serializer serializer, byte[] bytes) {
+		serializer.serialize(user);
+		if (serializer.isTypedSerializer())
+			((TypedSerializer) serializer).deserialize(bytes, User.class);
+		else
+			serializer.deserialize(bytes);
+	}
+
+}
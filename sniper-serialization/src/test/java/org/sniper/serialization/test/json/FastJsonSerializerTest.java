@@ -18,6 +18,8 @@
 
 package org.sniper.serialization.test.json;
 
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -157,5 +159,26 @@ public class FastJsonSerializerTest extends AbstractSerializerTest {
 		System.out.println("Set type -> " +  deserializeResult.getClass() + "(size=" + ObjectUtils.count(deserializeResult) + ")");
 		System.out.println("Set element type -> " + ((Set<?>)deserializeResult).iterator().next().getClass());
 	}
+	
+	@Test
+	public void testDeserializeBytes() throws Exception {
+		byte[] bytes = fastJsonSerializer.serialize(list);
+		byte[] padded = new byte[bytes.length + 4];
+		System.arraycopy(bytes, 0, padded, 2, bytes.length);
+		
+		User[] result = fastJsonSerializer.deserialize(padded, 2, bytes.length, User[].class);
+		assertEquals(list.size(), result.length);
+		assertEquals(list.get(0).getName(), result[0].getName());
+		
+		ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+		buffer.put(bytes).flip();
+		result = fastJsonSerializer.deserialize(buffer, User[].class);
+		assertEquals(list.get(2).getId(), result[2].getId());
+		assertEquals(0, buffer.position());
+		
+		User user = fastJsonSerializer.deserialize(new ByteArrayInputStream(fastJsonSerializer.serialize(this.user)), User.class);
+		assertEquals(this.user.getName(), user.getName());
+		assertEquals(this.user.getAmount(), user.getAmount());
+	}
 
 }
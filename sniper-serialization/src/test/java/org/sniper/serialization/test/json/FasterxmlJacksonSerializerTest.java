@@ -18,6 +18,10 @@
 
 package org.sniper.serialization.test.json;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -156,4 +160,37 @@ public class FasterxmlJacksonSerializerTest extends AbstractSerializerTest {
 		System.out.println("Set type -> " +  deserializeResult.getClass() + "(size=" + ObjectUtils.count(deserializeResult) + ")");
 		System.out.println("Set element type -> " + ((Set<?>)deserializeResult).iterator().next().getClass());
 	}
+	
+	@Test
+	public void testDeserializeBytes() throws Exception {
+		byte[] bytes = fasterxmlJacksonSerializer.serialize(list);
+		byte[] padded = new byte[bytes.length + 4];
+		System.arraycopy(bytes, 0, padded, 2, bytes.length);
+		
+		User[] result = fasterxmlJacksonSerializer.deserialize(padded, 2, bytes.length, User[].class);
+		assertEquals(list.size(), result.length);
+		assertEquals(list.get(0).getName(), result[0].getName());
+		
+		ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+		buffer.put(bytes).flip();
+		result = fasterxmlJacksonSerializer.deserialize(buffer, User[].class);
+		assertEquals(list.get(2).getId(), result[2].getId());
+		assertEquals(0, buffer.position());
+		
+		User user = fasterxmlJacksonSerializer.deserialize(new ByteArrayInputStream(fasterxmlJacksonSerializer.serialize(this.user)), User.class);
+		assertEquals(this.user.getName(), user.getName());
+		assertEquals(this.user.getAmount(), user.getAmount());
+	}
+	
+	@Test
+	public void testSerializeToSink() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		fasterxmlJacksonSerializer.serialize(list, out);
+		assertTrue(Arrays.equals(fasterxmlJacksonSerializer.serialize(list), out.toByteArray()));
+		
+		ByteBuffer buffer = ByteBuffer.allocate(out.size());
+		assertEquals(out.size(), fasterxmlJacksonSerializer.serialize(list, buffer));
+		assertFalse(buffer.hasRemaining());
+	}
+
 }
@@ -21,6 +21,7 @@ package org.sniper.sharding;
 import java.math.BigInteger;
 
 import org.sniper.commons.util.AssertUtils;
+import org.sniper.commons.util.NumberUtils;
 
 /**
  * 哈希分片器抽象类
@@ -35,6 +36,9 @@ public abstract class AbstractHashSharding<T> extends AbstractSharding<T> {
 	/** 路由目标格式化长度 */
 	protected int formatLength;
 	
+	/** 按分片索引排列的已格式化的路由目标，模数或格式化长度变化后重新生成 */
+	private volatile String[] targets;
+	
 	protected AbstractHashSharding() {
 		this(1);
 	}
@@ -50,6 +54,7 @@ public abstract class AbstractHashSharding<T> extends AbstractSharding<T> {
 	public void setModel(int model) {
 		AssertUtils.assertTrue(model != 0, "Hash model must not be equals 0");
 		this.model = new BigInteger(String.valueOf(Math.abs(model)));
+		this.targets = null;
 	}
 	
 	public int getFormatLength() {
@@ -58,6 +63,26 @@ public abstract class AbstractHashSharding<T> extends AbstractSharding<T> {
 
 	public void setFormatLength(int formatLength) {
 		this.formatLength = formatLength;
+		this.targets = null;
+	}
+	
+	/**
+	 * 获取按分片索引排列的已格式化的路由目标，模数或格式化长度变化后首次调用时重新生成
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public String[] getTargets() {
+		String[] current = targets;
+		if (current == null) {
+			current = new String[model.intValue()];
+			for (int i = 0; i < current.length; i++) {
+				current[i] = (formatLength > 0 ? NumberUtils.format(i, formatLength) : String.valueOf(i));
+			}
+			
+			targets = current;
+		}
+		
+		return current;
 	}
 
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.sharding;
+
+/**
+ * 分片哈希工具类，所有计算均基于基本类型long完成，不会产生任何临时对象。</P>
+ * 1.整型键(long/int/short/byte)统一经过MurmurHash3的fmix64扰动函数进行散列；</P>
+ * 2.字符序列键先以FNV-1a(64位)逐字符累加，再经过fmix64扰动，因此字符串"9527"与整数9527的哈希值并不相同；</P>
+ * 3.其它对象则对其hashCode()进行扰动。
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class HashUtils {
+	
+	/** FNV-1a 64位偏移基数 */
+	private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+	
+	/** FNV-1a 64位素数 */
+	private static final long FNV_PRIME = 0x100000001b3L;
+	
+	/** 2的64次方 */
+	private static final double TWO_POW_64 = 0x1p64;
+	
+	private HashUtils() {}
+	
+	/**
+	 * 对long值进行扰动(MurmurHash3 fmix64)，使相邻的键均匀地散列到整个64位空间上
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @return
+	 */
+	public static long mix64(long key) {
+		key ^= key >>> 33;
+		key *= 0xff51afd7ed558ccdL;
+		key ^= key >>> 33;
+		key *= 0xc4ceb9fe1a85ec53L;
+		key ^= key >>> 33;
+		return key;
+	}
+	
+	/**
+	 * 计算long键的哈希值
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @return
+	 */
+	public static long hash(long key) {
+		return mix64(key);
+	}
+	
+	/**
+	 * 计算字符序列键的哈希值，null与空序列的哈希值相同
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @return
+	 */
+	public static long hash(CharSequence key) {
+		long hash = FNV_OFFSET_BASIS;
+		if (key != null) {
+			for (int i = 0, length = key.length(); i < length; i++) {
+				char c = key.charAt(i);
+				hash ^= (c & 0xff);
+				hash *= FNV_PRIME;
+				hash ^= (c >>> 8);
+				hash *= FNV_PRIME;
+			}
+		}
+		
+		return mix64(hash);
+	}
+	
+	/**
+	 * 计算任意对象键的哈希值
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @return
+	 */
+	public static long hash(Object key) {
+		if (key == null)
+			return mix64(0);
+		
+		if (key instanceof Long || key instanceof Integer || key instanceof Short || key instanceof Byte)
+			return mix64(((Number) key).longValue());
+		
+		if (key instanceof CharSequence)
+			return hash((CharSequence) key);
+		
+		return mix64(key.hashCode());
+	}
+	
+	/**
+	 * 将64位哈希空间中的一段无符号长度换算成占整个空间的比例
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param unsignedLength
+	 * @return
+	 */
+	public static double ratioOf(long unsignedLength) {
+		double length = (double) (unsignedLength >>> 1) * 2.0 + (unsignedLength & 1L);
+		return length / TWO_POW_64;
+	}
+
+}
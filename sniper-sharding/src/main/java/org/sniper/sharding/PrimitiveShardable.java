@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.sharding;
+
+/**
+ * 支持基本类型键的可分片接口，在不创建分片实体的前提下直接计算出键所在的分片索引。</P>
+ * 分片索引与getTargets()返回的数组下标一一对应，分片拓扑(模数、节点等)发生变化后，getTargets()将返回一个新的数组实例，
+ * 调用方可通过比较数组实例是否相同来判断拓扑是否发生了变化。
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public interface PrimitiveShardable<T> extends Shardable<T> {
+	
+	/**
+	 * 获取long键所在的分片索引
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @return
+	 */
+	public int shardOf(long key);
+	
+	/**
+	 * 获取字符序列键所在的分片索引
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @return
+	 */
+	public int shardOf(CharSequence key);
+	
+	/**
+	 * 获取当前拓扑下按分片索引排列的路由目标，返回的数组为内部快照，调用方不能对其进行修改
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public String[] getTargets();
+
+}
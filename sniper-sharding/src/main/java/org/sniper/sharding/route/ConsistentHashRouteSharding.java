@@ -0,0 +1,509 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.sharding.route;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.sniper.commons.util.AssertUtils;
+import org.sniper.sharding.AbstractSharding;
+import org.sniper.sharding.HashUtils;
+import org.sniper.sharding.PrimitiveShardable;
+import org.sniper.sharding.route.RouteMovementReport.MovedRange;
+
+/**
+ * 一致性哈希路由分片器实现类，路由目标为节点名称。</P>
+ * 1.每个节点按"权重*每单位权重的虚拟节点数"在64位哈希环上放置若干个虚拟节点，键的哈希值顺时针找到的第一个虚拟节点即为其归属节点；</P>
+ * 2.节点变化时，只有与新增/删除节点相邻的区间会改变归属，可通过movementTo等方法预先得到迁移报告；</P>
+ * 3.哈希环以不可变快照的形式保存，查找时只需对long[]进行一次二分查找，整个过程不会产生任何临时对象。
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class ConsistentHashRouteSharding extends AbstractSharding<Route> implements PrimitiveShardable<Route> {
+	
+	/** 默认的每单位权重的虚拟节点数 */
+	public static final int DEFAULT_VIRTUAL_NODES = 160;
+	
+	/** 节点名称与权重的映射 */
+	private final Map<String, Integer> nodes;
+	
+	/** 每单位权重的虚拟节点数 */
+	private int virtualNodes;
+	
+	/** 当前的哈希环快照 */
+	private volatile Ring ring;
+	
+	public ConsistentHashRouteSharding() {
+		this(DEFAULT_VIRTUAL_NODES);
+	}
+	
+	public ConsistentHashRouteSharding(int virtualNodes) {
+		AssertUtils.assertTrue(virtualNodes > 0, "Virtual nodes must be greater than 0");
+		this.nodes = new LinkedHashMap<String, Integer>();
+		this.virtualNodes = virtualNodes;
+		this.ring = Ring.EMPTY;
+	}
+	
+	public int getVirtualNodes() {
+		return virtualNodes;
+	}
+
+	public synchronized void setVirtualNodes(int virtualNodes) {
+		AssertUtils.assertTrue(virtualNodes > 0, "Virtual nodes must be greater than 0");
+		this.virtualNodes = virtualNodes;
+		this.ring = Ring.build(nodes, virtualNodes);
+	}
+	
+	/**
+	 * 获取所有节点名称与权重的映射副本
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public synchronized Map<String, Integer> getNodes() {
+		return new LinkedHashMap<String, Integer>(nodes);
+	}
+	
+	/**
+	 * 设置所有节点名称与权重的映射
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param nodes
+	 */
+	public synchronized void setNodes(Map<String, Integer> nodes) {
+		checkNodes(nodes);
+		this.nodes.clear();
+		this.nodes.putAll(nodes);
+		this.ring = Ring.build(this.nodes, virtualNodes);
+	}
+	
+	/**
+	 * 添加权重为1的节点
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param name
+	 */
+	public void addNode(String name) {
+		addNode(name, 1);
+	}
+	
+	/**
+	 * 添加指定权重的节点，节点已存在时更新其权重
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param name
+	 * @param weight
+	 */
+	public synchronized void addNode(String name, int weight) {
+		checkNode(name, weight);
+		nodes.put(name, weight);
+		this.ring = Ring.build(nodes, virtualNodes);
+	}
+	
+	/**
+	 * 删除节点
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param name
+	 */
+	public synchronized void removeNode(String name) {
+		if (nodes.remove(name) != null)
+			this.ring = Ring.build(nodes, virtualNodes);
+	}
+	
+	/**
+	 * 获取long键所归属的节点索引，索引与getNodeNames()返回的数组下标一一对应
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @return
+	 */
+	@Override
+	public int shardOf(long key) {
+		return indexOf(ring, HashUtils.hash(key));
+	}
+	
+	/**
+	 * 获取字符序列键所归属的节点索引，索引与getNodeNames()返回的数组下标一一对应
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @return
+	 */
+	@Override
+	public int shardOf(CharSequence key) {
+		return indexOf(ring, HashUtils.hash(key));
+	}
+	
+	/**
+	 * 获取long键所归属的节点名称
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @return
+	 */
+	public String nodeOf(long key) {
+		Ring current = ring;
+		return current.names[indexOf(current, HashUtils.hash(key))];
+	}
+	
+	/**
+	 * 获取字符序列键所归属的节点名称
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @return
+	 */
+	public String nodeOf(CharSequence key) {
+		Ring current = ring;
+		return current.names[indexOf(current, HashUtils.hash(key))];
+	}
+	
+	/**
+	 * 获取当前哈希环上所有节点的名称，按节点的添加顺序排列
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public String[] getNodeNames() {
+		return ring.names.clone();
+	}
+	
+	/**
+	 * 获取当前哈希环上所有节点的名称，节点集合或虚拟节点数变化后将返回新的数组实例
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	@Override
+	public String[] getTargets() {
+		return ring.names;
+	}
+	
+	/**
+	 * 获取从当前节点集合变化为目标分片器的节点集合时的迁移报告
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param target
+	 * @return
+	 */
+	public RouteMovementReport movementTo(ConsistentHashRouteSharding target) {
+		AssertUtils.assertNotNull(target, "Target sharding must not be null");
+		return Ring.movement(this.ring, target.ring);
+	}
+	
+	/**
+	 * 获取添加指定节点后的迁移报告，当前分片器不会发生任何变化
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param name
+	 * @param weight
+	 * @return
+	 */
+	public RouteMovementReport movementOnAddNode(String name, int weight) {
+		checkNode(name, weight);
+		Ring current;
+		Ring next;
+		synchronized (this) {
+			current = ring;
+			Map<String, Integer> nextNodes = new LinkedHashMap<String, Integer>(nodes);
+			nextNodes.put(name, weight);
+			next = Ring.build(nextNodes, virtualNodes);
+		}
+		
+		return Ring.movement(current, next);
+	}
+	
+	/**
+	 * 获取删除指定节点后的迁移报告，当前分片器不会发生任何变化
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param name
+	 * @return
+	 */
+	public RouteMovementReport movementOnRemoveNode(String name) {
+		Ring current;
+		Ring next;
+		synchronized (this) {
+			current = ring;
+			Map<String, Integer> nextNodes = new LinkedHashMap<String, Integer>(nodes);
+			nextNodes.remove(name);
+			next = Ring.build(nextNodes, virtualNodes);
+		}
+		
+		return Ring.movement(current, next);
+	}
+
+	@Override
+	protected Route buildShardingEntity() {
+		return new Route();
+	}
+
+	@Override
+	protected <P> void doSharding(P parameter, Route route) {
+		Ring current = ring;
+		route.setTarget(current.names[indexOf(current, HashUtils.hash(parameter))]);
+	}
+	
+	/**
+	 * 在哈希环快照中查找哈希值归属的节点索引
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param ring
+	 * @param hash
+	 * @return
+	 */
+	private int indexOf(Ring ring, long hash) {
+		int index = ring.ownerOf(hash);
+		if (index < 0)
+			throw new IllegalStateException("Consistent hash ring has no nodes");
+		
+		return index;
+	}
+	
+	/**
+	 * 检查节点映射
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param nodes
+	 */
+	private void checkNodes(Map<String, Integer> nodes) {
+		AssertUtils.assertNotNull(nodes, "Nodes must not be null");
+		for (Entry<String, Integer> entry : nodes.entrySet()) {
+			AssertUtils.assertNotNull(entry.getValue(), "Node weight must not be null");
+			checkNode(entry.getKey(), entry.getValue());
+		}
+	}
+	
+	/**
+	 * 检查节点名称和权重
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param name
+	 * @param weight
+	 */
+	private void checkNode(String name, int weight) {
+		AssertUtils.assertNotBlank(name, "Node name must not be null or blank");
+		AssertUtils.assertTrue(weight > 0, String.format("Weight of node '%s' must be greater than 0", name));
+	}
+	
+	/**
+	 * 不可变的哈希环快照
+	 * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @version 1.0
+	 */
+	private static class Ring {
+		
+		/** 空环 */
+		static final Ring EMPTY = new Ring(new long[0], new int[0], new String[0]);
+		
+		/** 按有符号顺序升序排列的虚拟节点哈希值 */
+		final long[] points;
+		
+		/** 每个虚拟节点所属的节点索引 */
+		final int[] owners;
+		
+		/** 节点名称 */
+		final String[] names;
+		
+		Ring(long[] points, int[] owners, String[] names) {
+			this.points = points;
+			this.owners = owners;
+			this.names = names;
+		}
+		
+		/**
+		 * 根据节点映射构建哈希环
+		 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+		 * @param nodes
+		 * @param virtualNodes
+		 * @return
+		 */
+		static Ring build(Map<String, Integer> nodes, int virtualNodes) {
+			if (nodes.isEmpty())
+				return EMPTY;
+			
+			final String[] names = nodes.keySet().toArray(new String[nodes.size()]);
+			int total = 0;
+			for (Integer weight : nodes.values()) {
+				total += weight * virtualNodes;
+			}
+			
+			final long[] hashes = new long[total];
+			int[] ownerOfHash = new int[total];
+			StringBuilder builder = new StringBuilder();
+			int position = 0;
+			for (int i = 0; i < names.length; i++) {
+				int count = nodes.get(names[i]) * virtualNodes;
+				for (int j = 0; j < count; j++) {
+					builder.setLength(0);
+					builder.append(names[i]).append('#').append(j);
+					hashes[position] = HashUtils.hash(builder);
+					ownerOfHash[position++] = i;
+				}
+			}
+			
+			// 按哈希值排序，哈希值相同时按节点名称排序，保证与节点的添加顺序无关
+			final int[] owners = ownerOfHash;
+			Integer[] order = new Integer[total];
+			for (int i = 0; i < total; i++) {
+				order[i] = i;
+			}
+			Arrays.sort(order, new Comparator<Integer>() {
+
+				@Override
+				public int compare(Integer o1, Integer o2) {
+					int result = Long.compare(hashes[o1], hashes[o2]);
+					return result != 0 ? result : names[owners[o1]].compareTo(names[owners[o2]]);
+				}
+			});
+			
+			// 去掉重复的哈希值，保留排序后的第一个
+			long[] points = new long[total];
+			int[] pointOwners = new int[total];
+			int size = 0;
+			for (int i = 0; i < total; i++) {
+				long hash = hashes[order[i]];
+				if (size == 0 || points[size - 1] != hash) {
+					points[size] = hash;
+					pointOwners[size++] = owners[order[i]];
+				}
+			}
+			
+			return new Ring(Arrays.copyOf(points, size), Arrays.copyOf(pointOwners, size), names);
+		}
+		
+		/**
+		 * 获取哈希值归属的节点索引，环为空时返回-1
+		 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+		 * @param hash
+		 * @return
+		 */
+		int ownerOf(long hash) {
+			int length = points.length;
+			if (length == 0)
+				return -1;
+			
+			int index = Arrays.binarySearch(points, hash);
+			if (index < 0) {
+				index = -index - 1;
+				if (index == length)
+					// 超过最后一个虚拟节点时回绕到环首
+					index = 0;
+			}
+			
+			return owners[index];
+		}
+		
+		/**
+		 * 获取哈希值归属的节点名称，环为空时返回null
+		 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+		 * @param hash
+		 * @return
+		 */
+		String nameOf(long hash) {
+			int owner = ownerOf(hash);
+			return owner >= 0 ? names[owner] : null;
+		}
+		
+		/**
+		 * 计算从源环变化为目标环时的迁移报告。
+		 * 两个环上所有虚拟节点的并集将整个环切分成若干段，每段(上一个点, 当前点]在两个环中的归属均由当前点决定，
+		 * 因此只需逐段比较当前点在两个环中的归属即可
+		 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+		 * @param source
+		 * @param target
+		 * @return
+		 */
+		static RouteMovementReport movement(Ring source, Ring target) {
+			long[] boundaries = merge(source.points, target.points);
+			int length = boundaries.length;
+			if (length == 0)
+				return new RouteMovementReport(Collections.<MovedRange>emptyList());
+			
+			List<MovedRange> movedRanges = new ArrayList<MovedRange>();
+			long start = 0;
+			long end = 0;
+			String from = null;
+			String to = null;
+			boolean pending = false;
+			
+			// 第一段是跨越环首尾的(boundaries[length-1], boundaries[0]]
+			for (int i = 0; i < length; i++) {
+				long previous = boundaries[i == 0 ? length - 1 : i - 1];
+				long current = boundaries[i];
+				String sourceName = source.nameOf(current);
+				String targetName = target.nameOf(current);
+				
+				if (equals(sourceName, targetName)) {
+					if (pending) {
+						movedRanges.add(new MovedRange(start, end, from, to));
+						pending = false;
+					}
+					continue;
+				}
+				
+				if (pending && i > 0 && equals(sourceName, from) && equals(targetName, to)) {
+					// 与上一个迁移区间相邻且迁移方向相同，则合并
+					end = current;
+				} else {
+					if (pending)
+						movedRanges.add(new MovedRange(start, end, from, to));
+					
+					start = previous;
+					end = current;
+					from = sourceName;
+					to = targetName;
+					pending = true;
+				}
+			}
+			
+			if (pending)
+				movedRanges.add(new MovedRange(start, end, from, to));
+			
+			return new RouteMovementReport(movedRanges);
+		}
+		
+		/**
+		 * 判断两个节点名称是否相同
+		 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+		 * @param name1
+		 * @param name2
+		 * @return
+		 */
+		private static boolean equals(String name1, String name2) {
+			return name1 == null ? name2 == null : name1.equals(name2);
+		}
+		
+		/**
+		 * 合并两个已排序的数组并去重
+		 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+		 * @param a
+		 * @param b
+		 * @return
+		 */
+		private static long[] merge(long[] a, long[] b) {
+			long[] result = new long[a.length + b.length];
+			int i = 0, j = 0, size = 0;
+			while (i < a.length || j < b.length) {
+				long value;
+				if (j >= b.length || (i < a.length && a[i] <= b[j]))
+					value = a[i++];
+				else
+					value = b[j++];
+				
+				if (size == 0 || result[size - 1] != value)
+					result[size++] = value;
+			}
+			
+			return Arrays.copyOf(result, size);
+		}
+		
+	}
+
+}
@@ -18,17 +18,39 @@
 
 package org.sniper.sharding.route;
 
-import java.math.BigInteger;
-
-import org.sniper.commons.util.NumberUtils;
 import org.sniper.sharding.AbstractHashSharding;
+import org.sniper.sharding.PrimitiveShardable;
 
 /**
  * 哈希路由分片器实现类
  * @author  <a href="mailto:code727@gmail.com">杜斌</a>
  * @version 1.0
  */
-public class HashRouteSharding extends AbstractHashSharding<Route> {
+public class HashRouteSharding extends AbstractHashSharding<Route> implements PrimitiveShardable<Route> {
+	
+	@Override
+	public int shardOf(long key) {
+		return mod(key, getTargets().length);
+	}
+	
+	@Override
+	public int shardOf(CharSequence key) {
+		if (key == null)
+			return 0;
+		
+		int model = getTargets().length;
+		int shard = mod(key, model);
+		if (shard >= 0)
+			return shard;
+		
+		// 与String.hashCode()的计算方式一致，避免将非String类型的字符序列转换成String
+		int hashCode = 0;
+		for (int i = 0, length = key.length(); i < length; i++) {
+			hashCode = 31 * hashCode + key.charAt(i);
+		}
+		
+		return mod(hashCode, model);
+	}
 
 	@Override
 	protected Route buildShardingEntity() {
@@ -37,25 +59,62 @@ public class HashRouteSharding extends AbstractHashSharding<Route> {
 
 	@Override
 	protected <P> void doSharding(P parameter, Route route) {
-		String target = "";
+		String[] targets = getTargets();
+		int shard;
 		if (parameter == null)
-			target = "0";
+			shard = 0;
+		else if (parameter instanceof Long || parameter instanceof Integer 
+				|| parameter instanceof Short || parameter instanceof Byte)
+			shard = mod(((Number) parameter).longValue(), targets.length);
 		else {
-			BigInteger integer;
-			try {
-				integer = new BigInteger(parameter.toString()).abs();
-			} catch (NumberFormatException e) {
+			shard = mod(parameter instanceof CharSequence ? (CharSequence) parameter : parameter.toString(), targets.length);
+			if (shard < 0)
 				// 如果是小数或其他非数字型对象，则直接利用该对象的哈希绝对值取模
-				integer = new BigInteger(String.valueOf(parameter.hashCode())).abs();
-			}
+				shard = mod(parameter.hashCode(), targets.length);
+		}
+		
+		route.setTarget(targets[shard]);
+	}
+	
+	/**
+	 * 计算整数绝对值的模
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param value
+	 * @param model
+	 * @return
+	 */
+	private static int mod(long value, int model) {
+		// 余数与被除数同号，因此余数的绝对值即为被除数绝对值的模，同时避免了Long.MIN_VALUE取绝对值时的溢出
+		return (int) Math.abs(value % model);
+	}
+	
+	/**
+	 * 计算整数形式的字符序列绝对值的模，如果是小数或其他非整数形式的字符序列，则返回-1
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param value
+	 * @param model
+	 * @return
+	 */
+	private static int mod(CharSequence value, int model) {
+		int length = value.length();
+		int start = 0;
+		if (length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+'))
+			start = 1;
+		
+		if (start == length)
+			return -1;
+		
+		// 逐位累加求模，不需要将任意长度的整数转换成BigInteger
+		long remainder = 0;
+		for (int i = start; i < length; i++) {
+			int digit = Character.digit(value.charAt(i), 10);
+			if (digit < 0)
+				return -1;
 			
-			target = integer.mod(model).toString();
+			remainder = (remainder * 10 + digit) % model;
 		}
 		
-		if (formatLength > 0)
-			route.setTarget(NumberUtils.format(new BigInteger(target), formatLength));
-		else
-			route.setTarget(target);
+		return (int) remainder;
 	}
 
 }
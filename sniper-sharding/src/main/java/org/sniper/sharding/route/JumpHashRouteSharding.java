@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.sharding.route;
+
+import org.sniper.sharding.AbstractHashSharding;
+import org.sniper.sharding.HashUtils;
+import org.sniper.sharding.PrimitiveShardable;
+
+/**
+ * 跳跃一致性哈希(Jump Consistent Hash)路由分片器实现类。</P>
+ * 1.与HashRouteSharding的取模方式不同，模数(桶数)从n增加到n+1时只有约1/(n+1)的键会迁移到新桶中，其余键的归属保持不变；</P>
+ * 2.桶只能在末尾增加或删除，因此适合按序号命名的分库/分表，不适合需要任意摘除节点的场景，后者请使用ConsistentHashRouteSharding；</P>
+ * 3.计算过程只涉及long和double运算，格式化后的路由目标在模数或格式化长度变化后只生成一次，路由时不会产生任何临时对象。
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class JumpHashRouteSharding extends AbstractHashSharding<Route> implements PrimitiveShardable<Route> {
+	
+	/** 线性同余发生器的乘数 */
+	private static final long MULTIPLIER = 2862933555777941757L;
+	
+	public JumpHashRouteSharding() {
+		super();
+	}
+	
+	public JumpHashRouteSharding(int model) {
+		super(model);
+	}
+	
+	/**
+	 * 获取long键所在的桶
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @return
+	 */
+	@Override
+	public int shardOf(long key) {
+		return jump(HashUtils.hash(key), getTargets().length);
+	}
+	
+	/**
+	 * 获取字符序列键所在的桶
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @return
+	 */
+	@Override
+	public int shardOf(CharSequence key) {
+		return jump(HashUtils.hash(key), getTargets().length);
+	}
+	
+	/**
+	 * 获取指定桶对应的已格式化的路由目标
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param bucket
+	 * @return
+	 */
+	public String getTarget(int bucket) {
+		return getTargets()[bucket];
+	}
+	
+	/**
+	 * 跳跃一致性哈希算法，将64位哈希值映射到[0, buckets)范围内的桶上
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param hash
+	 * @param buckets
+	 * @return
+	 */
+	public static int jump(long hash, int buckets) {
+		long bucket = -1;
+		long next = 0;
+		while (next < buckets) {
+			bucket = next;
+			hash = hash * MULTIPLIER + 1;
+			next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((hash >>> 33) + 1)));
+		}
+		
+		return (int) bucket;
+	}
+	
+	/**
+	 * 计算桶数从from变化为to时需要迁移的键所占的比例。
+	 * 扩容时只有落到新增桶上的键会迁移，比例为(to-from)/to；缩容时只有被删除桶上的键会迁移，比例为(from-to)/from
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param from
+	 * @param to
+	 * @return
+	 */
+	public static double movedRatio(int from, int to) {
+		if (from == to)
+			return 0;
+		
+		return (double) Math.abs(to - from) / Math.max(from, to);
+	}
+
+	@Override
+	protected Route buildShardingEntity() {
+		return new Route();
+	}
+
+	@Override
+	protected <P> void doSharding(P parameter, Route route) {
+		// 以目标表的长度作为桶数，避免与并发修改的模数不一致
+		String[] current = getTargets();
+		route.setTarget(current[parameter != null ? jump(HashUtils.hash(parameter), current.length) : 0]);
+	}
+
+}
@@ -40,6 +40,9 @@ public class Route implements Serializable {
 	/** 后缀 */
 	private String suffix;
 	
+	/** 缓存的路由名称，前缀/目标/后缀任意一项发生变化时失效 */
+	private transient String name;
+	
 	public Route() {
 		this(null);
 	}
@@ -49,7 +52,12 @@ public class Route implements Serializable {
 	}
 	
 	public Route(String prefix, String suffix) {
+		this(prefix, null, suffix);
+	}
+	
+	public Route(String prefix, String target, String suffix) {
 		this.prefix = prefix;
+		this.target = target;
 		this.suffix = suffix;
 	}
 
@@ -59,6 +67,7 @@ public class Route implements Serializable {
 
 	public void setPrefix(String prefix) {
 		this.prefix = prefix;
+		this.name = null;
 	}
 
 	public String getTarget() {
@@ -67,6 +76,7 @@ public class Route implements Serializable {
 
 	public void setTarget(String target) {
 		this.target = target;
+		this.name = null;
 	}
 
 	public String getSuffix() {
@@ -75,15 +85,21 @@ public class Route implements Serializable {
 
 	public void setSuffix(String suffix) {
 		this.suffix = suffix;
+		this.name = null;
 	}
 	
 	@Override
 	public String toString() {
-		StringBuilder builder = new StringBuilder();
-		builder.append(StringUtils.safeString(prefix));
-		builder.append(StringUtils.safeString(target));
-		builder.append(StringUtils.safeString(suffix));
-		return builder.toString();
+		String name = this.name;
+		if (name == null) {
+			StringBuilder builder = new StringBuilder();
+			builder.append(StringUtils.safeString(prefix));
+			builder.append(StringUtils.safeString(target));
+			builder.append(StringUtils.safeString(suffix));
+			this.name = name = builder.toString();
+		}
+		
+		return name;
 	}
 		
 }
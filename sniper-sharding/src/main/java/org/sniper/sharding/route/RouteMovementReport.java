@@ -0,0 +1,167 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.sharding.route;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.sniper.sharding.HashUtils;
+
+/**
+ * 路由迁移报告，描述了节点集合变化前后，64位哈希环上哪些区间的归属节点发生了改变。</P>
+ * 区间采用左开右闭的形式(startExclusive, endInclusive]，当startExclusive大于等于endInclusive时表示该区间跨越了环的首尾。
+ * 区间内的值是键经过HashUtils.hash计算后的哈希值，而非键本身。
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class RouteMovementReport {
+	
+	/** 发生迁移的区间列表 */
+	private final List<MovedRange> movedRanges;
+	
+	/** 迁移的哈希空间所占比例 */
+	private final double movedRatio;
+	
+	public RouteMovementReport(List<MovedRange> movedRanges) {
+		this.movedRanges = Collections.unmodifiableList(movedRanges);
+		
+		double ratio = 0;
+		for (MovedRange range : movedRanges) {
+			ratio += range.getRatio();
+		}
+		this.movedRatio = Math.min(ratio, 1.0);
+	}
+
+	public List<MovedRange> getMovedRanges() {
+		return movedRanges;
+	}
+
+	/**
+	 * 获取迁移的哈希空间占整个环的比例，在键均匀分布的前提下近似等于需要迁移的键所占的比例
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public double getMovedRatio() {
+		return movedRatio;
+	}
+	
+	/**
+	 * 判断指定哈希值的键是否需要迁移
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param hash
+	 * @return
+	 */
+	public boolean isMoved(long hash) {
+		return find(hash) != null;
+	}
+	
+	/**
+	 * 查找指定哈希值所在的迁移区间，未发生迁移时返回null
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param hash
+	 * @return
+	 */
+	public MovedRange find(long hash) {
+		for (MovedRange range : movedRanges) {
+			if (range.contains(hash))
+				return range;
+		}
+		
+		return null;
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("RouteMovementReport [movedRanges=%d, movedRatio=%.6f]", movedRanges.size(), movedRatio);
+	}
+	
+	/**
+	 * 迁移区间
+	 * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @version 1.0
+	 */
+	public static class MovedRange {
+		
+		/** 区间起始哈希值(不包含) */
+		private final long startExclusive;
+		
+		/** 区间结束哈希值(包含) */
+		private final long endInclusive;
+		
+		/** 迁移前的归属节点，节点集合原先为空时为null */
+		private final String from;
+		
+		/** 迁移后的归属节点，节点集合变为空时为null */
+		private final String to;
+		
+		public MovedRange(long startExclusive, long endInclusive, String from, String to) {
+			this.startExclusive = startExclusive;
+			this.endInclusive = endInclusive;
+			this.from = from;
+			this.to = to;
+		}
+
+		public long getStartExclusive() {
+			return startExclusive;
+		}
+
+		public long getEndInclusive() {
+			return endInclusive;
+		}
+
+		public String getFrom() {
+			return from;
+		}
+
+		public String getTo() {
+			return to;
+		}
+		
+		/**
+		 * 获取区间占整个哈希环的比例
+		 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+		 * @return
+		 */
+		public double getRatio() {
+			// 起止相同表示整个环
+			return startExclusive == endInclusive ? 1.0 : HashUtils.ratioOf(endInclusive - startExclusive);
+		}
+		
+		/**
+		 * 判断指定的哈希值是否在区间内
+		 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+		 * @param hash
+		 * @return
+		 */
+		public boolean contains(long hash) {
+			if (startExclusive < endInclusive)
+				return hash > startExclusive && hash <= endInclusive;
+			
+			// 跨越环首尾的区间
+			return hash > startExclusive || hash <= endInclusive;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("(%d, %d] %s -> %s", startExclusive, endInclusive, from, to);
+		}
+		
+	}
+
+}
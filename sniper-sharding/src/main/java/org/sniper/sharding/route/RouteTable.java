@@ -0,0 +1,186 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.sharding.route;
+
+import org.sniper.commons.util.AssertUtils;
+import org.sniper.sharding.PrimitiveShardable;
+
+/**
+ * 路由表，为分片器的每个分片预先生成一个固定前缀/后缀的路由对象，路由时直接返回已生成的实例，不会产生任何临时对象。</P>
+ * 1.表中的路由对象是不可变的，调用其setter方法将抛出UnsupportedOperationException，其toString()结果也已预先缓存；</P>
+ * 2.分片器的拓扑发生变化后(getTargets()返回新的数组实例)，路由表将在下一次路由时自动重建；</P>
+ * 3.路由时先后两次读取分片器的路由目标快照，只有两次读取到的是同一个快照时才认为计算出的分片索引有效，否则重新计算，
+ *   从而保证返回的路由对象与计算分片索引时的拓扑一致。
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class RouteTable {
+	
+	/** 分片器 */
+	private final PrimitiveShardable<?> sharding;
+	
+	/** 前缀 */
+	private final String prefix;
+	
+	/** 后缀 */
+	private final String suffix;
+	
+	/** 当前的路由快照 */
+	private volatile Snapshot snapshot;
+	
+	public RouteTable(PrimitiveShardable<?> sharding, String prefix) {
+		this(sharding, prefix, null);
+	}
+	
+	public RouteTable(PrimitiveShardable<?> sharding, String prefix, String suffix) {
+		AssertUtils.assertNotNull(sharding, "Sharding must not be null");
+		this.sharding = sharding;
+		this.prefix = prefix;
+		this.suffix = suffix;
+		this.snapshot = new Snapshot(sharding.getTargets(), prefix, suffix);
+	}
+	
+	public String getPrefix() {
+		return prefix;
+	}
+
+	public String getSuffix() {
+		return suffix;
+	}
+
+	/**
+	 * 获取long键对应的路由
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @return
+	 */
+	public Route route(long key) {
+		for (;;) {
+			String[] targets = sharding.getTargets();
+			int shard = sharding.shardOf(key);
+			if (sharding.getTargets() == targets)
+				return routesOf(targets)[shard];
+		}
+	}
+	
+	/**
+	 * 获取字符序列键对应的路由
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @return
+	 */
+	public Route route(CharSequence key) {
+		for (;;) {
+			String[] targets = sharding.getTargets();
+			int shard = sharding.shardOf(key);
+			if (sharding.getTargets() == targets)
+				return routesOf(targets)[shard];
+		}
+	}
+	
+	/**
+	 * 获取指定分片索引在当前拓扑下对应的路由
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param shard
+	 * @return
+	 */
+	public Route getRoute(int shard) {
+		return routesOf(sharding.getTargets())[shard];
+	}
+	
+	/**
+	 * 获取当前拓扑下的路由个数
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public int size() {
+		return routesOf(sharding.getTargets()).length;
+	}
+	
+	/**
+	 * 获取与路由目标快照对应的路由数组，快照发生变化时重建
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param targets
+	 * @return
+	 */
+	private Route[] routesOf(String[] targets) {
+		Snapshot current = snapshot;
+		if (current.targets != targets) {
+			current = new Snapshot(targets, prefix, suffix);
+			snapshot = current;
+		}
+		
+		return current.routes;
+	}
+	
+	/**
+	 * 路由快照
+	 * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @version 1.0
+	 */
+	private static class Snapshot {
+		
+		/** 分片器的路由目标快照 */
+		final String[] targets;
+		
+		/** 按分片索引排列的路由 */
+		final Route[] routes;
+		
+		Snapshot(String[] targets, String prefix, String suffix) {
+			this.targets = targets;
+			this.routes = new Route[targets.length];
+			for (int i = 0; i < targets.length; i++) {
+				routes[i] = new FixedRoute(prefix, targets[i], suffix);
+			}
+		}
+	}
+	
+	/**
+	 * 不可变的路由对象
+	 * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @version 1.0
+	 */
+	private static class FixedRoute extends Route {
+		
+		private static final long serialVersionUID = -2871542391839520357L;
+
+		FixedRoute(String prefix, String target, String suffix) {
+			super(prefix, target, suffix);
+			// 预先生成并缓存路由名称
+			toString();
+		}
+
+		@Override
+		public void setPrefix(String prefix) {
+			throw new UnsupportedOperationException("Route in route table is immutable");
+		}
+
+		@Override
+		public void setTarget(String target) {
+			throw new UnsupportedOperationException("Route in route table is immutable");
+		}
+
+		@Override
+		public void setSuffix(String suffix) {
+			throw new UnsupportedOperationException("Route in route table is immutable");
+		}
+		
+	}
+
+}
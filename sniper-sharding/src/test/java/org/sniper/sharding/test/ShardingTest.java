@@ -18,8 +18,15 @@
 
 package org.sniper.sharding.test;
 
+import java.math.BigInteger;
+
 import org.junit.Test;
+import org.sniper.sharding.HashUtils;
+import org.sniper.sharding.route.ConsistentHashRouteSharding;
+import org.sniper.sharding.route.JumpHashRouteSharding;
 import org.sniper.sharding.route.Route;
+import org.sniper.sharding.route.RouteMovementReport;
+import org.sniper.sharding.route.RouteTable;
 import org.sniper.sharding.route.HashRouteSharding;
 import org.sniper.test.junit.BaseTestCase;
 
@@ -41,4 +48,136 @@ public class ShardingTest extends BaseTestCase {
 		System.out.println(route);
 	}
 
+	@Test
+	public void testConsistentHashRouteSharding() {
+		ConsistentHashRouteSharding sharding = new ConsistentHashRouteSharding();
+		sharding.addNode("db_0");
+		sharding.addNode("db_1");
+		sharding.addNode("db_2", 2);
+		
+		int[] counts = new int[3];
+		for (long key = 0; key < 40000; key++) {
+			int shard = sharding.shardOf(key);
+			assertEquals(sharding.getNodeNames()[shard], sharding.nodeOf(key));
+			counts[shard]++;
+		}
+		
+		// 权重为2的节点大约分到一半的键
+		assertTrue(counts[2] > 17000 && counts[2] < 23000);
+		
+		Route route = sharding.sharding(9527L);
+		assertEquals(sharding.nodeOf(9527L), route.getTarget());
+		assertEquals(sharding.nodeOf("9527"), sharding.sharding("9527").getTarget());
+	}
+	
+	@Test
+	public void testConsistentHashMovement() {
+		ConsistentHashRouteSharding sharding = new ConsistentHashRouteSharding();
+		for (int i = 0; i < 4; i++) {
+			sharding.addNode("db_" + i);
+		}
+		
+		RouteMovementReport report = sharding.movementOnAddNode("db_4", 1);
+		assertTrue(report.getMovedRatio() > 0.1 && report.getMovedRatio() < 0.3);
+		for (RouteMovementReport.MovedRange range : report.getMovedRanges()) {
+			assertEquals("db_4", range.getTo());
+		}
+		
+		ConsistentHashRouteSharding target = new ConsistentHashRouteSharding();
+		target.setNodes(sharding.getNodes());
+		target.addNode("db_4");
+		
+		int moved = 0;
+		for (long key = 0; key < 20000; key++) {
+			String from = sharding.nodeOf(key);
+			String to = target.nodeOf(key);
+			assertEquals(!from.equals(to), report.isMoved(HashUtils.hash(key)));
+			if (!from.equals(to)) {
+				assertEquals("db_4", to);
+				moved++;
+			}
+		}
+		
+		assertEquals(report.getMovedRatio(), moved / 20000.0, 0.02);
+		assertEquals(0.0, sharding.movementTo(sharding).getMovedRatio(), 0.0);
+		assertEquals(report.getMovedRatio(), target.movementOnRemoveNode("db_4").getMovedRatio(), 1e-9);
+	}
+	
+	@Test
+	public void testJumpHashRouteSharding() {
+		JumpHashRouteSharding sharding = new JumpHashRouteSharding(10);
+		sharding.setFormatLength(4);
+		JumpHashRouteSharding grown = new JumpHashRouteSharding(11);
+		
+		int moved = 0;
+		for (long key = 0; key < 110000; key++) {
+			int bucket = sharding.shardOf(key);
+			int next = grown.shardOf(key);
+			if (bucket != next) {
+				// 扩容时键只会迁移到新增的桶中
+				assertEquals(10, next);
+				moved++;
+			}
+		}
+		
+		assertEquals(JumpHashRouteSharding.movedRatio(10, 11), moved / 110000.0, 0.01);
+		
+		Route route = new Route("test_table_");
+		sharding.sharding(9527L, route);
+		assertEquals("test_table_" + sharding.getTarget(sharding.shardOf(9527L)), route.toString());
+		assertEquals(4, route.getTarget().length());
+	}
+
+	@Test
+	public void testHashRouteShardOf() {
+		HashRouteSharding sharding = new HashRouteSharding();
+		sharding.setModel(100);
+		
+		long[] keys = new long[] { 0, 1, 99, 100, 9527, -9527, Long.MAX_VALUE, Long.MIN_VALUE };
+		for (long key : keys) {
+			int expected = BigInteger.valueOf(key).abs().mod(BigInteger.valueOf(100)).intValue();
+			assertEquals(expected, sharding.shardOf(key));
+			assertEquals(expected, sharding.shardOf(String.valueOf(key)));
+			assertEquals(String.valueOf(expected), sharding.sharding(key).getTarget());
+		}
+		
+		String big = "123456789012345678901234567890";
+		assertEquals(new BigInteger(big).mod(BigInteger.valueOf(100)).intValue(), sharding.shardOf(big));
+		assertEquals(Math.abs("9527.5".hashCode() % 100), sharding.shardOf(new StringBuilder("9527.5")));
+		assertEquals(sharding.shardOf("abc"), Integer.parseInt(sharding.sharding("abc").getTarget()));
+	}
+	
+	@Test
+	public void testRouteTable() {
+		JumpHashRouteSharding sharding = new JumpHashRouteSharding(8);
+		sharding.setFormatLength(2);
+		RouteTable table = new RouteTable(sharding, "t_order_");
+		
+		assertEquals(8, table.size());
+		Route route = table.route(9527L);
+		assertSame(route, table.route(9527L));
+		assertSame(route, table.getRoute(sharding.shardOf(9527L)));
+		Route expected = new Route("t_order_");
+		sharding.sharding(9527L, expected);
+		assertEquals(expected.toString(), route.toString());
+		assertSame(route.toString(), route.toString());
+		
+		try {
+			route.setTarget("99");
+			fail();
+		} catch (UnsupportedOperationException e) {
+		}
+		
+		// 拓扑变化后路由表自动重建
+		sharding.setModel(16);
+		assertEquals(16, table.size());
+		assertEquals("t_order_" + sharding.getTarget(sharding.shardOf("9527")), table.route("9527").toString());
+		
+		ConsistentHashRouteSharding consistent = new ConsistentHashRouteSharding();
+		consistent.addNode("db_a");
+		consistent.addNode("db_b");
+		RouteTable consistentTable = new RouteTable(consistent, null, ".t_user");
+		assertEquals(consistent.nodeOf(9527L) + ".t_user", consistentTable.route(9527L).toString());
+	}
+
 }
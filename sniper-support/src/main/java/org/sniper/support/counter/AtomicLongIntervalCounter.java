@@ -125,6 +125,66 @@ public class AtomicLongIntervalCounter extends AbstractIntervalCounter<Long> {
 	public Long get() {
 		return this.atomicValue.get();
 	}
+	
+	/**
+	 * 累加1，与increment()不同的是，当累加后的值超出区间最大值时不会返回null，
+	 * 而是在不修改当前值的前提下直接返回这个超出区间的值，因此调用方可通过与getMaximumAsLong()比较来判断是否累加成功。</P>
+	 * 判断和累加通过CAS操作一次完成，多线程并发调用时当前值不会超出区间最大值
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public long incrementAsLong() {
+		return incrementAsLong(1);
+	}
+	
+	/**
+	 * 累加指定的正数值，当累加后的值超出区间最大值时，在不修改当前值的前提下直接返回这个超出区间的值，
+	 * 否则返回累加后的值，此时(返回值-delta,返回值]范围内的所有值均被当前调用方独占
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param delta
+	 * @return
+	 */
+	public long incrementAsLong(long delta) {
+		AtomicLong value = this.atomicValue;
+		for (;;) {
+			long current = value.get();
+			long next = current + delta;
+			if (next > maximum || value.compareAndSet(current, next))
+				return next;
+		}
+	}
+	
+	/**
+	 * 将当前值直接累加到区间最大值，并返回累加之前的值，此时(返回值,getMaximumAsLong()]范围内的所有值均被当前调用方独占
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public long drainAsLong() {
+		AtomicLong value = this.atomicValue;
+		for (;;) {
+			long current = value.get();
+			if (current >= maximum || value.compareAndSet(current, maximum))
+				return Math.min(current, maximum);
+		}
+	}
+	
+	/**
+	 * 以基本类型的方式获取当前值
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public long getAsLong() {
+		return this.atomicValue.get();
+	}
+	
+	/**
+	 * 以基本类型的方式获取当前区间内的最大值
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public long getMaximumAsLong() {
+		return this.maximum;
+	}
 		
 	@Override
 	public String toString() {
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.trace.advice;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * 线程私有的方法调用帧栈，以并行的基本类型数组保存每一层调用的方法和起始时间，
+ * 数组预先分配并在线程内重复使用，只有嵌套深度超过当前容量时才会扩容，因此入栈和出栈都不会产生临时对象。</P>
+ * 开启调用捕获后，每一层调用出栈时还会按后序(子调用先于父调用)追加到预先分配的捕获区中，
+ * 某一层调用的所有嵌套调用即为捕获区中从其入栈时的位置到其自身为止的连续区间，捕获区写满后不再追加。
+ * 最外层调用结束后捕获区被清空。
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+class BehaviorFrameStack {
+	
+	/** 初始容量 */
+	private static final int INITIAL_CAPACITY = 16;
+	
+	/** 每一层调用的方法 */
+	private Method[] methods;
+	
+	/** 每一层调用的起始纳秒时间 */
+	private long[] startNanos;
+	
+	/** 每一层调用的起始毫秒时间 */
+	private long[] startMillis;
+	
+	/** 每一层调用入栈时捕获区的位置 */
+	private int[] capturedFrom;
+	
+	/** 当前深度 */
+	private int depth;
+	
+	/** 当前最外层调用是否被采样 */
+	private boolean sampled;
+	
+	/** 当前调用链是否由最外层调用开启了新的链路 */
+	private boolean traceStarted;
+	
+	/** 已捕获的调用的方法 */
+	private final Method[] capturedMethods;
+	
+	/** 已捕获的调用的深度 */
+	private final int[] capturedDepths;
+	
+	/** 已捕获的调用的起始毫秒时间 */
+	private final long[] capturedStartMillis;
+	
+	/** 已捕获的调用的耗时 */
+	private final long[] capturedElapsedNanos;
+	
+	/** 已捕获的调用个数 */
+	private int captured;
+	
+	BehaviorFrameStack(int captureCapacity) {
+		this.methods = new Method[INITIAL_CAPACITY];
+		this.startNanos = new long[INITIAL_CAPACITY];
+		this.startMillis = new long[INITIAL_CAPACITY];
+		this.capturedFrom = new int[INITIAL_CAPACITY];
+		this.capturedMethods = new Method[captureCapacity];
+		this.capturedDepths = new int[captureCapacity];
+		this.capturedStartMillis = new long[captureCapacity];
+		this.capturedElapsedNanos = new long[captureCapacity];
+	}
+	
+	/**
+	 * 压入一层调用，并返回该层的下标
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param method
+	 * @return
+	 */
+	int push(Method method) {
+		if (depth == methods.length) {
+			int capacity = depth << 1;
+			methods = Arrays.copyOf(methods, capacity);
+			startNanos = Arrays.copyOf(startNanos, capacity);
+			startMillis = Arrays.copyOf(startMillis, capacity);
+			capturedFrom = Arrays.copyOf(capturedFrom, capacity);
+		}
+		
+		methods[depth] = method;
+		capturedFrom[depth] = captured;
+		startMillis[depth] = System.currentTimeMillis();
+		startNanos[depth] = System.nanoTime();
+		return depth++;
+	}
+	
+	/**
+	 * 将指定层及其上面的所有层出栈。
+	 * 每一层都在其调用结束时(包括抛出任何异常或错误时)出栈，因此出栈时该层总是位于栈顶
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param index
+	 */
+	void pop(int index) {
+		depth = index;
+	}
+	
+	/**
+	 * 将已出栈的指定层追加到捕获区，捕获区已满时返回false
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param index
+	 * @param elapsedNanos
+	 * @return
+	 */
+	boolean capture(int index, long elapsedNanos) {
+		if (captured == capturedMethods.length)
+			return false;
+		
+		capturedMethods[captured] = methods[index];
+		capturedDepths[captured] = index;
+		capturedStartMillis[captured] = startMillis[index];
+		capturedElapsedNanos[captured++] = elapsedNanos;
+		return true;
+	}
+	
+	/**
+	 * 最外层调用结束后清空捕获区，并释放对方法对象的引用
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a>
+	 */
+	void reset() {
+		Arrays.fill(methods, null);
+		Arrays.fill(capturedMethods, 0, captured, null);
+		depth = 0;
+		captured = 0;
+		sampled = false;
+		traceStarted = false;
+	}
+	
+	/**
+	 * 获取当前或已出栈的指定层的方法
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param index
+	 * @return
+	 */
+	Method getMethod(int index) {
+		return index >= 0 && index < methods.length ? methods[index] : null;
+	}
+	
+	/**
+	 * 获取已出栈或当前的指定层的起始纳秒时间
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param index
+	 * @return
+	 */
+	long getStartNanos(int index) {
+		return startNanos[index];
+	}
+	
+	/**
+	 * 获取已出栈或当前的指定层的起始毫秒时间
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param index
+	 * @return
+	 */
+	long getStartMillis(int index) {
+		return startMillis[index];
+	}
+	
+	/**
+	 * 获取已出栈或当前的指定层入栈时捕获区的位置
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param index
+	 * @return
+	 */
+	int getCapturedFrom(int index) {
+		return capturedFrom[index];
+	}
+	
+	int getDepth() {
+		return depth;
+	}
+	
+	boolean isSampled() {
+		return sampled;
+	}
+
+	void setSampled(boolean sampled) {
+		this.sampled = sampled;
+	}
+	
+	boolean isTraceStarted() {
+		return traceStarted;
+	}
+
+	void setTraceStarted(boolean traceStarted) {
+		this.traceStarted = traceStarted;
+	}
+	
+	int getCaptured() {
+		return captured;
+	}
+	
+	Method getCapturedMethod(int position) {
+		return capturedMethods[position];
+	}
+	
+	int getCapturedDepth(int position) {
+		return capturedDepths[position];
+	}
+	
+	long getCapturedStartMillis(int position) {
+		return capturedStartMillis[position];
+	}
+	
+	long getCapturedElapsedNanos(int position) {
+		return capturedElapsedNanos[position];
+	}
+	
+}
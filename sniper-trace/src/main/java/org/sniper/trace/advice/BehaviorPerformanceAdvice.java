@@ -19,78 +19,375 @@
 package org.sniper.trace.advice;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Date;
-import java.util.Stack;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.sniper.commons.util.DateUtils;
-import org.sniper.context.ThreadLocalHolder;
-import org.sniper.spring.aop.AbstractMethodAroundAdvice;
+import org.sniper.commons.util.AssertUtils;
+import org.sniper.spring.beans.CheckableInitializingBeanAdapter;
+import org.sniper.trace.context.TraceContext;
+import org.sniper.trace.context.TraceContextHolder;
 import org.sniper.trace.domain.BehaviorPerformance;
+import org.sniper.trace.service.BehaviorLatencyRecorder;
 import org.sniper.trace.service.BehaviorPerformanceLoggerService;
 import org.sniper.trace.service.BehaviorPerformanceService;
 
 /**
- * 性能采集拦截切面实现类
+ * 性能采集拦截切面实现类。</P>
+ * 每个线程的调用帧保存在预先分配的线程私有帧栈中，耗时通过System.nanoTime()计算；
+ * 当性能采集服务同时实现了BehaviorLatencyRecorder接口时，耗时将以基本类型直接上报，整个采集过程不会产生任何临时对象。</P>
+ * 否则按以下规则决定是否为正常返回的调用存储性能记录：</P>
+ * 1.头部采样：最外层调用开始时按sampleRate的概率决定整条调用链是否被采样，嵌套调用沿用最外层的决定；</P>
+ * 2.限流：被采样的调用按方法限制每秒最多存储maxRecordsPerSecond条记录，0表示不限制；</P>
+ * 3.尾部捕获：耗时超过方法慢调用阈值的调用不受采样和限流的约束，总会被存储，并且携带其完整的嵌套调用记录。
+ *   阈值优先从slowThresholds中按"类全限定名.方法名"查找，找不到时使用slowThresholdMillis，阈值小于等于0表示不捕获。</P>
+ * 存储的性能记录会携带当前线程的链路ID和跨度ID；开启startTrace后，当最外层调用开始时线程还没有链路上下文，则自动开启一条新链路，并在最外层调用结束时清除。</P>
+ * 调用帧在环绕拦截的finally块中出栈，目标方法抛出任何异常或错误(Error)时都不会在线程池的线程上遗留调用帧。
  * @author  <a href="mailto:code727@gmail.com">杜斌</a>
  * @version 1.0
  */
-public class BehaviorPerformanceAdvice extends AbstractMethodAroundAdvice {
+public class BehaviorPerformanceAdvice extends CheckableInitializingBeanAdapter implements MethodInterceptor {
 	
-	private static final String BEHAVIOR_PERFORMANCE = "behavior_performance";
+	/** 默认每个线程最多捕获的嵌套调用数 */
+	private static final int DEFAULT_CAPTURE_CAPACITY = 256;
+	
+	/** 线程私有的调用帧栈 */
+	private final ThreadLocal<BehaviorFrameStack> frameStacks = new ThreadLocal<BehaviorFrameStack>() {
+
+		@Override
+		protected BehaviorFrameStack initialValue() {
+			return new BehaviorFrameStack(captureEnabled ? captureCapacity : 0);
+		}
+	};
 	
 	private Logger logger = LoggerFactory.getLogger(BehaviorPerformanceAdvice.class);
 	
 	private BehaviorPerformanceService behaviorPerformanceService;
 	
+	/** 延迟记录器，性能采集服务未实现BehaviorLatencyRecorder接口时为null */
+	private BehaviorLatencyRecorder latencyRecorder;
+	
+	/** 头部采样率 */
+	private double sampleRate = 1.0;
+	
+	/** 每个方法每秒最多存储的被采样记录数 */
+	private int maxRecordsPerSecond;
+	
+	/** 默认的慢调用阈值(毫秒) */
+	private long slowThresholdMillis;
+	
+	/** 按方法设置的慢调用阈值(毫秒) */
+	private Map<String, Long> slowThresholds = new LinkedHashMap<String, Long>();
+	
+	/** 每个线程最多捕获的嵌套调用数 */
+	private int captureCapacity = DEFAULT_CAPTURE_CAPACITY;
+	
+	/** 是否开启了尾部捕获 */
+	private volatile boolean captureEnabled;
+	
+	/** 线程没有链路上下文时是否在最外层调用开启新的链路 */
+	private boolean startTrace;
+	
+	/** 方法与其采集策略的映射 */
+	private final ConcurrentMap<Method, MethodPolicy> policies = new ConcurrentHashMap<Method, MethodPolicy>();
+	
 	public void setBehaviorPerformanceService(
 			BehaviorPerformanceService behaviorPerformanceService) {
 		this.behaviorPerformanceService = behaviorPerformanceService;
+		this.latencyRecorder = (behaviorPerformanceService instanceof BehaviorLatencyRecorder 
+				? (BehaviorLatencyRecorder) behaviorPerformanceService : null);
+	}
+	
+	public double getSampleRate() {
+		return sampleRate;
+	}
+
+	public void setSampleRate(double sampleRate) {
+		AssertUtils.assertTrue(sampleRate >= 0 && sampleRate <= 1, "Sample rate must be between 0 and 1");
+		this.sampleRate = sampleRate;
+	}
+
+	public int getMaxRecordsPerSecond() {
+		return maxRecordsPerSecond;
+	}
+
+	public void setMaxRecordsPerSecond(int maxRecordsPerSecond) {
+		this.maxRecordsPerSecond = maxRecordsPerSecond;
+		this.policies.clear();
+	}
+
+	public long getSlowThresholdMillis() {
+		return slowThresholdMillis;
+	}
+
+	public void setSlowThresholdMillis(long slowThresholdMillis) {
+		this.slowThresholdMillis = slowThresholdMillis;
+		updateCaptureEnabled();
+	}
+
+	public Map<String, Long> getSlowThresholds() {
+		return slowThresholds;
+	}
+
+	public void setSlowThresholds(Map<String, Long> slowThresholds) {
+		this.slowThresholds = (slowThresholds != null ? slowThresholds : new LinkedHashMap<String, Long>());
+		updateCaptureEnabled();
+	}
+
+	public int getCaptureCapacity() {
+		return captureCapacity;
+	}
+
+	public void setCaptureCapacity(int captureCapacity) {
+		AssertUtils.assertTrue(captureCapacity > 0, "Capture capacity must be greater than 0");
+		this.captureCapacity = captureCapacity;
+	}
+	
+	public boolean isStartTrace() {
+		return startTrace;
+	}
+
+	public void setStartTrace(boolean startTrace) {
+		this.startTrace = startTrace;
 	}
 	
 	@Override
 	protected void init() throws Exception {
 		if (behaviorPerformanceService == null) {
-			behaviorPerformanceService = new BehaviorPerformanceLoggerService();
+			setBehaviorPerformanceService(new BehaviorPerformanceLoggerService());
 			logger.info("behaviorPerformanceService is null, use default implementation:" + BehaviorPerformanceLoggerService.class.getName());
 		}
 	}
 		
-	@SuppressWarnings("unchecked")
 	@Override
-	protected void doBeforeTask(Method method, Object[] args, Object target) {
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		Method method = invocation.getMethod();
+		BehaviorFrameStack frameStack = frameStacks.get();
+		int index = frameStack.push(method);
+		if (index == 0) {
+			// 最外层调用决定整条调用链是否被采样
+			frameStack.setSampled(sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate));
+			if (startTrace && TraceContextHolder.get() == null) {
+				TraceContextHolder.startTrace();
+				frameStack.setTraceStarted(true);
+			}
+		}
 		
-		Stack<BehaviorPerformance> methodStack = (Stack<BehaviorPerformance>) ThreadLocalHolder.getAttribute(BEHAVIOR_PERFORMANCE);
+		boolean failed = true;
+		try {
+			Object returnValue = invocation.proceed();
+			failed = false;
+			return returnValue;
+		} finally {
+			long endNanos = System.nanoTime();
+			frameStack.pop(index);
+			complete(method, frameStack, index, endNanos, failed);
+		}
+	}
+	
+	/**
+	 * 处理已出栈的调用帧
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param method
+	 * @param frameStack
+	 * @param index
+	 * @param endNanos
+	 * @param failed
+	 */
+	private void complete(Method method, BehaviorFrameStack frameStack, int index, long endNanos, boolean failed) {
+		long elapsedNanos = endNanos - frameStack.getStartNanos(index);
+		try {
+			if (latencyRecorder != null)
+				latencyRecorder.record(method, elapsedNanos, failed);
+			else
+				store(method, frameStack, index, elapsedNanos, failed);
+		} finally {
+			if (index == 0) {
+				if (frameStack.isTraceStarted())
+					TraceContextHolder.clear();
+				
+				frameStack.reset();
+			}
+		}
+	}
+	
+	/**
+	 * 根据采样、限流和尾部捕获规则存储性能记录
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param method
+	 * @param frameStack
+	 * @param index
+	 * @param elapsedNanos
+	 * @param failed
+	 */
+	private void store(Method method, BehaviorFrameStack frameStack, int index, long elapsedNanos, boolean failed) {
+		MethodPolicy policy = policyOf(method);
+		boolean captured = captureEnabled && frameStack.capture(index, elapsedNanos);
 		
-		if (methodStack == null) {
-			methodStack = new Stack<BehaviorPerformance>();
-			ThreadLocalHolder.setAttribute(BEHAVIOR_PERFORMANCE, methodStack);
+		// 与之前的行为保持一致，只有正常返回的调用才会存储性能记录对象
+		if (failed)
+			return;
+		
+		if (policy.slowThresholdNanos > 0 && elapsedNanos > policy.slowThresholdNanos) {
+			BehaviorPerformance behaviorPerformance;
+			if (captured)
+				behaviorPerformance = buildCaptured(frameStack, frameStack.getCapturedFrom(index), frameStack.getCaptured());
+			else
+				// 捕获区已满时只存储当前调用本身
+				behaviorPerformance = build(method, frameStack.getStartMillis(index), elapsedNanos);
+			
+			behaviorPerformance.setSlow(true);
+			behaviorPerformanceService.store(behaviorPerformance);
+		} else if (frameStack.isSampled() && policy.tryAcquire())
+			behaviorPerformanceService.store(build(method, frameStack.getStartMillis(index), elapsedNanos));
+	}
+	
+	/**
+	 * 根据捕获区中[from, to)区间内按后序排列的调用构建嵌套的性能记录，区间的最后一个调用即为最外层的记录
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param frameStack
+	 * @param from
+	 * @param to
+	 * @return
+	 */
+	private BehaviorPerformance buildCaptured(BehaviorFrameStack frameStack, int from, int to) {
+		List<BehaviorPerformance> pending = new ArrayList<BehaviorPerformance>();
+		List<Integer> pendingDepths = new ArrayList<Integer>();
+		for (int i = from; i < to; i++) {
+			int depth = frameStack.getCapturedDepth(i);
+			BehaviorPerformance behaviorPerformance = build(frameStack.getCapturedMethod(i), 
+					frameStack.getCapturedStartMillis(i), frameStack.getCapturedElapsedNanos(i));
+			
+			// 待处理列表中深度大于当前调用的记录都是当前调用的子调用
+			int start = pending.size();
+			while (start > 0 && pendingDepths.get(start - 1) > depth) {
+				start--;
+			}
+			
+			if (start < pending.size()) {
+				List<BehaviorPerformance> children = new ArrayList<BehaviorPerformance>(pending.subList(start, pending.size()));
+				behaviorPerformance.setChildren(children);
+				pending.subList(start, pending.size()).clear();
+				pendingDepths.subList(start, pendingDepths.size()).clear();
+			}
+			
+			pending.add(behaviorPerformance);
+			pendingDepths.add(depth);
 		}
 		
+		return pending.get(pending.size() - 1);
+	}
+	
+	/**
+	 * 构建性能记录
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param method
+	 * @param startMillis
+	 * @param elapsedNanos
+	 * @return
+	 */
+	private BehaviorPerformance build(Method method, long startMillis, long elapsedNanos) {
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
 		BehaviorPerformance behaviorPerformance = new BehaviorPerformance();
 		behaviorPerformance.setMethod(method);
 		behaviorPerformance.setDeclaringClass(method.getDeclaringClass().getName());
 		behaviorPerformance.setMethodName(method.getName());
-		behaviorPerformance.setStartTime(new Date());
+		behaviorPerformance.setStartTime(new Date(startMillis));
+		behaviorPerformance.setEndTime(new Date(startMillis + elapsedMillis));
+		behaviorPerformance.setElapsedTime(elapsedMillis);
 		
-		methodStack.add(behaviorPerformance);
+		TraceContext context = TraceContextHolder.get();
+		if (context != null) {
+			behaviorPerformance.setTraceId(context.getTraceIdString());
+			behaviorPerformance.setSpanId(context.getSpanIdString());
+		}
+		return behaviorPerformance;
 	}
-
-	@SuppressWarnings("unchecked")
-	@Override
-	protected void doAfterReturningTask(Object returnValue, Method method,
-			Object[] args, Object target) throws Throwable {
+	
+	/**
+	 * 获取方法的采集策略
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param method
+	 * @return
+	 */
+	private MethodPolicy policyOf(Method method) {
+		MethodPolicy policy = policies.get(method);
+		if (policy == null) {
+			Long threshold = slowThresholds.get(method.getDeclaringClass().getName() + "." + method.getName());
+			policy = new MethodPolicy(TimeUnit.MILLISECONDS.toNanos(threshold != null ? threshold : slowThresholdMillis), maxRecordsPerSecond);
+			MethodPolicy previous = policies.putIfAbsent(method, policy);
+			if (previous != null)
+				policy = previous;
+		}
 		
-		// 从堆栈里取出最近一个被doBeforeTask()处理的方法BehaviorPerformance对象，可保证总是先得到最里层的方法
-		BehaviorPerformance behaviorPerformance = ((Stack<BehaviorPerformance>) ThreadLocalHolder
-				.getAttribute(BEHAVIOR_PERFORMANCE)).pop();
+		return policy;
+	}
+	
+	/**
+	 * 根据慢调用阈值的设置更新尾部捕获开关，并清空已缓存的方法采集策略
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a>
+	 */
+	private void updateCaptureEnabled() {
+		boolean enabled = slowThresholdMillis > 0;
+		for (Long threshold : slowThresholds.values()) {
+			enabled |= (threshold != null && threshold > 0);
+		}
 		
-		if (method == behaviorPerformance.getMethod()) {
-			behaviorPerformance.setEndTime(new Date());
-			behaviorPerformance.setElapsedTime(DateUtils.getIntervalMillis(
-					behaviorPerformance.getEndTime(), behaviorPerformance.getStartTime()));
-			behaviorPerformanceService.store(behaviorPerformance);
+		this.captureEnabled = enabled;
+		this.policies.clear();
+	}
+	
+	/**
+	 * 方法的采集策略
+	 * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @version 1.0
+	 */
+	private static class MethodPolicy {
+		
+		/** 慢调用阈值(纳秒) */
+		final long slowThresholdNanos;
+		
+		/** 每秒最多存储的记录数 */
+		final int maxRecordsPerSecond;
+		
+		/** 当前限流窗口(秒) */
+		final AtomicLong window = new AtomicLong();
+		
+		/** 当前限流窗口内已存储的记录数 */
+		final AtomicInteger count = new AtomicInteger();
+		
+		MethodPolicy(long slowThresholdNanos, int maxRecordsPerSecond) {
+			this.slowThresholdNanos = slowThresholdNanos;
+			this.maxRecordsPerSecond = maxRecordsPerSecond;
+		}
+		
+		/**
+		 * 尝试在当前限流窗口内获取一个存储名额
+		 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+		 * @return
+		 */
+		boolean tryAcquire() {
+			if (maxRecordsPerSecond <= 0)
+				return true;
+			
+			long second = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+			long current = window.get();
+			if (current != second && window.compareAndSet(current, second))
+				count.set(0);
+			
+			return count.incrementAndGet() <= maxRecordsPerSecond;
 		}
 	}
 	
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.trace.buffer;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.sniper.commons.util.AssertUtils;
+
+/**
+ * 有界的多生产者单消费者(MPSC)环形缓冲区。</P>
+ * 1.容量为2的幂，生产者通过一次CAS操作抢占写入位置，写入元素时不需要加锁，也不会创建任何节点对象；</P>
+ * 2.只允许一个消费者线程调用poll/drainTo方法，消费者在读取到尚未完成写入的位置时直接返回，等待下一次消费，从而保证元素的先后顺序。
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class MpscRingBuffer<E> {
+	
+	/** 存储元素的槽位 */
+	private final AtomicReferenceArray<E> slots;
+	
+	/** 容量 */
+	private final int capacity;
+	
+	/** 槽位下标掩码 */
+	private final int mask;
+	
+	/** 下一个写入位置 */
+	private final AtomicLong producerIndex;
+	
+	/** 下一个读取位置 */
+	private final AtomicLong consumerIndex;
+	
+	public MpscRingBuffer(int capacity) {
+		AssertUtils.assertTrue(capacity > 0 && capacity <= (1 << 30), 
+				String.format("Ring buffer capacity '%d' must be between 1 and %d", capacity, 1 << 30));
+		this.capacity = (capacity & (capacity - 1)) == 0 ? capacity : Integer.highestOneBit(capacity) << 1;
+		this.mask = this.capacity - 1;
+		this.slots = new AtomicReferenceArray<E>(this.capacity);
+		this.producerIndex = new AtomicLong();
+		this.consumerIndex = new AtomicLong();
+	}
+	
+	/**
+	 * 写入元素，缓冲区已满时返回false
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param element
+	 * @return
+	 */
+	public boolean offer(E element) {
+		AssertUtils.assertNotNull(element, "Ring buffer element must not be null");
+		for (;;) {
+			long index = producerIndex.get();
+			if (index - consumerIndex.get() >= capacity)
+				return false;
+			
+			if (producerIndex.compareAndSet(index, index + 1)) {
+				slots.lazySet((int) index & mask, element);
+				return true;
+			}
+		}
+	}
+	
+	/**
+	 * 读取并移除下一个元素，缓冲区为空或下一个元素尚未完成写入时返回null，只能由消费者线程调用
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public E poll() {
+		long index = consumerIndex.get();
+		int offset = (int) index & mask;
+		E element = slots.get(offset);
+		if (element == null)
+			return null;
+		
+		slots.lazySet(offset, null);
+		consumerIndex.lazySet(index + 1);
+		return element;
+	}
+	
+	/**
+	 * 将最多maxElements个元素移动到指定的集合中，返回实际移动的个数，只能由消费者线程调用
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param collection
+	 * @param maxElements
+	 * @return
+	 */
+	public int drainTo(Collection<? super E> collection, int maxElements) {
+		int count = 0;
+		E element;
+		while (count < maxElements && (element = poll()) != null) {
+			collection.add(element);
+			count++;
+		}
+		
+		return count;
+	}
+	
+	/**
+	 * 获取当前已写入的元素个数的近似值
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public int size() {
+		long size = producerIndex.get() - consumerIndex.get();
+		return (int) Math.max(0, Math.min(size, capacity));
+	}
+	
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+	
+	public int getCapacity() {
+		return capacity;
+	}
+
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.trace.context;
+
+import java.io.Serializable;
+
+/**
+ * 不可变的链路跟踪上下文，由64位的链路ID(traceId)、当前跨度ID(spanId)和父跨度ID(parentSpanId)组成，
+ * 跨线程或跨进程传递时以16位小写十六进制字符串的形式写入消息头/请求头
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public final class TraceContext implements Serializable {
+	
+	private static final long serialVersionUID = 2790364536497066735L;
+
+	/** 链路ID头名称 */
+	public static final String TRACE_ID_HEADER = "X-Trace-Id";
+	
+	/** 跨度ID头名称 */
+	public static final String SPAN_ID_HEADER = "X-Span-Id";
+	
+	/** 父跨度ID头名称 */
+	public static final String PARENT_SPAN_ID_HEADER = "X-Parent-Span-Id";
+	
+	/** 十六进制字符 */
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+	
+	/** 链路ID */
+	private final long traceId;
+	
+	/** 当前跨度ID */
+	private final long spanId;
+	
+	/** 父跨度ID，为0时表示没有父跨度 */
+	private final long parentSpanId;
+	
+	public TraceContext(long traceId, long spanId) {
+		this(traceId, spanId, 0);
+	}
+	
+	public TraceContext(long traceId, long spanId, long parentSpanId) {
+		this.traceId = traceId;
+		this.spanId = spanId;
+		this.parentSpanId = parentSpanId;
+	}
+
+	public long getTraceId() {
+		return traceId;
+	}
+
+	public long getSpanId() {
+		return spanId;
+	}
+
+	public long getParentSpanId() {
+		return parentSpanId;
+	}
+	
+	/**
+	 * 创建以当前跨度为父跨度的子上下文
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param spanId
+	 * @return
+	 */
+	public TraceContext newChild(long spanId) {
+		return new TraceContext(traceId, spanId, this.spanId);
+	}
+	
+	public String getTraceIdString() {
+		return toHex(traceId);
+	}
+	
+	public String getSpanIdString() {
+		return toHex(spanId);
+	}
+	
+	public String getParentSpanIdString() {
+		return parentSpanId != 0 ? toHex(parentSpanId) : null;
+	}
+	
+	/**
+	 * 根据传递过来的十六进制的头值解析出上下文，链路ID或跨度ID不合法时返回null
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param traceId
+	 * @param spanId
+	 * @param parentSpanId
+	 * @return
+	 */
+	public static TraceContext parse(String traceId, String spanId, String parentSpanId) {
+		if (!isHex(traceId) || !isHex(spanId))
+			return null;
+		
+		return new TraceContext(Long.parseUnsignedLong(traceId, 16), Long.parseUnsignedLong(spanId, 16), 
+				isHex(parentSpanId) ? Long.parseUnsignedLong(parentSpanId, 16) : 0);
+	}
+	
+	/**
+	 * 将long值转换成16位的小写十六进制字符串
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param value
+	 * @return
+	 */
+	static String toHex(long value) {
+		char[] chars = new char[16];
+		for (int i = 15; i >= 0; i--) {
+			chars[i] = HEX_DIGITS[(int) (value & 0xf)];
+			value >>>= 4;
+		}
+		
+		return new String(chars);
+	}
+	
+	/**
+	 * 判断是否为1到16位的十六进制字符串
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param value
+	 * @return
+	 */
+	private static boolean isHex(String value) {
+		if (value == null || value.isEmpty() || value.length() > 16)
+			return false;
+		
+		for (int i = 0; i < value.length(); i++) {
+			if (Character.digit(value.charAt(i), 16) < 0)
+				return false;
+		}
+		
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(traceId) * 31 + Long.hashCode(spanId);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		
+		if (!(obj instanceof TraceContext))
+			return false;
+		
+		TraceContext other = (TraceContext) obj;
+		return traceId == other.traceId && spanId == other.spanId && parentSpanId == other.parentSpanId;
+	}
+
+	@Override
+	public String toString() {
+		return getTraceIdString() + "-" + getSpanIdString();
+	}
+	
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.trace.context;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.sniper.commons.util.AssertUtils;
+import org.sniper.generator.LongGenerator;
+import org.sniper.generator.sequence.AtomicTimestampInternalSequence;
+import org.sniper.generator.sequence.SequenceNode;
+import org.sniper.generator.snowflake.SnowflakeGenerator;
+
+/**
+ * 链路跟踪上下文持有器，将当前线程所在的链路上下文保存在线程本地变量中。</P>
+ * 链路ID和跨度ID默认由无锁模式的SnowflakeGenerator生成，生成过程只需一次CAS操作且不会产生装箱对象；
+ * 由于默认的序列节点(workerId/dataCenterId)是在进程启动时随机选取的，在多进程部署时建议通过setIdGenerator设置各进程唯一的序列节点
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class TraceContextHolder {
+	
+	/** 当前线程的链路上下文 */
+	private static final ThreadLocal<TraceContext> contexts = new ThreadLocal<TraceContext>();
+	
+	/** ID生成器 */
+	private static volatile LongGenerator idGenerator = newDefaultIdGenerator();
+	
+	private TraceContextHolder() {}
+	
+	/**
+	 * 设置链路ID和跨度ID的生成器
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param idGenerator
+	 */
+	public static void setIdGenerator(LongGenerator idGenerator) {
+		AssertUtils.assertNotNull(idGenerator, "Trace id generator must not be null");
+		TraceContextHolder.idGenerator = idGenerator;
+	}
+	
+	/**
+	 * 生成一个新的ID
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public static long nextId() {
+		return idGenerator.nextLong();
+	}
+	
+	/**
+	 * 获取当前线程的链路上下文，不存在时返回null
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public static TraceContext get() {
+		return contexts.get();
+	}
+	
+	/**
+	 * 设置当前线程的链路上下文，并返回之前的上下文，context为null时表示清除
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param context
+	 * @return
+	 */
+	public static TraceContext set(TraceContext context) {
+		TraceContext previous = contexts.get();
+		if (context != null)
+			contexts.set(context);
+		else
+			contexts.remove();
+		
+		return previous;
+	}
+	
+	/**
+	 * 清除当前线程的链路上下文
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a>
+	 */
+	public static void clear() {
+		contexts.remove();
+	}
+	
+	/**
+	 * 开启一条新的链路，并设置为当前线程的上下文
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public static TraceContext startTrace() {
+		long id = nextId();
+		TraceContext context = new TraceContext(id, id);
+		contexts.set(context);
+		return context;
+	}
+	
+	/**
+	 * 基于当前线程的上下文创建一个子跨度，但不改变当前线程的上下文，当前线程没有上下文时返回null
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public static TraceContext newChild() {
+		TraceContext context = contexts.get();
+		return context != null ? context.newChild(nextId()) : null;
+	}
+	
+	/**
+	 * 创建默认的ID生成器
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	private static LongGenerator newDefaultIdGenerator() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		return new SnowflakeGenerator(new SequenceNode(random.nextInt(32), random.nextInt(32)), 
+				AtomicTimestampInternalSequence.defaultLanes(4095));
+	}
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.trace.context;
+
+import java.util.concurrent.Executor;
+
+import org.sniper.commons.util.AssertUtils;
+
+/**
+ * 传递链路上下文的执行器，提交的任务将在提交线程的链路上下文的子跨度中运行
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class TraceExecutor implements Executor {
+	
+	/** 被代理的执行器 */
+	private final Executor delegate;
+	
+	public TraceExecutor(Executor delegate) {
+		AssertUtils.assertNotNull(delegate, "Delegate executor must not be null");
+		this.delegate = delegate;
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		delegate.execute(TraceTasks.wrap(command));
+	}
+	
+	public Executor getDelegate() {
+		return delegate;
+	}
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.trace.context;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.sniper.commons.util.AssertUtils;
+
+/**
+ * 传递链路上下文的执行器服务，通过execute/submit/invokeAll/invokeAny提交的任务都将在提交线程的链路上下文的子跨度中运行
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class TraceExecutorService extends AbstractExecutorService {
+	
+	/** 被代理的执行器服务 */
+	private final ExecutorService delegate;
+	
+	public TraceExecutorService(ExecutorService delegate) {
+		AssertUtils.assertNotNull(delegate, "Delegate executor service must not be null");
+		this.delegate = delegate;
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		delegate.execute(TraceTasks.wrap(command));
+	}
+	
+	@Override
+	public Future<?> submit(Runnable task) {
+		return delegate.submit(TraceTasks.wrap(task));
+	}
+
+	@Override
+	public <T> Future<T> submit(Runnable task, T result) {
+		return delegate.submit(TraceTasks.wrap(task), result);
+	}
+
+	@Override
+	public <T> Future<T> submit(Callable<T> task) {
+		return delegate.submit(TraceTasks.wrap(task));
+	}
+	
+	@Override
+	public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+		return delegate.invokeAll(wrap(tasks));
+	}
+
+	@Override
+	public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+			throws InterruptedException {
+		return delegate.invokeAll(wrap(tasks), timeout, unit);
+	}
+	
+	@Override
+	public void shutdown() {
+		delegate.shutdown();
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+		return delegate.shutdownNow();
+	}
+
+	@Override
+	public boolean isShutdown() {
+		return delegate.isShutdown();
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return delegate.isTerminated();
+	}
+
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		return delegate.awaitTermination(timeout, unit);
+	}
+	
+	public ExecutorService getDelegate() {
+		return delegate;
+	}
+	
+	/**
+	 * 包装任务集
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param tasks
+	 * @return
+	 */
+	private static <T> List<Callable<T>> wrap(Collection<? extends Callable<T>> tasks) {
+		List<Callable<T>> wrapped = new ArrayList<Callable<T>>(tasks.size());
+		for (Callable<T> task : tasks) {
+			wrapped.add(TraceTasks.wrap(task));
+		}
+		
+		return wrapped;
+	}
+
+}
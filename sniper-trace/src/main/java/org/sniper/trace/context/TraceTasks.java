@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.trace.context;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 链路跟踪任务包装工具类，在提交任务时捕获当前线程的链路上下文，
+ * 在执行任务的线程中以该上下文的子跨度运行任务，运行结束后恢复执行线程原有的上下文
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class TraceTasks {
+	
+	private TraceTasks() {}
+	
+	/**
+	 * 包装Runnable任务，当前线程没有链路上下文时直接返回原任务
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param task
+	 * @return
+	 */
+	public static Runnable wrap(final Runnable task) {
+		final TraceContext captured = TraceContextHolder.get();
+		if (captured == null || task instanceof TraceRunnable)
+			return task;
+		
+		return new TraceRunnable(task, captured);
+	}
+	
+	/**
+	 * 包装Callable任务，当前线程没有链路上下文时直接返回原任务
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param task
+	 * @return
+	 */
+	public static <V> Callable<V> wrap(final Callable<V> task) {
+		final TraceContext captured = TraceContextHolder.get();
+		if (captured == null || task instanceof TraceCallable)
+			return task;
+		
+		return new TraceCallable<V>(task, captured);
+	}
+	
+	/**
+	 * 携带链路上下文的Runnable
+	 * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @version 1.0
+	 */
+	private static final class TraceRunnable implements Runnable {
+		
+		private final Runnable task;
+		
+		private final TraceContext captured;
+		
+		private TraceRunnable(Runnable task, TraceContext captured) {
+			this.task = task;
+			this.captured = captured;
+		}
+
+		@Override
+		public void run() {
+			TraceContext previous = TraceContextHolder.set(captured.newChild(TraceContextHolder.nextId()));
+			try {
+				task.run();
+			} finally {
+				TraceContextHolder.set(previous);
+			}
+		}
+	}
+	
+	/**
+	 * 携带链路上下文的Callable
+	 * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @version 1.0
+	 */
+	private static final class TraceCallable<V> implements Callable<V> {
+		
+		private final Callable<V> task;
+		
+		private final TraceContext captured;
+		
+		private TraceCallable(Callable<V> task, TraceContext captured) {
+			this.task = task;
+			this.captured = captured;
+		}
+
+		@Override
+		public V call() throws Exception {
+			TraceContext previous = TraceContextHolder.set(captured.newChild(TraceContextHolder.nextId()));
+			try {
+				return task.call();
+			} finally {
+				TraceContextHolder.set(previous);
+			}
+		}
+	}
+
+}
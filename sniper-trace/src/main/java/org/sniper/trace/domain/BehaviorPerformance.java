@@ -20,6 +20,7 @@ package org.sniper.trace.domain;
 
 import java.lang.reflect.Method;
 import java.util.Date;
+import java.util.List;
 
 import org.sniper.commons.entity.IdEntity;
 
@@ -49,6 +50,18 @@ public class BehaviorPerformance extends IdEntity<Long> {
 	/** 耗时(毫秒) */
 	private long elapsedTime;
 	
+	/** 是否为超过慢调用阈值后被捕获的记录 */
+	private boolean slow;
+	
+	/** 嵌套调用的性能记录，只有慢调用记录才会携带 */
+	private List<BehaviorPerformance> children;
+	
+	/** 所属的链路ID */
+	private String traceId;
+	
+	/** 所属的跨度ID */
+	private String spanId;
+	
 	public Method getMethod() {
 		return method;
 	}
@@ -97,4 +110,36 @@ public class BehaviorPerformance extends IdEntity<Long> {
 		this.elapsedTime = elapsedTime;
 	}
 	
+	public boolean isSlow() {
+		return slow;
+	}
+
+	public void setSlow(boolean slow) {
+		this.slow = slow;
+	}
+
+	public List<BehaviorPerformance> getChildren() {
+		return children;
+	}
+
+	public void setChildren(List<BehaviorPerformance> children) {
+		this.children = children;
+	}
+
+	public String getTraceId() {
+		return traceId;
+	}
+
+	public void setTraceId(String traceId) {
+		this.traceId = traceId;
+	}
+
+	public String getSpanId() {
+		return spanId;
+	}
+
+	public void setSpanId(String spanId) {
+		this.spanId = spanId;
+	}
+	
 }
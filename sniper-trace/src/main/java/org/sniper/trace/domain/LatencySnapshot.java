@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.trace.domain;
+
+import java.io.Serializable;
+
+import org.sniper.trace.histogram.LatencyHistogram;
+
+/**
+ * 延迟统计快照，所有耗时的单位均为纳秒
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class LatencySnapshot implements Serializable {
+
+	private static final long serialVersionUID = -5317935232764816458L;
+	
+	/** 统计对象名称 */
+	private final String name;
+	
+	/** 各桶的计数 */
+	private final long[] counts;
+	
+	/** 调用次数 */
+	private final long count;
+	
+	/** 出错次数 */
+	private final long errorCount;
+	
+	/** 总耗时 */
+	private final long totalNanos;
+	
+	/** 最大耗时 */
+	private final long maxNanos;
+	
+	/** 50%分位耗时 */
+	private final long p50;
+	
+	/** 99%分位耗时 */
+	private final long p99;
+	
+	/** 99.9%分位耗时 */
+	private final long p999;
+	
+	public LatencySnapshot(String name, long[] counts, long errorCount, long totalNanos, long maxNanos) {
+		this.name = name;
+		this.counts = counts;
+		
+		long count = 0;
+		for (long c : counts) {
+			count += c;
+		}
+		this.count = count;
+		this.errorCount = Math.min(errorCount, count);
+		this.totalNanos = totalNanos;
+		this.maxNanos = maxNanos;
+		this.p50 = getValueAtPercentile(50);
+		this.p99 = getValueAtPercentile(99);
+		this.p999 = getValueAtPercentile(99.9);
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public long getErrorCount() {
+		return errorCount;
+	}
+	
+	/**
+	 * 获取出错率
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public double getErrorRate() {
+		return count > 0 ? (double) errorCount / count : 0;
+	}
+
+	public long getTotalNanos() {
+		return totalNanos;
+	}
+	
+	/**
+	 * 获取平均耗时
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public long getMeanNanos() {
+		return count > 0 ? totalNanos / count : 0;
+	}
+
+	public long getMaxNanos() {
+		return maxNanos;
+	}
+
+	public long getP50() {
+		return p50;
+	}
+
+	public long getP99() {
+		return p99;
+	}
+
+	public long getP999() {
+		return p999;
+	}
+	
+	/**
+	 * 获取指定百分位的耗时，结果为所在桶的上界且不超过记录的最大耗时
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param percentile 0到100之间的百分位
+	 * @return
+	 */
+	public long getValueAtPercentile(double percentile) {
+		if (count == 0)
+			return 0;
+		
+		double bounded = Math.min(Math.max(percentile, 0), 100);
+		long rank = Math.max(1, (long) Math.ceil(bounded / 100 * count));
+		long accumulated = 0;
+		for (int i = 0; i < counts.length; i++) {
+			accumulated += counts[i];
+			if (accumulated >= rank)
+				return Math.min(LatencyHistogram.highestValueOf(i), maxNanos);
+		}
+		
+		return maxNanos;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s [count=%d, errorRate=%.4f, mean=%dns, p50=%dns, p99=%dns, p999=%dns, max=%dns]",
+				name, count, getErrorRate(), getMeanNanos(), p50, p99, p999, maxNanos);
+	}
+
+}
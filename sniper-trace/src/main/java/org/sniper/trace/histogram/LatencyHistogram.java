@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.trace.histogram;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.sniper.trace.domain.LatencySnapshot;
+
+/**
+ * 无锁的延迟直方图，采用与HdrHistogram相同的"对数-线性"分桶方式。</P>
+ * 1.小于2*SUB_BUCKET_COUNT的值按1纳秒线性分桶，更大的值按2的幂分段，每段再线性拆分成SUB_BUCKET_COUNT个子桶，
+ *   因此任意值的相对误差不超过1/SUB_BUCKET_COUNT(约3%)；</P>
+ * 2.所有桶在创建时一次性分配，记录时只需定位桶下标后对其原子加1，不会产生任何临时对象；</P>
+ * 3.通过snapshot方法拉取统计快照，快照中的分位值取所在桶的上界。
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class LatencyHistogram {
+	
+	/** 子桶个数所占的位数 */
+	private static final int SUB_BUCKET_BITS = 5;
+	
+	/** 每个2的幂分段内的子桶个数 */
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	
+	/** 桶的总个数，可覆盖所有非负的long值 */
+	static final int BUCKET_COUNT = (62 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT + 2 * SUB_BUCKET_COUNT;
+	
+	/** 直方图名称 */
+	private final String name;
+	
+	/** 各桶的计数 */
+	private final AtomicLongArray counts;
+	
+	/** 出错次数 */
+	private final LongAdder errors;
+	
+	/** 所有记录值的总和 */
+	private final LongAdder total;
+	
+	/** 记录的最大值 */
+	private final AtomicLong max;
+	
+	public LatencyHistogram(String name) {
+		this.name = name;
+		this.counts = new AtomicLongArray(BUCKET_COUNT);
+		this.errors = new LongAdder();
+		this.total = new LongAdder();
+		this.max = new AtomicLong();
+	}
+	
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * 记录一次耗时
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param nanos
+	 * @param failed
+	 */
+	public void record(long nanos, boolean failed) {
+		if (nanos < 0)
+			nanos = 0;
+		
+		counts.incrementAndGet(indexOf(nanos));
+		total.add(nanos);
+		if (failed)
+			errors.increment();
+		
+		long current;
+		while (nanos > (current = max.get())) {
+			if (max.compareAndSet(current, nanos))
+				break;
+		}
+	}
+	
+	/**
+	 * 获取当前的统计快照
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public LatencySnapshot snapshot() {
+		return snapshot(false);
+	}
+	
+	/**
+	 * 获取当前的统计快照，reset为true时同时清空已有的统计数据，适用于按固定周期拉取增量数据的场景
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param reset
+	 * @return
+	 */
+	public LatencySnapshot snapshot(boolean reset) {
+		long[] values = new long[BUCKET_COUNT];
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			values[i] = reset ? counts.getAndSet(i, 0) : counts.get(i);
+		}
+		
+		long errorCount = reset ? errors.sumThenReset() : errors.sum();
+		long totalNanos = reset ? total.sumThenReset() : total.sum();
+		long maxNanos = reset ? max.getAndSet(0) : max.get();
+		return new LatencySnapshot(name, values, errorCount, totalNanos, maxNanos);
+	}
+	
+	/**
+	 * 获取值所在的桶下标
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param value
+	 * @return
+	 */
+	static int indexOf(long value) {
+		if (value < SUB_BUCKET_COUNT)
+			return (int) value;
+		
+		// 最高位之后保留SUB_BUCKET_BITS位精度
+		int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+	}
+	
+	/**
+	 * 获取桶内可表示的最大值
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param index
+	 * @return
+	 */
+	public static long highestValueOf(int index) {
+		if (index < 2 * SUB_BUCKET_COUNT)
+			return index;
+		
+		int shift = (index >>> SUB_BUCKET_BITS) - 1;
+		long subBucket = index - ((long) shift << SUB_BUCKET_BITS);
+		return ((subBucket + 1) << shift) - 1;
+	}
+
+}
@@ -0,0 +1,361 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.trace.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sniper.commons.util.AssertUtils;
+import org.sniper.spring.beans.CheckableInitializingBean;
+import org.sniper.trace.buffer.MpscRingBuffer;
+import org.sniper.trace.domain.BehaviorPerformance;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * 异步批量的性能采集服务实现类，作为性能采集切面与实际存储服务之间的缓冲层。</P>
+ * 1.业务线程只负责将性能记录写入有界的MPSC环形缓冲区，不会承担实际存储服务(数据库、Kafka、文件等)的写入延迟；</P>
+ * 2.由唯一的后台线程将缓冲区中的记录按批次提交给被代理服务的storeBatch方法，
+ *   缓冲区中的记录达到批次大小或者等待时间超过maxBatchDelayMillis时提交一次；</P>
+ * 3.缓冲区写满时的处理方式由溢出策略决定，所有未能写入缓冲区的记录都会被计入丢弃数。
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class AsyncBehaviorPerformanceService extends CheckableInitializingBean 
+		implements BehaviorPerformanceService, DisposableBean {
+	
+	private static final Logger logger = LoggerFactory.getLogger(AsyncBehaviorPerformanceService.class);
+	
+	/** 阻塞策略下生产者每次等待的纳秒数 */
+	private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+	
+	/** 被代理的性能采集服务 */
+	private BehaviorPerformanceService behaviorPerformanceService;
+	
+	/** 缓冲区容量 */
+	private int capacity = 8192;
+	
+	/** 每批次最多提交的记录数 */
+	private int batchSize = 256;
+	
+	/** 未凑满批次时最多等待的毫秒数 */
+	private long maxBatchDelayMillis = 100;
+	
+	/** 缓冲区溢出策略 */
+	private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+	
+	/** 采样策略下，缓冲区使用量超过一半后每sampleRate条记录只保留1条 */
+	private int sampleRate = 10;
+	
+	/** 阻塞策略下最多阻塞的毫秒数，超时后丢弃记录 */
+	private long blockTimeoutMillis = 1000;
+	
+	/** 停止时等待剩余记录提交完成的最大毫秒数 */
+	private long shutdownTimeoutMillis = 5000;
+	
+	/** 环形缓冲区 */
+	private MpscRingBuffer<BehaviorPerformance> buffer;
+	
+	/** 提交线程 */
+	private Thread drainer;
+	
+	/** 是否正在运行 */
+	private volatile boolean running;
+	
+	/** 提交线程是否正在等待 */
+	private volatile boolean waiting;
+	
+	/** 采样计数 */
+	private final AtomicLong sampleCounter = new AtomicLong();
+	
+	/** 丢弃的记录数 */
+	private final LongAdder droppedCount = new LongAdder();
+	
+	/** 已提交的记录数 */
+	private final LongAdder storedCount = new LongAdder();
+	
+	/** 提交失败的记录数 */
+	private final LongAdder failedCount = new LongAdder();
+	
+	public AsyncBehaviorPerformanceService() {}
+	
+	public AsyncBehaviorPerformanceService(BehaviorPerformanceService behaviorPerformanceService) {
+		this.behaviorPerformanceService = behaviorPerformanceService;
+	}
+	
+	public BehaviorPerformanceService getBehaviorPerformanceService() {
+		return behaviorPerformanceService;
+	}
+
+	public void setBehaviorPerformanceService(BehaviorPerformanceService behaviorPerformanceService) {
+		this.behaviorPerformanceService = behaviorPerformanceService;
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	public void setCapacity(int capacity) {
+		this.capacity = capacity;
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	public long getMaxBatchDelayMillis() {
+		return maxBatchDelayMillis;
+	}
+
+	public void setMaxBatchDelayMillis(long maxBatchDelayMillis) {
+		this.maxBatchDelayMillis = maxBatchDelayMillis;
+	}
+
+	public OverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+
+	public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	public int getSampleRate() {
+		return sampleRate;
+	}
+
+	public void setSampleRate(int sampleRate) {
+		this.sampleRate = sampleRate;
+	}
+
+	public long getBlockTimeoutMillis() {
+		return blockTimeoutMillis;
+	}
+
+	public void setBlockTimeoutMillis(long blockTimeoutMillis) {
+		this.blockTimeoutMillis = blockTimeoutMillis;
+	}
+
+	public long getShutdownTimeoutMillis() {
+		return shutdownTimeoutMillis;
+	}
+
+	public void setShutdownTimeoutMillis(long shutdownTimeoutMillis) {
+		this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+	}
+	
+	/**
+	 * 获取丢弃的记录数
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public long getDroppedCount() {
+		return droppedCount.sum();
+	}
+	
+	/**
+	 * 获取已成功提交给被代理服务的记录数
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public long getStoredCount() {
+		return storedCount.sum();
+	}
+	
+	/**
+	 * 获取被代理服务存储失败的记录数
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public long getFailedCount() {
+		return failedCount.sum();
+	}
+	
+	/**
+	 * 获取缓冲区中等待提交的记录数
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public int getPendingCount() {
+		return buffer != null ? buffer.size() : 0;
+	}
+
+	@Override
+	protected void checkProperties() {
+		AssertUtils.assertNotNull(behaviorPerformanceService, "Property 'behaviorPerformanceService' is required");
+		AssertUtils.assertTrue(capacity > 0, "Property 'capacity' must be greater than 0");
+		AssertUtils.assertTrue(batchSize > 0, "Property 'batchSize' must be greater than 0");
+		AssertUtils.assertTrue(maxBatchDelayMillis > 0, "Property 'maxBatchDelayMillis' must be greater than 0");
+		AssertUtils.assertNotNull(overflowPolicy, "Property 'overflowPolicy' is required");
+		AssertUtils.assertTrue(sampleRate > 0, "Property 'sampleRate' must be greater than 0");
+	}
+
+	@Override
+	protected void init() throws Exception {
+		this.buffer = new MpscRingBuffer<BehaviorPerformance>(capacity);
+		this.running = true;
+		this.drainer = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				drain();
+			}
+		}, "behavior-performance-drainer");
+		this.drainer.setDaemon(true);
+		this.drainer.start();
+	}
+	
+	@Override
+	public void destroy() throws Exception {
+		if (!running)
+			return;
+		
+		running = false;
+		LockSupport.unpark(drainer);
+		drainer.join(shutdownTimeoutMillis);
+	}
+
+	@Override
+	public void store(BehaviorPerformance behaviorPerformance) {
+		if (!running) {
+			droppedCount.increment();
+			return;
+		}
+		
+		boolean accepted;
+		switch (overflowPolicy) {
+		case BLOCK:
+			accepted = offerBlocking(behaviorPerformance);
+			break;
+		case SAMPLE:
+			// 缓冲区使用量超过一半后开始采样
+			accepted = (buffer.size() < (buffer.getCapacity() >>> 1) 
+					|| sampleCounter.getAndIncrement() % sampleRate == 0) && buffer.offer(behaviorPerformance);
+			break;
+		default:
+			accepted = buffer.offer(behaviorPerformance);
+		}
+		
+		if (!accepted)
+			droppedCount.increment();
+		else if (waiting && buffer.size() >= batchSize)
+			LockSupport.unpark(drainer);
+	}
+
+	@Override
+	public void storeBatch(List<BehaviorPerformance> behaviorPerformances) {
+		for (BehaviorPerformance behaviorPerformance : behaviorPerformances) {
+			store(behaviorPerformance);
+		}
+	}
+	
+	/**
+	 * 以阻塞的方式写入缓冲区，超时后返回false
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param behaviorPerformance
+	 * @return
+	 */
+	private boolean offerBlocking(BehaviorPerformance behaviorPerformance) {
+		long deadline = 0;
+		while (!buffer.offer(behaviorPerformance)) {
+			if (!running)
+				return false;
+			
+			long now = System.nanoTime();
+			if (deadline == 0)
+				deadline = now + TimeUnit.MILLISECONDS.toNanos(blockTimeoutMillis);
+			else if (now - deadline >= 0)
+				return false;
+			
+			LockSupport.unpark(drainer);
+			LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * 提交线程的主循环，停止后会将缓冲区中剩余的记录全部提交完再退出
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a>
+	 */
+	private void drain() {
+		long maxBatchDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxBatchDelayMillis);
+		for (;;) {
+			int size = buffer.size();
+			if (size > 0) {
+				List<BehaviorPerformance> batch = new ArrayList<BehaviorPerformance>(Math.min(size, batchSize));
+				if (buffer.drainTo(batch, batchSize) > 0)
+					flush(batch);
+				
+				if (batch.size() >= batchSize)
+					continue;
+			} else if (!running)
+				return;
+			
+			if (running) {
+				// 未凑满批次时等待，期间缓冲区达到批次大小会被生产者提前唤醒
+				waiting = true;
+				if (buffer.size() < batchSize)
+					LockSupport.parkNanos(this, maxBatchDelayNanos);
+				waiting = false;
+			}
+		}
+	}
+	
+	/**
+	 * 将一批记录提交给被代理服务
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param batch
+	 */
+	private void flush(List<BehaviorPerformance> batch) {
+		try {
+			behaviorPerformanceService.storeBatch(batch);
+			storedCount.add(batch.size());
+		} catch (Throwable e) {
+			failedCount.add(batch.size());
+			logger.warn("Failed to store " + batch.size() + " behavior performance records", e);
+		}
+	}
+	
+	/**
+	 * 缓冲区溢出策略
+	 * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @version 1.0
+	 */
+	public static enum OverflowPolicy {
+		
+		/** 缓冲区已满时直接丢弃新记录 */
+		DROP,
+		
+		/** 缓冲区使用量超过一半后按采样率保留新记录，已满时丢弃 */
+		SAMPLE,
+		
+		/** 缓冲区已满时阻塞业务线程，直到有空闲位置或超过阻塞超时时间 */
+		BLOCK
+	}
+
+}
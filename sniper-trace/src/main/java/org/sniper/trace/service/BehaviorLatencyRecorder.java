@@ -0,0 +1,39 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.trace.service;
+
+import java.lang.reflect.Method;
+
+/**
+ * 方法延迟记录器接口，性能采集切面在检测到服务实现了该接口时，将直接以基本类型上报耗时，而不再为每次调用创建性能记录对象
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public interface BehaviorLatencyRecorder {
+	
+	/**
+	 * 记录方法的一次调用耗时
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param method
+	 * @param elapsedNanos
+	 * @param failed 调用是否抛出了异常
+	 */
+	public void record(Method method, long elapsedNanos, boolean failed);
+
+}
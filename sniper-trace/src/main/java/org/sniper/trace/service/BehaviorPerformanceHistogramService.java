@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.trace.service;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.sniper.trace.domain.BehaviorPerformance;
+import org.sniper.trace.domain.LatencySnapshot;
+import org.sniper.trace.histogram.LatencyHistogram;
+
+/**
+ * 基于延迟直方图的性能采集服务实现类。</P>
+ * 1.每个方法对应一个无锁的延迟直方图，直方图在方法第一次被记录时创建，之后的记录过程不会产生任何临时对象；</P>
+ * 2.服务本身不会输出任何日志，而是由调用方通过snapshot方法按需拉取每个方法的调用次数、出错率以及p50/p99/p999等统计数据。
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class BehaviorPerformanceHistogramService implements BehaviorPerformanceService, BehaviorLatencyRecorder {
+	
+	/** 方法(或方法名称)与直方图的映射 */
+	private final ConcurrentMap<Object, LatencyHistogram> histograms = new ConcurrentHashMap<Object, LatencyHistogram>();
+
+	@Override
+	public void store(BehaviorPerformance behaviorPerformance) {
+		Method method = behaviorPerformance.getMethod();
+		long elapsedNanos = TimeUnit.MILLISECONDS.toNanos(behaviorPerformance.getElapsedTime());
+		if (method != null)
+			record(method, elapsedNanos, false);
+		else {
+			// 反序列化后的记录对象没有方法对象，则以方法全限定名称作为统计对象
+			String name = behaviorPerformance.getDeclaringClass() + "." + behaviorPerformance.getMethodName();
+			histogramOf(name, name).record(elapsedNanos, false);
+		}
+	}
+
+	@Override
+	public void record(Method method, long elapsedNanos, boolean failed) {
+		LatencyHistogram histogram = histograms.get(method);
+		if (histogram == null)
+			histogram = histogramOf(method, nameOf(method));
+		
+		histogram.record(elapsedNanos, failed);
+	}
+	
+	/**
+	 * 获取所有方法的统计快照，按名称排序
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @return
+	 */
+	public List<LatencySnapshot> snapshot() {
+		return snapshot(false);
+	}
+	
+	/**
+	 * 获取所有方法的统计快照并按名称排序，reset为true时同时清空已有的统计数据
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param reset
+	 * @return
+	 */
+	public List<LatencySnapshot> snapshot(boolean reset) {
+		List<LatencySnapshot> snapshots = new ArrayList<LatencySnapshot>(histograms.size());
+		for (LatencyHistogram histogram : histograms.values()) {
+			snapshots.add(histogram.snapshot(reset));
+		}
+		
+		Collections.sort(snapshots, new Comparator<LatencySnapshot>() {
+
+			@Override
+			public int compare(LatencySnapshot o1, LatencySnapshot o2) {
+				return o1.getName().compareTo(o2.getName());
+			}
+		});
+		return snapshots;
+	}
+	
+	/**
+	 * 获取指定方法的统计快照，方法未被记录过时返回null
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param method
+	 * @return
+	 */
+	public LatencySnapshot snapshot(Method method) {
+		LatencyHistogram histogram = histograms.get(method);
+		return histogram != null ? histogram.snapshot() : null;
+	}
+	
+	/**
+	 * 清空所有方法的统计数据
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a>
+	 */
+	public void clear() {
+		histograms.clear();
+	}
+	
+	/**
+	 * 获取或创建统计对象对应的直方图
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param key
+	 * @param name
+	 * @return
+	 */
+	private LatencyHistogram histogramOf(Object key, String name) {
+		LatencyHistogram histogram = histograms.get(key);
+		if (histogram == null) {
+			histogram = new LatencyHistogram(name);
+			LatencyHistogram previous = histograms.putIfAbsent(key, histogram);
+			if (previous != null)
+				histogram = previous;
+		}
+		
+		return histogram;
+	}
+	
+	/**
+	 * 获取方法的统计名称，格式为"类全限定名.方法名(参数类型简单名称列表)"，以区分重载的方法
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param method
+	 * @return
+	 */
+	private String nameOf(Method method) {
+		StringBuilder builder = new StringBuilder(method.getDeclaringClass().getName())
+				.append('.').append(method.getName()).append('(');
+		Class<?>[] parameterTypes = method.getParameterTypes();
+		for (int i = 0; i < parameterTypes.length; i++) {
+			if (i > 0)
+				builder.append(',');
+			builder.append(parameterTypes[i].getSimpleName());
+		}
+		
+		return builder.append(')').toString();
+	}
+
+}
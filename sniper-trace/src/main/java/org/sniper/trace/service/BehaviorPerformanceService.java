@@ -18,6 +18,8 @@
 
 package org.sniper.trace.service;
 
+import java.util.List;
+
 import org.sniper.trace.domain.BehaviorPerformance;
 
 /**
@@ -33,5 +35,16 @@ public interface BehaviorPerformanceService {
 	 * @param behaviorPerformance
 	 */
 	public void store(BehaviorPerformance behaviorPerformance);
+	
+	/**
+	 * 批量存储性能记录，默认逐条调用store方法，支持批量写入的实现类可以覆盖此方法
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param behaviorPerformances
+	 */
+	public default void storeBatch(List<BehaviorPerformance> behaviorPerformances) {
+		for (BehaviorPerformance behaviorPerformance : behaviorPerformances) {
+			store(behaviorPerformance);
+		}
+	}
 
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.trace.test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+import org.sniper.trace.domain.BehaviorPerformance;
+import org.sniper.trace.service.AsyncBehaviorPerformanceService;
+import org.sniper.trace.service.AsyncBehaviorPerformanceService.OverflowPolicy;
+import org.sniper.trace.service.BehaviorPerformanceService;
+import org.sniper.test.junit.BaseTestCase;
+
+/**
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class AsyncBehaviorPerformanceServiceTest extends BaseTestCase {
+	
+	@Test
+	public void testStoreBatch() throws Exception {
+		CollectingService delegate = new CollectingService(null);
+		AsyncBehaviorPerformanceService service = new AsyncBehaviorPerformanceService(delegate);
+		service.setBatchSize(64);
+		service.setMaxBatchDelayMillis(10);
+		service.setOverflowPolicy(OverflowPolicy.BLOCK);
+		service.afterPropertiesSet();
+		
+		final int threads = 4;
+		final int records = 5000;
+		List<Thread> producers = new ArrayList<Thread>();
+		for (int i = 0; i < threads; i++) {
+			final long threadId = i;
+			Thread producer = new Thread() {
+				
+				@Override
+				public void run() {
+					for (long j = 0; j < records; j++) {
+						BehaviorPerformance behaviorPerformance = new BehaviorPerformance();
+						behaviorPerformance.setId(threadId * records + j);
+						service.store(behaviorPerformance);
+					}
+				}
+			};
+			producer.start();
+			producers.add(producer);
+		}
+		
+		for (Thread producer : producers) {
+			producer.join();
+		}
+		service.destroy();
+		
+		assertEquals(0, service.getDroppedCount());
+		assertEquals(threads * records, service.getStoredCount());
+		assertEquals(threads * records, delegate.records.size());
+		for (List<BehaviorPerformance> batch : delegate.batches) {
+			assertTrue(batch.size() <= 64);
+		}
+	}
+	
+	@Test
+	public void testDrop() throws Exception {
+		CountDownLatch latch = new CountDownLatch(1);
+		CollectingService delegate = new CollectingService(latch);
+		AsyncBehaviorPerformanceService service = new AsyncBehaviorPerformanceService(delegate);
+		service.setCapacity(16);
+		service.setBatchSize(1);
+		service.afterPropertiesSet();
+		
+		// 被代理服务阻塞期间，缓冲区最多容纳16条记录外加已被取走的1条
+		for (int i = 0; i < 100; i++) {
+			service.store(new BehaviorPerformance());
+		}
+		
+		latch.countDown();
+		service.destroy();
+		assertEquals(100, service.getDroppedCount() + service.getStoredCount());
+		assertTrue(service.getDroppedCount() >= 100 - 17);
+	}
+	
+	private static class CollectingService implements BehaviorPerformanceService {
+		
+		private final CountDownLatch latch;
+		
+		private final List<BehaviorPerformance> records = Collections.synchronizedList(new ArrayList<BehaviorPerformance>());
+		
+		private final List<List<BehaviorPerformance>> batches = Collections.synchronizedList(new ArrayList<List<BehaviorPerformance>>());
+		
+		CollectingService(CountDownLatch latch) {
+			this.latch = latch;
+		}
+
+		@Override
+		public void store(BehaviorPerformance behaviorPerformance) {
+			records.add(behaviorPerformance);
+		}
+
+		@Override
+		public void storeBatch(List<BehaviorPerformance> behaviorPerformances) {
+			if (latch != null) {
+				try {
+					latch.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			
+			batches.add(behaviorPerformances);
+			records.addAll(behaviorPerformances);
+		}
+	}
+
+}
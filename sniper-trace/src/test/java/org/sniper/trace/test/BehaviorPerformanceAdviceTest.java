@@ -0,0 +1,202 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.trace.test;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.Test;
+import org.sniper.trace.advice.BehaviorPerformanceAdvice;
+import org.sniper.trace.context.TraceContextHolder;
+import org.sniper.trace.domain.BehaviorPerformance;
+import org.sniper.trace.service.BehaviorPerformanceService;
+import org.sniper.test.junit.BaseTestCase;
+
+/**
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class BehaviorPerformanceAdviceTest extends BaseTestCase {
+	
+	private final List<BehaviorPerformance> records = new ArrayList<BehaviorPerformance>();
+	
+	private final BehaviorPerformanceService service = new BehaviorPerformanceService() {
+
+		@Override
+		public void store(BehaviorPerformance behaviorPerformance) {
+			records.add(behaviorPerformance);
+		}
+	};
+	
+	/** 耗时超过慢调用阈值的方法体 */
+	private final Body slowBody = new Body() {
+		
+		@Override
+		public void run(BehaviorPerformanceAdvice advice) {
+			sleep(50);
+		}
+	};
+	
+	@Test
+	public void testTailCapture() throws Throwable {
+		BehaviorPerformanceAdvice advice = new BehaviorPerformanceAdvice();
+		advice.setBehaviorPerformanceService(service);
+		advice.setSampleRate(0);
+		advice.setSlowThresholdMillis(30);
+		
+		Method outer = String.class.getMethod("trim");
+		final Method inner = String.class.getMethod("length");
+		final Method leaf = String.class.getMethod("isEmpty");
+		
+		invoke(advice, outer, new Body() {
+			
+			@Override
+			public void run(final BehaviorPerformanceAdvice advice) throws Throwable {
+				invoke(advice, inner, new Body() {
+					
+					@Override
+					public void run(BehaviorPerformanceAdvice advice) throws Throwable {
+						invoke(advice, leaf, null);
+					}
+				});
+				invoke(advice, leaf, null);
+				sleep(50);
+			}
+		});
+		
+		// 未被采样的快速调用不会被存储，慢调用携带完整的嵌套调用
+		assertEquals(1, records.size());
+		BehaviorPerformance slow = records.get(0);
+		assertTrue(slow.isSlow());
+		assertEquals("trim", slow.getMethodName());
+		assertEquals(2, slow.getChildren().size());
+		assertEquals("length", slow.getChildren().get(0).getMethodName());
+		assertEquals("isEmpty", slow.getChildren().get(0).getChildren().get(0).getMethodName());
+		assertEquals("isEmpty", slow.getChildren().get(1).getMethodName());
+		assertNull(slow.getChildren().get(1).getChildren());
+		
+		// 最外层调用结束后捕获区被清空
+		records.clear();
+		invoke(advice, outer, slowBody);
+		assertEquals(1, records.size());
+		assertNull(records.get(0).getChildren());
+	}
+	
+	@Test
+	public void testRateLimit() throws Throwable {
+		BehaviorPerformanceAdvice advice = new BehaviorPerformanceAdvice();
+		advice.setBehaviorPerformanceService(service);
+		advice.setMaxRecordsPerSecond(5);
+		
+		Method method = String.class.getMethod("trim");
+		for (int i = 0; i < 100; i++) {
+			invoke(advice, method, null);
+		}
+		
+		// 循环可能跨越一个秒级窗口
+		assertTrue(records.size() >= 5 && records.size() <= 10);
+	}
+	
+	@Test
+	public void testError() throws Throwable {
+		BehaviorPerformanceAdvice advice = new BehaviorPerformanceAdvice();
+		advice.setBehaviorPerformanceService(service);
+		advice.setSampleRate(0);
+		advice.setSlowThresholdMillis(30);
+		advice.setStartTrace(true);
+		
+		Method outer = String.class.getMethod("trim");
+		final Method inner = String.class.getMethod("length");
+		try {
+			invoke(advice, outer, new Body() {
+				
+				@Override
+				public void run(BehaviorPerformanceAdvice advice) throws Throwable {
+					invoke(advice, inner, null);
+					throw new StackOverflowError();
+				}
+			});
+			fail("Error must be propagated");
+		} catch (StackOverflowError e) {
+			// 抛出错误的调用不会存储性能记录
+		}
+		
+		// 抛出错误后调用帧已出栈，自动开启的链路被清除，捕获区被清空
+		assertNull(TraceContextHolder.get());
+		assertTrue(records.isEmpty());
+		invoke(advice, outer, slowBody);
+		assertEquals(1, records.size());
+		assertNull(records.get(0).getChildren());
+	}
+	
+	/**
+	 * 通过切面调用指定的方法，body为null时方法体为空
+	 * @author <a href="mailto:code727@gmail.com">杜斌</a> 
+	 * @param advice
+	 * @param method
+	 * @param body
+	 * @throws Throwable
+	 */
+	private static void invoke(final BehaviorPerformanceAdvice advice, final Method method, final Body body) throws Throwable {
+		advice.invoke(new MethodInvocation() {
+			
+			@Override
+			public Method getMethod() {
+				return method;
+			}
+			
+			@Override
+			public Object[] getArguments() {
+				return new Object[0];
+			}
+			
+			@Override
+			public Object proceed() throws Throwable {
+				if (body != null)
+					body.run(advice);
+				
+				return null;
+			}
+			
+			@Override
+			public Object getThis() {
+				return null;
+			}
+			
+			@Override
+			public AccessibleObject getStaticPart() {
+				return method;
+			}
+		});
+	}
+	
+	/**
+	 * 被拦截的方法体
+	 * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+	 * @version 1.0
+	 */
+	private interface Body {
+		
+		public void run(BehaviorPerformanceAdvice advice) throws Throwable;
+	}
+
+}
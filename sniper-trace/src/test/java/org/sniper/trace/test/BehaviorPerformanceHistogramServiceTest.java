@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.trace.test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import org.junit.Test;
+import org.sniper.trace.domain.LatencySnapshot;
+import org.sniper.trace.histogram.LatencyHistogram;
+import org.sniper.trace.service.BehaviorPerformanceHistogramService;
+import org.sniper.test.junit.BaseTestCase;
+
+/**
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class BehaviorPerformanceHistogramServiceTest extends BaseTestCase {
+	
+	@Test
+	public void testLatencyHistogram() {
+		LatencyHistogram histogram = new LatencyHistogram("test");
+		for (long i = 1; i <= 100000; i++) {
+			histogram.record(i * 1000, i % 100 == 0);
+		}
+		
+		LatencySnapshot snapshot = histogram.snapshot();
+		assertEquals(100000, snapshot.getCount());
+		assertEquals(0.01, snapshot.getErrorRate(), 1e-9);
+		assertEquals(100000000L, snapshot.getMaxNanos());
+		assertEquals(50000000L, snapshot.getP50(), 50000000L / 32);
+		assertEquals(99000000L, snapshot.getP99(), 99000000L / 32);
+		assertEquals(99900000L, snapshot.getP999(), 99900000L / 32);
+		assertTrue(snapshot.getP50() >= 50000000L);
+		
+		histogram.snapshot(true);
+		assertEquals(0, histogram.snapshot().getCount());
+		
+		histogram.record(Long.MAX_VALUE, false);
+		assertEquals(Long.MAX_VALUE, histogram.snapshot().getP50());
+	}
+	
+	@Test
+	public void testRecord() throws Exception {
+		BehaviorPerformanceHistogramService service = new BehaviorPerformanceHistogramService();
+		Method method = String.class.getMethod("substring", int.class, int.class);
+		for (int i = 0; i < 1000; i++) {
+			service.record(method, 1000, i < 10);
+		}
+		
+		LatencySnapshot snapshot = service.snapshot(method);
+		assertEquals("java.lang.String.substring(int,int)", snapshot.getName());
+		assertEquals(1000, snapshot.getCount());
+		assertEquals(0.01, snapshot.getErrorRate(), 1e-9);
+		assertEquals(1000, snapshot.getMeanNanos());
+		
+		List<LatencySnapshot> snapshots = service.snapshot(true);
+		assertEquals(1, snapshots.size());
+		assertEquals(0, service.snapshot(method).getCount());
+	}
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * Create Date : 2026-10-18
+ */
+
+package org.sniper.trace.test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import org.sniper.trace.context.TraceContext;
+import org.sniper.trace.context.TraceContextHolder;
+import org.sniper.trace.context.TraceExecutorService;
+import org.sniper.test.junit.BaseTestCase;
+
+/**
+ * @author  <a href="mailto:code727@gmail.com">杜斌</a>
+ * @version 1.0
+ */
+public class TraceContextTest extends BaseTestCase {
+	
+	@Test
+	public void testParse() {
+		TraceContext context = new TraceContext(-1L, 0x1fL, 0x2aL);
+		assertEquals("ffffffffffffffff", context.getTraceIdString());
+		assertEquals("000000000000001f", context.getSpanIdString());
+		
+		assertEquals(context, TraceContext.parse(context.getTraceIdString(), 
+				context.getSpanIdString(), context.getParentSpanIdString()));
+		assertNull(new TraceContext(1, 2).getParentSpanIdString());
+		assertEquals(new TraceContext(1, 2), TraceContext.parse("1", "2", null));
+		
+		assertNull(TraceContext.parse(null, "1", null));
+		assertNull(TraceContext.parse("xyz", "1", null));
+		assertNull(TraceContext.parse("1", "10000000000000000", null));
+	}
+	
+	@Test
+	public void testExecutorPropagation() throws Exception {
+		ExecutorService executor = new TraceExecutorService(Executors.newSingleThreadExecutor());
+		try {
+			// 没有链路上下文时不传递
+			assertNull(executor.submit(new CurrentContext()).get());
+			
+			final TraceContext root = TraceContextHolder.startTrace();
+			TraceContext child = executor.submit(new CurrentContext()).get();
+			assertEquals(root.getTraceId(), child.getTraceId());
+			assertEquals(root.getSpanId(), child.getParentSpanId());
+			assertNotEquals(root.getSpanId(), child.getSpanId());
+			
+			// 执行线程在任务结束后恢复到原来的上下文
+			TraceContextHolder.clear();
+			assertNull(executor.submit(new CurrentContext()).get());
+			
+			TraceContextHolder.set(root);
+			Future<?> future = executor.submit(new Runnable() {
+
+				@Override
+				public void run() {
+					assertEquals(root.getTraceId(), TraceContextHolder.get().getTraceId());
+				}
+			});
+			future.get();
+			assertSame(root, TraceContextHolder.get());
+		} finally {
+			TraceContextHolder.clear();
+			executor.shutdown();
+		}
+	}
+	
+	private static class CurrentContext implements Callable<TraceContext> {
+
+		@Override
+		public TraceContext call() throws Exception {
+			return TraceContextHolder.get();
+		}
+	}
+	
+}